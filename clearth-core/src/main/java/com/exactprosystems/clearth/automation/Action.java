@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import com.exactprosystems.clearth.automation.async.WaitAsyncEnd;
 import com.exactprosystems.clearth.automation.exceptions.FailoverException;
 import com.exactprosystems.clearth.automation.exceptions.ResultException;
+import com.exactprosystems.clearth.automation.expressions.ParameterTemplate;
 import com.exactprosystems.clearth.automation.report.Result;
 import com.exactprosystems.clearth.automation.report.results.DefaultResult;
 import com.exactprosystems.clearth.data.HandledTestExecutionId;
@@ -51,6 +52,7 @@ public abstract class Action
 	protected Map<String, String> formulas,
 			specialParams, 
 			specialParamsFormulas;
+	protected Map<String, ParameterTemplate> paramTemplates;
 
 	private List<String> cleanableContext;
 
@@ -154,6 +156,7 @@ public abstract class Action
 		duplicateParams = null;
 		formulas = null;
 		specialParamsFormulas = null;
+		paramTemplates = null;
 		testExecutionId = null;
 	}
 	
@@ -350,6 +353,20 @@ public abstract class Action
 		return specialParamsFormulas;
 	}
 
+	/**
+	 * @param name name of parameter
+	 * @return template of parameter value built when matrix was loaded, null if template wasn't built
+	 */
+	public ParameterTemplate getParamTemplate(String name)
+	{
+		return paramTemplates == null ? null : paramTemplates.get(name);
+	}
+
+	public void setParamTemplates(Map<String, ParameterTemplate> paramTemplates)
+	{
+		this.paramTemplates = paramTemplates;
+	}
+
 	public String getIdInMatrix()
 	{
 		return idInMatrix;
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,6 +21,7 @@ package com.exactprosystems.clearth.automation;
 import com.exactprosystems.clearth.automation.actions.SchedulerPause;
 import com.exactprosystems.clearth.automation.async.AsyncActionData;
 import com.exactprosystems.clearth.automation.async.AsyncActionsManager;
+import com.exactprosystems.clearth.automation.async.PooledAsyncActionsManager;
 import com.exactprosystems.clearth.automation.exceptions.FailoverException;
 import com.exactprosystems.clearth.automation.report.ActionReportWriter;
 import com.exactprosystems.clearth.automation.report.FailReason;
@@ -38,11 +39,18 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.apache.commons.lang.StringUtils.isNotBlank;
 
@@ -66,10 +74,20 @@ public class ActionExecutor implements Closeable
 	private final boolean ignoreAllConnectionsFailures;
 	private final Set<String> connectionsToIgnoreFailures;
 	
-	private AsyncActionsManager asyncManager;
+	//Guard parts of executor that are shared by threads executing matrices in parallel
+	private final Object asyncLock = new Object(),
+			failoverLock = new Object();
+	
+	private volatile AsyncActionsManager asyncManager;
+	private final List<AsyncActionData> finishedAsyncActions = new ArrayList<>();  //Guarded by asyncLock
+	private Supplier<ActionParamsCalculator> calculatorFactory;
 	private ActionsExecutionProgress executionProgress;
 	private String actionsReportsDir;
-	private boolean interrupted = false;
+	private volatile boolean interrupted = false;
+	private int matrixThreads = 0;
+	private ExecutorService matrixThreadPool;  //Guarded by this, created on demand and shared by all steps
+	private boolean asyncActionsPool = false;
+	private Consumer<SchedulerStateChange> stateChangeListener;
 	
 	protected boolean saveDetailedResult = false;
 	
@@ -90,7 +108,22 @@ public class ActionExecutor implements Closeable
 	@Override
 	public void close() throws IOException
 	{
+		synchronized (this)
+		{
+			if (matrixThreadPool != null)
+				matrixThreadPool.shutdown();
+		}
 		Utils.closeResource(asyncManager);
+		Utils.closeResource(reportWriter);
+	}
+	
+	
+	/**
+	 * @param stateChangeListener listener to notify about changes of execution progress and failover status
+	 */
+	public void setStateChangeListener(Consumer<SchedulerStateChange> stateChangeListener)
+	{
+		this.stateChangeListener = stateChangeListener;
 	}
 	
 	
@@ -98,6 +131,87 @@ public class ActionExecutor implements Closeable
 	{
 		return calculator;
 	}
+	
+	/**
+	 * @param calculatorFactory creates calculators for threads executing matrices in parallel
+	 */
+	public void setCalculatorFactory(Supplier<ActionParamsCalculator> calculatorFactory)
+	{
+		this.calculatorFactory = calculatorFactory;
+	}
+	
+	/**
+	 * Creates new calculator of action parameters. 
+	 * Calculator keeps state of current calculation, so each thread executing matrices in parallel needs its own one
+	 * @return new calculator that uses the same matrix functions as main calculator of this executor
+	 */
+	public ActionParamsCalculator createCalculator()
+	{
+		return calculatorFactory != null ? calculatorFactory.get() : new ActionParamsCalculator(calculator.getMatrixFunctions());
+	}
+	
+	/**
+	 * @return maximum number of matrices whose actions are executed in parallel within a step. 
+	 * Values less than 2 mean that actions of all matrices are executed sequentially
+	 */
+	public int getMatrixThreads()
+	{
+		return matrixThreads;
+	}
+	
+	public void setMatrixThreads(int matrixThreads)
+	{
+		this.matrixThreads = matrixThreads;
+	}
+	
+	/**
+	 * @return pool of threads to execute matrices in parallel. 
+	 * Pool is created on first call, reused by all steps and shut down when executor is closed
+	 */
+	public synchronized ExecutorService getMatrixThreadPool()
+	{
+		if (matrixThreadPool == null)
+		{
+			AtomicInteger threadIndex = new AtomicInteger(0);
+			matrixThreadPool = Executors.newFixedThreadPool(Math.max(matrixThreads, 1), r -> {
+				Thread t = new Thread(r, "Matrix thread "+threadIndex.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return matrixThreadPool;
+	}
+	
+	/**
+	 * @return true if async actions are executed in shared pool of threads instead of dedicated thread per actions group
+	 */
+	public boolean isAsyncActionsPool()
+	{
+		return asyncActionsPool;
+	}
+	
+	public void setAsyncActionsPool(boolean asyncActionsPool)
+	{
+		this.asyncActionsPool = asyncActionsPool;
+	}
+	
+	/**
+	 * @return number of async actions being executed right now
+	 */
+	public int getActiveAsyncActions()
+	{
+		AsyncActionsManager manager = asyncManager;
+		return manager != null ? manager.getActiveActionsCount() : 0;
+	}
+	
+	/**
+	 * @return number of async actions waiting for their execution to begin
+	 */
+	public int getWaitingAsyncActions()
+	{
+		AsyncActionsManager manager = asyncManager;
+		return manager != null ? manager.getWaitingActionsCount() : 0;
+	}
 
 	public ActionReportWriter getReportWriter()
 	{
@@ -154,6 +268,15 @@ public class ActionExecutor implements Closeable
 	}
 	
 	public void executeAction(Action action, StepContext stepContext, AtomicBoolean canReplay)
+	{
+		executeAction(action, stepContext, canReplay, calculator);
+	}
+	
+	/**
+	 * Executes action, calculating its parameters with given calculator
+	 * @param calculator calculator to use. Threads that execute matrices in parallel use their own calculators
+	 */
+	public void executeAction(Action action, StepContext stepContext, AtomicBoolean canReplay, ActionParamsCalculator calculator)
 	{
 		String actionDesc = null;
 		
@@ -190,9 +313,6 @@ public class ActionExecutor implements Closeable
 	
 	public void callActionAsync(Action action, StepContext stepContext, MatrixContext matrixContext) throws InterruptedException
 	{
-		if (!isAsyncEnabled())
-			asyncManager = createAsyncManager();
-		
 		String waitMsg;
 		switch (action.getWaitAsyncEnd())
 		{
@@ -209,7 +329,12 @@ public class ActionExecutor implements Closeable
 		action.setResult(DefaultResult.passed("Action is executing asynchronously. " + waitMsg));
 		action.setFinished(new Date());
 		
-		asyncManager.addAsyncAction(createAsyncActionData(action, stepContext, matrixContext));
+		synchronized (asyncLock)
+		{
+			if (!isAsyncEnabled())
+				asyncManager = createAsyncManager();
+			asyncManager.addAsyncAction(createAsyncActionData(action, stepContext, matrixContext));
+		}
 	}
 	
 	public void callAction(Action action, StepContext stepContext, MatrixContext matrixContext) throws FailoverException
@@ -220,27 +345,68 @@ public class ActionExecutor implements Closeable
 	}
 	
 	public void checkAsyncActions(long minimumFinishAge)
+	{
+		checkAsyncActions(minimumFinishAge, null);
+	}
+	
+	/**
+	 * Applies results of finished async actions that belong to given matrix. 
+	 * Threads executing matrices in parallel use it to change only the matrix they execute
+	 * @param minimumFinishAge minimum time in milliseconds passed since the oldest async action has finished
+	 * @param matrix matrix whose async actions to apply. If null, results of all finished async actions are applied
+	 */
+	public void checkAsyncActions(long minimumFinishAge, Matrix matrix)
 	{
 		if (!isAsyncEnabled())
 			return;
 		
+		List<AsyncActionData> toApply;
+		synchronized (asyncLock)
+		{
+			takeFinishedAsyncActions(minimumFinishAge);
+			toApply = pickFinishedAsyncActions(matrix);
+		}
+		
+		if (toApply.isEmpty())
+			return;
+		
+		List<Action> finishedActions = new ArrayList<>(toApply.size());
+		for (AsyncActionData a : toApply)
+		{
+			updateActionAfterAsyncFinish(a);
+			finishedActions.add(a.getAction());
+		}
+		updateAsyncActions(finishedActions);
+	}
+	
+	private void takeFinishedAsyncActions(long minimumFinishAge)
+	{
 		Date oldestFinish = asyncManager.getTimestampOfNextFinishedAction();
 		if (oldestFinish == null || new Date().getTime() - oldestFinish.getTime() < minimumFinishAge)
 			return;
 		
-		List<Action> finishedActions = null;
 		AsyncActionData a;
 		while ((a = asyncManager.getNextFinishedAction()) != null)
+			finishedAsyncActions.add(a);
+	}
+	
+	private List<AsyncActionData> pickFinishedAsyncActions(Matrix matrix)
+	{
+		if (finishedAsyncActions.isEmpty())
+			return Collections.emptyList();
+		
+		List<AsyncActionData> result = new ArrayList<>();
+		Iterator<AsyncActionData> it = finishedAsyncActions.iterator();
+		while (it.hasNext())
 		{
-			updateActionAfterAsyncFinish(a);
-			
-			if (finishedActions == null)
-				finishedActions = new ArrayList<>();
-			finishedActions.add(a.getAction());
+			AsyncActionData a = it.next();
+			if (matrix == null || a.getAction().getMatrix() == matrix)
+			{
+				result.add(a);
+				it.remove();
+			}
 		}
-		
-		if (!CollectionUtils.isEmpty(finishedActions))
-			updateAsyncActions(finishedActions);
+		return result;
 	}
 
 	public void waitForBeforeStepAsyncActions(String stepName) throws InterruptedException
@@ -311,7 +477,11 @@ public class ActionExecutor implements Closeable
 	
 	protected AsyncActionsManager createAsyncManager()
 	{
-		return new AsyncActionsManager(globalContext, this::actionToMvel);
+		AsyncActionsManager result = asyncActionsPool
+				? new PooledAsyncActionsManager(globalContext, this::actionToMvel)
+				: new AsyncActionsManager(globalContext, this::actionToMvel);
+		result.setOnChange(() -> notifyStateChanged(SchedulerStateChange.STATUS));
+		return result;
 	}
 	
 	public static boolean isAsyncAction(Action action)
@@ -383,10 +553,10 @@ public class ActionExecutor implements Closeable
 		int asyncEndWaitInterval = getAsyncEndWaitInterval();
 		for (AsyncActionData action : actions)
 		{
-			while (!asyncManager.isActionFinished(action))
+			//Wait ends as soon as action is finished, interval only limits time to notice interruption of execution
+			while (!action.awaitCompletion(asyncEndWaitInterval))
 			{
-				Thread.sleep(asyncEndWaitInterval);
-				//InterruptedException may have occurred in other place (in callActionAsync(), for example) so that sleep ends correctly.
+				//InterruptedException may have occurred in other place (in callActionAsync(), for example) so that wait ends correctly.
 				//But if execution is interrupted, need to break the loop anyway
 				if (isExecutionInterrupted())
 					break;
@@ -394,6 +564,9 @@ public class ActionExecutor implements Closeable
 			
 			if (isExecutionInterrupted())
 				break;
+			
+			//Result and report of finished action are applied right away, not after all awaited actions finish
+			checkAsyncActions(0);
 		}
 		actions.clear();  //All actions finished. Clearing history to free memory
 	}
@@ -515,6 +688,7 @@ public class ActionExecutor implements Closeable
 			failoverStatus.needRestartAction = true;
 			failoverStatus.needSkipAction = false;
 			failoverStatus.setFailoverInfo(action, exception);
+			notifyStateChanged(SchedulerStateChange.FAILOVER);
 			failoverStatus.wait(); // needRestartAction and needSkipAction may be changed in automationBean
 			
 			if (failoverStatus.needSkipAction)
@@ -566,6 +740,14 @@ public class ActionExecutor implements Closeable
 			}
 			action.setPassed(!action.isInverted());
 		}
+		notifyStateChanged(SchedulerStateChange.STEPS);
+	}
+	
+	protected void notifyStateChanged(SchedulerStateChange change)
+	{
+		Consumer<SchedulerStateChange> listener = stateChangeListener;
+		if (listener != null)
+			listener.accept(change);
 	}
 
 	private void markAsFailed(Action action, Matrix matrix)
@@ -698,6 +880,7 @@ public class ActionExecutor implements Closeable
 		{
 			executionProgress.incrementDone();
 			matrix.incActionsDone();
+			notifyStateChanged(SchedulerStateChange.STEPS);
 		}
 		else
 		{
@@ -735,7 +918,11 @@ public class ActionExecutor implements Closeable
 				{
 					try
 					{
-						passed = handleFailoverException(action, actionDesc, e, stepContext, matrixContext);
+						//Failover status describes one failed action at a time, other matrices executed in parallel wait for their turn
+						synchronized (failoverLock)
+						{
+							passed = handleFailoverException(action, actionDesc, e, stepContext, matrixContext);
+						}
 					}
 					catch (InterruptedException e1)
 					{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -20,9 +20,12 @@ package com.exactprosystems.clearth.automation;
 
 import com.exactprosystems.clearth.automation.async.WaitAsyncEnd;
 import com.exactprosystems.clearth.automation.exceptions.AutomationException;
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import com.exactprosystems.clearth.automation.expressions.ParameterTemplate;
 import com.exactprosystems.clearth.automation.generator.ActionReader;
 import com.exactprosystems.clearth.automation.generator.CsvActionReader;
 import com.exactprosystems.clearth.automation.generator.XlsActionReader;
+import com.exactprosystems.clearth.automation.generator.XlsxStreamingActionReader;
 import com.exactprosystems.clearth.config.MatrixFatalErrors;
 import com.exactprosystems.clearth.config.SpecialActionParameters;
 import com.exactprosystems.clearth.utils.*;
@@ -481,6 +484,9 @@ public abstract class ActionGenerator
 				logger.trace("Action '"+actionSettings.getActionId()+"' (line "+lineNumber+") rejected on initialization, it won't be executed");
 			else
 			{
+				if (!buildParamTemplates(action, matrix, lineNumber))
+					allSuccessful = false;
+				
 				matrix.getActions().add(action);
 				
 				Step step = actionSettings.getStep();
@@ -514,6 +520,58 @@ public abstract class ActionGenerator
 		return allSuccessful;
 	}
 
+	/**
+	 * Splits values of action parameters into literal text and formulas so that formulas are not searched again during execution.
+	 * Malformed formulas are reported as generator warnings
+	 * @return true if all formulas are well-formed
+	 */
+	protected boolean buildParamTemplates(Action action, Matrix matrix, int lineNumber)
+	{
+		Map<String, String> mainFormulas = new LinkedHashMap<>();
+		mainFormulas.put(COLUMN_EXECUTE, action.getFormulaExecutable());
+		mainFormulas.put(COLUMN_COMMENT, action.getFormulaComment());
+		mainFormulas.put(COLUMN_TIMEOUT, action.getFormulaTimeout());
+		mainFormulas.put(COLUMN_INVERT, action.getFormulaInverted());
+		mainFormulas.put(COLUMN_ASYNC, action.getFormulaAsync());
+		mainFormulas.put(COLUMN_ASYNCGROUP, action.getFormulaAsyncGroup());
+		mainFormulas.put(COLUMN_WAITASYNCEND, action.getFormulaWaitAsyncEnd());
+		mainFormulas.put(COLUMN_ID_IN_TEMPLATE, action.getFormulaIdInTemplate());
+		
+		Map<String, ParameterTemplate> templates = new HashMap<>();
+		boolean allSuccessful = addParamTemplates(mainFormulas, templates, action, matrix, lineNumber);
+		allSuccessful &= addParamTemplates(action.getSpecialParamsFormulas(), templates, action, matrix, lineNumber);
+		allSuccessful &= addParamTemplates(action.getInputParams(), templates, action, matrix, lineNumber);
+		action.setParamTemplates(templates.isEmpty() ? null : templates);
+		return allSuccessful;
+	}
+	
+	private boolean addParamTemplates(Map<String, String> params, Map<String, ParameterTemplate> templates,
+			Action action, Matrix matrix, int lineNumber)
+	{
+		if (params == null)
+			return true;
+		
+		boolean allSuccessful = true;
+		for (Map.Entry<String, String> param : params.entrySet())
+		{
+			try
+			{
+				ParameterTemplate template = matrixFunctions.createTemplate(param.getValue());
+				if (template != null)
+					templates.put(param.getKey(), template);
+			}
+			catch (ParametersException e)
+			{
+				allSuccessful = false;
+				String message = "Action '"+action.getIdInMatrix()+"' (line "+lineNumber+") has invalid formula in parameter '"
+						+param.getKey()+"': "+e.getMessage();
+				getLogger().warn(message);
+				matrix.addGeneratorMessage(ActionGeneratorMessageType.WARNING, ActionGeneratorMessageKind.INVALID_FORMULA, message);
+			}
+		}
+		return allSuccessful;
+	}
+	
 	/**
 	 * Builds Matrix instance according to given data
 	 * @param matrixData matrix settings including file path
@@ -555,8 +613,10 @@ public abstract class ActionGenerator
 		ActionReader reader;
 		if (fileExtension.equals("csv"))
 			reader = new CsvActionReader(fileName, trim);
-		else if ((fileExtension.equals("xls")) || (fileExtension.equals("xlsx")))
+		else if (fileExtension.equals("xls"))
 			reader = new XlsActionReader(fileName, trim);
+		else if (fileExtension.equals("xlsx"))
+			reader = new XlsxStreamingActionReader(fileName, trim);
 		else
 		{
 			matrix.addGeneratorMessage(ActionGeneratorMessageType.ERROR, ActionGeneratorMessageKind.UNSUPPORTED_FILE_EXTENSION,
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -35,6 +35,7 @@ public enum ActionGeneratorMessageKind
 	MISSING_EXPECTED_PARAMS("Missing expected parameters"),
 	INVALID_ACTION_ID("Invalid action ID"),
 	UNEXPECTED_STEP_KIND("Unexpected step kind"),
+	INVALID_FORMULA("Invalid formula"),
 	/* Errors */
 	UNEXPECTED_GENERATING_ERROR("Unexpected generating error"),
 	HEADER_NOT_DEFINED_FOR_ACTION("Header not defined"),
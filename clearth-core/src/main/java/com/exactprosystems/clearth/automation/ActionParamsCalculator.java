@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.exactprosystems.clearth.automation.async.WaitAsyncEnd;
+import com.exactprosystems.clearth.automation.expressions.ParameterTemplate;
 import com.exactprosystems.clearth.utils.ObjectWrapper;
 import com.exactprosystems.clearth.utils.inputparams.InputParamsUtils;
 
@@ -139,8 +140,12 @@ public class ActionParamsCalculator
 
 		try
 		{
-			Object valueObj = matrixFunctions.calculateExpression(valueExpression, parameterName,
-					mvelVars.getVariables(), mvelVars.getFixedIds(), getAction(), new ObjectWrapper(0));
+			ParameterTemplate template = getParamTemplate(valueExpression, parameterName);
+			Object valueObj = template != null
+					? matrixFunctions.calculateTemplate(template, parameterName,
+							mvelVars.getVariables(), mvelVars.getFixedIds(), getAction(), new ObjectWrapper(0))
+					: matrixFunctions.calculateExpression(valueExpression, parameterName,
+							mvelVars.getVariables(), mvelVars.getFixedIds(), getAction(), new ObjectWrapper(0));
 			
 			return (valueObj != null) ? valueObj.toString() : null;
 		}
@@ -158,6 +163,12 @@ public class ActionParamsCalculator
 		}
 	}
 	
+	protected ParameterTemplate getParamTemplate(String valueExpression, String parameterName)
+	{
+		ParameterTemplate template = action.getParamTemplate(parameterName);
+		return template != null && template.isBuiltFor(valueExpression) ? template : null;
+	}
+	
 	protected String calculateAndSaveParameter(String valueExpression, String parameterName, String defaultToSave)
 	{
 		String result = calculateParameter(valueExpression, parameterName),
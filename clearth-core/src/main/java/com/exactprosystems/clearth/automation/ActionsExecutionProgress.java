@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -39,43 +39,43 @@ public class ActionsExecutionProgress
 	}
 	
 	
-	public void incrementSuccessful()
+	public synchronized void incrementSuccessful()
 	{
 		successful++;
 	}
 	
-	public void decrementSuccessful()
+	public synchronized void decrementSuccessful()
 	{
 		successful--;
 	}
 	
-	public void incrementDone()
+	public synchronized void incrementDone()
 	{
 		done++;
 	}
 	
-	public void decrementDone()
+	public synchronized void decrementDone()
 	{
 		done--;
 	}
 	
 	
-	public void setSuccessful(int successful)
+	public synchronized void setSuccessful(int successful)
 	{
 		this.successful = successful;
 	}
 	
-	public int getSuccessful()
+	public synchronized int getSuccessful()
 	{
 		return successful;
 	}
 	
-	public void setDone(int done)
+	public synchronized void setDone(int done)
 	{
 		this.done = done;
 	}
 	
-	public int getDone()
+	public synchronized int getDone()
 	{
 		return done;
 	}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -98,6 +98,48 @@ public class ActionsUpdater
 	}
 	
 	
+	/**
+	 * Updates actions of step whose matrices are executed in parallel, i.e. each matrix has its own current action
+	 * @param currentStep step being executed
+	 * @param currentActions actions being executed right now, by matrix
+	 * @param finishedMatrices matrices whose actions in current step are already executed
+	 * @param updatedMatrices matrices with updated actions
+	 */
+	public void updateFrom(Step currentStep, Map<Matrix, Action> currentActions, Set<Matrix> finishedMatrices, 
+			Collection<Matrix> updatedMatrices) throws ActionUpdateException
+	{
+		for (Action a : currentActions.values())
+			checkCurrentAction(a);
+		
+		for (Matrix m : updatedMatrices)
+		{
+			Matrix running = matrixObjects.get(m.getName());
+			if (running == null)
+				throw new ActionUpdateException("Matrix '"+m.getName()+"' is not in list of running matrices");
+			
+			Action currentAction = currentActions.get(running);
+			if (currentAction != null)
+				checkCurrentActionMatrix(m, currentAction);
+		}
+		
+		int currentStepIndex = stepIndices.get(currentStep.getName());
+		for (Matrix m : updatedMatrices)
+		{
+			String matrixName = m.getName();
+			logger.debug("Updating matrix '{}'", matrixName);
+			
+			Matrix running = matrixObjects.get(matrixName);
+			Action currentAction = currentActions.get(running);
+			if (currentAction != null)
+				updateActionsInCurrentMatrix(m, currentAction);
+			else if (finishedMatrices.contains(running))
+				updateActions(m, steps.subList(currentStepIndex+1, steps.size()));
+			else
+				updateActions(m, steps.subList(currentStepIndex, steps.size()));
+		}
+	}
+	
+	
 	private void checkCurrentAction(Action currentAction) throws ActionUpdateException
 	{
 		Matrix m = matrixObjects.get(currentAction.getMatrix().getName());
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -26,6 +26,7 @@ import com.exactprosystems.clearth.ClearThCore;
 import com.exactprosystems.clearth.ValueGenerator;
 import com.exactprosystems.clearth.automation.report.ReportsConfig;
 import com.exactprosystems.clearth.data.TestExecutionHandler;
+import com.exactprosystems.clearth.utils.csv.CsvLookupCache;
 
 public class DefaultExecutorFactory extends ExecutorFactory
 {
@@ -62,7 +63,8 @@ public class DefaultExecutorFactory extends ExecutorFactory
 		GlobalContext globalContext = new GlobalContext(businessDay, weekendHoliday, holidays,
 				ClearThCore.getInstance().createMatrixFunctions(holidays, businessDay, baseTime, weekendHoliday, valueGenerator),
 				startedByUser,
-				executionHandler);
+				executionHandler,
+				new CsvLookupCache(ClearThCore.getInstance().getConfig().getAutomation().getCsvLookup().getMaxCachedCells()));
 		return globalContext;
 	}
 	
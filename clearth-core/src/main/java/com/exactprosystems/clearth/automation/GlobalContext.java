@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -23,6 +23,7 @@ import com.exactprosystems.clearth.connectivity.ConnectivityException;
 import com.exactprosystems.clearth.data.TestExecutionHandler;
 import com.exactprosystems.clearth.utils.SettingsException;
 import com.exactprosystems.clearth.utils.Utils;
+import com.exactprosystems.clearth.utils.csv.CsvLookupCache;
 
 import java.sql.Connection;
 import java.sql.Statement;
@@ -44,10 +45,17 @@ public class GlobalContext
 	private final Set<Statement> statements;
 	private final TestExecutionHandler executionHandler;
 	private final OpenedDbConnections openedDbConnections;
+	private final CsvLookupCache csvLookupCache;
 	private Date started, finished;
 	
 	public GlobalContext(Date currentDate, boolean weekendHoliday, Map<String, Boolean> holidays, MatrixFunctions matrixFunctions, String startedByUser,
 			TestExecutionHandler executionHandler)
+	{
+		this(currentDate, weekendHoliday, holidays, matrixFunctions, startedByUser, executionHandler, new CsvLookupCache());
+	}
+	
+	public GlobalContext(Date currentDate, boolean weekendHoliday, Map<String, Boolean> holidays, MatrixFunctions matrixFunctions, String startedByUser,
+			TestExecutionHandler executionHandler, CsvLookupCache csvLookupCache)
 	{
 		this.loadedContext = new HashMap<>();
 		this.closeableContext = new HashMap<>();
@@ -67,6 +75,7 @@ public class GlobalContext
 		this.attemptedConnections = new ArrayList<String>(0);
 		this.statements = ConcurrentHashMap.newKeySet();
 		this.openedDbConnections = new OpenedDbConnections();
+		this.csvLookupCache = csvLookupCache;
 
 		this.executionHandler = executionHandler;
 		
@@ -198,6 +207,7 @@ public class GlobalContext
 	public void clearContext()
 	{
 		openedDbConnections.clear();
+		csvLookupCache.clear();
 		loadedContext.clear();
 		attemptedConnections.clear();
 		holidays.clear();
@@ -209,6 +219,14 @@ public class GlobalContext
 		return openedDbConnections.getConnection(conName);
 	}
 	
+	/**
+	 * @return cache of CSV files contents to look up rows in files that are read by several actions
+	 */
+	public CsvLookupCache getCsvLookupCache()
+	{
+		return csvLookupCache;
+	}
+	
 	
 	protected void clearCloseableContext()
 	{
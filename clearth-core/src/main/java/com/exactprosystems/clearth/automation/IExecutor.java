@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -54,6 +54,14 @@ public interface IExecutor
 	long getStartTimeStep();
 	void skipWaitingStep();
 	
+	/**
+	 * @return matrix functions used by executor to calculate action parameters or null if they are not available
+	 */
+	default MatrixFunctions getMatrixFunctions()
+	{
+		return null;
+	}
+	
 	void clearLastReportsInfo();
 	String getReportsDir();
 	String getCompletedReportsDir();
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,6 +21,7 @@ package com.exactprosystems.clearth.automation;
 import com.exactprosystems.clearth.ValueGenerator;
 import com.exactprosystems.clearth.automation.exceptions.FunctionException;
 import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import com.exactprosystems.clearth.automation.expressions.ParameterTemplate;
 import com.exactprosystems.clearth.automation.functions.MethodDataModel;
 import com.exactprosystems.clearth.automation.report.FailReason;
 import com.exactprosystems.clearth.automation.report.Result;
@@ -69,12 +70,14 @@ public class MatrixFunctions
 	protected final Map<String, ValueGenerator> valueGenerators;
 	protected final ParserContext functionsContext;
 
-	protected Action currentAction = null;
+	//Matrices can be executed in parallel, each thread calculates parameters of its own action
+	private final ThreadLocal<Action> currentAction = new ThreadLocal<>();
 	protected boolean weekendHoliday;
 	protected volatile Calendar currentTime;
 
 	protected final Object weekendHolidayMonitor = new Object();
 	protected final MvelExpressionValidator validator = new MvelExpressionValidator();
+	protected final MvelExpressionCache expressionCache;
 
 	public MatrixFunctions(Map<String, Boolean> holidays, Date businessDay, Date baseTime, boolean weekendHoliday, ValueGenerator valueGenerator)
 	{
@@ -87,6 +90,17 @@ public class MatrixFunctions
 		
 		functionsContext = new ParserContext();
 		functionsContext.addImport(this.getClass());
+		expressionCache = createExpressionCache();
+	}
+	
+	protected MvelExpressionCache createExpressionCache()
+	{
+		return new MvelExpressionCache(functionsContext, validator, MvelExpressionCache.DEFAULT_LIMIT);
+	}
+	
+	public MvelExpressionCache getExpressionCache()
+	{
+		return expressionCache;
 	}
 	
 	protected void shiftError(int shift, String shiftName) throws FunctionException
@@ -970,102 +984,16 @@ public class MatrixFunctions
 			else
 				throw new ParametersException("Invalid expression. It should be closed with '}' character");
 
-			//Checking if expression contains references to actions which IDs were fixed for MVEL and replacing action IDs with fixed ones if needed
-			if (fixedIDs!=null)
-			{
-				int dot = -1;
-				while ((dot = formula.indexOf('.', dot+1))>-1)  //Reference always contains '.'
-				{
-					//If '.' is located inside string literal - skip it
-					if (!StringOperationUtils.checkUnquotedSymbol(formula, dot)) {
-						continue;
-					}
-
-					int idStart = dot-1;
-					while ((idStart>-1) && ((Character.isLetter(formula.charAt(idStart))) || (Character.isDigit(formula.charAt(idStart))) || (formula.charAt(idStart)=='_')))
-						idStart--;
-					idStart++;
-					String id = formula.substring(idStart, dot);
-					if (fixedIDs.containsKey(id))
-					{
-						formula = formula.substring(0, idStart)+fixedIDs.get(id)+formula.substring(dot);
-						dot = idStart+fixedIDs.get(id).length();
-					}
-				}
-			}
-
-			if (formula.contains("(") && formula.contains(")")) {
-
-				StringOperationUtils.checkBracketsBalance(formula);
-
-				int bracket = -1;
-//				int formLen = formula.length();
-				int lastInd = 0;
-				StringBuilder sb = new StringBuilder();
-				while ((bracket = formula.indexOf('(', bracket+1))>-1) {
-					if (!StringOperationUtils.checkUnquotedSymbol(formula, bracket)) {
-						continue;
-					}
-					boolean isStringLiteral = false;
-					int isFuncParameters = 0;
-					int currInd = bracket + 1;
-					sb.append(formula.substring(lastInd, bracket + 1));
-					lastInd = bracket + 1;
-					boolean isDone = false;
-
-					while (!isDone) {
-						if (formula.length() == currInd)
-							break;
-						char currChar = formula.charAt(currInd);
-						if ((currChar == ',' || currChar == ')') && !isStringLiteral && isFuncParameters == 0) {
-							String param = formula.substring(lastInd, currInd);
-							if (!param.isEmpty()) {
-								iterationWrapper.setObject(iteration);
-								param = FORMULA_START + param + FORMULA_END;
-								Object paramObj = calculateExpression(param, paramName + "_TMP_MVEL", mvelVars, fixedIDs, currentAction, iterationWrapper, false);
-								param = processExpressionResult(paramObj);
-							}
-
-							sb.append(param).append(currChar);
-							iteration = (Integer) iterationWrapper.getObject();
-							lastInd = currInd + 1;
-							if (currChar == ')') {
-								isDone = true;
-							}
-						} else if (currChar == '\'') {
-							if (!isStringLiteral || currInd <= 0 || formula.charAt(currInd - 1) != '\\') {
-								isStringLiteral = !isStringLiteral;
-							}
-						} else if (currChar == '(' && !isStringLiteral) {
-							isFuncParameters++;
-						} else if (currChar == ')' && !isStringLiteral) {
-							isFuncParameters--;
-						}
-						currInd++;
-					}
-					bracket = currInd - 1;
-				}
-
-				sb.append(formula.substring(lastInd));
-
-				formula = sb.toString();
-			}
+			iterationWrapper.setObject(iteration);
+			formula = prepareFormula(formula, paramName, mvelVars, fixedIDs, currentAction, iterationWrapper);
+			iteration = (Integer) iterationWrapper.getObject();
 
 			if (comparisonUtils().isSpecialFunction(expression)) {
 				expression = before + FORMULA_START + formula + FORMULA_END + after;
 				break;
 			}
 
-			//Compile and execute expression
-			Serializable compiledExp = MVEL.compileExpression(formula, functionsContext);
-			this.currentAction = currentAction;
-
-			validator.validateExpression(compiledExp);
-
-			Object resultObj = MVEL.executeExpression(compiledExp, this, mvelVars);  //if mvelVars is null it will only calculate function results, but will not follow references
-
-			if(needClassCheck && (resultObj instanceof Class))
-					throw new ParametersException("Incorrect formula");
+			Object resultObj = executeFormula(formula, mvelVars, currentAction, needClassCheck);
 
 			if (before.isEmpty() && after.isEmpty() && !(resultObj instanceof String)) {
 				return resultObj;
@@ -1081,6 +1009,214 @@ public class MatrixFunctions
 		return expression;
 	}
 	
+	/**
+	 * Calculates parameter value using formulas found in it when matrix was loaded.
+	 * Gives the same result as {@link #calculateExpression(String, String, Map, Map, Action, ObjectWrapper)} for template source, 
+	 * but doesn't search for formulas in the value again. 
+	 * If result of a formula makes new formula, calculation continues by {@code calculateExpression()}
+	 */
+	public Object calculateTemplate(ParameterTemplate template, String paramName, Map<String, Object> mvelVars,
+	                                Map<String, String> fixedIDs, Action currentAction, ObjectWrapper iterationWrapper) throws Exception
+	{
+		String source = template.getSource();
+		List<ParameterTemplate.Segment> segments = template.getSegments();
+		StringBuilder result = new StringBuilder();
+		boolean calculated = false;
+		for (ParameterTemplate.Segment segment : segments)
+		{
+			if (!segment.isFormula())
+			{
+				result.append(segment.getText());
+				continue;
+			}
+			
+			//Whole value is checked for special values and functions before calculation of each formula.
+			//Source is checked when template is created, current value needs to be checked only if nothing precedes the formula
+			if (calculated && StringUtils.isBlank(StringUtils.replaceChars(result.toString(), "()", "")))
+				return calculateExpression(result + source.substring(segment.getStart()), paramName, mvelVars, fixedIDs, currentAction, iterationWrapper);
+			
+			int iteration = (Integer) iterationWrapper.getObject() + 1;
+			if (iteration > maxNumberOfIterations())
+				throw new ParametersException("Too many iterations made to evaluate action parameter. It seems like you have circular reference that causes infinite loop.");
+			iterationWrapper.setObject(iteration);
+			
+			String formula = prepareFormula(segment.getText(), paramName, mvelVars, fixedIDs, currentAction, iterationWrapper);
+			Object resultObj = executeFormula(formula, mvelVars, currentAction, true);
+			calculated = true;
+			if (segments.size() == 1 && !(resultObj instanceof String))
+				return resultObj;
+			
+			String value = resultObj != null ? resultObj.toString() : null,
+					rest = source.substring(segment.getEnd());
+			if (makesFormula(result, value, rest))
+				return calculateExpression(result + value + rest, paramName, mvelVars, fixedIDs, currentAction, iterationWrapper);
+			result.append(value);
+		}
+		return result.toString();
+	}
+	
+	/**
+	 * Creates template of parameter value to calculate it by {@link #calculateTemplate(ParameterTemplate, String, Map, Map, Action, ObjectWrapper)}
+	 * @param value parameter value
+	 * @return template of value or null if value doesn't contain formulas or should be calculated as a whole
+	 * @throws ParametersException if formula is not closed or function call in it has unbalanced brackets or quotes
+	 */
+	public ParameterTemplate createTemplate(String value) throws ParametersException
+	{
+		if (value == null || !value.contains(FORMULA_START) || isSpecialValue(value) || comparisonUtils().isSpecialFunction(value))
+			return null;
+		return ParameterTemplate.parse(value);
+	}
+	
+	private boolean makesFormula(CharSequence prefix, String value, String suffix)
+	{
+		if (value == null)
+			value = "null";
+		if (value.contains(FORMULA_START))
+			return true;
+		
+		boolean prefixEndsWithStart = prefix.length() > 0 && prefix.charAt(prefix.length()-1) == FORMULA_START.charAt(0);
+		if (value.isEmpty())
+			return prefixEndsWithStart && suffix.startsWith(FORMULA_START.substring(1));
+		if (prefixEndsWithStart && value.startsWith(FORMULA_START.substring(1)))
+			return true;
+		return value.charAt(value.length()-1) == FORMULA_START.charAt(0) && suffix.startsWith(FORMULA_START.substring(1));
+	}
+	
+	/**
+	 * Replaces fixed action IDs in formula and calculates arguments of functions called in it
+	 */
+	private String prepareFormula(String formula, String paramName, Map<String, Object> mvelVars,
+			Map<String, String> fixedIDs, Action currentAction, ObjectWrapper iterationWrapper) throws Exception
+	{
+		Integer iteration = (Integer) iterationWrapper.getObject();
+		
+		//Checking if expression contains references to actions which IDs were fixed for MVEL and replacing action IDs with fixed ones if needed
+		if (fixedIDs!=null)
+		{
+			int dot = -1;
+			while ((dot = formula.indexOf('.', dot+1))>-1)  //Reference always contains '.'
+			{
+				//If '.' is located inside string literal - skip it
+				if (!StringOperationUtils.checkUnquotedSymbol(formula, dot)) {
+					continue;
+				}
+
+				int idStart = dot-1;
+				while ((idStart>-1) && ((Character.isLetter(formula.charAt(idStart))) || (Character.isDigit(formula.charAt(idStart))) || (formula.charAt(idStart)=='_')))
+					idStart--;
+				idStart++;
+				String id = formula.substring(idStart, dot);
+				if (fixedIDs.containsKey(id))
+				{
+					formula = formula.substring(0, idStart)+fixedIDs.get(id)+formula.substring(dot);
+					dot = idStart+fixedIDs.get(id).length();
+				}
+			}
+		}
+
+		if (formula.contains("(") && formula.contains(")")) {
+
+			StringOperationUtils.checkBracketsBalance(formula);
+
+			int bracket = -1;
+			int lastInd = 0;
+			StringBuilder sb = new StringBuilder();
+			while ((bracket = formula.indexOf('(', bracket+1))>-1) {
+				if (!StringOperationUtils.checkUnquotedSymbol(formula, bracket)) {
+					continue;
+				}
+				boolean isStringLiteral = false;
+				int isFuncParameters = 0;
+				int currInd = bracket + 1;
+				sb.append(formula.substring(lastInd, bracket + 1));
+				lastInd = bracket + 1;
+				boolean isDone = false;
+
+				while (!isDone) {
+					if (formula.length() == currInd)
+						break;
+					char currChar = formula.charAt(currInd);
+					if ((currChar == ',' || currChar == ')') && !isStringLiteral && isFuncParameters == 0) {
+						String param = formula.substring(lastInd, currInd);
+						if (!param.isEmpty()) {
+							iterationWrapper.setObject(iteration);
+							param = FORMULA_START + param + FORMULA_END;
+							Object paramObj = calculateExpression(param, paramName + "_TMP_MVEL", mvelVars, fixedIDs, currentAction, iterationWrapper, false);
+							param = processExpressionResult(paramObj);
+						}
+
+						sb.append(param).append(currChar);
+						iteration = (Integer) iterationWrapper.getObject();
+						lastInd = currInd + 1;
+						if (currChar == ')') {
+							isDone = true;
+						}
+					} else if (currChar == '\'') {
+						if (!isStringLiteral || currInd <= 0 || formula.charAt(currInd - 1) != '\\') {
+							isStringLiteral = !isStringLiteral;
+						}
+					} else if (currChar == '(' && !isStringLiteral) {
+						isFuncParameters++;
+					} else if (currChar == ')' && !isStringLiteral) {
+						isFuncParameters--;
+					}
+					currInd++;
+				}
+				bracket = currInd - 1;
+			}
+
+			sb.append(formula.substring(lastInd));
+
+			formula = sb.toString();
+		}
+		
+		iterationWrapper.setObject(iteration);
+		return formula;
+	}
+	
+	private Object executeFormula(String formula, Map<String, Object> mvelVars, Action currentAction, boolean needClassCheck) throws Exception
+	{
+		//Compile and execute expression
+		Serializable compiledExp = expressionCache.getCompiled(formula);
+		//Formula can be calculated while calculating another one, so previous action is restored afterwards
+		Action previousAction = getCurrentAction();
+		setCurrentAction(currentAction);
+		Object resultObj;
+		try
+		{
+			resultObj = MVEL.executeExpression(compiledExp, this, mvelVars);  //if mvelVars is null it will only calculate function results, but will not follow references
+		}
+		finally
+		{
+			setCurrentAction(previousAction);
+		}
+
+		if(needClassCheck && (resultObj instanceof Class))
+				throw new ParametersException("Incorrect formula");
+		return resultObj;
+	}
+	
+	/**
+	 * @return action whose parameters are being calculated by current thread
+	 */
+	protected Action getCurrentAction()
+	{
+		return currentAction.get();
+	}
+	
+	/**
+	 * Sets action whose parameters are being calculated by current thread
+	 * @param action to set. Null value clears action of current thread
+	 */
+	protected void setCurrentAction(Action action)
+	{
+		if (action != null)
+			currentAction.set(action);
+		else
+			currentAction.remove();
+	}
+	
 	protected boolean isSpecialValue(String expression)
 	{
 		return comparisonUtils().isSpecialValue(expression)
@@ -0,0 +1,142 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation;
+
+import com.exactprosystems.clearth.utils.ClearThException;
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of compiled and validated MVEL expressions. Least recently used expressions are evicted when cache is full
+ */
+public class MvelExpressionCache
+{
+	public static final int DEFAULT_LIMIT = 1000;
+
+	private final ParserContext context;
+	private final MvelExpressionValidator validator;
+	private final int limit;
+	private final Map<String, Serializable> expressions;
+	private final AtomicLong hits = new AtomicLong(),
+			misses = new AtomicLong();
+
+	public MvelExpressionCache(ParserContext context, MvelExpressionValidator validator, int limit)
+	{
+		this.context = context;
+		this.validator = validator;
+		this.limit = limit;
+		this.expressions = new LinkedHashMap<String, Serializable>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Serializable> eldest)
+			{
+				return size() > MvelExpressionCache.this.limit;
+			}
+		};
+	}
+
+
+	/**
+	 * Returns compiled expression for given formula, compiling and validating it if it is not cached yet
+	 * @param formula MVEL expression to compile
+	 * @return compiled expression ready to be executed
+	 * @throws ClearThException if expression is not valid
+	 */
+	public Serializable getCompiled(String formula) throws ClearThException
+	{
+		String key = normalize(formula);
+		Serializable result;
+		synchronized (expressions)
+		{
+			result = expressions.get(key);
+		}
+
+		if (result != null)
+		{
+			hits.incrementAndGet();
+			return result;
+		}
+
+		misses.incrementAndGet();
+		result = compile(key);
+		if (limit > 0)
+		{
+			synchronized (expressions)
+			{
+				expressions.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	public void clear()
+	{
+		synchronized (expressions)
+		{
+			expressions.clear();
+		}
+	}
+
+
+	public long getHits()
+	{
+		return hits.get();
+	}
+
+	public long getMisses()
+	{
+		return misses.get();
+	}
+
+	public int getSize()
+	{
+		synchronized (expressions)
+		{
+			return expressions.size();
+		}
+	}
+
+	public int getLimit()
+	{
+		return limit;
+	}
+
+
+	protected String normalize(String formula)
+	{
+		return formula.trim();
+	}
+
+	protected Serializable compile(String formula) throws ClearThException
+	{
+		Serializable result;
+		//ParserContext is not designed for concurrent use
+		synchronized (context)
+		{
+			result = MVEL.compileExpression(formula, context);
+		}
+		validator.validateExpression(result);
+		return result;
+	}
+}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2025 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -41,6 +41,7 @@ import com.exactprosystems.clearth.data.TestExecutionHandler;
 import com.exactprosystems.clearth.utils.ClearThException;
 import com.exactprosystems.clearth.utils.FileOperationUtils;
 import com.exactprosystems.clearth.utils.SettingsException;
+import com.exactprosystems.clearth.utils.StateChangeNotifier;
 import com.exactprosystems.clearth.xmldata.XmlSchedulerLaunchInfo;
 import com.exactprosystems.clearth.xmldata.XmlSchedulerLaunches;
 import org.apache.commons.io.FileUtils;
@@ -95,6 +96,7 @@ public abstract class Scheduler
 	protected boolean testMode;
 	private Date executorStartedTime;
 	private final AtomicBoolean stoppedByUser = new AtomicBoolean(false);
+	private final StateChangeNotifier<SchedulerStateChange> stateChangeNotifier = new StateChangeNotifier<>();
 
 	protected MatrixProviderHolder matrixProviderHolder;
 
@@ -110,6 +112,7 @@ public abstract class Scheduler
 		this.stepFactory = stepFactory;
 		this.matrixDataFactory = ClearThCore.getInstance().getMatrixDataFactory();
 		this.generatorResources = generatorResources;
+		status.setOnChange(() -> notifyStateChanged(SchedulerStateChange.STATUS));
 		schedulerData = createSchedulerData(name, configsRoot, schedulerDirName, lastExecutionDataDir, scriptsDir);
 		
 		//If some matrices files were added before scheduler construction - let's add them to schedulerData
@@ -920,6 +923,7 @@ public abstract class Scheduler
 			if (stateConfig.isAutoSave())
 			{
 				ExecutorStateManager<?> es = getOrCreateStateManager();
+				es.setStateConfig(stateConfig);
 				simpleExecutor.setStateManager(es);
 			}
 			
@@ -929,6 +933,7 @@ public abstract class Scheduler
 			
 			executor = simpleExecutor;
 			executor.start();
+			notifyStateChanged(SchedulerStateChange.EXECUTION);
 			
 			waitAfterExecutionStarted();
 		}
@@ -1012,6 +1017,7 @@ public abstract class Scheduler
 			executor = sequentialExecutor;
 			executor.start();
 			sequentialRun = true;
+			notifyStateChanged(SchedulerStateChange.EXECUTION);
 		}
 		catch (AutomationException e)
 		{
@@ -1058,7 +1064,10 @@ public abstract class Scheduler
 		simpleExecutor.setRestored(true);
 		simpleExecutor.setStoredActionReports(storageRepDir);
 		if (stateConfig.isAutoSave())
+		{
+			es.setStateConfig(stateConfig);
 			simpleExecutor.setStateManager(es);
+		}
 		simpleExecutor.setOnFinish((x) -> this.simpleExecutorFinished(x));
 		
 		steps = simpleExecutor.getSteps();
@@ -1069,6 +1078,7 @@ public abstract class Scheduler
 		initSchedulerOnRestore(simpleExecutor);
 		executor = simpleExecutor;
 		executor.start();
+		notifyStateChanged(SchedulerStateChange.EXECUTION);
 	}
 	
 	synchronized public void stop() throws AutomationException
@@ -1093,6 +1103,7 @@ public abstract class Scheduler
 				seqExec.interruptWholeExecution();
 		}
 		stoppedByUser.set(true);
+		notifyStateChanged(SchedulerStateChange.EXECUTION);
 //		matrices.clear();
 	}
 
@@ -1118,6 +1129,7 @@ public abstract class Scheduler
 	{
 		checkSchedulerNotStopped("Scheduler is not running");
 		executor.pauseExecution();
+		notifyStateChanged(SchedulerStateChange.EXECUTION);
 	}
 	
 	synchronized public void continueExecution() throws AutomationException
@@ -1126,12 +1138,14 @@ public abstract class Scheduler
 		checkSuspended("Execution is already running");
 		executor.clearLastReportsInfo();
 		executor.continueExecution();
+		notifyStateChanged(SchedulerStateChange.SUSPENSION);
 	}
 	
 	synchronized public void replayStep() throws AutomationException
 	{
 		checkSuspended("Scheduler is running");
 		executor.replayStep();
+		notifyStateChanged(SchedulerStateChange.SUSPENSION);
 	}
 	
 	
@@ -1148,12 +1162,14 @@ public abstract class Scheduler
 	{
 		checkFailover();
 		executor.tryAgainMain();
+		notifyStateChanged(SchedulerStateChange.FAILOVER);
 	}
 	
 	public void tryAgainAlt() throws AutomationException
 	{
 		checkFailover();
 		executor.tryAgainAlt();
+		notifyStateChanged(SchedulerStateChange.FAILOVER);
 	}
 	
 	public int getFailoverActionType()
@@ -1554,6 +1570,21 @@ public abstract class Scheduler
 	private void resetExecutor()
 	{
 		executor = null;
+		notifyStateChanged(SchedulerStateChange.EXECUTION);
+	}
+	
+	
+	/**
+	 * @return notifier to subscribe for changes of scheduler state, e.g. to update GUI only when something has changed
+	 */
+	public StateChangeNotifier<SchedulerStateChange> getStateChangeNotifier()
+	{
+		return stateChangeNotifier;
+	}
+	
+	public void notifyStateChanged(SchedulerStateChange change)
+	{
+		stateChangeNotifier.notifyListeners(change);
 	}
 	
 	
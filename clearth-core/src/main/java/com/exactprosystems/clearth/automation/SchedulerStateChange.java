@@ -0,0 +1,37 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.automation;
+
+/**
+ * Parts of scheduler state that can change independently during its execution
+ */
+public enum SchedulerStateChange
+{
+	/** Scheduler has been started, stopped, paused, resumed or finished execution */
+	EXECUTION,
+	/** New line has been added to scheduler status or numbers of running async actions have changed */
+	STATUS,
+	/** Step has been started or finished or action execution progress has changed */
+	STEPS,
+	/** Execution has been suspended or resumed */
+	SUSPENSION,
+	/** Connection failure occurred or has been resolved */
+	FAILOVER
+}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -27,6 +27,7 @@ import com.exactprosystems.clearth.automation.status.StatusLine;
 public class SchedulerStatus
 {
 	private List<StatusLine> lines = new ArrayList<>();
+	private Runnable onChange;
 	
 	public List<StatusLine> getLines()
 	{
@@ -36,10 +37,28 @@ public class SchedulerStatus
 	public void addLine(StatusLine line)
 	{
 		lines.add(line);
+		notifyChanged();
 	}
 	
 	public void clearLines()
 	{
 		lines.clear();
+		notifyChanged();
+	}
+	
+	/**
+	 * @param onChange action to perform when status lines are changed
+	 */
+	public void setOnChange(Runnable onChange)
+	{
+		this.onChange = onChange;
+	}
+	
+	
+	private void notifyChanged()
+	{
+		Runnable r = onChange;
+		if (r != null)
+			r.run();
 	}
 }
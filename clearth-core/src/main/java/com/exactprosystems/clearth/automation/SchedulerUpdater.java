@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -111,13 +111,23 @@ public class SchedulerUpdater
 	private void applyUpdatedMatrices(List<Matrix> updatedMatrices) throws ActionUpdateException, SchedulerUpdateException
 	{
 		Step currentStep = scheduler.getCurrentStep();
-		Action currentAction = currentStep.getCurrentAction();
-		
 		ActionsUpdater updater = new ActionsUpdater(scheduler.getMatrices(), scheduler.getSteps());
-		updater.updateFrom(currentAction, updatedMatrices);
-		
-		if (!currentStep.isEnded())  //If current step is not finished yet, need to rewind its progress back to current action
-			currentStep.rewindToAction(currentAction);
+		if (currentStep.isExecutedInParallel())
+		{
+			//Each matrix of current step is at its own action, threads executing matrices continue from them
+			Map<Matrix, Action> currentActions = currentStep.getCurrentActions();
+			updater.updateFrom(currentStep, currentActions, currentStep.getFinishedMatrices(), updatedMatrices);
+			for (Action currentAction : currentActions.values())
+				currentStep.rewindToAction(currentAction);
+		}
+		else
+		{
+			Action currentAction = currentStep.getCurrentAction();
+			updater.updateFrom(currentAction, updatedMatrices);
+			
+			if (!currentStep.isEnded())  //If current step is not finished yet, need to rewind its progress back to current action
+				currentStep.rewindToAction(currentAction);
+		}
 		
 		if (!isAutoSave())
 			return;
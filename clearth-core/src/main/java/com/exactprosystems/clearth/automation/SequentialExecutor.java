@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -481,6 +481,18 @@ public abstract class SequentialExecutor extends Thread implements IExecutor
 		}
 	}
 	
+	@Override
+	public MatrixFunctions getMatrixFunctions()
+	{
+		synchronized (ceMonitor)
+		{
+			if (currentExecutor != null)
+				return currentExecutor.getMatrixFunctions();
+			else
+				return null;
+		}
+	}
+	
 	public String getCurrentMatrix()
 	{
 		return currentMatrix;
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2025 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -24,14 +24,18 @@ import com.exactprosystems.clearth.automation.exceptions.ParametersException;
 import com.exactprosystems.clearth.automation.persistence.ExecutorStateManager;
 import com.exactprosystems.clearth.automation.persistence.ExecutorStateUpdater;
 import com.exactprosystems.clearth.automation.report.ActionReportWriter;
+import com.exactprosystems.clearth.automation.report.AsyncReportFileWriter;
 import com.exactprosystems.clearth.automation.report.ReportException;
 import com.exactprosystems.clearth.automation.report.ReportsConfig;
 import com.exactprosystems.clearth.automation.report.ReportsWriter;
 import com.exactprosystems.clearth.automation.report.Result;
 import com.exactprosystems.clearth.automation.report.results.DefaultResult;
+import com.exactprosystems.clearth.automation.status.AsyncActionsLine;
 import com.exactprosystems.clearth.automation.status.LaunchInfoLine;
 import com.exactprosystems.clearth.automation.status.StringLine;
 import com.exactprosystems.clearth.automation.steps.Default;
+import com.exactprosystems.clearth.config.AsyncReports;
+import com.exactprosystems.clearth.config.ParallelMatrices;
 import com.exactprosystems.clearth.data.HandledTestExecutionIdStorage;
 import com.exactprosystems.clearth.data.HandledTestExecutionId;
 import com.exactprosystems.clearth.data.TestExecutionHandler;
@@ -126,6 +130,10 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 		this.executionHandler = globalContext.getExecutionHandler();
 		this.reportsConfig = new ReportsConfig(reportsConfig);
 		this.actionExecutor = createActionExecutor();
+		this.actionExecutor.setStateChangeListener(this::notifyStateChanged);
+		this.actionExecutor.setMatrixThreads(getMatrixThreads());
+		this.actionExecutor.setCalculatorFactory(this::createParamsCalculator);
+		this.actionExecutor.setAsyncActionsPool(ClearThCore.getInstance().getConfig().getAutomation().getAsyncActionsPool().isEnabled());
 		this.stepData = new ArrayList<>(steps.size());
 	}
 
@@ -217,6 +225,8 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 			if (!interrupted.get())
 			{
 				status.addLine(new StringLine("Executing steps and actions..."));
+				if (hasAsyncActions())
+					status.addLine(new AsyncActionsLine(actionExecutor::getActiveAsyncActions, actionExecutor::getWaitingAsyncActions));
 				handleExecutionStart();
 				
 				for (Step step : steps)
@@ -362,6 +372,7 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 								{
 									suspension.setReplayStep(replay.getValue());  //Will show "Replay step" button in GUI
 									suspension.setSuspended(true);
+									notifyStateChanged(SchedulerStateChange.SUSPENSION);
 									suspension.wait();
 									replay.setValue(suspension.isReplayStep());
 								}
@@ -493,6 +504,7 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 	protected void stepStarted(Step step)
 	{
 		step.setStarted(Calendar.getInstance().getTime());
+		notifyStateChanged(SchedulerStateChange.STEPS);
 		
 		if (!checkExecutionHandler("step start"))
 			return;
@@ -511,6 +523,7 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 	{
 		step.clearContexts();
 		step.clearSyncActions();
+		notifyStateChanged(SchedulerStateChange.STEPS);
 		
 		if (!checkExecutionHandler("step end"))
 			return;
@@ -526,6 +539,11 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 	}
 	
 	
+	protected void notifyStateChanged(SchedulerStateChange change)
+	{
+		scheduler.notifyStateChanged(change);
+	}
+	
 	protected void clearSteps()
 	{
 		steps.forEach(Step::clearActions);
@@ -640,7 +658,11 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 	
 	protected ActionReportWriter createReportWriter()
 	{
-		return new ActionReportWriter(getReportsConfig(), ClearThCore.getInstance().getReportTemplatesProcessor());
+		AsyncReports asyncReports = ClearThCore.getInstance().getConfig().getAutomation().getAsyncReports();
+		AsyncReportFileWriter asyncWriter = asyncReports.isEnabled()
+				? new AsyncReportFileWriter(getName()+"_ReportWriter", asyncReports.getQueueSize(), asyncReports.getBatchSize())
+				: null;
+		return new ActionReportWriter(getReportsConfig(), ClearThCore.getInstance().getReportTemplatesProcessor(), asyncWriter);
 	}
 	
 	protected ActionExecutor createActionExecutor()
@@ -649,6 +671,29 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 				scheduler.getSchedulerData().isIgnoreAllConnectionsFailures(), scheduler.getConnectionsToIgnoreFailuresByRun());
 	}
 	
+	protected boolean hasAsyncActions()
+	{
+		for (Matrix matrix : matrices)
+		{
+			for (Action action : matrix.getActions())
+			{
+				if (action.isAsync())
+					return true;
+			}
+		}
+		return false;
+	}
+	
+	protected int getMatrixThreads()
+	{
+		ParallelMatrices parallelMatrices = ClearThCore.getInstance().getConfig().getAutomation().getParallelMatrices();
+		if (!parallelMatrices.isEnabled())
+			return 0;
+		
+		int maxThreads = parallelMatrices.getMaxThreads();
+		return maxThreads > 0 ? maxThreads : Integer.MAX_VALUE;
+	}
+	
 	protected void waitForAsyncActions()
 	{
 		if (!interrupted.get())
@@ -1457,6 +1502,12 @@ public abstract class SimpleExecutor extends Thread implements IExecutor
 		suspension.setTimeout(false);
 	}
 
+	@Override
+	public MatrixFunctions getMatrixFunctions()
+	{
+		return globalContext.getMatrixFunctions();
+	}
+
 	public boolean isSuspensionTimeout() {
 		return suspension.isTimeout();
 	}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2025 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -29,6 +29,10 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.exactprosystems.clearth.automation.ActionExecutor.isAsyncAction;
@@ -46,7 +50,15 @@ public abstract class Step implements CsvDataManager
 	protected volatile Action currentAction = null;
 	protected String actionsReportsDir = null;
 
-	protected boolean interrupted = false, paused = false;
+	protected volatile boolean interrupted = false, paused = false;
+	//True while actions of different matrices are executed by separate threads
+	protected volatile boolean parallelLanes = false;
+	//Iterators over actions of matrices executed in parallel. Map also guards changes of actions list while matrices are executed
+	protected final Map<Matrix, Iterator<Action>> laneIterators = new HashMap<>();
+	protected final Map<Matrix, Action> laneActions = new ConcurrentHashMap<>();
+	protected final Set<Matrix> finishedLanes = new HashSet<>();  //Guarded by laneIterators
+	protected final Object pauseLock = new Object();
+	private boolean lanePaused = false;  //Guarded by pauseLock
 	protected AtomicBoolean anyActionFailed = new AtomicBoolean(false);
 	protected AtomicBoolean failedDueToError = new AtomicBoolean(false);
 	protected SchedulerSuspension suspension = null;
@@ -302,7 +314,9 @@ public abstract class Step implements CsvDataManager
 
 	public void setAnyActionFailed(boolean anyActionFailed)
 	{
-		this.anyActionFailed.set(isAnyActionFailed() || anyActionFailed);
+		//Flag is only raised, so that concurrent updates don't reset it
+		if (anyActionFailed)
+			this.anyActionFailed.set(true);
 	}
 
 	public boolean isFailedDueToError()
@@ -436,9 +450,53 @@ public abstract class Step implements CsvDataManager
 	
 	protected void pauseAction(String pauseDescription)
 	{
-		actionPauseDescription = pauseDescription;
-		actionPause = true;
-		pauseStep();
+		pauseLane(() -> {
+			actionPauseDescription = pauseDescription;
+			actionPause = true;
+			pauseStep();
+		}, true);
+	}
+	
+	/**
+	 * Suspends thread that executes actions. Scheduler resumes execution by waking one waiting thread, 
+	 * so if matrices are executed in parallel, only one of them waits for scheduler. Others wait for that pause to end, not holding any lock.
+	 * @param pause routine that suspends execution
+	 * @param afterOtherPause if true, pause is made even if other thread has just paused the step and it is resumed. 
+	 * Pauses requested by actions need this, while pause of whole step is made by one thread only
+	 */
+	protected void pauseLane(Runnable pause, boolean afterOtherPause)
+	{
+		synchronized (pauseLock)
+		{
+			try
+			{
+				while (lanePaused)
+					pauseLock.wait();
+			}
+			catch (InterruptedException e)
+			{
+				getLogger().error("Wait interrupted", e);
+				Thread.currentThread().interrupt();
+				return;
+			}
+			
+			if (!afterOtherPause && !paused)  //Step has been paused by other thread and is already resumed
+				return;
+			lanePaused = true;
+		}
+		
+		try
+		{
+			pause.run();
+		}
+		finally
+		{
+			synchronized (pauseLock)
+			{
+				lanePaused = false;
+				pauseLock.notifyAll();
+			}
+		}
 	}
 	
 	protected void checkContextsExist()
@@ -470,6 +528,11 @@ public abstract class Step implements CsvDataManager
 	{
 		actionExec.checkAsyncActions(minimumFinishAge);
 	}
+	
+	protected void updateByAsyncActions(ActionExecutor actionExec, long minimumFinishAge, Matrix matrix)
+	{
+		actionExec.checkAsyncActions(minimumFinishAge, matrix);
+	}
 
 	protected void waitForAsyncActions(ActionExecutor actionExec,
 			BiConsumerWithException<ActionExecutor, String, InterruptedException> waitMethod)
@@ -518,63 +581,268 @@ public abstract class Step implements CsvDataManager
 			AtomicBoolean canReplay = new AtomicBoolean(false);
 			logger.info("Running actions for step '{}'", this.getName());
 			actionsIterator = createActionsIterator();
-			while (actionsIterator.hasNext())
+			Map<Matrix, List<Action>> matrixActions = actionExec.getMatrixThreads() > 1 ? splitByMatrices() : null;
+			if (matrixActions != null && matrixActions.size() > 1)
+				executeInParallel(matrixActions.keySet(), actionExec, replay, stateUpdater, globalContext, canReplay);
+			else
+			{
+				while (actionsIterator.hasNext())
+				{
+					currentAction = actionsIterator.next();
+					try
+					{
+						if (currentAction.getFinished() != null)  // If we replay the step and this action is already done
+						{
+							actionExec.getReportWriter().incActionIndex();
+							continue;
+						}
+						
+						if (paused)
+						{
+							//Stored state must be up to date while execution is paused, it can be edited or restored
+							if (stateUpdater != null)
+								stateUpdater.flush();
+							this.pauseStep();
+						}
+						
+						if (interrupted)
+							break;
+						
+						actionExec.prepareToAction(currentAction);
+						
+						Matrix matrix = currentAction.getMatrix();
+						MatrixContext matrixContext = matrix.getContext();
+						StepContext stepContext = getStepContext(matrix);
+						
+						beforeAction(currentAction, stepContext, matrixContext, globalContext);
+						
+						if (replay.getValue() && !actionExec.prepareActionReplay(currentAction))
+							continue;
+
+						//Need to "execute actions" even if step is not executable, because actions may need to set some parameters referenced by further actions
+						if (currentAction.isAsync())
+							addAsyncAction(currentAction);
+						actionExec.executeAction(currentAction, stepContext, canReplay);
+						
+						afterAction(currentAction, stepContext, matrixContext, globalContext);
+						updateByAsyncActions(actionExec, 1000);
+						
+						if (stateUpdater != null)
+							stateUpdater.update(currentAction);
+					}
+					finally
+					{
+						if (!isAsyncAction(currentAction))
+							currentAction.dispose();
+					}
+				}
+			}
+			actionsIterator = null;
+			if (stateUpdater != null)
+				stateUpdater.flush();
+			
+			actionExec.afterActionsExecution(this);
+			waitForAsyncActions(actionExec, ActionExecutor::waitForStepAsyncActions);
+			replay.setValue(canReplay.get());
+		}
+		finally
+		{
+			//Reports of executed actions must be in step files even if execution failed
+			actionExec.getReportWriter().flush();
+			afterActions(globalContext, stepContexts);
+		}
+	}
+
+	protected Map<Matrix, List<Action>> splitByMatrices()
+	{
+		Map<Matrix, List<Action>> result = new LinkedHashMap<>();
+		for (Action action : actions)
+			result.computeIfAbsent(action.getMatrix(), m -> new ArrayList<>()).add(action);
+		return result;
+	}
+	
+	/**
+	 * Executes actions of each matrix in separate thread, keeping order of actions within the matrix. 
+	 * Each thread calculates action parameters with its own calculator and applies results of async actions from its matrix
+	 */
+	protected void executeInParallel(Collection<Matrix> matrices, ActionExecutor actionExec, BooleanObject replay, 
+			ExecutorStateUpdater<?> stateUpdater, GlobalContext globalContext, AtomicBoolean canReplay) throws Exception
+	{
+		//Contexts are created in advance so that threads only read the map
+		for (Matrix matrix : matrices)
+			getStepContext(matrix);
+		
+		int threads = Math.min(actionExec.getMatrixThreads(), matrices.size());
+		getLogger().info("Executing actions of {} matrices in {} threads", matrices.size(), threads);
+		
+		ExecutorService executor = actionExec.getMatrixThreadPool();
+		List<Future<?>> lanes = new ArrayList<>();
+		parallelLanes = true;
+		try
+		{
+			for (Matrix matrix : matrices)
+			{
+				lanes.add(executor.submit(() -> {
+					executeLane(matrix, actionExec, replay, stateUpdater, globalContext, canReplay);
+					return null;
+				}));
+			}
+			
+			try
+			{
+				for (Future<?> lane : lanes)
+					lane.get();
+			}
+			catch (InterruptedException e)
+			{
+				interruptExecution();
+				for (Future<?> lane : lanes)
+					lane.cancel(true);
+				throw e;
+			}
+			catch (ExecutionException e)
+			{
+				//Other threads finish their current actions and stop
+				interruptExecution();
+				Throwable cause = e.getCause();
+				if (cause instanceof Exception)
+					throw (Exception) cause;
+				throw e;
+			}
+		}
+		finally
+		{
+			parallelLanes = false;
+			synchronized (laneIterators)
+			{
+				laneIterators.clear();
+				laneActions.clear();
+				finishedLanes.clear();
+			}
+		}
+	}
+	
+	protected void executeLane(Matrix matrix, ActionExecutor actionExec, BooleanObject replay, 
+			ExecutorStateUpdater<?> stateUpdater, GlobalContext globalContext, AtomicBoolean canReplay) throws Exception
+	{
+		ActionParamsCalculator calculator = actionExec.createCalculator();
+		MatrixContext matrixContext = matrix.getContext();
+		StepContext stepContext = stepContexts.get(matrix);
+		
+		try
+		{
+			Action action;
+			while ((action = nextLaneAction(matrix)) != null)
 			{
-				currentAction = actionsIterator.next();
 				try
 				{
-					if (currentAction.getFinished() != null)  // If we replay the step and this action is already done
+					if (action.getFinished() != null)
 					{
 						actionExec.getReportWriter().incActionIndex();
 						continue;
 					}
 					
 					if (paused)
-						this.pauseStep();
+					{
+						if (stateUpdater != null)
+						{
+							synchronized (stateUpdater)
+							{
+								stateUpdater.flush();
+							}
+						}
+						pauseLane(this::pauseStep, false);
+					}
 					
 					if (interrupted)
 						break;
 					
-					actionExec.prepareToAction(currentAction);
-					
-					Matrix matrix = currentAction.getMatrix();
-					MatrixContext matrixContext = matrix.getContext();
-					StepContext stepContext = getStepContext(matrix);
+					actionExec.prepareToAction(action);
 					
-					beforeAction(currentAction, stepContext, matrixContext, globalContext);
+					beforeAction(action, stepContext, matrixContext, globalContext);
 					
-					if (replay.getValue() && !actionExec.prepareActionReplay(currentAction))
+					if (replay.getValue() && !actionExec.prepareActionReplay(action))
 						continue;
-
-					//Need to "execute actions" even if step is not executable, because actions may need to set some parameters referenced by further actions
-					if (currentAction.isAsync())
-						addAsyncAction(currentAction);
-					actionExec.executeAction(currentAction, stepContext, canReplay);
 					
-					afterAction(currentAction, stepContext, matrixContext, globalContext);
-					updateByAsyncActions(actionExec, 1000);
+					if (action.isAsync())
+						addAsyncAction(action);
+					actionExec.executeAction(action, stepContext, canReplay, calculator);
+					
+					afterAction(action, stepContext, matrixContext, globalContext);
+					updateByAsyncActions(actionExec, 1000, matrix);
 					
 					if (stateUpdater != null)
-						stateUpdater.update(currentAction);
+					{
+						//Queued updates would be written later, when other threads already changed their matrices
+						synchronized (stateUpdater)
+						{
+							stateUpdater.updateImmediately(action);
+						}
+					}
 				}
 				finally
 				{
-					if (!isAsyncAction(currentAction))
-						currentAction.dispose();
+					if (!isAsyncAction(action))
+						action.dispose();
 				}
 			}
-			actionsIterator = null;
-			
-			actionExec.afterActionsExecution(this);
-			waitForAsyncActions(actionExec, ActionExecutor::waitForStepAsyncActions);
-			replay.setValue(canReplay.get());
 		}
 		finally
 		{
-			afterActions(globalContext, stepContexts);
+			synchronized (laneIterators)
+			{
+				laneActions.remove(matrix);
+				finishedLanes.add(matrix);
+			}
 		}
 	}
-
+	
+	private Action nextLaneAction(Matrix matrix)
+	{
+		synchronized (laneIterators)
+		{
+			Iterator<Action> it = laneIterators.computeIfAbsent(matrix, m -> createLaneActions(m).iterator());
+			if (!it.hasNext())
+				return null;
+			
+			Action result = it.next();
+			laneActions.put(matrix, result);
+			return result;
+		}
+	}
+	
+	private List<Action> createLaneActions(Matrix matrix)
+	{
+		List<Action> result = new ArrayList<>();
+		for (Action a : actions)
+		{
+			if (a.getMatrix() == matrix)
+				result.add(a);
+		}
+		return result;
+	}
+	
+	/**
+	 * Moves thread executing given matrix to position after given action. Must be called while holding laneIterators
+	 * @return false if action is not found among actions of the matrix
+	 */
+	private boolean rewindLane(Matrix matrix, Action action)
+	{
+		Iterator<Action> newIterator = createLaneActions(matrix).iterator();
+		while (newIterator.hasNext())
+		{
+			Action nextAction = newIterator.next();
+			//Updated actions list may contain other instance of current action
+			if (nextAction == action || nextAction.getIdInMatrix().equals(action.getIdInMatrix()))
+			{
+				laneIterators.put(matrix, newIterator);
+				laneActions.put(matrix, nextAction);
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	public void clearContexts()
 	{
 		if(stepContexts != null)
@@ -610,16 +878,27 @@ public abstract class Step implements CsvDataManager
 
 	public void setActions(List<Action> actions)
 	{
-		clearActions();
-		this.actions.addAll(actions);
-		asyncActions.clear();
-		executable = stepData.isExecute() && !actions.isEmpty() && actions.stream().anyMatch(Action::isExecutable);
-		async = false;
-		
-		if (actionsIterator != null)
+		synchronized (laneIterators)
 		{
-			actionsIterator = createActionsIterator();
-			currentAction = null;
+			clearActions();
+			this.actions.addAll(actions);
+			asyncActions.clear();
+			executable = stepData.isExecute() && !actions.isEmpty() && actions.stream().anyMatch(Action::isExecutable);
+			async = false;
+			
+			if (actionsIterator != null)
+			{
+				actionsIterator = createActionsIterator();
+				currentAction = null;
+			}
+			
+			//Threads executing matrices in parallel continue from their current actions in updated list
+			for (Matrix matrix : new ArrayList<>(laneIterators.keySet()))
+			{
+				Action laneAction = laneActions.get(matrix);
+				if (laneAction == null || !rewindLane(matrix, laneAction))
+					laneIterators.remove(matrix);
+			}
 		}
 	}
 	
@@ -631,6 +910,17 @@ public abstract class Step implements CsvDataManager
 		if (actionsIterator == null)
 			throw new IllegalStateException("This global step is not being executed");
 		
+		if (parallelLanes)
+		{
+			//Only thread executing matrix of given action is rewound
+			synchronized (laneIterators)
+			{
+				if (rewindLane(action.getMatrix(), action))
+					return;
+			}
+			throw new IllegalArgumentException("Given action (ID="+action.getIdInMatrix()+") is not found in this global step");
+		}
+		
 		Iterator<Action> newIterator = createActionsIterator();
 		while (newIterator.hasNext())
 		{
@@ -656,11 +946,41 @@ public abstract class Step implements CsvDataManager
 		}
 	}
 	
+	/**
+	 * @return action being executed. If actions of matrices are executed in parallel, current action of each matrix is returned by {@link #getCurrentActions()}
+	 */
 	public Action getCurrentAction()
 	{
 		return currentAction;
 	}
 	
+	/**
+	 * @return actions being executed by threads that execute matrices in parallel, by matrix. Matrices whose execution is not started yet are not in the map
+	 */
+	public Map<Matrix, Action> getCurrentActions()
+	{
+		return new HashMap<>(laneActions);
+	}
+	
+	/**
+	 * @return matrices whose actions in this step are already executed by threads that execute matrices in parallel
+	 */
+	public Set<Matrix> getFinishedMatrices()
+	{
+		synchronized (laneIterators)
+		{
+			return new HashSet<>(finishedLanes);
+		}
+	}
+	
+	/**
+	 * @return true if actions of different matrices of this step are being executed in parallel
+	 */
+	public boolean isExecutedInParallel()
+	{
+		return parallelLanes;
+	}
+	
 	
 	private Iterator<Action> createActionsIterator()
 	{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2025 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -51,13 +51,16 @@ import com.exactprosystems.clearth.utils.tabledata.comparison.valuesComparators.
 import com.exactprosystems.clearth.utils.tabledata.comparison.valuesComparators.NumericStringValuesComparator;
 import com.exactprosystems.clearth.utils.tabledata.comparison.valuesComparators.StringValuesComparator;
 import com.exactprosystems.clearth.utils.tabledata.comparison.valuesComparators.ValuesComparator;
+import com.exactprosystems.clearth.utils.tabledata.primarykeys.CollectionPrimaryKey;
 import com.exactprosystems.clearth.utils.tabledata.primarykeys.PrimaryKey;
+import com.exactprosystems.clearth.utils.tabledata.primarykeys.StringPrimaryKeyComparator;
 import com.exactprosystems.clearth.utils.tabledata.readers.BasicTableDataReader;
 import com.exactprosystems.clearth.utils.tabledata.readers.MappedTableDataReader;
 import com.exactprosystems.clearth.utils.tabledata.rowMatchers.NumericStringTableRowMatcher;
 import com.exactprosystems.clearth.utils.tabledata.rowMatchers.StringTableRowMatcher;
 
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Map;
 
 public class CompareDataSets extends Action
@@ -173,10 +176,19 @@ public class CompareDataSets extends Action
 			BasicTableDataReader<String, String, ?> actualReader) throws IOException, ParametersException
 	{
 		TableRowsComparator<String, String> rowsComparator = createTableRowsComparator();
-		return compConfig.getKeyColumns().isEmpty() ? new StringTableDataComparator(expectedReader, actualReader, rowsComparator)
+		if (compConfig.getKeyColumns().isEmpty())
+			return new StringTableDataComparator(expectedReader, actualReader, rowsComparator);
+		
+		return compConfig.isSortedByKeys()
+				? new IndexedStringTableDataComparator<>(expectedReader, actualReader, createTableRowMatcher(), rowsComparator, createKeyOrder())
 				: new IndexedStringTableDataComparator<>(expectedReader, actualReader, createTableRowMatcher(), rowsComparator);
 	}
 	
+	protected Comparator<CollectionPrimaryKey<String>> createKeyOrder()
+	{
+		return new StringPrimaryKeyComparator();
+	}
+	
 	protected ComparisonProcessor<String, String, PrimaryKey> createComparisonProcessor()
 	{
 		ComparisonProcessor<String, String, PrimaryKey> processor = new ComparisonProcessor<>(compConfig);
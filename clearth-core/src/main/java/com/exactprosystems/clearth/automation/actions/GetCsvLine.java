@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -25,15 +25,19 @@ import com.exactprosystems.clearth.automation.StepContext;
 import com.exactprosystems.clearth.automation.exceptions.ResultException;
 import com.exactprosystems.clearth.automation.report.Result;
 import com.exactprosystems.clearth.automation.report.results.DefaultResult;
+import com.exactprosystems.clearth.utils.csv.IndexedCsvFile;
 import com.exactprosystems.clearth.utils.csv.readers.ClearThCsvReader;
 import com.exactprosystems.clearth.utils.csv.readers.ClearThCsvReaderConfig;
 import com.exactprosystems.clearth.utils.inputparams.InputParamsHandler;
 import org.apache.commons.lang.StringUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.exactprosystems.clearth.ClearThCore.rootRelative;
@@ -46,11 +50,16 @@ public class GetCsvLine extends Action
 	{
 		Set<String> clearHeader = new LinkedHashSet<>();
 		for (String s :header)
-			clearHeader.add(s.replaceAll("[^\\w$]", ""));
+			clearHeader.add(removeInvalidSymbols(s));
 
 		return clearHeader;
 	}
 
+	private String removeInvalidSymbols(String fieldName)
+	{
+		return fieldName.replaceAll("[^\\w$]", "");
+	}
+
 	protected LinkedHashMap<String, String> prepareOutputParams(LinkedHashMap<String, String> params)
 	{
 		// Nothing to do by default
@@ -64,10 +73,55 @@ public class GetCsvLine extends Action
 		String fileName = paramsHandler.getRequiredString(FILE_NAME);
 		paramsHandler.check();
 
+		String filePath = rootRelative(fileName);
+		ClearThCsvReaderConfig config = createCsvReaderConfig();
+		try
+		{
+			//Cached file is indexed by key columns, so repeated lookups in the same file don't read it again
+			IndexedCsvFile cachedFile = globalContext.getCsvLookupCache().getFile(filePath, config);
+			if (cachedFile != null)
+				return findInCachedFile(cachedFile, paramsHandler);
+			return findInFile(filePath, config, paramsHandler);
+		}
+		catch (IOException e)
+		{
+			return DefaultResult.failed("Error while reading file", e);
+		}
+	}
+
+	protected Result findInCachedFile(IndexedCsvFile file, InputParamsHandler paramsHandler)
+	{
+		List<String> cleanedHeader = new ArrayList<>();
+		for (String fieldName : file.getHeader())
+			cleanedHeader.add(removeInvalidSymbols(fieldName));
+
+		Map<Integer, String> keyValues = new LinkedHashMap<>();
+		for (int i = 0; i < cleanedHeader.size(); i++)
+		{
+			String keyValue = paramsHandler.getString(cleanedHeader.get(i));
+			if (StringUtils.isNotBlank(keyValue))
+				keyValues.put(i, keyValue);
+		}
+
+		if (keyValues.isEmpty())
+			return createResult(null, 0);
+
+		int[] foundRows = file.findRows(keyValues);
+		if (foundRows.length == 0)
+			return createResult(null, 0);
+
+		LinkedHashMap<String, String> foundLine = new LinkedHashMap<String, String>();
+		for (int i = 0; i < cleanedHeader.size(); i++)
+			foundLine.put(cleanedHeader.get(i), file.getValue(foundRows[0], i));
+		return createResult(foundLine, foundRows.length);
+	}
+
+	protected Result findInFile(String filePath, ClearThCsvReaderConfig config, InputParamsHandler paramsHandler) throws IOException
+	{
 		int foundLinesCount = 0;
 		LinkedHashMap<String, String> foundLine = new LinkedHashMap<String, String>();
 
-		try (ClearThCsvReader reader = new ClearThCsvReader(rootRelative(fileName), createCsvReaderConfig()))
+		try (ClearThCsvReader reader = new ClearThCsvReader(filePath, config))
 		{
 			if (!reader.hasHeader())
 				throw new IOException("File does not have header");
@@ -108,14 +162,15 @@ public class GetCsvLine extends Action
 				}
 			}
 		}
-		catch (IOException e)
-		{
-			return DefaultResult.failed("Error while reading file", e);
-		}
 
+		return createResult(foundLine, foundLinesCount);
+	}
+
+	private Result createResult(LinkedHashMap<String, String> foundLine, int foundLinesCount)
+	{
 		Result result;
 
-		if (!foundLine.isEmpty())
+		if (foundLine != null && !foundLine.isEmpty())
 		{
 			setOutputParams(prepareOutputParams(foundLine));
 			result = DefaultResult.passed("Line found");
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -89,7 +89,10 @@ public class ReceivePlainMessage extends Action implements TimeoutAwaiter
 				
 				try
 				{
-					Thread.sleep(sleepTime);
+					if (source.isArrivalNotificationSupported())
+						source.awaitNewMessages(timeout - sw.getElapsedMillis());
+					else
+						Thread.sleep(sleepTime);
 				}
 				catch (InterruptedException e)
 				{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,8 +18,11 @@
 
 package com.exactprosystems.clearth.automation.actions.xls;
 
+import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 
+import org.apache.commons.io.FilenameUtils;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
@@ -36,18 +39,33 @@ import com.exactprosystems.clearth.automation.exceptions.FailoverException;
 import com.exactprosystems.clearth.automation.exceptions.ResultException;
 import com.exactprosystems.clearth.automation.report.Result;
 import com.exactprosystems.clearth.utils.Utils;
+import com.exactprosystems.clearth.utils.XlsxSheetReader;
 import com.exactprosystems.clearth.utils.inputparams.InputParamsUtils;
 import com.exactprosystems.clearth.utils.multidata.MultiRowStringData;
 import com.exactprosystems.clearth.utils.multidata.MultiStringData;
 
 public class LoadXlsData extends Action
 {
-	public static final String PARAM_FILENAME = "FileName";
+	public static final String PARAM_FILENAME = "FileName",
+			PARAM_STREAMING_READ = "StreamingRead";
 	
 	@Override
 	protected Result run(StepContext stepContext, MatrixContext matrixContext, GlobalContext globalContext) throws ResultException, FailoverException
 	{
 		String fileName = getFileName();
+		if (isStreamingRead(fileName))
+		{
+			try
+			{
+				MultiRowStringData loadedData = loadStreamingData(fileName, createDataFormatter());
+				storeLoadedData(loadedData, stepContext, matrixContext, globalContext);
+			}
+			catch (Exception e)
+			{
+				throw ResultException.failed("Error while loading data from file '"+fileName+"'", e);
+			}
+			return null;
+		}
 		
 		FileInputStream fis = null;
 		try
@@ -126,6 +144,52 @@ public class LoadXlsData extends Action
 		}
 	}
 	
+	/**
+	 * Indicates if file should be read as a stream, without loading the whole workbook in memory.
+	 * Streaming is used for XLSX files if "StreamingRead" parameter is true. By default, the whole workbook is loaded.
+	 * While streaming, cached results of formulas are loaded instead of formulas text.
+	 * Methods that process Workbook and Row objects are not called while streaming
+	 * @param fileName name of file to load data from
+	 * @return true if file should be read as a stream
+	 */
+	protected boolean isStreamingRead(String fileName)
+	{
+		return InputParamsUtils.getBooleanOrDefault(getInputParams(), PARAM_STREAMING_READ, false)
+				&& "xlsx".equalsIgnoreCase(FilenameUtils.getExtension(fileName));
+	}
+	
+	protected MultiRowStringData loadStreamingData(String fileName, DataFormatter formatter) throws IOException, ResultException
+	{
+		try (XlsxSheetReader reader = new XlsxSheetReader(new File(fileName), null, formatter))
+		{
+			MultiRowStringData result = null;
+			int nextRowNum = 0;
+			while (reader.nextRow())
+			{
+				if (Thread.interrupted())
+					throw new ResultException("Action was interrupted while loading data from file '"+fileName+"'");
+				
+				if (result == null)
+				{
+					result = new MultiRowStringData(reader.getRowNum());
+					nextRowNum = reader.getRowNum();
+				}
+				
+				//Rows absent in file are loaded as empty ones to keep indices of next rows
+				for (; nextRowNum < reader.getRowNum(); nextRowNum++)
+					result.addData(new MultiStringData(0));
+				
+				int firstCellNum = Math.max(reader.getFirstCellNum(), 0);
+				MultiStringData dataRow = new MultiStringData(firstCellNum);
+				for (int i = firstCellNum; i < reader.getLastCellNum(); i++)
+					dataRow.addData(reader.getValue(i));
+				result.addData(dataRow);
+				nextRowNum++;
+			}
+			return result != null ? result : new MultiRowStringData(0);
+		}
+	}
+	
 	protected void storeLoadedData(MultiRowStringData result, StepContext stepContext, MatrixContext matrixContext, GlobalContext globalContext)
 	{
 		XlsUtils.storeRowsData(result, matrixContext);
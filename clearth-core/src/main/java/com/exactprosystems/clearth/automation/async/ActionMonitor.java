@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,4 +21,11 @@ package com.exactprosystems.clearth.automation.async;
 public interface ActionMonitor
 {
 	public void actionFinished(AsyncActionData actionData);
+	
+	/**
+	 * Called when action is taken from queue and its execution begins
+	 */
+	public default void actionStarted(AsyncActionData actionData)
+	{
+	}
 }
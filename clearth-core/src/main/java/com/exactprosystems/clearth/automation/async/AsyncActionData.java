@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -19,6 +19,11 @@
 package com.exactprosystems.clearth.automation.async;
 
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.exactprosystems.clearth.automation.Action;
 import com.exactprosystems.clearth.automation.MatrixContext;
@@ -31,8 +36,9 @@ public class AsyncActionData
 	private final StepContext stepContext;
 	private final MatrixContext matrixContext;
 	private Result result;
-	private Date started, 
+	private volatile Date started, 
 			finished;
+	private final CompletableFuture<AsyncActionData> completion = new CompletableFuture<>();
 	
 	public AsyncActionData(Action action, StepContext stepContext, MatrixContext matrixContext)
 	{
@@ -89,4 +95,46 @@ public class AsyncActionData
 	{
 		this.finished = finished;
 	}
+	
+	
+	/**
+	 * @return stage that is completed with this object when action execution is finished and its result is ready to be processed
+	 */
+	public CompletionStage<AsyncActionData> getCompletion()
+	{
+		return completion;
+	}
+	
+	public boolean isCompleted()
+	{
+		return completion.isDone();
+	}
+	
+	/**
+	 * Waits for action execution to finish
+	 * @param timeout maximum time to wait in milliseconds
+	 * @return true if action is finished, false if timeout elapsed
+	 * @throws InterruptedException if current thread was interrupted while waiting
+	 */
+	public boolean awaitCompletion(long timeout) throws InterruptedException
+	{
+		try
+		{
+			completion.get(timeout, TimeUnit.MILLISECONDS);
+			return true;
+		}
+		catch (TimeoutException e)
+		{
+			return false;
+		}
+		catch (ExecutionException e)
+		{
+			return true;
+		}
+	}
+	
+	void complete()
+	{
+		completion.complete(this);
+	}
 }
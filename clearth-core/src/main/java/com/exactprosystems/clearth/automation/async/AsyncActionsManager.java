@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -50,6 +50,7 @@ public class AsyncActionsManager implements ActionMonitor, Closeable
 	protected final Map<String, Set<AsyncActionData>> actionsByStep,  //Arranges actions by step name to quickly get know if step needs to wait for actions end
 		actionsBeforeStep;  //Arranges actions by step name to quickly get know which actions should finish before the step starts
 	protected final Set<AsyncActionData> actionsForScheduler;
+	private volatile Runnable onChange;
 	
 	public AsyncActionsManager(GlobalContext globalContext, Consumer<Action> actionToMvel)
 	{
@@ -89,6 +90,14 @@ public class AsyncActionsManager implements ActionMonitor, Closeable
 		}
 		
 		finishedActions.add(actionData);
+		actionData.complete();
+		notifyChanged();
+	}
+	
+	@Override
+	public void actionStarted(AsyncActionData actionData)
+	{
+		notifyChanged();
 	}
 
 	private void refreshState(Action action)
@@ -131,7 +140,7 @@ public class AsyncActionsManager implements ActionMonitor, Closeable
 	
 	/**
 	 * Triggers asynchronous action execution. Action is inserted into queue of corresponding actions group. 
-	 * Its state can be monitored with isActionFinished method
+	 * Its state can be monitored with isActionFinished method or with completion stage of action data
 	 * @param actionData to execute asynchronously
 	 * @throws InterruptedException
 	 */
@@ -149,6 +158,43 @@ public class AsyncActionsManager implements ActionMonitor, Closeable
 			removeActionFromHistory(actionData);
 			throw e;
 		}
+		notifyChanged();
+	}
+	
+	/**
+	 * @return number of async actions being executed right now
+	 */
+	public int getActiveActionsCount()
+	{
+		int result = 0;
+		for (AsyncActionData a : startedActions)
+		{
+			if (a.getStarted() != null)
+				result++;
+		}
+		return result;
+	}
+	
+	/**
+	 * @return number of async actions waiting in queues for their execution to begin
+	 */
+	public int getWaitingActionsCount()
+	{
+		int result = 0;
+		for (AsyncActionData a : startedActions)
+		{
+			if (a.getStarted() == null)
+				result++;
+		}
+		return result;
+	}
+	
+	/**
+	 * @param onChange action to perform when async actions are added, started or finished
+	 */
+	public void setOnChange(Runnable onChange)
+	{
+		this.onChange = onChange;
 	}
 	
 	
@@ -205,6 +251,13 @@ public class AsyncActionsManager implements ActionMonitor, Closeable
 		return logger;
 	}
 	
+	protected void notifyChanged()
+	{
+		Runnable r = onChange;
+		if (r != null)
+			r.run();
+	}
+	
 	protected Set<AsyncActionData> createActionDataSet()
 	{
 		return Collections.newSetFromMap(new ConcurrentHashMap<AsyncActionData, Boolean>());
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -134,6 +134,7 @@ public class AsyncActionsThread extends Thread
 		//Action attributes must not be set directly not to harm main scheduler thread. It will get new values from AsyncActionData and apply them.
 		Action a = actionData.getAction();
 		actionData.setStarted(new Date());
+		monitor.actionStarted(actionData);
 		Result result = a.executeForResult(actionData.getStepContext(), actionData.getMatrixContext(), globalContext);
 		actionData.setFinished(new Date());
 		actionData.setResult(result);
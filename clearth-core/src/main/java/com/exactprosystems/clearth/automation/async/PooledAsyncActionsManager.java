@@ -0,0 +1,240 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.async;
+
+import com.exactprosystems.clearth.automation.Action;
+import com.exactprosystems.clearth.automation.GlobalContext;
+import com.exactprosystems.clearth.automation.report.Result;
+import com.exactprosystems.clearth.automation.report.results.DefaultResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.apache.commons.lang.StringUtils.isEmpty;
+
+/**
+ * Executes async actions in shared pool instead of dedicated thread per actions group. 
+ * Actions without group are executed concurrently, without limit. 
+ * Actions of the same group are executed one by one in order they've been added. 
+ * Pool uses virtual threads if they are supported by Java runtime, else it creates new threads when needed and reuses idle ones.
+ */
+public class PooledAsyncActionsManager extends AsyncActionsManager
+{
+	private static final Logger logger = LoggerFactory.getLogger(PooledAsyncActionsManager.class);
+	
+	protected final ExecutorService executor;
+	protected final Map<String, ActionsGroup> groups;
+	private volatile boolean interrupted = false;
+	
+	public PooledAsyncActionsManager(GlobalContext globalContext, Consumer<Action> actionToMvel)
+	{
+		super(globalContext, actionToMvel);
+		
+		executor = createExecutor(Thread.currentThread().getName()+":Async");
+		groups = new ConcurrentHashMap<>();
+	}
+	
+	@Override
+	public void interruptExecution()
+	{
+		interrupted = true;
+		super.interruptExecution();
+		executor.shutdownNow();
+	}
+	
+	@Override
+	public void addAsyncAction(AsyncActionData actionData) throws InterruptedException
+	{
+		addActionToHistory(actionData);
+		
+		String group = actionData.getAction().getAsyncGroup();
+		try
+		{
+			if (isEmpty(group))
+				executor.execute(() -> runAction(actionData));
+			else
+				groups.computeIfAbsent(group, ActionsGroup::new).addAction(actionData);
+		}
+		catch (RejectedExecutionException e)
+		{
+			removeActionFromHistory(actionData);
+			throw e;
+		}
+		notifyChanged();
+	}
+	
+	
+	@Override
+	protected Logger getLogger()
+	{
+		return logger;
+	}
+	
+	protected ExecutorService createExecutor(String threadNamePrefix)
+	{
+		ExecutorService result = createVirtualThreadExecutor();
+		if (result != null)
+			return result;
+		
+		AtomicInteger index = new AtomicInteger(0);
+		return Executors.newCachedThreadPool(r -> {
+			Thread t = new Thread(r, threadNamePrefix+"-"+index.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+	
+	protected ExecutorService createVirtualThreadExecutor()
+	{
+		try
+		{
+			//Virtual threads are available since Java 21, method is looked up at runtime to keep compatibility with older versions
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		}
+		catch (NoSuchMethodException e)
+		{
+			return null;
+		}
+		catch (Exception e)
+		{
+			getLogger().warn("Could not create executor with virtual threads, platform threads will be used", e);
+			return null;
+		}
+	}
+	
+	protected void runAction(AsyncActionData actionData)
+	{
+		if (interrupted)
+			return;
+		
+		try
+		{
+			Action action = actionData.getAction();
+			String actionDesc = null;
+			if (getLogger().isDebugEnabled())
+			{
+				actionDesc = action.getDescForLog("");
+				getLogger().debug("Starting{}", actionDesc);
+			}
+			
+			executeAction(actionData);
+			
+			if (getLogger().isDebugEnabled())
+				getLogger().debug("Finished{}", actionDesc != null ? actionDesc : action.getDescForLog(""));
+		}
+		catch (Exception e)
+		{
+			handleActionCrash(actionData, e);
+		}
+		finally
+		{
+			actionFinished(actionData);
+		}
+	}
+	
+	protected void executeAction(AsyncActionData actionData) throws Exception
+	{
+		//Action attributes must not be set directly not to harm main scheduler thread. It will get new values from AsyncActionData and apply them.
+		Action a = actionData.getAction();
+		actionData.setStarted(new Date());
+		actionStarted(actionData);
+		Result result = a.executeForResult(actionData.getStepContext(), actionData.getMatrixContext(), globalContext);
+		actionData.setFinished(new Date());
+		actionData.setResult(result);
+	}
+	
+	protected void handleActionCrash(AsyncActionData actionData, Exception e)
+	{
+		getLogger().error("Error while executing async action", e);
+		actionData.setFinished(new Date());
+		actionData.setResult(DefaultResult.failed(e));
+	}
+	
+	
+	/**
+	 * Queue of actions from one group. Its actions are executed by pool one after another
+	 */
+	protected class ActionsGroup
+	{
+		private final String name;
+		private final Queue<AsyncActionData> actions = new ArrayDeque<>();
+		private boolean running = false;
+		
+		public ActionsGroup(String name)
+		{
+			this.name = name;
+		}
+		
+		public void addAction(AsyncActionData actionData)
+		{
+			synchronized (this)
+			{
+				actions.add(actionData);
+				if (running)
+					return;
+				running = true;
+			}
+			
+			try
+			{
+				executor.execute(this::runActions);
+			}
+			catch (RejectedExecutionException e)
+			{
+				synchronized (this)
+				{
+					actions.remove(actionData);
+					running = false;
+				}
+				throw e;
+			}
+		}
+		
+		private void runActions()
+		{
+			getLogger().trace("Running actions of group '{}'", name);
+			while (true)
+			{
+				AsyncActionData actionData;
+				synchronized (this)
+				{
+					actionData = actions.poll();
+					if (actionData == null)
+					{
+						running = false;
+						return;
+					}
+				}
+				runAction(actionData);
+			}
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.expressions;
+
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import com.exactprosystems.clearth.automation.exceptions.UnbalancedExpressionException;
+import com.exactprosystems.clearth.utils.StringOperationUtils;
+import com.exactprosystems.clearth.utils.TagUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.exactprosystems.clearth.automation.MatrixFunctions.FORMULA_END;
+import static com.exactprosystems.clearth.automation.MatrixFunctions.FORMULA_START;
+
+/**
+ * Action parameter value split into literal text and formulas.
+ * Built once when matrix is loaded so that formulas don't need to be searched in parameter value during execution
+ */
+public class ParameterTemplate
+{
+	private final String source;
+	private final List<Segment> segments;
+
+	private ParameterTemplate(String source, List<Segment> segments)
+	{
+		this.source = source;
+		this.segments = segments;
+	}
+
+
+	/**
+	 * Splits parameter value into literal text and formulas, checking that formulas are well-formed
+	 * @param source parameter value
+	 * @return template of given value
+	 * @throws ParametersException if formula is not closed or function call in it has unbalanced brackets or quotes
+	 */
+	public static ParameterTemplate parse(String source) throws ParametersException
+	{
+		List<Segment> segments = new ArrayList<>();
+		int textStart = 0,
+				start = source.indexOf(FORMULA_START);
+		while (start > -1)
+		{
+			int end = TagUtils.indexClosingTag(source, "{", "}", start + 1);
+			if (end < 0)
+				throw new ParametersException("Invalid expression. It should be closed with '" + FORMULA_END + "' character");
+
+			if (start > textStart)
+				segments.add(new Segment(source.substring(textStart, start), false, textStart, start));
+
+			String formula = source.substring(start + FORMULA_START.length(), end);
+			//Brackets are checked the same way as during calculation, i.e. only for function calls
+			if (formula.contains("(") && formula.contains(")"))
+			{
+				try
+				{
+					StringOperationUtils.checkBracketsBalance(formula);
+				}
+				catch (UnbalancedExpressionException e)
+				{
+					throw new ParametersException("Invalid expression '" + formula + "'. " + e.getMessage(), e);
+				}
+			}
+
+			textStart = end + FORMULA_END.length();
+			segments.add(new Segment(formula, true, start, textStart));
+			start = source.indexOf(FORMULA_START, textStart);
+		}
+
+		if (textStart < source.length())
+			segments.add(new Segment(source.substring(textStart), false, textStart, source.length()));
+		return new ParameterTemplate(source, Collections.unmodifiableList(segments));
+	}
+
+
+	public String getSource()
+	{
+		return source;
+	}
+
+	public List<Segment> getSegments()
+	{
+		return segments;
+	}
+
+	/**
+	 * @param value parameter value to check
+	 * @return true if this template was built for given value
+	 */
+	public boolean isBuiltFor(String value)
+	{
+		return source.equals(value);
+	}
+
+
+	public static class Segment
+	{
+		private final String text;
+		private final boolean formula;
+		private final int start,
+				end;
+
+		public Segment(String text, boolean formula, int start, int end)
+		{
+			this.text = text;
+			this.formula = formula;
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * @return literal text or formula without '@{' and '}'
+		 */
+		public String getText()
+		{
+			return text;
+		}
+
+		public boolean isFormula()
+		{
+			return formula;
+		}
+
+		/**
+		 * @return index of segment start in template source, including '@{' for formulas
+		 */
+		public int getStart()
+		{
+			return start;
+		}
+
+		/**
+		 * @return index after segment end in template source
+		 */
+		public int getEnd()
+		{
+			return end;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.automation.generator;
+
+import com.exactprosystems.clearth.automation.ActionGenerator;
+import com.exactprosystems.clearth.utils.XlsxSheetReader;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads actions from XLSX matrix as a stream, keeping in memory only the row being read.
+ * Cell values are obtained in the same way as in {@link XlsActionReader}
+ */
+public class XlsxStreamingActionReader extends ActionReader
+{
+	private final XlsxSheetReader sheetReader;
+	private String firstCellValue;
+
+	public XlsxStreamingActionReader(String source, boolean trimValues) throws IOException
+	{
+		super(source, trimValues);
+		this.sheetReader = createSheetReader(source);
+	}
+	
+
+	@Override
+	public void close() throws IOException
+	{
+		sheetReader.close();
+	}
+	
+	@Override
+	public boolean readNextLine() throws IOException
+	{
+		while (sheetReader.nextRow())
+		{
+			if (!isRowToSkip())
+			{
+				firstCellValue = getCellDataAsString(sheetReader.getValue(sheetReader.getFirstCellNum()));
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	@Override
+	public boolean isCommentLine()
+	{
+		return firstCellValue.trim().startsWith(ActionGenerator.COMMENT_INDICATOR);
+	}
+
+	@Override
+	public boolean isHeaderLine()
+	{
+		return firstCellValue.trim().startsWith(ActionGenerator.HEADER_DELIMITER);
+	}
+	
+	@Override
+	public boolean isEmptyLine()
+	{
+		for (String value : sheetReader.getValues())
+		{
+			if (StringUtils.isNotBlank(value))
+				return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public List<String> parseLine(boolean header) throws IOException
+	{
+		List<String> result = new ArrayList<String>();
+		//Like XlsActionReader, taking only cells present in file
+		for (String cellValue : sheetReader.getValues())
+		{
+			if (cellValue == null)
+				continue;
+			
+			String value = getCellDataAsString(cellValue);
+			value = processValue(value, header);
+			result.add(value);
+		}
+		return result;
+	}
+
+	@Override
+	public String getRawLine() throws IOException
+	{
+		return firstCellValue;
+	}
+
+	protected XlsxSheetReader createSheetReader(String source) throws IOException
+	{
+		//Matrix is read from first sheet, raw values are used
+		return new XlsxSheetReader(new File(source), null, null);
+	}
+	
+	protected boolean isRowToSkip()
+	{
+		return sheetReader.getFirstCellNum() < 0;
+	}
+
+	protected String getCellDataAsString(String data)
+	{
+		if (isTrimValues())
+			return data.trim();
+		else
+			return data;
+	}
+
+	public int getRowIndex()
+	{
+		return sheetReader.getRowNum() + 1;
+	}
+}
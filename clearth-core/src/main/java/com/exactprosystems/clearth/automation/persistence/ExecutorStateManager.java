@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -41,6 +41,7 @@ public class ExecutorStateManager<C extends ExecutorStateContext>
 	private final ExecutorStateOperatorFactory<C> operatorFactory;
 	private ExecutorStateInfo stateInfo;
 	private C context;
+	private StateConfig stateConfig;
 	
 	public ExecutorStateManager(ExecutorStateOperatorFactory<C> operatorFactory)
 	{
@@ -53,6 +54,19 @@ public class ExecutorStateManager<C extends ExecutorStateContext>
 		return stateInfo;
 	}
 	
+	public StateConfig getStateConfig()
+	{
+		return stateConfig;
+	}
+	
+	/**
+	 * @param stateConfig settings to apply to state updaters created by this manager
+	 */
+	public void setStateConfig(StateConfig stateConfig)
+	{
+		this.stateConfig = stateConfig;
+	}
+	
 	public SimpleExecutor executorFromState(Scheduler scheduler, ExecutorFactory executorFactory, Date businessDay, Date baseTime, String startedByUser)
 			throws IllegalArgumentException, SecurityException, InstantiationException, IllegalAccessException,
 			InvocationTargetException, NoSuchMethodException, AutomationException, DataHandlingException, ExecutorStateException, IOException
@@ -174,12 +188,15 @@ public class ExecutorStateManager<C extends ExecutorStateContext>
 			throw e;
 		}
 		
+		applyStateConfig(operator);
 		return createExecutorStateUpdater(stateInfo, context, operator);
 	}
 	
 	public ExecutorStateUpdater<C> createStateUpdater() throws IOException
 	{
-		return createExecutorStateUpdater(stateInfo, context, operatorFactory.createOperator());
+		ExecutorStateOperator<C> operator = operatorFactory.createOperator();
+		applyStateConfig(operator);
+		return createExecutorStateUpdater(stateInfo, context, operator);
 	}
 	
 	public void load() throws IOException
@@ -320,6 +337,12 @@ public class ExecutorStateManager<C extends ExecutorStateContext>
 		stateObjects.setFixedIDs(executor.getFixedIds());
 	}
 	
+	private void applyStateConfig(ExecutorStateOperator<C> operator)
+	{
+		if (stateConfig != null && stateConfig.isWriteBehind())
+			operator.startWriteBehind(stateConfig.getWriteBehindActions(), stateConfig.getWriteBehindDelay());
+	}
+	
 	private void save(SimpleExecutor executor, ReportsInfo reportsInfo, ExecutorStateOperator<C> operator) throws IOException
 	{
 		logger.info("Saving state of '{}'", executor.getName());
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -35,4 +35,32 @@ public interface ExecutorStateOperator<C extends ExecutorStateContext> extends A
 	void updateSteps(ExecutorStateInfo stateInfo, C context) throws IOException;
 	void updateMatrices(ExecutorStateInfo stateInfo, C context, Collection<MatrixState> matrixStates) throws IOException;
 	void updateStateInfo(ExecutorStateInfo stateInfo, C context) throws IOException;
+	
+	/**
+	 * Makes operator queue state updates after actions and write them in batches, 
+	 * when given number of updates is queued or when oldest queued update becomes older than given delay.
+	 * Operators that don't support it keep writing every update immediately
+	 * @param maxActions number of updates after actions to write in one batch
+	 * @param maxDelay maximum age of queued update in milliseconds
+	 */
+	default void startWriteBehind(int maxActions, long maxDelay)
+	{
+	}
+	
+	/**
+	 * Writes state after action without queueing it, even if write-behind is started. 
+	 * Used when actions of several matrices are executed in parallel, 
+	 * because queued updates are serialized later and could read state of matrices being changed by other threads
+	 */
+	default void updateImmediately(ExecutorStateInfo stateInfo, C context, Action lastExecutedAction, ActionState actionState) throws IOException
+	{
+		update(stateInfo, context, lastExecutedAction, actionState);
+	}
+	
+	/**
+	 * Writes all queued state updates and waits till they are stored
+	 */
+	default void flush() throws IOException
+	{
+	}
 }
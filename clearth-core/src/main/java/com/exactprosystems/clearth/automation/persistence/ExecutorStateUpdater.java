@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -49,25 +49,32 @@ public class ExecutorStateUpdater<C extends ExecutorStateContext> implements Aut
 	@Override
 	public void close() throws Exception
 	{
-		operator.close();
+		try
+		{
+			operator.flush();
+		}
+		finally
+		{
+			operator.close();
+		}
 	}
 	
 	
 	public void update(Action lastExecutedAction) throws IOException, ExecutorStateException
 	{
-		logger.debug("Updating state after action '{}' from matrix '{}'", lastExecutedAction.getIdInMatrix(), lastExecutedAction.getMatrix().getName());
-		
-		if (stateInfo == null)
-			throw noStateInfoError();
-		
-		Step step = lastExecutedAction.getStep();
-		StepState stepState = stepStateCreator.apply(step);
-		updateStateInfo(step, stepState);
-		
-		ActionState actionState = actionStateCreator.apply(lastExecutedAction);
+		ActionState actionState = prepareUpdate(lastExecutedAction);
 		operator.update(stateInfo, context, lastExecutedAction, actionState);
 	}
 	
+	/**
+	 * Stores state after given action immediately, even if operator queues updates
+	 */
+	public void updateImmediately(Action lastExecutedAction) throws IOException, ExecutorStateException
+	{
+		ActionState actionState = prepareUpdate(lastExecutedAction);
+		operator.updateImmediately(stateInfo, context, lastExecutedAction, actionState);
+	}
+	
 	public void update(Step lastFinishedStep) throws IOException, ExecutorStateException
 	{
 		logger.debug("Updating state after global step '{}'", lastFinishedStep.getName());
@@ -81,6 +88,15 @@ public class ExecutorStateUpdater<C extends ExecutorStateContext> implements Aut
 		operator.update(stateInfo, context, lastFinishedStep, stepState);
 	}
 	
+	/**
+	 * Stores all queued updates. Should be called when execution is paused or interrupted to make stored state up to date
+	 */
+	public void flush() throws IOException
+	{
+		logger.debug("Flushing state updates");
+		operator.flush();
+	}
+	
 	public void updateActionReportsPath(String actionReportsPath) throws IOException
 	{
 		stateInfo.getReportsInfo().setActionReportsPath(actionReportsPath);
@@ -88,6 +104,20 @@ public class ExecutorStateUpdater<C extends ExecutorStateContext> implements Aut
 	}
 	
 	
+	protected ActionState prepareUpdate(Action lastExecutedAction) throws ExecutorStateException
+	{
+		logger.debug("Updating state after action '{}' from matrix '{}'", lastExecutedAction.getIdInMatrix(), lastExecutedAction.getMatrix().getName());
+		
+		if (stateInfo == null)
+			throw noStateInfoError();
+		
+		Step step = lastExecutedAction.getStep();
+		StepState stepState = stepStateCreator.apply(step);
+		updateStateInfo(step, stepState);
+		
+		return actionStateCreator.apply(lastExecutedAction);
+	}
+	
 	protected void updateStateInfo(Step step, StepState updatedState) throws ExecutorStateException
 	{
 		StepState oldState = stateInfo.getStep(step.getName());
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,23 +18,42 @@
 
 package com.exactprosystems.clearth.automation.persistence;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class StateConfig
 {
+	public static final long DEFAULT_WRITE_BEHIND_DELAY = 1000;
+	
 	protected boolean autoSave;
+	/**
+	 * Number of executed actions whose state can be queued before it is written in one transaction.
+	 * Values less than 2 mean that state is written after every action
+	 */
+	protected int writeBehindActions;
+	/**
+	 * Maximum age in milliseconds of queued state updates. It is checked when next action is executed
+	 */
+	protected long writeBehindDelay;
 	
 	public StateConfig()
 	{
 		autoSave = false;
+		writeBehindActions = 0;
+		writeBehindDelay = DEFAULT_WRITE_BEHIND_DELAY;
 	}
 	
 	public StateConfig(boolean autoSave)
 	{
 		this.autoSave = autoSave;
+		this.writeBehindActions = 0;
+		this.writeBehindDelay = DEFAULT_WRITE_BEHIND_DELAY;
 	}
 	
 	public StateConfig(StateConfig copyFrom)
 	{
 		this.autoSave = copyFrom.isAutoSave();
+		this.writeBehindActions = copyFrom.getWriteBehindActions();
+		this.writeBehindDelay = copyFrom.getWriteBehindDelay();
 	}
 	
 	
@@ -42,4 +61,35 @@ public class StateConfig
 	{
 		return autoSave;
 	}
-}
\ No newline at end of file
+	
+	public void setAutoSave(boolean autoSave)
+	{
+		this.autoSave = autoSave;
+	}
+	
+	public int getWriteBehindActions()
+	{
+		return writeBehindActions;
+	}
+	
+	public void setWriteBehindActions(int writeBehindActions)
+	{
+		this.writeBehindActions = writeBehindActions;
+	}
+	
+	public long getWriteBehindDelay()
+	{
+		return writeBehindDelay;
+	}
+	
+	public void setWriteBehindDelay(long writeBehindDelay)
+	{
+		this.writeBehindDelay = writeBehindDelay;
+	}
+	
+	@JsonIgnore
+	public boolean isWriteBehind()
+	{
+		return autoSave && writeBehindActions > 1;
+	}
+}
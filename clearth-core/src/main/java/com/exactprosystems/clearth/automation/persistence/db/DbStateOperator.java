@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -27,6 +27,7 @@ import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 
 import com.exactprosystems.clearth.automation.*;
 import com.exactprosystems.clearth.automation.persistence.ActionState;
+import com.exactprosystems.clearth.automation.persistence.ExecutorStateException;
 import com.exactprosystems.clearth.automation.persistence.ExecutorStateInfo;
 import com.exactprosystems.clearth.automation.persistence.ExecutorStateObjects;
 import com.exactprosystems.clearth.automation.persistence.ExecutorStateOperator;
@@ -67,6 +68,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	private final DbStateSaver saver;
 	private final DbStateUpdater updater;
 	private final DbStateLoader loader;
+	private DbStateWriteBehind writeBehind;
 	
 	public DbStateOperator(Connection con, Class[] allowedClasses) throws SQLException
 	{
@@ -84,10 +86,18 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	
 	
 	@Override
-	public void close() throws SQLException
+	public void close() throws SQLException, ExecutorStateException
 	{
-		helper.close();
-		con.close();
+		try
+		{
+			if (writeBehind != null)
+				writeBehind.close();
+		}
+		finally
+		{
+			helper.close();
+			con.close();
+		}
 	}
 	
 	
@@ -96,6 +106,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			return saver.save(stateInfo, stateObjects);
 		}
 		catch (Exception e)
@@ -109,6 +120,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			return loader.loadStateInfo();
 		}
 		catch (Exception e)
@@ -122,6 +134,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			return loader.loadStateObjects(context);
 		}
 		catch (Exception e)
@@ -135,6 +148,23 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			if (writeBehind != null)
+				writeBehind.update(context, lastExecutedAction, actionState);
+			else
+				updater.update(context, lastExecutedAction, actionState);
+		}
+		catch (Exception e)
+		{
+			throw new IOException("Error while updating state after action '"+lastExecutedAction.getIdInMatrix()+"' from matrix '"+lastExecutedAction.getMatrix().getName()+"'", e);
+		}
+	}
+	
+	@Override
+	public void updateImmediately(ExecutorStateInfo stateInfo, DbStateContext context, Action lastExecutedAction, ActionState actionState) throws IOException
+	{
+		try
+		{
+			flushWriteBehind();
 			updater.update(context, lastExecutedAction, actionState);
 		}
 		catch (Exception e)
@@ -148,6 +178,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			updater.update(context, lastFinishedStep);
 		}
 		catch (Exception e)
@@ -161,6 +192,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			updater.updateSteps(stateInfo.getSteps(), context);
 		}
 		catch (Exception e)
@@ -174,6 +206,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			updater.updateStateInfo(stateInfo, context);
 		}
 		catch (Exception e)
@@ -187,6 +220,7 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	{
 		try
 		{
+			flushWriteBehind();
 			updater.updateMatrices(context, matrixStates);
 		}
 		catch (Exception e)
@@ -196,8 +230,35 @@ public class DbStateOperator implements ExecutorStateOperator<DbStateContext>
 	}
 	
 	
+	@Override
+	public void startWriteBehind(int maxActions, long maxDelay)
+	{
+		if (writeBehind == null)
+			writeBehind = new DbStateWriteBehind(updater, maxActions, maxDelay);
+	}
+	
+	@Override
+	public void flush() throws IOException
+	{
+		try
+		{
+			flushWriteBehind();
+		}
+		catch (Exception e)
+		{
+			throw new IOException("Error while writing queued state updates", e);
+		}
+	}
+	
+	
 	protected QueryHelper createQueryHelper(Connection con) throws SQLException
 	{
 		return new QueryHelper(con);
 	}
+	
+	private void flushWriteBehind() throws ExecutorStateException
+	{
+		if (writeBehind != null)
+			writeBehind.flush();
+	}
 }
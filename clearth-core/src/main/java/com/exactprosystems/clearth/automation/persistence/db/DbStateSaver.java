@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -453,11 +453,16 @@ public class DbStateSaver
 	}
 	
 	protected void saveStepStatusComments(List<String> comments, int matrixId, int stepId, DbStateContext context) throws SQLException, IOException
+	{
+		saveStepStatusComments(DbStateUtils.saveToXml(comments, allowedClasses), matrixId, stepId, context);
+	}
+	
+	protected void saveStepStatusComments(byte[] commentsXml, int matrixId, int stepId, DbStateContext context) throws SQLException
 	{
 		QueryParameterSetter.newInstance(insertStepStatusComments)
 				.setInt(matrixId)
 				.setInt(stepId)
-				.setBytes(DbStateUtils.saveToXml(comments, allowedClasses));
+				.setBytes(commentsXml);
 		
 		int id = helper.insert(insertStepStatusComments);
 		context.setStepStatusCommentsId(matrixId, stepId, id);
@@ -580,11 +585,16 @@ public class DbStateSaver
 	}
 	
 	protected void saveStepContext(StepContext sc, int stepId, int matrixId, DbStateContext context) throws SQLException, IOException
+	{
+		saveStepContext(DbStateUtils.saveToXml(sc, allowedClasses), stepId, matrixId, context);
+	}
+	
+	protected void saveStepContext(byte[] stepContextXml, int stepId, int matrixId, DbStateContext context) throws SQLException
 	{
 		QueryParameterSetter.newInstance(insertStepContext)
 				.setInt(stepId)
 				.setInt(matrixId)
-				.setBytes(DbStateUtils.saveToXml(sc, allowedClasses));
+				.setBytes(stepContextXml);
 		
 		int id = helper.insert(insertStepContext);
 		context.setStepContextId(stepId, matrixId, id);
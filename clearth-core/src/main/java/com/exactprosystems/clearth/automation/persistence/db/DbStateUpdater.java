@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,9 +21,11 @@ package com.exactprosystems.clearth.automation.persistence.db;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.text.DateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +42,7 @@ import com.exactprosystems.clearth.automation.Matrix;
 import com.exactprosystems.clearth.automation.Step;
 import com.exactprosystems.clearth.automation.StepContext;
 import com.exactprosystems.clearth.automation.persistence.StepState;
+import com.exactprosystems.clearth.utils.Pair;
 
 import static com.exactprosystems.clearth.automation.persistence.db.DbStateOperator.*;
 
@@ -74,10 +77,58 @@ public class DbStateUpdater
 	
 	public void update(DbStateContext context, Action lastExecutedAction, ActionState actionState) throws ExecutorStateException
 	{
-		prepareQueriesIfNeeded();
-		
 		Step step = lastExecutedAction.getStep();
 		Matrix matrix = lastExecutedAction.getMatrix();
+		List<StateWrite> writes = new ArrayList<>();
+		prepareStepWrites(step, context, writes);
+		prepareMatrixWrites(matrix, context, writes);
+		prepareStepMatrixWrites(step, matrix, context, writes);
+		
+		update(context, writes, Collections.singletonList(new Pair<>(matrix.getName(), actionState)));
+	}
+	
+	/**
+	 * Prepares updates of given step, matrices and their step-related data, serializing their current state.
+	 * Must be called by thread that executes actions, so that state is not changed during serialization
+	 * @param step to prepare updates for
+	 * @param matrices whose actions were executed in the step
+	 * @param context to get records IDs from
+	 * @return updates to pass to {@link #update(DbStateContext, List, List)}
+	 * @throws ExecutorStateException if state could not be serialized
+	 */
+	public List<StateWrite> prepareUpdates(Step step, Collection<Matrix> matrices, DbStateContext context) throws ExecutorStateException
+	{
+		List<StateWrite> result = new ArrayList<>();
+		prepareStepWrites(step, context, result);
+		for (Matrix matrix : matrices)
+			prepareStepMatrixWrites(step, matrix, context, result);
+		return result;
+	}
+	
+	/**
+	 * Prepares update of given matrix, serializing its current state. Must be called by thread that executes actions
+	 * @param matrix to prepare update for
+	 * @param context to get records IDs from
+	 * @return updates to pass to {@link #update(DbStateContext, List, List)}
+	 * @throws ExecutorStateException if state could not be serialized
+	 */
+	public List<StateWrite> prepareUpdates(Matrix matrix, DbStateContext context) throws ExecutorStateException
+	{
+		List<StateWrite> result = new ArrayList<>();
+		prepareMatrixWrites(matrix, context, result);
+		return result;
+	}
+	
+	/**
+	 * Writes prepared updates and states of executed actions in one transaction
+	 * @param context to get records IDs from
+	 * @param writes updates prepared by {@link #prepareUpdates(Step, Collection, DbStateContext)} and {@link #prepareUpdates(Matrix, DbStateContext)}
+	 * @param actionStates pairs of matrix name and state of action from that matrix
+	 * @throws ExecutorStateException if updates could not be written
+	 */
+	public void update(DbStateContext context, List<StateWrite> writes, List<Pair<String, ActionState>> actionStates) throws ExecutorStateException
+	{
+		prepareQueriesIfNeeded();
 		
 		try
 		{
@@ -90,13 +141,11 @@ public class DbStateUpdater
 		
 		try
 		{
-			updateStep(step, context);
-			updateStepContext(step, matrix, context);
-			updateMatrix(matrix, context);
-			updateStepSuccess(matrix, step, context);
-			updateStepStatusComments(matrix, step, context);
+			for (StateWrite w : writes)
+				w.write();
 			
-			updateAction(actionState, matrix.getName(), context);
+			for (Pair<String, ActionState> as : actionStates)
+				updateAction(as.getSecond(), as.getFirst(), context);
 			
 			helper.commitTransaction();
 		}
@@ -132,8 +181,8 @@ public class DbStateUpdater
 		
 		try
 		{
-			updateStep(lastFinishedStep, context);
-			updateStepMatrices(lastFinishedStep, context);
+			for (StateWrite w : prepareUpdates(lastFinishedStep, getStepMatrices(lastFinishedStep), context))
+				w.write();
 			
 			helper.commitTransaction();
 		}
@@ -300,139 +349,173 @@ public class DbStateUpdater
 		saver.prepareQueries();
 	}
 	
-	private void updateStep(Step step, DbStateContext context) throws ExecutorStateException
+	private void prepareStepWrites(Step step, DbStateContext context, List<StateWrite> writes) throws ExecutorStateException
 	{
-		logger.debug("Updating step");
-		
+		String stepName = step.getName();
 		try
 		{
 			DateFormat timestampFormat = DbStateUtils.createTimestampFormat();
-			QueryParameterSetter.newInstance(updateStep)
-					.setString(DbStateUtils.formatTimestamp(step.getStarted(), timestampFormat))
-					.setString(DbStateUtils.formatTimestamp(step.getFinished(), timestampFormat))
-					.setInt(step.getExecutionProgress().getSuccessful())
-					.setInt(step.getExecutionProgress().getDone())
-					.setBoolean(step.isAnyActionFailed())
-					.setString(step.getStatusComment())
-					.setBytes(DbStateUtils.saveToXml(step.getError(), allowedClasses))
-					.setBoolean(step.isFailedDueToError())
-					.setInt(context.getStepId(step.getName()));
-			helper.update(updateStep);
+			String started = DbStateUtils.formatTimestamp(step.getStarted(), timestampFormat),
+					finished = DbStateUtils.formatTimestamp(step.getFinished(), timestampFormat),
+					statusComment = step.getStatusComment();
+			int successful = step.getExecutionProgress().getSuccessful(),
+					done = step.getExecutionProgress().getDone();
+			boolean anyActionFailed = step.isAnyActionFailed(),
+					failedDueToError = step.isFailedDueToError();
+			byte[] error = DbStateUtils.saveToXml(step.getError(), allowedClasses);
+			
+			writes.add(stateWrite("step '"+stepName+"'", () -> {
+				logger.debug("Updating step");
+				
+				QueryParameterSetter.newInstance(updateStep)
+						.setString(started)
+						.setString(finished)
+						.setInt(successful)
+						.setInt(done)
+						.setBoolean(anyActionFailed)
+						.setString(statusComment)
+						.setBytes(error)
+						.setBoolean(failedDueToError)
+						.setInt(context.getStepId(stepName));
+				helper.update(updateStep);
+			}));
 		}
 		catch (Exception e)
 		{
-			throw updatingException("step '"+step.getName()+"'", e);
+			throw updatingException("step '"+stepName+"'", e);
 		}
 	}
 	
-	private void updateStepContext(Step step, Matrix matrix, DbStateContext context) throws ExecutorStateException
+	private void prepareMatrixWrites(Matrix matrix, DbStateContext context, List<StateWrite> writes) throws ExecutorStateException
 	{
-		Map<Matrix, StepContext> stepContexts = step.getStepContexts();
-		if (stepContexts == null)
-			return;
-		
-		logger.debug("Updating step context");
-		
-		String stepName = step.getName(),
-				matrixName = matrix.getName();
+		String matrixName = matrix.getName();
 		try
 		{
-			int stepId = context.getStepId(stepName),
-					matrixId = context.getMatrixId(matrixName);
+			byte[] mvelVars = DbStateUtils.saveToXml(matrix.getMvelVars(), allowedClasses),
+					matrixContext = DbStateUtils.saveToXml(matrix.getContext(), allowedClasses);
+			int actionsDone = matrix.getActionsDone();
+			boolean successful = matrix.isSuccessful();
 			
-			Integer id = context.getStepContextIdOrNull(stepId, matrixId);
-			if (id == null)  //Context might not exist initially, but added during execution
-			{
-				saver.saveStepContext(stepContexts.get(matrix), stepId, matrixId, context);
-				return;
-			}
-			
-			QueryParameterSetter.newInstance(updateStepContext)
-					.setBytes(DbStateUtils.saveToXml(stepContexts.get(matrix), allowedClasses))
-					.setInt(id);
-			helper.update(updateStepContext);
+			writes.add(stateWrite("matrix '"+matrixName+"'", () -> {
+				logger.debug("Updating matrix");
+				
+				QueryParameterSetter.newInstance(updateMatrix)
+						.setBytes(mvelVars)
+						.setInt(actionsDone)
+						.setBoolean(successful)
+						.setBytes(matrixContext)
+						.setInt(context.getMatrixId(matrixName));
+				helper.update(updateMatrix);
+			}));
 		}
 		catch (Exception e)
 		{
-			throw updatingException("step context of step '"+stepName+"' and matrix '"+matrixName+"'", e);
+			throw updatingException("matrix '"+matrixName+"'", e);
 		}
 	}
 	
-	private void updateMatrix(Matrix matrix, DbStateContext context) throws ExecutorStateException
+	private void prepareStepMatrixWrites(Step step, Matrix matrix, DbStateContext context, List<StateWrite> writes) throws ExecutorStateException
 	{
-		logger.debug("Updating matrix");
+		prepareStepContextWrite(step, matrix, context, writes);
+		prepareStepSuccessWrite(matrix, step, context, writes);
+		prepareStepStatusCommentsWrite(matrix, step, context, writes);
+	}
+	
+	private void prepareStepContextWrite(Step step, Matrix matrix, DbStateContext context, List<StateWrite> writes) throws ExecutorStateException
+	{
+		Map<Matrix, StepContext> stepContexts = step.getStepContexts();
+		if (stepContexts == null)
+			return;
 		
+		String stepName = step.getName(),
+				matrixName = matrix.getName(),
+				entityName = "step context of step '"+stepName+"' and matrix '"+matrixName+"'";
 		try
 		{
-			QueryParameterSetter.newInstance(updateMatrix)
-					.setBytes(DbStateUtils.saveToXml(matrix.getMvelVars(), allowedClasses))
-					.setInt(matrix.getActionsDone())
-					.setBoolean(matrix.isSuccessful())
-					.setBytes(DbStateUtils.saveToXml(matrix.getContext(), allowedClasses))
-					.setInt(context.getMatrixId(matrix.getName()));
-			helper.update(updateMatrix);
+			byte[] stepContext = DbStateUtils.saveToXml(stepContexts.get(matrix), allowedClasses);
+			
+			writes.add(stateWrite(entityName, () -> {
+				logger.debug("Updating step context");
+				
+				int stepId = context.getStepId(stepName),
+						matrixId = context.getMatrixId(matrixName);
+				
+				Integer id = context.getStepContextIdOrNull(stepId, matrixId);
+				if (id == null)  //Context might not exist initially, but added during execution
+				{
+					saver.saveStepContext(stepContext, stepId, matrixId, context);
+					return;
+				}
+				
+				QueryParameterSetter.newInstance(updateStepContext)
+						.setBytes(stepContext)
+						.setInt(id);
+				helper.update(updateStepContext);
+			}));
 		}
 		catch (Exception e)
 		{
-			throw updatingException("matrix '"+matrix.getName()+"'", e);
+			throw updatingException(entityName, e);
 		}
 	}
 	
-	private void updateStepSuccess(Matrix matrix, Step step, DbStateContext context) throws ExecutorStateException
+	private void prepareStepSuccessWrite(Matrix matrix, Step step, DbStateContext context, List<StateWrite> writes)
 	{
-		logger.debug("Updating step success flag");
-		
 		String matrixName = matrix.getName(),
 				stepName = step.getName();
-		try
-		{
+		boolean success = matrix.isStepSuccessful(stepName);
+		
+		writes.add(stateWrite("success of step '"+stepName+"' in matrix '"+matrixName+"'", () -> {
+			logger.debug("Updating step success flag");
+			
 			int matrixId = context.getMatrixId(matrixName),
 					stepId = context.getStepId(stepName);
 			
 			Integer id = context.getStepSuccessIdOrNull(matrixId, stepId);
 			if (id == null)  //Success might not be initialized, but added during execution
 			{
-				saver.saveStepSuccess(matrix.isStepSuccessful(stepName), matrixId, stepId, context);
+				saver.saveStepSuccess(success, matrixId, stepId, context);
 				return;
 			}
 			
 			QueryParameterSetter.newInstance(updateStepSuccess)
-					.setBoolean(matrix.isStepSuccessful(stepName))
+					.setBoolean(success)
 					.setInt(id);
 			helper.update(updateStepSuccess);
-		}
-		catch (Exception e)
-		{
-			throw updatingException("success of step '"+stepName+"' in matrix '"+matrixName+"'", e);
-		}
+		}));
 	}
 	
-	private void updateStepStatusComments(Matrix matrix, Step step, DbStateContext context) throws ExecutorStateException
+	private void prepareStepStatusCommentsWrite(Matrix matrix, Step step, DbStateContext context, List<StateWrite> writes) throws ExecutorStateException
 	{
-		logger.debug("Updating step status comments");
-		
 		String matrixName = matrix.getName(),
-				stepName = step.getName();
+				stepName = step.getName(),
+				entityName = "status comments of step '"+stepName+"' in matrix '"+matrixName+"'";
 		try
 		{
-			int matrixId = context.getMatrixId(matrixName),
-					stepId = context.getStepId(stepName);
+			byte[] comments = DbStateUtils.saveToXml(matrix.getStepStatusComments(stepName), allowedClasses);
 			
-			Integer id = context.getStepStatusCommentsIdOrNull(matrixId, stepId);
-			if (id == null)  //Status comments might not be initialized, but added during execution
-			{
-				saver.saveStepStatusComments(matrix.getStepStatusComments(stepName), matrixId, stepId, context);
-				return;
-			}
-			
-			QueryParameterSetter.newInstance(updateStepStatusComments)
-					.setBytes(DbStateUtils.saveToXml(matrix.getStepStatusComments(stepName), allowedClasses))
-					.setInt(id);
-			helper.update(updateStepStatusComments);
+			writes.add(stateWrite(entityName, () -> {
+				logger.debug("Updating step status comments");
+				
+				int matrixId = context.getMatrixId(matrixName),
+						stepId = context.getStepId(stepName);
+				
+				Integer id = context.getStepStatusCommentsIdOrNull(matrixId, stepId);
+				if (id == null)  //Status comments might not be initialized, but added during execution
+				{
+					saver.saveStepStatusComments(comments, matrixId, stepId, context);
+					return;
+				}
+				
+				QueryParameterSetter.newInstance(updateStepStatusComments)
+						.setBytes(comments)
+						.setInt(id);
+				helper.update(updateStepStatusComments);
+			}));
 		}
 		catch (Exception e)
 		{
-			throw updatingException("status comments of step '"+stepName+"' in matrix '"+matrixName+"'", e);
+			throw updatingException(entityName, e);
 		}
 	}
 	
@@ -465,18 +548,12 @@ public class DbStateUpdater
 		}
 	}
 	
-	private void updateStepMatrices(Step step, DbStateContext context) throws ExecutorStateException
+	private Set<Matrix> getStepMatrices(Step step)
 	{
-		Set<Matrix> matrices = new HashSet<>();
+		Set<Matrix> matrices = new LinkedHashSet<>();
 		for (Action action : step.getActions())
 			matrices.add(action.getMatrix());
-		
-		for (Matrix m : matrices)
-		{
-			updateStepContext(step, m, context);
-			updateStepSuccess(m, step, context);
-			updateStepStatusComments(m, step, context);
-		}
+		return matrices;
 	}
 	
 	
@@ -548,4 +625,34 @@ public class DbStateUpdater
 	{
 		return new ExecutorStateException("Could not update "+entityName, cause);
 	}
+	
+	private StateWrite stateWrite(String entityName, QueryWrite write)
+	{
+		return () -> {
+			try
+			{
+				write.write();
+			}
+			catch (Exception e)
+			{
+				throw updatingException(entityName, e);
+			}
+		};
+	}
+	
+	
+	/**
+	 * Update of state record prepared for writing
+	 */
+	@FunctionalInterface
+	public interface StateWrite
+	{
+		void write() throws ExecutorStateException;
+	}
+	
+	@FunctionalInterface
+	private interface QueryWrite
+	{
+		void write() throws Exception;
+	}
 }
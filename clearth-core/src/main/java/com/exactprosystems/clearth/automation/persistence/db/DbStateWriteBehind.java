@@ -0,0 +1,194 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.automation.persistence.db;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactprosystems.clearth.automation.Action;
+import com.exactprosystems.clearth.automation.Matrix;
+import com.exactprosystems.clearth.automation.Step;
+import com.exactprosystems.clearth.automation.persistence.ActionState;
+import com.exactprosystems.clearth.automation.persistence.ExecutorStateException;
+import com.exactprosystems.clearth.automation.persistence.db.DbStateUpdater.StateWrite;
+import com.exactprosystems.clearth.utils.Pair;
+
+/**
+ * Queues state updates after actions and writes them in background thread, one transaction per batch.
+ * Steps and matrices affected by queued actions are written once per batch with their state at the moment batch is formed.
+ * Batch is formed and passed to background thread when it contains given number of actions 
+ * or when its oldest action became older than given delay. Age of batch is checked when next action is queued, 
+ * there is no timer for that: batch is formed by serializing current state of steps and matrices, 
+ * which can be done only by thread that executes actions. Thus, updates can stay queued longer than given delay 
+ * if next action takes long to execute. Execution pause and step end make queued updates written via {@link #flush()}.
+ * Only one batch is written at a time, so at most two batches can be not stored yet. 
+ * Methods of this class must be called by thread that executes actions, so that serialized state is consistent
+ */
+public class DbStateWriteBehind implements AutoCloseable
+{
+	private static final Logger logger = LoggerFactory.getLogger(DbStateWriteBehind.class);
+	
+	private final DbStateUpdater updater;
+	private final int maxActions;
+	private final long maxDelay;
+	private final ExecutorService writer;
+	
+	private final Map<Step, Set<Matrix>> pendingSteps = new LinkedHashMap<>();
+	private final List<Pair<String, ActionState>> pendingActions = new ArrayList<>();
+	private DbStateContext context;
+	private long firstPendingTime;
+	private Future<?> currentWrite;
+	
+	public DbStateWriteBehind(DbStateUpdater updater, int maxActions, long maxDelay)
+	{
+		this.updater = updater;
+		this.maxActions = maxActions;
+		this.maxDelay = maxDelay;
+		this.writer = Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "State writer");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+	
+	
+	/**
+	 * Queues state update after given action, writing queued updates if their number or age reached the limit
+	 * @param context to get records IDs from
+	 * @param lastExecutedAction action that was executed
+	 * @param actionState state of the action
+	 * @throws ExecutorStateException if previous batch could not be written or state could not be serialized
+	 */
+	public void update(DbStateContext context, Action lastExecutedAction, ActionState actionState) throws ExecutorStateException
+	{
+		this.context = context;
+		Matrix matrix = lastExecutedAction.getMatrix();
+		if (pendingActions.isEmpty())
+			firstPendingTime = System.currentTimeMillis();
+		
+		pendingSteps.computeIfAbsent(lastExecutedAction.getStep(), s -> new LinkedHashSet<>()).add(matrix);
+		pendingActions.add(new Pair<>(matrix.getName(), actionState));
+		
+		if (pendingActions.size() >= maxActions || System.currentTimeMillis() - firstPendingTime >= maxDelay)
+			submitPending();
+	}
+	
+	/**
+	 * Writes all queued updates and waits till they are stored
+	 * @throws ExecutorStateException if updates could not be written
+	 */
+	public void flush() throws ExecutorStateException
+	{
+		submitPending();
+		waitForCurrentWrite();
+	}
+	
+	@Override
+	public void close() throws ExecutorStateException
+	{
+		try
+		{
+			flush();
+		}
+		finally
+		{
+			writer.shutdown();
+		}
+	}
+	
+	
+	private void submitPending() throws ExecutorStateException
+	{
+		//Previous batch must be stored before next one is formed to not queue more updates than allowed
+		waitForCurrentWrite();
+		if (pendingActions.isEmpty())
+			return;
+		
+		List<StateWrite> writes = new ArrayList<>();
+		Set<Matrix> matrices = new LinkedHashSet<>();
+		for (Map.Entry<Step, Set<Matrix>> stepMatrices : pendingSteps.entrySet())
+		{
+			writes.addAll(updater.prepareUpdates(stepMatrices.getKey(), stepMatrices.getValue(), context));
+			matrices.addAll(stepMatrices.getValue());
+		}
+		for (Matrix m : matrices)
+			writes.addAll(updater.prepareUpdates(m, context));
+		
+		List<Pair<String, ActionState>> actions = new ArrayList<>(pendingActions);
+		pendingSteps.clear();
+		pendingActions.clear();
+		
+		DbStateContext batchContext = context;
+		logger.trace("Submitting state updates after {} action(s)", actions.size());
+		currentWrite = writer.submit(() -> {
+			updater.update(batchContext, writes, actions);
+			return null;
+		});
+	}
+	
+	private void waitForCurrentWrite() throws ExecutorStateException
+	{
+		if (currentWrite == null)
+			return;
+		
+		Future<?> write = currentWrite;
+		currentWrite = null;
+		boolean interrupted = false;
+		try
+		{
+			//Write can't be abandoned because connection is used by writer thread till it is done, thus interruption is postponed
+			while (true)
+			{
+				try
+				{
+					write.get();
+					break;
+				}
+				catch (InterruptedException e)
+				{
+					interrupted = true;
+				}
+			}
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof ExecutorStateException)
+				throw (ExecutorStateException) cause;
+			throw new ExecutorStateException("Error while writing queued state updates", cause);
+		}
+		finally
+		{
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+}
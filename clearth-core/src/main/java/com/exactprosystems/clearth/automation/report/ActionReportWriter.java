@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -44,7 +44,7 @@ import static com.exactprosystems.clearth.ClearThCore.rootRelative;
 import static com.exactprosystems.clearth.automation.report.ReportFormat.HTML;
 import static com.exactprosystems.clearth.automation.report.ReportFormat.JSON;
 
-public class ActionReportWriter
+public class ActionReportWriter implements Closeable
 {
 	private static final Logger logger = LoggerFactory.getLogger(ActionReportWriter.class);
 
@@ -59,25 +59,57 @@ public class ActionReportWriter
 	private int actionIndex = 0;
 	private final ReportsConfig reportsConfig;
 	private final ReportTemplatesProcessor templatesProcessor;
+	private final AsyncReportFileWriter asyncWriter;
 	
 	public ActionReportWriter(ReportsConfig reportsConfig, ReportTemplatesProcessor templatesProcessor)
+	{
+		this(reportsConfig, templatesProcessor, null);
+	}
+	
+	/**
+	 * @param asyncWriter if not null, action reports are rendered in calling thread and written to step files by this writer
+	 */
+	public ActionReportWriter(ReportsConfig reportsConfig, ReportTemplatesProcessor templatesProcessor, AsyncReportFileWriter asyncWriter)
 	{
 		this.reportsConfig = reportsConfig;
 		this.templatesProcessor = templatesProcessor;
+		this.asyncWriter = asyncWriter;
 	}
 	
-	public void reset()
+	public synchronized void reset()
 	{
 		actionIndex = 0;
 	}
 	
+	@Override
+	public void close() throws IOException
+	{
+		if (asyncWriter != null)
+			asyncWriter.close();
+	}
+	
+	public boolean isAsync()
+	{
+		return asyncWriter != null;
+	}
+	
+	/**
+	 * Waits till all action reports are written to step files. Does nothing if reports are written synchronously
+	 */
+	public void flush()
+	{
+		if (asyncWriter != null)
+			asyncWriter.drain();
+	}
+	
 	/**
 	 * Writes HTML report to file where other action reports are stored for given matrix and given step.
+	 * Reports of actions from matrices executed in parallel are written one by one to keep action indexes unique.
 	 * @param action to write report for
 	 * @param actionsReportsDir path to directory with execution reports data. Action report file will be located in it
 	 * @param stepFileName name of file with action reports for particular step
 	 */
-	public void writeReport(Action action, String actionsReportsDir, String stepFileName)
+	public synchronized void writeReport(Action action, String actionsReportsDir, String stepFileName)
 	{
 		incActionIndex();
 		if (action.getResult() != null)
@@ -104,6 +136,7 @@ public class ActionReportWriter
 		if (!reportsConfig.isCompleteJsonReport())
 			return;
 		
+		flush();
 		prepareJsonReportToUpdate(actionsReportsDir, matrixReportsDir, stepFileName);
 	}
 	
@@ -113,13 +146,19 @@ public class ActionReportWriter
 		File reportFile = getJsonStepReport(actionsReportsDir, action.getMatrix().getShortFileName(), actionsReportFile);
 		
 		PrintWriter writer = null;
+		StringWriter buffer = null;
 		try
 		{
-			writer = createReportWriter(reportFile);
-			if (reportFile.length() == 0)
-				writer.println("[");
+			if (asyncWriter != null)
+				writer = new PrintWriter(buffer = new StringWriter());
 			else
-				writer.println(",");
+			{
+				writer = createReportWriter(reportFile);
+				if (reportFile.length() == 0)
+					writer.println("[");
+				else
+					writer.println(",");
+			}
 			
 			ActionReport actionReport = createActionReport(action);
 			String jsonActionReport = new JsonMarshaller<ActionReport>().marshal(actionReport);
@@ -132,6 +171,12 @@ public class ActionReportWriter
 				writer.println(jsonActionReport);
 				writePostReportData(writer, action, JSON);
 			}
+			
+			if (buffer != null)
+			{
+				writer.flush();
+				asyncWriter.appendJsonItem(reportFile, buffer.toString());
+			}
 		}
 		catch (Exception e)
 		{
@@ -149,13 +194,17 @@ public class ActionReportWriter
 
 	/**
 	 * Updates already written reports with actual result of asynchronous actions.
+	 * Step files are rewritten, so reports of actions from matrices executed in parallel are not written meanwhile.
 	 * @param actions asynchronous actions whose reports to update
 	 * @param actionsReportsDir path to directory with execution reports data. Action report file is located in it
 	 */
-	public void updateReports(Collection<Action> actions, String actionsReportsDir)
+	public synchronized void updateReports(Collection<Action> actions, String actionsReportsDir)
 	{
 		getLogger().debug("Updating reports for {} action(s)", actions.size());
 		
+		//Step files are rewritten below, so all pending reports must be in them
+		flush();
+		
 		Map<MatrixStep, Collection<ActionUpdate>> actionsByMatrixStep = prepareActionsToUpdate(actions);
 		for (Entry<MatrixStep, Collection<ActionUpdate>> group : actionsByMatrixStep.entrySet())
 		{
@@ -239,12 +288,12 @@ public class ActionReportWriter
 		return logger;
 	}
 	
-	public int getActionIndex()
+	public synchronized int getActionIndex()
 	{
 		return actionIndex;
 	}
 	
-	public int incActionIndex()
+	public synchronized int incActionIndex()
 	{
 		actionIndex++;
 		return actionIndex;
@@ -355,9 +404,10 @@ public class ActionReportWriter
 		File reportDir = getReportDir(actionsReportsDir, action),
 				reportFile = getReportFile(reportDir, actionsReportFile, onlyFailed);
 		PrintWriter writer = null;
+		StringWriter buffer = null;
 		try
 		{
-			writer = createReportWriter(reportFile);
+			writer = asyncWriter != null ? new PrintWriter(buffer = new StringWriter()) : createReportWriter(reportFile);
 			HtmlActionReport report = createHtmlActionReport();
 
 			if (!action.isAsync() || action.isPayloadFinished())
@@ -370,6 +420,12 @@ public class ActionReportWriter
 				report.write(writer, action, resultId, reportDir, onlyFailed);
 				writePostReportData(writer, action, HTML);
 			}
+			
+			if (buffer != null)
+			{
+				writer.flush();
+				asyncWriter.append(reportFile, buffer.toString());
+			}
 		}
 		catch (IOException e)
 		{
@@ -509,6 +565,8 @@ public class ActionReportWriter
 
 	public void makeReportsEnding(String actionsReportsDir, String stepSafeName)
 	{
+		flush();
+		
 		File[] files = new File(rootRelative(actionsReportsDir)).listFiles();
 		if (files == null || files.length == 0)
 			return;
@@ -0,0 +1,456 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.report;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends text to report files in dedicated thread.
+ * Files are kept open between writes and are flushed once per batch of queued chunks.
+ * {@link #drain()} must be called before files are read or modified by other means, it waits till all queued chunks are written and closes the files.
+ * If writer thread stops due to unexpected error, text is appended directly by calling threads
+ */
+public class AsyncReportFileWriter implements Closeable
+{
+	private static final Logger logger = LoggerFactory.getLogger(AsyncReportFileWriter.class);
+	
+	private final String name;
+	private final BlockingQueue<ReportChunk> queue;
+	private final int batchSize;
+	//Accessed only by writer thread
+	private final Map<File, OpenReportFile> openFiles = new LinkedHashMap<>();
+	
+	private Thread thread;
+	private boolean closed = false,
+			failed = false;
+	
+	public AsyncReportFileWriter(String name, int queueSize, int batchSize)
+	{
+		this.name = name;
+		this.queue = new ArrayBlockingQueue<>(Math.max(queueSize, 1));
+		this.batchSize = Math.max(batchSize, 1);
+	}
+	
+	
+	/**
+	 * Queues text to append to given file
+	 * @param file to append text to
+	 * @param text to append
+	 */
+	public void append(File file, String text)
+	{
+		submit(new ReportChunk(file, text, false, null));
+	}
+	
+	/**
+	 * Queues item of JSON array to append to given file. Item is prefixed with array start or with delimiter, depending on file contents
+	 * @param file to append item to
+	 * @param item to append
+	 */
+	public void appendJsonItem(File file, String item)
+	{
+		submit(new ReportChunk(file, item, true, null));
+	}
+	
+	/**
+	 * Waits till all queued chunks are written to files and closes the files
+	 */
+	public void drain()
+	{
+		synchronized (this)
+		{
+			if (thread == null || closed || failed)
+				return;
+		}
+		
+		CountDownLatch written = new CountDownLatch(1);
+		submit(new ReportChunk(null, null, false, written));
+		awaitUninterruptibly(written);
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		Thread writerThread;
+		synchronized (this)
+		{
+			if (closed)
+				return;
+			
+			writerThread = thread;
+			if (writerThread == null)
+			{
+				closed = true;
+				return;
+			}
+		}
+		
+		drain();
+		synchronized (this)
+		{
+			closed = true;
+		}
+		writerThread.interrupt();
+		try
+		{
+			writerThread.join();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	
+	protected Logger getLogger()
+	{
+		return logger;
+	}
+	
+	protected PrintWriter createWriter(File file) throws IOException
+	{
+		return new PrintWriter(new BufferedWriter(new FileWriter(file, true)));
+	}
+	
+	
+	private void submit(ReportChunk chunk)
+	{
+		synchronized (this)
+		{
+			if (closed || failed)
+			{
+				//Files are not kept open after close or writer thread failure, so text can be appended directly
+				processDirectly(chunk);
+				return;
+			}
+			
+			if (thread == null)
+			{
+				thread = new Thread(this::run, name);
+				thread.setDaemon(true);
+				thread.start();
+			}
+		}
+		
+		//Writer thread takes chunks from the queue till it fails, so queue is checked for free space with timeout. 
+		//Chunk must not be lost if calling thread is interrupted, thus interruption is postponed
+		boolean interrupted = false;
+		while (true)
+		{
+			try
+			{
+				if (queue.offer(chunk, 100, TimeUnit.MILLISECONDS))
+					break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+			
+			if (isFailed())
+			{
+				processDirectly(chunk);
+				break;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		
+		//Writer thread could fail after queue was checked. If chunk is still in the queue, it won't be taken from there
+		if (isFailed() && queue.remove(chunk))
+			processDirectly(chunk);
+	}
+	
+	private synchronized boolean isFailed()
+	{
+		return failed;
+	}
+	
+	private void processDirectly(ReportChunk chunk)
+	{
+		if (chunk.getWritten() == null)
+			writeDirectly(chunk);
+		else
+			chunk.getWritten().countDown();
+	}
+	
+	private void awaitUninterruptibly(CountDownLatch latch)
+	{
+		boolean interrupted = false;
+		while (true)
+		{
+			try
+			{
+				latch.await();
+				break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+	
+	private void run()
+	{
+		List<ReportChunk> batch = new ArrayList<>(batchSize);
+		boolean completed = false;
+		try
+		{
+			while (true)
+			{
+				try
+				{
+					batch.add(queue.take());
+				}
+				catch (InterruptedException e)
+				{
+					synchronized (this)
+					{
+						if (closed)
+							break;
+					}
+					continue;
+				}
+				
+				queue.drainTo(batch, batchSize - 1);
+				writeBatchSafely(batch);
+				batch.clear();
+			}
+			
+			//Writing chunks that could be queued while writer was closing
+			queue.drainTo(batch);
+			writeBatchSafely(batch);
+			closeFiles();
+			completed = true;
+		}
+		finally
+		{
+			if (!completed)
+				stopOnFailure(batch);
+		}
+	}
+	
+	private void writeBatchSafely(List<ReportChunk> batch)
+	{
+		try
+		{
+			writeBatch(batch);
+		}
+		catch (RuntimeException e)
+		{
+			getLogger().error("Error while writing batch of {} report chunk(s)", batch.size(), e);
+			releaseWaiting(batch);
+		}
+	}
+	
+	private void stopOnFailure(List<ReportChunk> batch)
+	{
+		getLogger().error("Report writer thread '{}' stopped unexpectedly, reports will be written directly", name);
+		try
+		{
+			closeFiles();
+		}
+		catch (RuntimeException e)
+		{
+			getLogger().error("Error while closing report files", e);
+		}
+		
+		//Queued chunks are written before other threads see the failure, so that drain() doesn't return earlier and order of chunks is kept
+		synchronized (this)
+		{
+			failed = true;
+			releaseWaiting(batch);
+			ReportChunk chunk;
+			while ((chunk = queue.poll()) != null)
+				processDirectly(chunk);
+		}
+	}
+	
+	private void releaseWaiting(List<ReportChunk> batch)
+	{
+		for (ReportChunk chunk : batch)
+		{
+			if (chunk.getWritten() != null)
+				chunk.getWritten().countDown();
+		}
+	}
+	
+	private void writeBatch(List<ReportChunk> batch)
+	{
+		Set<OpenReportFile> touched = new HashSet<>();
+		for (ReportChunk chunk : batch)
+		{
+			if (chunk.getWritten() != null)
+			{
+				flush(touched);
+				touched.clear();
+				closeFiles();
+				chunk.getWritten().countDown();
+				continue;
+			}
+			
+			OpenReportFile reportFile = getOpenFile(chunk.getFile());
+			if (reportFile == null)
+				continue;
+			
+			reportFile.write(chunk);
+			touched.add(reportFile);
+		}
+		flush(touched);
+	}
+	
+	private OpenReportFile getOpenFile(File file)
+	{
+		OpenReportFile result = openFiles.get(file);
+		if (result != null)
+			return result;
+		
+		try
+		{
+			result = new OpenReportFile(file, createWriter(file), file.length() == 0);
+			openFiles.put(file, result);
+			return result;
+		}
+		catch (IOException e)
+		{
+			getLogger().error("Could not open report file '{}'", file.getAbsolutePath(), e);
+			return null;
+		}
+	}
+	
+	private void flush(Collection<OpenReportFile> files)
+	{
+		for (OpenReportFile f : files)
+		{
+			if (f.getWriter().checkError())  //Flushes the writer and tells if any error occurred during writing
+				getLogger().error("Error occurred while writing report file '{}'", f.getFile().getAbsolutePath());
+		}
+	}
+	
+	private void closeFiles()
+	{
+		for (OpenReportFile f : openFiles.values())
+			f.getWriter().close();
+		openFiles.clear();
+	}
+	
+	private void writeDirectly(ReportChunk chunk)
+	{
+		File file = chunk.getFile();
+		try (PrintWriter writer = createWriter(file))
+		{
+			new OpenReportFile(file, writer, file.length() == 0).write(chunk);
+		}
+		catch (IOException e)
+		{
+			getLogger().error("Could not write report file '{}'", file.getAbsolutePath(), e);
+		}
+	}
+	
+	
+	private static class ReportChunk
+	{
+		private final File file;
+		private final String text;
+		private final boolean jsonItem;
+		private final CountDownLatch written;
+		
+		public ReportChunk(File file, String text, boolean jsonItem, CountDownLatch written)
+		{
+			this.file = file;
+			this.text = text;
+			this.jsonItem = jsonItem;
+			this.written = written;
+		}
+		
+		public File getFile()
+		{
+			return file;
+		}
+		
+		public String getText()
+		{
+			return text;
+		}
+		
+		public boolean isJsonItem()
+		{
+			return jsonItem;
+		}
+		
+		public CountDownLatch getWritten()
+		{
+			return written;
+		}
+	}
+	
+	private static class OpenReportFile
+	{
+		private final File file;
+		private final PrintWriter writer;
+		private boolean empty;
+		
+		public OpenReportFile(File file, PrintWriter writer, boolean empty)
+		{
+			this.file = file;
+			this.writer = writer;
+			this.empty = empty;
+		}
+		
+		public File getFile()
+		{
+			return file;
+		}
+		
+		public PrintWriter getWriter()
+		{
+			return writer;
+		}
+		
+		public void write(ReportChunk chunk)
+		{
+			if (chunk.isJsonItem())
+				writer.println(empty ? "[" : ",");
+			writer.write(chunk.getText());
+			empty = false;
+		}
+	}
+}
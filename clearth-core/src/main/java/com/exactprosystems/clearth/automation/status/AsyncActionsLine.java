@@ -0,0 +1,48 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.status;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Status line that shows current numbers of running and waiting async actions
+ */
+public class AsyncActionsLine implements StatusLine
+{
+	private final IntSupplier activeActions,
+			waitingActions;
+	
+	public AsyncActionsLine(IntSupplier activeActions, IntSupplier waitingActions)
+	{
+		this.activeActions = activeActions;
+		this.waitingActions = waitingActions;
+	}
+	
+	@Override
+	public String getValue()
+	{
+		return String.format("Async actions: %d running, %d waiting", activeActions.getAsInt(), waitingActions.getAsInt());
+	}
+	
+	@Override
+	public String toString()
+	{
+		return getValue();
+	}
+}
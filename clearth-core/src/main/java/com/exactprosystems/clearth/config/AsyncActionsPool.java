@@ -0,0 +1,49 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.config;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "asyncActionsPool")
+public class AsyncActionsPool
+{
+	private boolean enabled = false;
+	
+	public AsyncActionsPool(){}
+
+	/**
+	 * @param enabled true to execute async actions in shared pool of threads. 
+	 * Else each group of async actions is executed by its dedicated thread, including actions without group
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "enabled = " + this.isEnabled();
+	}
+}
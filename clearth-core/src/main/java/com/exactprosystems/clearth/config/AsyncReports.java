@@ -0,0 +1,72 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.config;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "asyncReports")
+public class AsyncReports
+{
+	public static final int DEFAULT_QUEUE_SIZE = 1000,
+			DEFAULT_BATCH_SIZE = 100;
+	
+	private boolean enabled = false;
+	private int queueSize = DEFAULT_QUEUE_SIZE,
+			batchSize = DEFAULT_BATCH_SIZE;
+	
+	public AsyncReports(){}
+
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	public void setQueueSize(int queueSize)
+	{
+		this.queueSize = queueSize;
+	}
+
+	public int getQueueSize()
+	{
+		return queueSize;
+	}
+
+	public void setBatchSize(int batchSize)
+	{
+		this.batchSize = batchSize;
+	}
+
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "enabled = " + this.isEnabled() +
+				"; queueSize = " + this.getQueueSize() +
+				"; batchSize = " + this.getBatchSize();
+	}
+}
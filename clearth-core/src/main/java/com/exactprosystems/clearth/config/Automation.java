@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -27,6 +27,10 @@ public class Automation
 
 	private MatrixFatalErrors matrixFatalErrors;
 	private SpecialActionParameters specialActionParameters;
+	private AsyncReports asyncReports;
+	private ParallelMatrices parallelMatrices;
+	private AsyncActionsPool asyncActionsPool;
+	private CsvLookup csvLookup;
 
 	public Automation(){}
 
@@ -64,12 +68,64 @@ public class Automation
 		this.specialActionParameters = specialActionParameters;
 	}
 
+	public AsyncReports getAsyncReports()
+	{
+		if (asyncReports == null)
+			asyncReports = new AsyncReports();
+		return asyncReports;
+	}
+
+	public void setAsyncReports(AsyncReports asyncReports)
+	{
+		this.asyncReports = asyncReports;
+	}
+
+	public ParallelMatrices getParallelMatrices()
+	{
+		if (parallelMatrices == null)
+			parallelMatrices = new ParallelMatrices();
+		return parallelMatrices;
+	}
+
+	public void setParallelMatrices(ParallelMatrices parallelMatrices)
+	{
+		this.parallelMatrices = parallelMatrices;
+	}
+
+	public AsyncActionsPool getAsyncActionsPool()
+	{
+		if (asyncActionsPool == null)
+			asyncActionsPool = new AsyncActionsPool();
+		return asyncActionsPool;
+	}
+
+	public void setAsyncActionsPool(AsyncActionsPool asyncActionsPool)
+	{
+		this.asyncActionsPool = asyncActionsPool;
+	}
+
+	public CsvLookup getCsvLookup()
+	{
+		if (csvLookup == null)
+			csvLookup = new CsvLookup();
+		return csvLookup;
+	}
+
+	public void setCsvLookup(CsvLookup csvLookup)
+	{
+		this.csvLookup = csvLookup;
+	}
+
 	@Override
 	public String toString()
 	{
 		return "[userSchedulersAllowed = " + this.isUserSchedulersAllowed() +
 				"; matrixFatalErrors: " + this.getMatrixFatalErrors().toString() +
 				"; specialActionParameters: " + this.getSpecialActionParameters().toString() +
+				"; asyncReports: " + this.getAsyncReports().toString() +
+				"; parallelMatrices: " + this.getParallelMatrices().toString() +
+				"; asyncActionsPool: " + this.getAsyncActionsPool().toString() +
+				"; csvLookup: " + this.getCsvLookup().toString() +
 				"]";
 	}
 }
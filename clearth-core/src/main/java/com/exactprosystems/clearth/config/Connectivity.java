@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -28,13 +28,19 @@ public class Connectivity
 	private ConnectionTypesConfig typesConfig;
 	@XmlElement(name = "jdbcDrivers")
 	private JDBCDriverConfig jdbcDrivers;
+	@XmlElement(name = "receivedMessageQueue")
+	private ReceivedMessageQueue receivedMessageQueue;
+	@XmlElement(name = "listenerDispatch")
+	private ListenerDispatch listenerDispatch;
 	
 	public Connectivity(){}
 	
 	@Override
 	public String toString()
 	{
-		return "[typesConfig: " + getTypesConfig().toString() + "; jdbcDrivers: " + getJdbcDrivers().toString() + "]";
+		return "[typesConfig: " + getTypesConfig().toString() + "; jdbcDrivers: " + getJdbcDrivers().toString() + 
+				"; receivedMessageQueue: " + getReceivedMessageQueue().toString() + 
+				"; listenerDispatch: " + getListenerDispatch().toString() + "]";
 	}
 	
 	
@@ -61,4 +67,28 @@ public class Connectivity
 	{
 		this.jdbcDrivers = jdbcDrivers;
 	}
+
+	public ReceivedMessageQueue getReceivedMessageQueue()
+	{
+		if (receivedMessageQueue == null)
+			receivedMessageQueue = new ReceivedMessageQueue();
+		return receivedMessageQueue;
+	}
+
+	public void setReceivedMessageQueue(ReceivedMessageQueue receivedMessageQueue)
+	{
+		this.receivedMessageQueue = receivedMessageQueue;
+	}
+
+	public ListenerDispatch getListenerDispatch()
+	{
+		if (listenerDispatch == null)
+			listenerDispatch = new ListenerDispatch();
+		return listenerDispatch;
+	}
+
+	public void setListenerDispatch(ListenerDispatch listenerDispatch)
+	{
+		this.listenerDispatch = listenerDispatch;
+	}
 }
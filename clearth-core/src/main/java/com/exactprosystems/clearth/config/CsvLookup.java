@@ -0,0 +1,51 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.config;
+
+import javax.xml.bind.annotation.XmlType;
+
+import com.exactprosystems.clearth.utils.csv.CsvLookupCache;
+
+@XmlType(name = "csvLookup")
+public class CsvLookup
+{
+	private long maxCachedCells = CsvLookupCache.DEFAULT_MAX_CELLS;
+	
+	public CsvLookup(){}
+	
+	/**
+	 * @return max number of values from CSV files that actions can keep in memory during scheduler run. 
+	 * Files with more values are read each time they are needed. 0 turns caching off
+	 */
+	public long getMaxCachedCells()
+	{
+		return maxCachedCells;
+	}
+	
+	public void setMaxCachedCells(long maxCachedCells)
+	{
+		this.maxCachedCells = maxCachedCells;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "maxCachedCells = " + this.getMaxCachedCells();
+	}
+}
@@ -0,0 +1,67 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.config;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "listenerDispatch")
+public class ListenerDispatch
+{
+	public static final int DEFAULT_QUEUE_SIZE = 10000;
+	
+	private boolean parallel = false;
+	private int queueSize = DEFAULT_QUEUE_SIZE;
+	
+	public ListenerDispatch(){}
+	
+	/**
+	 * @return true if each message listener should process messages in its own thread, 
+	 * false if all listeners of connection are notified one by one in the same thread
+	 */
+	public boolean isParallel()
+	{
+		return parallel;
+	}
+	
+	public void setParallel(boolean parallel)
+	{
+		this.parallel = parallel;
+	}
+	
+	/**
+	 * @return max number of messages waiting to be processed by one listener in parallel mode
+	 */
+	public int getQueueSize()
+	{
+		return queueSize;
+	}
+	
+	public void setQueueSize(int queueSize)
+	{
+		this.queueSize = queueSize;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "parallel = " + this.isParallel() +
+				"; queueSize = " + this.getQueueSize();
+	}
+}
@@ -0,0 +1,64 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.config;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "receivedMessageQueue")
+public class ReceivedMessageQueue
+{
+	private int capacity = 0;
+	private boolean spillToDisk = true;
+	
+	public ReceivedMessageQueue(){}
+	
+	/**
+	 * @return max number of received messages kept in memory by each connection. 0 means no limit
+	 */
+	public int getCapacity()
+	{
+		return capacity;
+	}
+	
+	public void setCapacity(int capacity)
+	{
+		this.capacity = capacity;
+	}
+	
+	/**
+	 * @return true if messages that exceed capacity are stored on disk, false if connection should wait for free space in queue
+	 */
+	public boolean isSpillToDisk()
+	{
+		return spillToDisk;
+	}
+	
+	public void setSpillToDisk(boolean spillToDisk)
+	{
+		this.spillToDisk = spillToDisk;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "capacity = " + this.getCapacity() +
+				"; spillToDisk = " + this.isSpillToDisk();
+	}
+}
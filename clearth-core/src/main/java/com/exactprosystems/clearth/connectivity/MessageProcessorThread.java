@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,10 +18,18 @@
 
 package com.exactprosystems.clearth.connectivity;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
@@ -33,23 +41,43 @@ import com.exactprosystems.clearth.data.HandledMessageId;
 import com.exactprosystems.clearth.data.MessageHandler;
 import com.exactprosystems.clearth.data.MessageHandlingUtils;
 
+/**
+ * Thread that takes messages from queue, handles them and passes them to listeners. 
+ * By default, listeners are notified one by one in this thread. 
+ * In parallel dispatch mode each listener gets its own queue and worker thread, 
+ * so that listeners process messages concurrently, each one in order of messages arrival
+ */
 public class MessageProcessorThread extends Thread
 {
 	protected static final Logger logger = LoggerFactory.getLogger(MessageProcessorThread.class);
+	private static final long WORKERS_STOP_TIMEOUT = 10000;
 	
 	protected AtomicBoolean terminated = new AtomicBoolean(false);
 	protected final BlockingQueue<EncodedClearThMessage> messageQueue;
 	protected final MessageHandler handler;
 	protected final List<MessageListener> listeners;
 	protected final AtomicLong processed = new AtomicLong(0);
+	protected final int dispatchQueueSize;
+	private final Map<MessageListener, ProcessingTimeStatistics> listenerStatistics = new ConcurrentHashMap<>();
+	private final Map<MessageListener, ListenerWorker> workers = Collections.synchronizedMap(new IdentityHashMap<>());
 	
 	public MessageProcessorThread(String name, final BlockingQueue<EncodedClearThMessage> messageQueue,
 			MessageHandler handler, final List<MessageListener> listeners)
+	{
+		this(name, messageQueue, handler, listeners, 0);
+	}
+	
+	/**
+	 * @param dispatchQueueSize size of queue for each listener in parallel dispatch mode. 0 turns parallel dispatch off
+	 */
+	public MessageProcessorThread(String name, final BlockingQueue<EncodedClearThMessage> messageQueue,
+			MessageHandler handler, final List<MessageListener> listeners, int dispatchQueueSize)
 	{
 		super(name);
 		this.messageQueue = messageQueue;
 		this.handler = handler;
 		this.listeners = listeners;
+		this.dispatchQueueSize = dispatchQueueSize;
 	}
 	
 	public void terminate()
@@ -72,8 +100,13 @@ public class MessageProcessorThread extends Thread
 				if (message != null)
 				{
 					handleMessage(message);
-					notifyListeners(message);
-					processed.incrementAndGet();
+					if (isParallelDispatch())
+						dispatchToListeners(message);
+					else
+					{
+						notifyListeners(message);
+						processed.incrementAndGet();
+					}
 				}
 			} 
 			catch (InterruptedException e) 
@@ -89,9 +122,27 @@ public class MessageProcessorThread extends Thread
 			}
 		}
 		
+		stopWorkers();
+		logStatistics();
 		logger.info("MessageProcessor Thread finished");
 	}
 	
+	public boolean isParallelDispatch()
+	{
+		return dispatchQueueSize > 0;
+	}
+	
+	/**
+	 * @return processing time statistics for each listener, with listener name and type as key
+	 */
+	public Map<String, ProcessingTimeStatistics> getListenerStatistics()
+	{
+		Map<String, ProcessingTimeStatistics> result = new LinkedHashMap<>();
+		for (Map.Entry<MessageListener, ProcessingTimeStatistics> entry : listenerStatistics.entrySet())
+			result.put(getListenerKey(entry.getKey()), entry.getValue());
+		return Collections.unmodifiableMap(result);
+	}
+	
 	private void handleMessage(EncodedClearThMessage message)
 	{
 		try
@@ -115,19 +166,119 @@ public class MessageProcessorThread extends Thread
 	private void notifyListeners(EncodedClearThMessage message)
 	{
 		for (MessageListener listener : listeners)
+			notifyListener(listener, message);
+	}
+	
+	private void notifyListener(MessageListener listener, EncodedClearThMessage message)
+	{
+		long start = System.nanoTime();
+		try
+		{
+			logger.trace("Notifying listener '{}' ({})", listener.getName(), listener.getType());
+			listener.onMessage(message);
+		}
+		catch (Exception e)
+		{
+			logger.error("Listener '{}' ({}) thrown exception while handling message", listener.getName(), listener.getType(), e);
+		}
+		finally
+		{
+			listenerStatistics.computeIfAbsent(listener, l -> new ProcessingTimeStatistics()).add(System.nanoTime() - start);
+		}
+	}
+	
+	private void dispatchToListeners(EncodedClearThMessage message) throws InterruptedException
+	{
+		List<ListenerWorker> targets = new ArrayList<>(listeners.size());
+		for (MessageListener listener : listeners)
+			targets.add(workers.computeIfAbsent(listener, this::startWorker));
+		
+		if (targets.isEmpty())
+		{
+			processed.incrementAndGet();
+			return;
+		}
+		
+		DispatchedMessage dispatched = new DispatchedMessage(message, targets.size());
+		for (ListenerWorker worker : targets)
+			worker.queue.put(dispatched);
+	}
+	
+	private ListenerWorker startWorker(MessageListener listener)
+	{
+		ListenerWorker worker = new ListenerWorker(getName()+" ("+getListenerKey(listener)+" worker)", listener);
+		worker.start();
+		return worker;
+	}
+	
+	/**
+	 * Stops worker of given listener in parallel dispatch mode. 
+	 * Should be called after the listener is removed from list of listeners and before it is disposed. 
+	 * Worker finishes processing of messages already dispatched to it
+	 * @param listener whose worker to stop
+	 */
+	public void removeListenerWorker(MessageListener listener)
+	{
+		ListenerWorker worker = workers.remove(listener);
+		if (worker == null)
+			return;
+		
+		worker.finish();
+		joinWorkers(Collections.singletonList(worker));
+	}
+	
+	private void stopWorkers()
+	{
+		List<ListenerWorker> toStop;
+		synchronized (workers)
+		{
+			toStop = new ArrayList<>(workers.values());
+			workers.clear();
+		}
+		
+		//Workers finish processing of messages already dispatched to them
+		for (ListenerWorker worker : toStop)
+			worker.finish();
+		joinWorkers(toStop);
+	}
+	
+	private void joinWorkers(List<ListenerWorker> toJoin)
+	{
+		long deadline = System.currentTimeMillis() + WORKERS_STOP_TIMEOUT;
+		for (ListenerWorker worker : toJoin)
 		{
 			try
 			{
-				logger.trace("Notifying listener '{}' ({})", listener.getName(), listener.getType());
-				listener.onMessage(message);
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining > 0)
+					worker.join(remaining);
 			}
-			catch (Exception e)
+			catch (InterruptedException e)
 			{
-				logger.error("Listener '{}' ({}) thrown exception while handling message", listener.getName(), listener.getType(), e);
+				logger.warn("Interrupted while waiting for listener workers to finish");
+				Thread.currentThread().interrupt();
+				break;
 			}
+			
+			if (worker.isAlive())
+				logger.warn("Listener worker '{}' didn't finish in {} ms", worker.getName(), WORKERS_STOP_TIMEOUT);
 		}
 	}
 	
+	private void logStatistics()
+	{
+		if (!logger.isDebugEnabled())
+			return;
+		
+		for (Map.Entry<String, ProcessingTimeStatistics> entry : getListenerStatistics().entrySet())
+			logger.debug("{}: listener {} processing times: {}", getName(), entry.getKey(), entry.getValue());
+	}
+	
+	private String getListenerKey(MessageListener listener)
+	{
+		return listener.getName()+" ("+listener.getType()+")";
+	}
+	
 	public long getProcessed()
 	{
 		return processed.get();
@@ -148,4 +299,62 @@ public class MessageProcessorThread extends Thread
 		}
 		return id;
 	}
+	
+	
+	private static class DispatchedMessage
+	{
+		final EncodedClearThMessage message;
+		final AtomicInteger remainingListeners;
+		
+		DispatchedMessage(EncodedClearThMessage message, int listenersCount)
+		{
+			this.message = message;
+			this.remainingListeners = new AtomicInteger(listenersCount);
+		}
+	}
+	
+	private class ListenerWorker extends Thread
+	{
+		final BlockingQueue<DispatchedMessage> queue = new LinkedBlockingQueue<>(dispatchQueueSize);
+		final MessageListener listener;
+		volatile boolean finishing = false;
+		
+		ListenerWorker(String name, MessageListener listener)
+		{
+			super(name);
+			this.listener = listener;
+		}
+		
+		void finish()
+		{
+			finishing = true;
+		}
+		
+		@Override
+		public void run()
+		{
+			try
+			{
+				while (true)
+				{
+					DispatchedMessage dispatched = queue.poll(1000, TimeUnit.MILLISECONDS);
+					if (dispatched == null)
+					{
+						if (finishing)
+							break;
+						continue;
+					}
+					
+					notifyListener(listener, dispatched.message);
+					//Message is processed when all listeners are done with it
+					if (dispatched.remainingListeners.decrementAndGet() == 0)
+						processed.incrementAndGet();
+				}
+			}
+			catch (InterruptedException e)
+			{
+				logger.warn("Listener worker '{}' interrupted", getName());
+			}
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2021 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,6 +21,7 @@ package com.exactprosystems.clearth.connectivity;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import org.apache.commons.lang.NotImplementedException;
 
@@ -33,12 +34,14 @@ import com.exactprosystems.clearth.utils.SettingsException;
 
 /**
  * MultiCodec is useful to decode messages that belong to unknown protocol from given list. 
- * While decoding a message, MultiCodec will cycle through available codecs, trying to find the one that is able to parse the message.
+ * While decoding a message, MultiCodec will try codecs that report the message as decodable by {@link ICodec#canDecode(String)}, 
+ * starting from the codec that decoded previous message.
  * Encoding is not supported by MultiCodec as it doesn't know which codec to use
  */
 public class MultiCodec implements ICodec
 {
-	private final Collection<ICodec> codecs;
+	private final List<ICodec> codecs;
+	private volatile ICodec lastSuccessful;
 	
 	public MultiCodec(String... codecNames) throws SettingsException
 	{
@@ -53,6 +56,15 @@ public class MultiCodec implements ICodec
 			codecs.add(core.createCodec(cn));
 	}
 	
+	/**
+	 * Creates MultiCodec that will use given codecs
+	 * @param codecs to decode messages with, in order of priority
+	 */
+	public MultiCodec(List<ICodec> codecs)
+	{
+		this.codecs = new ArrayList<>(codecs);
+	}
+	
 	
 	@Override
 	public String encode(ClearThMessage<?> message) throws EncodeException
@@ -63,40 +75,86 @@ public class MultiCodec implements ICodec
 	@Override
 	public ClearThMessage<?> decode(String message) throws DecodeException
 	{
-		LineBuilder errors = null;
+		return decode(message, codec -> codec.decode(message), "Could not decode message");
+	}
+	
+	@Override
+	public ClearThMessage<?> decode(String message, String type) throws DecodeException
+	{
+		return decode(message, codec -> codec.decode(message, type), "Could not decode message with type '"+type+"'");
+	}
+	
+	@Override
+	public boolean canDecode(String message)
+	{
 		for (ICodec codec : codecs)
+		{
+			if (codec.canDecode(message))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * @return codec that decoded last message or null if no messages were decoded yet
+	 */
+	public ICodec getLastSuccessful()
+	{
+		return lastSuccessful;
+	}
+	
+	
+	private ClearThMessage<?> decode(String message, DecodeCall call, String errorText) throws DecodeException
+	{
+		//Messages usually come in the same format, so the codec that succeeded last time is likely to succeed again
+		ICodec preferred = lastSuccessful;
+		LineBuilder errors = null;
+		if (preferred != null && preferred.canDecode(message))
 		{
 			try
 			{
-				return codec.decode(message);
+				return call.decode(preferred);
 			}
 			catch (Exception e)
 			{
-				if (errors == null)
-					errors = new LineBuilder();
-				errors.append(ExceptionUtils.getDetailedMessage(e));
+				errors = addError(errors, e);
 			}
 		}
-		throw new DecodeException("Could not decode message. Errors from codecs: \r\n"+errors.toString());
-	}
-	
-	@Override
-	public ClearThMessage<?> decode(String message, String type) throws DecodeException
-	{
-		LineBuilder errors = null;
+		
 		for (ICodec codec : codecs)
 		{
+			if (codec == preferred || !codec.canDecode(message))
+				continue;
+			
 			try
 			{
-				return codec.decode(message, type);
+				ClearThMessage<?> result = call.decode(codec);
+				lastSuccessful = codec;
+				return result;
 			}
 			catch (Exception e)
 			{
-				if (errors == null)
-					errors = new LineBuilder();
-				errors.append(ExceptionUtils.getDetailedMessage(e));
+				errors = addError(errors, e);
 			}
 		}
-		throw new DecodeException("Could not decode message with type '"+type+"'. Errors from codecs: \r\n"+errors.toString());
+		
+		if (errors == null)
+			throw new DecodeException(errorText+". Message format is not supported by any codec");
+		throw new DecodeException(errorText+". Errors from codecs: \r\n"+errors.toString());
+	}
+	
+	private LineBuilder addError(LineBuilder errors, Exception e)
+	{
+		if (errors == null)
+			errors = new LineBuilder();
+		errors.append(ExceptionUtils.getDetailedMessage(e));
+		return errors;
+	}
+	
+	
+	@FunctionalInterface
+	private interface DecodeCall
+	{
+		ClearThMessage<?> decode(ICodec codec) throws DecodeException;
 	}
 }
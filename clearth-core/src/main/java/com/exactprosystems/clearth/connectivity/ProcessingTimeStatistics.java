@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of message processing times with buckets growing by factor of 10, starting from 100 microseconds
+ */
+public class ProcessingTimeStatistics
+{
+	private static final long[] BUCKET_BOUNDS = {
+			TimeUnit.MICROSECONDS.toNanos(100),
+			TimeUnit.MILLISECONDS.toNanos(1),
+			TimeUnit.MILLISECONDS.toNanos(10),
+			TimeUnit.MILLISECONDS.toNanos(100),
+			TimeUnit.SECONDS.toNanos(1)
+	};
+	private static final String[] BUCKET_NAMES = {"<0.1ms", "<1ms", "<10ms", "<100ms", "<1s", ">=1s"};
+	
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+	private final AtomicLong count = new AtomicLong(),
+			totalNanos = new AtomicLong(),
+			maxNanos = new AtomicLong();
+	
+	public void add(long nanos)
+	{
+		int bucket = 0;
+		while (bucket < BUCKET_BOUNDS.length && nanos >= BUCKET_BOUNDS[bucket])
+			bucket++;
+		
+		buckets.incrementAndGet(bucket);
+		count.incrementAndGet();
+		totalNanos.addAndGet(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+	
+	public long getCount()
+	{
+		return count.get();
+	}
+	
+	public long getTotalNanos()
+	{
+		return totalNanos.get();
+	}
+	
+	public long getMaxNanos()
+	{
+		return maxNanos.get();
+	}
+	
+	public double getAverageMillis()
+	{
+		long c = count.get();
+		return c > 0 ? totalNanos.get() / (double)c / TimeUnit.MILLISECONDS.toNanos(1) : 0;
+	}
+	
+	/**
+	 * @return number of measurements in each bucket. Last bucket holds measurements of 1 second and longer
+	 */
+	public long[] getBuckets()
+	{
+		long[] result = new long[buckets.length()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = buckets.get(i);
+		return result;
+	}
+	
+	public static String[] getBucketNames()
+	{
+		return BUCKET_NAMES.clone();
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("count=%d, avg=%.3fms, max=%.3fms", count.get(), getAverageMillis(), 
+				maxNanos.get() / (double)TimeUnit.MILLISECONDS.toNanos(1)));
+		for (int i = 0; i < BUCKET_NAMES.length; i++)
+			sb.append(i == 0 ? ", [" : ", ").append(BUCKET_NAMES[i]).append(": ").append(buckets.get(i));
+		return sb.append("]").toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -325,6 +325,14 @@ public abstract class BasicClearThMessageConnection extends BasicClearThRunnable
 		return client.findListener(listenerType);
 	}
 
+	/**
+	 * @return client that does actual work for this connection or null if connection is not running
+	 */
+	public ClearThClient getClient()
+	{
+		return client;
+	}
+	
 	@Override
 	public long getSent()
 	{
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -31,6 +31,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public abstract class BasicClearThRunnableConnection extends BasicClearThConnection implements ClearThRunnableConnection
 {
@@ -41,6 +42,7 @@ public abstract class BasicClearThRunnableConnection extends BasicClearThConnect
 
 	protected final Lock writeLock = lock.writeLock();
 	protected final List<ConnectionErrorInfo> errorInfoList = new CopyOnWriteArrayList<>();
+	private volatile Consumer<String> stateListener;
 
 	public BasicClearThRunnableConnection()
 	{
@@ -74,6 +76,7 @@ public abstract class BasicClearThRunnableConnection extends BasicClearThConnect
 		finally
 		{
 			writeLock.unlock();
+			notifyStateChanged();
 		}
 	}
 
@@ -93,6 +96,7 @@ public abstract class BasicClearThRunnableConnection extends BasicClearThConnect
 		finally
 		{
 			writeLock.unlock();
+			notifyStateChanged();
 		}
 	}
 
@@ -116,6 +120,7 @@ public abstract class BasicClearThRunnableConnection extends BasicClearThConnect
 		finally
 		{
 			writeLock.unlock();
+			notifyStateChanged();
 		}
 	}
 
@@ -158,11 +163,38 @@ public abstract class BasicClearThRunnableConnection extends BasicClearThConnect
 	public void addErrorInfo(String errorMessage, Throwable reason, Instant occurred)
 	{
 		errorInfoList.add(new ConnectionErrorInfo(getName(), errorMessage, reason, occurred));
+		notifyStateChanged();
 	}
 
 	@Override
 	public void clearErrorInfo()
 	{
 		errorInfoList.clear();
+		notifyStateChanged();
+	}
+	
+	/**
+	 * Sets listener to be notified with connection name when connection is started, stopped or its errors are changed
+	 * @param stateListener listener to notify, null to remove current one
+	 */
+	public void setStateListener(Consumer<String> stateListener)
+	{
+		this.stateListener = stateListener;
+	}
+	
+	protected void notifyStateChanged()
+	{
+		Consumer<String> listener = stateListener;
+		if (listener == null)
+			return;
+		
+		try
+		{
+			listener.accept(name);
+		}
+		catch (Exception e)
+		{
+			logger.warn("Error while notifying about state change of connection '{}'", name, e);
+		}
 	}
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -34,4 +34,11 @@ public interface ClearThConnection
 	void copyFrom(ClearThConnection other);
 
 	ClearThConnectionSettings getSettings();
+	
+	/**
+	 * Releases resources held by connection object when it is removed from storage
+	 */
+	default void dispose()
+	{
+	}
 }
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,6 +18,11 @@
 
 package com.exactprosystems.clearth.connectivity.connections.clients;
 
+import com.exactprosystems.clearth.ClearThCore;
+import com.exactprosystems.clearth.config.ClearThConfiguration;
+import com.exactprosystems.clearth.config.Connectivity;
+import com.exactprosystems.clearth.config.ListenerDispatch;
+import com.exactprosystems.clearth.config.ReceivedMessageQueue;
 import com.exactprosystems.clearth.connectivity.*;
 import com.exactprosystems.clearth.connectivity.connections.ClearThConnectionSettings;
 import com.exactprosystems.clearth.connectivity.connections.ClearThMessageConnection;
@@ -37,10 +42,13 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
@@ -50,6 +58,7 @@ import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 public abstract class BasicClearThClient implements ClearThClient
 {
 	private static final Logger logger = LoggerFactory.getLogger(BasicClearThClient.class);
+	private static final long PROCESSOR_STOP_TIMEOUT = 15000;
 	protected final ClearThMessageConnection owner;
 	protected final String name;
 	protected final Path unhandledMessagesFile;
@@ -63,7 +72,7 @@ public abstract class BasicClearThClient implements ClearThClient
 	protected MessageProcessorThread receivedProcessorThread = null,
 			sentProcessorThread = null;
 	protected MessageReceiverThread receiverThread = null;
-	protected BlockingQueue<EncodedClearThMessage> receivedMessageQueue = createMessageQueue(),
+	protected BlockingQueue<EncodedClearThMessage> receivedMessageQueue,
 			sentMessageQueue;
 	protected final MessageHandler messageHandler;
 	protected boolean running = false;
@@ -82,6 +91,7 @@ public abstract class BasicClearThClient implements ClearThClient
 			logger.info("Initializing client: {}{}Name={}{}{}",
 					getClass().getCanonicalName(), Utils.EOL, name, Utils.EOL, storedSettings.toString());
 		
+		receivedMessageQueue = createReceivedMessageQueue();
 		messageHandler = createMessageHandler();
 		allListeners = new ArrayList<>();
 		receiveListeners = new ArrayList<>();
@@ -110,7 +120,7 @@ public abstract class BasicClearThClient implements ClearThClient
 		logger.info("{}: reading unhandled messages from file '{}'", name, unhandledMessagesFile);
 		try
 		{
-			createUnhandledMessageFileReader().processMessages(unhandledMessagesFile, m -> receivedMessageQueue.add(m));
+			createUnhandledMessageFileReader().processMessages(unhandledMessagesFile, this::putReceivedMessage);
 
 			try
 			{
@@ -132,6 +142,26 @@ public abstract class BasicClearThClient implements ClearThClient
 	}
 	
 	
+	/**
+	 * Puts message into queue of received messages, waiting for free space if the queue is bounded
+	 * @param message to put
+	 * @return true if message was put, false if waiting was interrupted
+	 */
+	protected boolean putReceivedMessage(EncodedClearThMessage message)
+	{
+		try
+		{
+			receivedMessageQueue.put(message);
+			return true;
+		}
+		catch (InterruptedException e)
+		{
+			logger.warn("{}: interrupted while waiting for free space in queue of received messages, message is not stored", name);
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
 	private MessageHandler createMessageHandler() throws ConnectionException
 	{
 		try
@@ -145,6 +175,47 @@ public abstract class BasicClearThClient implements ClearThClient
 	}
 	
 	
+	/**
+	 * Creates queue for received messages according to ClearTH configuration. 
+	 * Bounded queue spills messages that exceed its capacity to directory near the file with unhandled messages
+	 * @return queue to store received messages till they are passed to listeners
+	 */
+	protected BlockingQueue<EncodedClearThMessage> createReceivedMessageQueue()
+	{
+		ReceivedMessageQueue queueConfig = getReceivedMessageQueueConfig();
+		if (queueConfig == null || queueConfig.getCapacity() <= 0)
+			return createMessageQueue();
+		
+		Path spillDir = queueConfig.isSpillToDisk() ? createSpillDirPath() : null;
+		logger.debug("{}: using queue for received messages with capacity {}, spill directory: {}", name, queueConfig.getCapacity(), spillDir);
+		return new SpillingMessageQueue(queueConfig.getCapacity(), spillDir, "messages");
+	}
+	
+	protected ReceivedMessageQueue getReceivedMessageQueueConfig()
+	{
+		Connectivity config = getConnectivityConfig();
+		return config != null ? config.getReceivedMessageQueue() : null;
+	}
+	
+	protected ListenerDispatch getListenerDispatchConfig()
+	{
+		Connectivity config = getConnectivityConfig();
+		return config != null ? config.getListenerDispatch() : null;
+	}
+	
+	private Connectivity getConnectivityConfig()
+	{
+		ClearThCore core = ClearThCore.getInstance();
+		ClearThConfiguration config = core != null ? core.getConfig() : null;
+		return config != null ? config.getConnectivity() : null;
+	}
+	
+	protected Path createSpillDirPath()
+	{
+		return unhandledMessagesFile.resolveSibling("spill").resolve(name);
+	}
+	
+	
 	protected MessageFileReader createUnhandledMessageFileReader()
 	{
 		return new MessageFileReader();
@@ -180,12 +251,25 @@ public abstract class BasicClearThClient implements ClearThClient
 
 	protected MessageProcessorThread createReceivedProcessorThread()
 	{
-		return new MessageProcessorThread(name+" (Received processor thread)", receivedMessageQueue, messageHandler, receiveListeners);
+		return new MessageProcessorThread(name+" (Received processor thread)", receivedMessageQueue, messageHandler, receiveListeners,
+				getDispatchQueueSize());
 	}
 
 	protected MessageProcessorThread createSentProcessorThread()
 	{
-		return new MessageProcessorThread(name+" (Sent processor thread)", sentMessageQueue, messageHandler, sendListeners);
+		return new MessageProcessorThread(name+" (Sent processor thread)", sentMessageQueue, messageHandler, sendListeners,
+				getDispatchQueueSize());
+	}
+	
+	/**
+	 * @return size of queue for each listener if listeners should process messages in parallel, 0 otherwise
+	 */
+	protected int getDispatchQueueSize()
+	{
+		ListenerDispatch dispatchConfig = getListenerDispatchConfig();
+		if (dispatchConfig == null || !dispatchConfig.isParallel())
+			return 0;
+		return Math.max(dispatchConfig.getQueueSize(), 1);
 	}
 	
 	/**
@@ -210,10 +294,6 @@ public abstract class BasicClearThClient implements ClearThClient
 		if (startListeners && (allListeners != null))
 			startListeners();
 
-		//If there is a file with unhandled messages, let's read them, remove this file and pass messages to internal queue, so that they will be handled by listeners
-		if (Files.isRegularFile(unhandledMessagesFile))
-			loadUnhandledMessages();
-
 		if (isNeedReceivedProcessorThread())
 		{
 			logger.trace("{}: creating received processor thread", name);
@@ -221,6 +301,11 @@ public abstract class BasicClearThClient implements ClearThClient
 			receivedProcessorThread.start();
 		}
 
+		//If there is a file with unhandled messages, let's read them, remove this file and pass messages to internal queue, so that they will be handled by listeners
+		//Processor thread is already started to free space in bounded queue
+		if (Files.isRegularFile(unhandledMessagesFile))
+			loadUnhandledMessages();
+
 		if (isNeedSentProcessorThread())
 		{
 			sentMessageQueue = createMessageQueue();
@@ -315,6 +400,8 @@ public abstract class BasicClearThClient implements ClearThClient
 
 		closeConnections();
 		Utils.closeResource(messageHandler);
+		if (receivedMessageQueue instanceof AutoCloseable)
+			Utils.closeResource((AutoCloseable) receivedMessageQueue);
 
 		running = false;
 	}
@@ -366,10 +453,13 @@ public abstract class BasicClearThClient implements ClearThClient
 
 	public void removeMessageListener(MessageListener listener)
 	{
-		listener.dispose();
 		allListeners.remove(listener);
 		receiveListeners.remove(listener);
 		sendListeners.remove(listener);
+		//Listener can be disposed only when its worker is done with dispatched messages
+		removeListenerWorker(receivedProcessorThread, listener);
+		removeListenerWorker(sentProcessorThread, listener);
+		listener.dispose();
 		logger.trace("{}: listener '{}' ({}) removed", name, listener.getName(), listener.getType());
 	}
 
@@ -412,11 +502,79 @@ public abstract class BasicClearThClient implements ClearThClient
 		return receivedProcessorThread != null ? receivedProcessorThread.getProcessed() : 0;
 	}
 
+	/**
+	 * @return average number of messages received per second since receiving has started
+	 */
+	public double getReceiveRate()
+	{
+		MessageReceiverThread thread = receiverThread;
+		return thread != null ? thread.getReceiveRate() : 0;
+	}
+	
+	/**
+	 * @return number of received messages that are waiting to be passed to listeners
+	 */
+	public int getReceivedQueueSize()
+	{
+		return receivedMessageQueue.size();
+	}
+	
+	/**
+	 * @return processing time statistics for each listener of received messages
+	 */
+	public Map<String, ProcessingTimeStatistics> getReceivedListenerStatistics()
+	{
+		return receivedProcessorThread != null ? receivedProcessorThread.getListenerStatistics() : Collections.emptyMap();
+	}
+	
+	/**
+	 * @return processing time statistics for each listener of sent messages
+	 */
+	public Map<String, ProcessingTimeStatistics> getSentListenerStatistics()
+	{
+		return sentProcessorThread != null ? sentProcessorThread.getListenerStatistics() : Collections.emptyMap();
+	}
+	
+	/**
+	 * @return number of received messages that are stored on disk because queue capacity is exceeded
+	 */
+	public long getReceivedQueueSpilled()
+	{
+		if (receivedMessageQueue instanceof SpillingMessageQueue)
+			return ((SpillingMessageQueue) receivedMessageQueue).getSpilled();
+		return 0;
+	}
+	
+	/**
+	 * @return time passed since the oldest message in queue of received messages was received. Zero if queue is empty
+	 */
+	public Duration getReceivedQueueLag()
+	{
+		Instant oldest;
+		if (receivedMessageQueue instanceof SpillingMessageQueue)
+			oldest = ((SpillingMessageQueue) receivedMessageQueue).getHeadTimestamp();  //Peek may read spilled messages from disk
+		else
+		{
+			EncodedClearThMessage head = receivedMessageQueue.peek();
+			oldest = head != null && head.getMetadata() != null ? head.getMetadata().getTimestamp() : null;
+		}
+		
+		if (oldest == null)
+			return Duration.ZERO;
+		return Duration.between(oldest, Instant.now());
+	}
+
 	protected BlockingQueue<EncodedClearThMessage> createMessageQueue()
 	{
 		return new LinkedBlockingQueue<>();
 	}
 
+	private void removeListenerWorker(MessageProcessorThread thread, MessageListener listener)
+	{
+		if (thread != null)
+			thread.removeListenerWorker(listener);
+	}
+	
 	protected final void disposeProcessorThread(MessageProcessorThread thread)
 	{
 		if (thread == null)
@@ -424,6 +582,20 @@ public abstract class BasicClearThClient implements ClearThClient
 
 		logger.trace("{}: disposing processor thread '{}'", name, thread.getName());
 		thread.terminate();
+		//Waiting for the thread and its listener workers to finish, so that listeners are not disposed while processing messages
+		try
+		{
+			thread.join(PROCESSOR_STOP_TIMEOUT);
+		}
+		catch (InterruptedException e)
+		{
+			logger.warn("{}: interrupted while waiting for processor thread '{}' to finish", name, thread.getName());
+			Thread.currentThread().interrupt();
+			return;
+		}
+		
+		if (thread.isAlive())
+			logger.warn("{}: processor thread '{}' didn't finish in {} ms", name, thread.getName(), PROCESSOR_STOP_TIMEOUT);
 	}
 
 	protected EncodedClearThMessage createUpdatedMessage(Object payload, ClearThMessageMetadata metadata)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -23,18 +23,33 @@ import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Thread that gets messages from external source and puts them into internal queue.
+ * Subclasses should pass received messages to {@link #addReceivedMessage(EncodedClearThMessage)} or call {@link #messageReceived()} 
+ * so that the thread knows if the source has more messages. 
+ * In this case up to {@link #getBatchSize()} messages are read one after another without read delay. 
+ * If the source is idle, delay before next read grows up to {@link #getMaxIdleDelay()}
+ */
 public abstract class MessageReceiverThread extends Thread
 {
 	private final static Logger logger = LoggerFactory.getLogger(MessageReceiverThread.class);
+	private static final int MAX_IDLE_READS = 32;
+	private static final long QUEUE_WAIT_TIMEOUT = 1000;
 	protected final ClearThMessageConnection owner;
 	protected final BlockingQueue<EncodedClearThMessage> receivedMessageQueue;
 	protected final long readDelay;
 	protected volatile LocalDateTime startTime, endTime;
 	protected AtomicBoolean terminated = new AtomicBoolean(false);
+	private final AtomicLong received = new AtomicLong(0);
+	private volatile int batchSize = 1;
+	private volatile long maxIdleDelay = 0;
 
 	public MessageReceiverThread(String name, ClearThMessageConnection owner,
 	                             BlockingQueue<EncodedClearThMessage> receivedMessageQueue, long readDelay)
@@ -54,14 +69,34 @@ public abstract class MessageReceiverThread extends Thread
 		beforeRun();
 		try
 		{
+			int inBatch = 0,
+					idleReads = 0;
 			while (!terminated.get())
 			{
 				try
 				{
+					long before = received.get();
 					getAndHandleMessage();
+					if (terminated.get())
+						break;
 					
-					if (!terminated.get())
+					if (received.get() > before)
+					{
+						idleReads = 0;
+						//Source has messages, so reading next one immediately till batch is complete
+						if (++inBatch < batchSize)
+							continue;
+						
+						inBatch = 0;
 						sleep(readDelay);
+					}
+					else
+					{
+						inBatch = 0;
+						if (idleReads < MAX_IDLE_READS)
+							idleReads++;
+						sleep(getIdleDelay(idleReads));
+					}
 				}
 				catch (Exception e)
 				{
@@ -86,7 +121,103 @@ public abstract class MessageReceiverThread extends Thread
 		return endTime;
 	}
 
+	/**
+	 * @return number of messages received by this thread
+	 */
+	public long getReceived()
+	{
+		return received.get();
+	}
+	
+	/**
+	 * @return average number of messages received per second since the thread has started
+	 */
+	public double getReceiveRate()
+	{
+		LocalDateTime start = startTime;
+		if (start == null)
+			return 0;
+		
+		LocalDateTime end = endTime != null ? endTime : LocalDateTime.now();
+		long elapsed = Duration.between(start, end).toNanos();
+		return elapsed > 0 ? received.get() * (double)TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+	}
+	
+	public int getBatchSize()
+	{
+		return batchSize;
+	}
+	
+	/**
+	 * @param batchSize max number of messages to read one after another without read delay. Values less than 1 mean 1
+	 */
+	public void setBatchSize(int batchSize)
+	{
+		this.batchSize = Math.max(batchSize, 1);
+	}
+	
+	public long getMaxIdleDelay()
+	{
+		return maxIdleDelay;
+	}
+	
+	/**
+	 * @param maxIdleDelay max delay between reads when source has no messages. 
+	 * Each read without messages doubles the delay, starting from read delay. 
+	 * Values not greater than read delay turn off the back-off
+	 */
+	public void setMaxIdleDelay(long maxIdleDelay)
+	{
+		this.maxIdleDelay = maxIdleDelay;
+	}
+	
+	
 	protected abstract void getAndHandleMessage() throws Exception;
+	
+	/**
+	 * Puts message into internal queue and counts it as received. 
+	 * If the queue is bounded, waits for free space till the thread is terminated
+	 * @param message to add
+	 * @return true if message was added, false if the thread was terminated or interrupted while waiting for free space
+	 */
+	protected boolean addReceivedMessage(EncodedClearThMessage message)
+	{
+		messageReceived();
+		try
+		{
+			while (!receivedMessageQueue.offer(message, QUEUE_WAIT_TIMEOUT, TimeUnit.MILLISECONDS))
+			{
+				if (terminated.get())
+					return false;
+			}
+			return true;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+	
+	/**
+	 * Counts message as received. Should be called by subclasses that don't use {@link #addReceivedMessage(EncodedClearThMessage)}
+	 */
+	protected void messageReceived()
+	{
+		received.incrementAndGet();
+	}
+	
+	protected long getIdleDelay(int idleReads)
+	{
+		long max = maxIdleDelay;
+		if (max <= readDelay || idleReads <= 1)
+			return readDelay;
+		
+		long delay = Math.max(readDelay, 1);
+		for (int i = 1; i < idleReads && delay < max; i++)
+			delay *= 2;
+		return Math.min(delay, max);
+	}
 
 	protected void handleException(Exception e)
 	{
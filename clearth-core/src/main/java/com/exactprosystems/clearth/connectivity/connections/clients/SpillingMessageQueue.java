@@ -0,0 +1,825 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity.connections.clients;
+
+import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
+import com.exactprosystems.clearth.messages.MessageFileReader;
+import com.exactprosystems.clearth.messages.MessageFileWriter;
+import com.exactprosystems.clearth.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of messages. 
+ * If spill directory is specified, messages that don't fit into memory are written to segment files in that directory 
+ * and are read back in order when in-memory messages are taken. 
+ * Segment files have the same format as file with unhandled messages.
+ * Segment files are written and read without holding the lock used by producers and consumers for in-memory messages. 
+ * If message cannot be written to segment file, it is kept in memory, even if capacity is exceeded.
+ * Without spill directory the queue blocks producers that use {@link #put(EncodedClearThMessage)} when capacity is reached.
+ * Iterator is weakly consistent and visits only messages kept in memory
+ */
+public class SpillingMessageQueue extends AbstractQueue<EncodedClearThMessage> implements BlockingQueue<EncodedClearThMessage>, Closeable
+{
+	private static final Logger logger = LoggerFactory.getLogger(SpillingMessageQueue.class);
+	private static final String SEGMENT_EXTENSION = ".dat";
+	
+	private final int capacity;
+	private final Path spillDir;
+	private final String segmentPrefix;
+	private final Deque<EncodedClearThMessage> memory = new ArrayDeque<>();
+	private final Deque<Segment> segments = new ArrayDeque<>();
+	//Guards in-memory messages, list of segments and counters
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition(),
+			notFull = lock.newCondition();
+	//Guards segment writer. Must be acquired before lock, if both are needed
+	private final ReentrantLock spillLock = new ReentrantLock();
+	
+	//Guarded by spillLock
+	private MessageFileWriter segmentWriter;
+	private Segment writingSegment;
+	private int nextSegmentIndex = 0;
+	
+	//Guarded by lock. Number of spilled messages includes ones of segment being loaded into memory
+	private long spilled = 0,
+			totalSpilled = 0,
+			clears = 0;
+	private boolean loading = false;
+	private volatile Instant headTimestamp;
+	
+	/**
+	 * @param capacity max number of messages to keep in memory
+	 * @param spillDir directory to store messages that don't fit into memory. If null, messages are not spilled
+	 * @param segmentPrefix prefix for names of segment files
+	 */
+	public SpillingMessageQueue(int capacity, Path spillDir, String segmentPrefix)
+	{
+		if (capacity < 1)
+			throw new IllegalArgumentException("Capacity must be positive");
+		
+		this.capacity = capacity;
+		this.spillDir = spillDir;
+		this.segmentPrefix = segmentPrefix;
+		if (spillDir != null)
+			restoreSegments();
+	}
+	
+	public SpillingMessageQueue(int capacity)
+	{
+		this(capacity, null, null);
+	}
+	
+	
+	@Override
+	public boolean offer(EncodedClearThMessage message)
+	{
+		checkNotNull(message);
+		lock.lock();
+		try
+		{
+			if (addToMemory(message))
+				return true;
+			if (spillDir == null)
+				return false;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		
+		spill(message);
+		return true;
+	}
+	
+	@Override
+	public boolean offer(EncodedClearThMessage message, long timeout, TimeUnit unit) throws InterruptedException
+	{
+		checkNotNull(message);
+		long nanos = unit.toNanos(timeout);
+		boolean added;
+		lock.lockInterruptibly();
+		try
+		{
+			while (!(added = addToMemory(message)) && spillDir == null)
+			{
+				if (nanos <= 0)
+					return false;
+				nanos = notFull.awaitNanos(nanos);
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		
+		if (!added)
+			spill(message);
+		return true;
+	}
+	
+	@Override
+	public void put(EncodedClearThMessage message) throws InterruptedException
+	{
+		checkNotNull(message);
+		boolean added;
+		lock.lockInterruptibly();
+		try
+		{
+			while (!(added = addToMemory(message)) && spillDir == null)
+				notFull.await();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		
+		if (!added)
+			spill(message);
+	}
+	
+	@Override
+	public EncodedClearThMessage poll()
+	{
+		lock.lock();
+		try
+		{
+			return dequeue();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public EncodedClearThMessage poll(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try
+		{
+			EncodedClearThMessage result;
+			while ((result = dequeue()) == null)
+			{
+				if (nanos <= 0)
+					return null;
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return result;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public EncodedClearThMessage take() throws InterruptedException
+	{
+		lock.lockInterruptibly();
+		try
+		{
+			EncodedClearThMessage result;
+			while ((result = dequeue()) == null)
+				notEmpty.await();
+			return result;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public EncodedClearThMessage peek()
+	{
+		lock.lock();
+		try
+		{
+			fillMemory();
+			return memory.peekFirst();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int size()
+	{
+		lock.lock();
+		try
+		{
+			return (int) Math.min(memory.size() + spilled, Integer.MAX_VALUE);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int remainingCapacity()
+	{
+		if (spillDir != null)
+			return Integer.MAX_VALUE;
+		
+		lock.lock();
+		try
+		{
+			return capacity - memory.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public int drainTo(Collection<? super EncodedClearThMessage> c)
+	{
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+	
+	@Override
+	public int drainTo(Collection<? super EncodedClearThMessage> c, int maxElements)
+	{
+		if (c == this)
+			throw new IllegalArgumentException("Cannot drain queue to itself");
+		
+		lock.lock();
+		try
+		{
+			int result = 0;
+			EncodedClearThMessage message;
+			while (result < maxElements && (message = dequeue()) != null)
+			{
+				c.add(message);
+				result++;
+			}
+			return result;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public void clear()
+	{
+		spillLock.lock();
+		try
+		{
+			List<Segment> removed;
+			lock.lock();
+			try
+			{
+				memory.clear();
+				removed = new ArrayList<>(segments);
+				segments.clear();
+				spilled = 0;
+				clears++;  //Segment being loaded into memory is not needed anymore
+				updateHead();
+				notFull.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			
+			closeSegmentWriter();
+			for (Segment s : removed)
+				deleteSegment(s);
+		}
+		finally
+		{
+			spillLock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns weakly consistent iterator over messages kept in memory. Spilled messages are not visited, 
+	 * thus methods like {@link #contains(Object)} and {@link #toArray()} don't take them into account
+	 */
+	@Override
+	public Iterator<EncodedClearThMessage> iterator()
+	{
+		lock.lock();
+		try
+		{
+			return new MemoryIterator(new ArrayList<>(memory));
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	@Override
+	public String toString()
+	{
+		lock.lock();
+		try
+		{
+			return String.format("%s[inMemory=%d, spilled=%d]", getClass().getSimpleName(), memory.size(), spilled);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Closes file with spilled messages being written. Spilled messages are not removed and will be restored by new queue for the same spill directory and prefix
+	 */
+	@Override
+	public void close()
+	{
+		spillLock.lock();
+		try
+		{
+			closeSegmentWriter();
+		}
+		finally
+		{
+			spillLock.unlock();
+		}
+	}
+	
+	
+	public int getCapacity()
+	{
+		return capacity;
+	}
+	
+	public boolean isSpillingEnabled()
+	{
+		return spillDir != null;
+	}
+	
+	/**
+	 * @return number of messages kept in memory
+	 */
+	public int getInMemory()
+	{
+		lock.lock();
+		try
+		{
+			return memory.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * @return number of messages currently stored on disk
+	 */
+	public long getSpilled()
+	{
+		lock.lock();
+		try
+		{
+			return spilled;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * @return timestamp of the oldest message in queue, null if queue is empty or message has no timestamp. 
+	 * Doesn't block and doesn't read spilled messages
+	 */
+	public Instant getHeadTimestamp()
+	{
+		return headTimestamp;
+	}
+	
+	/**
+	 * @return total number of messages written to disk since queue creation
+	 */
+	public long getTotalSpilled()
+	{
+		lock.lock();
+		try
+		{
+			return totalSpilled;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	
+	/**
+	 * Adds message to memory if it fits there. Must be called with lock held
+	 * @return false if message should be spilled or should wait for free space
+	 */
+	private boolean addToMemory(EncodedClearThMessage message)
+	{
+		//Once messages are spilled, new ones go to disk as well to keep the order
+		if (spilled > 0 || memory.size() >= capacity)
+			return false;
+		
+		memory.addLast(message);
+		messageAdded();
+		return true;
+	}
+	
+	private void messageAdded()
+	{
+		if (headTimestamp == null)
+			updateHead();
+		notEmpty.signal();
+	}
+	
+	/**
+	 * Takes message from memory, loading spilled messages if needed. Must be called with lock held
+	 * @return message or null if queue is empty
+	 */
+	private EncodedClearThMessage dequeue()
+	{
+		fillMemory();
+		
+		EncodedClearThMessage result = memory.pollFirst();
+		updateHead();
+		if (result != null)
+			notFull.signal();
+		return result;
+	}
+	
+	private boolean removeFromMemory(EncodedClearThMessage message)
+	{
+		lock.lock();
+		try
+		{
+			Iterator<EncodedClearThMessage> it = memory.iterator();
+			while (it.hasNext())
+			{
+				if (it.next() != message)
+					continue;
+				
+				it.remove();
+				updateHead();
+				notFull.signal();
+				return true;
+			}
+			return false;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+	
+	private void updateHead()
+	{
+		EncodedClearThMessage head = memory.peekFirst();
+		if (head != null)
+			headTimestamp = getTimestamp(head);
+		else
+		{
+			Segment segment = segments.peekFirst();
+			headTimestamp = segment != null ? segment.firstTimestamp : null;
+		}
+	}
+	
+	private static Instant getTimestamp(EncodedClearThMessage message)
+	{
+		return message.getMetadata() != null ? message.getMetadata().getTimestamp() : null;
+	}
+	
+	private void checkNotNull(EncodedClearThMessage message)
+	{
+		if (message == null)
+			throw new NullPointerException("Message cannot be null");
+	}
+	
+	
+	/**
+	 * Writes message to segment file. Must be called without lock held, so that consumers don't wait for file operations. 
+	 * If message cannot be written, it is kept in memory
+	 */
+	private void spill(EncodedClearThMessage message)
+	{
+		spillLock.lock();
+		try
+		{
+			Segment segment;
+			lock.lock();
+			try
+			{
+				segment = segments.peekLast();
+				if (segment != null && (segment != writingSegment || segment.messages >= capacity))
+					segment = null;
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			
+			if (segment == null)
+				segment = startSegment();
+			segmentWriter.write(message);
+			
+			lock.lock();
+			try
+			{
+				if (segment.messages == 0)
+					segment.firstTimestamp = getTimestamp(message);
+				segment.messages++;
+				spilled++;
+				totalSpilled++;
+				messageAdded();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+		catch (IOException e)
+		{
+			logger.error("Could not write message to spill file in '{}', keeping it in memory. " 
+					+ "It may be taken from queue before messages spilled earlier", spillDir, e);
+			closeSegmentWriter();  //Next message will be written to new segment file
+			
+			lock.lock();
+			try
+			{
+				memory.addLast(message);
+				messageAdded();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+		finally
+		{
+			spillLock.unlock();
+		}
+	}
+	
+	private Segment startSegment() throws IOException
+	{
+		closeSegmentWriter();
+		
+		Files.createDirectories(spillDir);
+		Segment segment = new Segment(spillDir.resolve(segmentPrefix + "_" + nextSegmentIndex + SEGMENT_EXTENSION), nextSegmentIndex);
+		nextSegmentIndex++;
+		segmentWriter = new MessageFileWriter(segment.file, false);
+		writingSegment = segment;
+		
+		lock.lock();
+		try
+		{
+			segments.addLast(segment);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		logger.debug("Spilling messages to '{}'", segment.file);
+		return segment;
+	}
+	
+	/**
+	 * Loads spilled messages into memory if memory is empty. Must be called with lock held once. 
+	 * Lock is released while segment file is read, other consumers wait till loading is finished
+	 */
+	private void fillMemory()
+	{
+		while (memory.isEmpty() && spilled > 0)
+		{
+			if (loading)
+				notEmpty.awaitUninterruptibly();
+			else if (segments.isEmpty())
+				return;
+			else
+				loadSegment();
+		}
+	}
+	
+	private void loadSegment()
+	{
+		Segment segment = segments.pollFirst();
+		loading = true;
+		long clearsBefore = clears;
+		List<EncodedClearThMessage> loaded = new ArrayList<>();
+		lock.unlock();
+		try
+		{
+			readSegment(segment, loaded);
+		}
+		finally
+		{
+			lock.lock();
+			loading = false;
+			if (clears == clearsBefore)
+			{
+				memory.addAll(loaded);
+				spilled -= segment.messages;
+			}
+			updateHead();
+			notEmpty.signalAll();
+		}
+	}
+	
+	private void readSegment(Segment segment, List<EncodedClearThMessage> loaded)
+	{
+		spillLock.lock();
+		try
+		{
+			if (segment == writingSegment)
+				closeSegmentWriter();
+		}
+		finally
+		{
+			spillLock.unlock();
+		}
+		
+		logger.debug("Reading spilled messages from '{}'", segment.file);
+		try
+		{
+			new MessageFileReader().processMessages(segment.file, loaded::add);
+			deleteSegment(segment);
+		}
+		catch (IOException e)
+		{
+			logger.error("Could not read spilled messages from '{}', {} message(s) lost", segment.file, segment.messages, e);
+		}
+	}
+	
+	private void closeSegmentWriter()
+	{
+		if (segmentWriter == null)
+			return;
+		
+		Utils.closeResource(segmentWriter);
+		segmentWriter = null;
+		writingSegment = null;
+	}
+	
+	private void deleteSegment(Segment segment)
+	{
+		try
+		{
+			Files.deleteIfExists(segment.file);
+		}
+		catch (IOException e)
+		{
+			logger.warn("Could not delete spill file '{}'", segment.file, e);
+		}
+	}
+	
+	private void restoreSegments()
+	{
+		if (!Files.isDirectory(spillDir))
+			return;
+		
+		List<Segment> found = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDir, segmentPrefix + "_*" + SEGMENT_EXTENSION))
+		{
+			for (Path f : files)
+			{
+				String name = f.getFileName().toString();
+				String index = name.substring(segmentPrefix.length() + 1, name.length() - SEGMENT_EXTENSION.length());
+				try
+				{
+					found.add(new Segment(f, Integer.parseInt(index)));
+				}
+				catch (NumberFormatException e)
+				{
+					logger.debug("File '{}' is not a spill file, skipping it", f);
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			logger.warn("Could not look for spilled messages in '{}'", spillDir, e);
+			return;
+		}
+		
+		found.sort(Comparator.comparingInt(s -> s.index));
+		for (Segment s : found)
+		{
+			AtomicInteger count = new AtomicInteger();
+			try
+			{
+				new MessageFileReader().processMessages(s.file, m -> {
+					if (count.getAndIncrement() == 0)
+						s.firstTimestamp = getTimestamp(m);
+				});
+			}
+			catch (IOException e)
+			{
+				logger.warn("Could not read spilled messages from '{}', skipping it", s.file, e);
+				continue;
+			}
+			
+			s.messages = count.get();
+			segments.addLast(s);
+			spilled += s.messages;
+			nextSegmentIndex = s.index + 1;
+		}
+		updateHead();
+		
+		if (spilled > 0)
+			logger.info("{} spilled message(s) restored from '{}'", spilled, spillDir);
+	}
+	
+	
+	private static class Segment
+	{
+		final Path file;
+		final int index;
+		int messages = 0;
+		Instant firstTimestamp;
+		
+		Segment(Path file, int index)
+		{
+			this.file = file;
+			this.index = index;
+		}
+	}
+	
+	private class MemoryIterator implements Iterator<EncodedClearThMessage>
+	{
+		private final Iterator<EncodedClearThMessage> snapshot;
+		private EncodedClearThMessage last;
+		
+		MemoryIterator(List<EncodedClearThMessage> snapshot)
+		{
+			this.snapshot = snapshot.iterator();
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			return snapshot.hasNext();
+		}
+		
+		@Override
+		public EncodedClearThMessage next()
+		{
+			if (!snapshot.hasNext())
+				throw new NoSuchElementException();
+			last = snapshot.next();
+			return last;
+		}
+		
+		@Override
+		public void remove()
+		{
+			if (last == null)
+				throw new IllegalStateException();
+			removeFromMemory(last);
+			last = null;
+		}
+	}
+}
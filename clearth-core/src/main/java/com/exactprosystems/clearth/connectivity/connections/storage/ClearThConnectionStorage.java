@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -24,6 +24,7 @@ import com.exactprosystems.clearth.connectivity.connections.ConnectionErrorInfo;
 import com.exactprosystems.clearth.connectivity.connections.ConnectionTypeInfo;
 import com.exactprosystems.clearth.connectivity.connections.settings.SettingsModel;
 import com.exactprosystems.clearth.utils.SettingsException;
+import com.exactprosystems.clearth.utils.StateChangeNotifier;
 
 import java.util.Collection;
 import java.util.List;
@@ -94,4 +95,9 @@ public interface ClearThConnectionStorage
 	Collection<ConnectionErrorInfo> getConnectionErrors(String type);
 
 	void clearConnectionErrors(String type);
+	
+	/**
+	 * @return notifier that delivers names of connections that were added, removed, modified, started or stopped
+	 */
+	StateChangeNotifier<String> getStateChangeNotifier();
 }
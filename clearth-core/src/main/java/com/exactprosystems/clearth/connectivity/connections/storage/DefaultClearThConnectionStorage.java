@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -32,6 +32,7 @@ import com.exactprosystems.clearth.connectivity.validation.DefaultConnectionStar
 import com.exactprosystems.clearth.data.DataHandlersFactory;
 import com.exactprosystems.clearth.utils.NameValidator;
 import com.exactprosystems.clearth.utils.SettingsException;
+import com.exactprosystems.clearth.utils.StateChangeNotifier;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +77,8 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 	protected final Processor settingsProcessor;
 
 	protected final DataHandlersFactory dataHandlersFactory;
+	
+	protected final StateChangeNotifier<String> stateChangeNotifier = new StateChangeNotifier<>();
 
 	public DefaultClearThConnectionStorage(DataHandlersFactory dataHandlersFactory) throws ConnectivityException
 	{
@@ -457,6 +460,7 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 		}
 
 		connectionFileOperator.delete(oldName, info);
+		stateChangeNotifier.notifyListeners(newName);
 	}
 	
 	
@@ -482,6 +486,7 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 
 			connectionFileOperator.save(connectionToModify);
 		}
+		stateChangeNotifier.notifyListeners(connectionToModify.getName());
 	}
 	
 	
@@ -514,6 +519,7 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 			}
 			
 			removeLink(connection);
+			connection.dispose();
 			
 			FavoriteConnectionManager fcManager = ClearThCore.getInstance().getFavoriteConnections();
 			fcManager.changeName(connectionName, null);
@@ -576,6 +582,7 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 		{
 			stopAllConnections();
 
+			connections.forEach(ClearThConnection::dispose);
 			connections.clear();
 			connectionsByName.clear();
 			connectionsByType.clear();
@@ -609,6 +616,10 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 		byType.add(connection);
 		if (sort)
 			byType.sort(connectionComparator);
+		
+		if (connection instanceof BasicClearThRunnableConnection)
+			((BasicClearThRunnableConnection) connection).setStateListener(stateChangeNotifier::notifyListeners);
+		stateChangeNotifier.notifyListeners(connection.getName());
 	}
 	
 	protected void removeLink(ClearThConnection connection)
@@ -627,6 +638,16 @@ public class DefaultClearThConnectionStorage implements ClearThConnectionStorage
 		}
 		
 		modifyConnectionToIgnoreFailures(connection.getName(), null);
+		
+		if (connection instanceof BasicClearThRunnableConnection)
+			((BasicClearThRunnableConnection) connection).setStateListener(null);
+		stateChangeNotifier.notifyListeners(connection.getName());
+	}
+
+	@Override
+	public StateChangeNotifier<String> getStateChangeNotifier()
+	{
+		return stateChangeNotifier;
 	}
 
 	protected void sort()
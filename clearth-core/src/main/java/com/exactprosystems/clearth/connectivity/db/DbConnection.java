@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *  
@@ -22,6 +22,7 @@ import com.exactprosystems.clearth.connectivity.ConnectionException;
 import com.exactprosystems.clearth.connectivity.ConnectivityException;
 import com.exactprosystems.clearth.connectivity.connections.BasicClearThConnection;
 import com.exactprosystems.clearth.connectivity.connections.ClearThCheckableConnection;
+import com.exactprosystems.clearth.connectivity.connections.ClearThConnection;
 import com.exactprosystems.clearth.connectivity.connections.SettingsClass;
 import com.exactprosystems.clearth.utils.SettingsException;
 import org.apache.commons.lang.StringUtils;
@@ -37,6 +38,8 @@ import java.sql.*;
 public class DbConnection extends BasicClearThConnection implements ClearThCheckableConnection
 {
 	private static final String EXCEPTION_MESSAGE = "Could not start connection ";
+	
+	private DbConnectionPool pool;
 
 	public DbConnection () {}
 
@@ -46,11 +49,60 @@ public class DbConnection extends BasicClearThConnection implements ClearThCheck
 		return (DbConnectionSettings) settings;
 	}
 
+	/**
+	 * Opens new connection or borrows it from connection pool if it is enabled in settings. 
+	 * In both cases the connection must be closed after use
+	 * @return connection to database
+	 * @throws ConnectivityException if connection could not be opened
+	 * @throws SettingsException if connection settings are invalid
+	 */
 	public Connection getConnection() throws ConnectivityException, SettingsException
 	{
 		if (StringUtils.isBlank(getSettings().getJdbcUrl()))
 			throw new SettingsException(EXCEPTION_MESSAGE + "'" + name + "'" + ". URL is empty");
-
+		
+		DbConnectionPool connectionPool = getOrCreatePool();
+		if (connectionPool != null)
+			return connectionPool.getConnection();
+		return createConnection();
+	}
+	
+	/**
+	 * @return connection pool being used or null if pool is disabled or no connections were requested yet
+	 */
+	public synchronized DbConnectionPool getPool()
+	{
+		return pool;
+	}
+	
+	@Override
+	public void copyFrom(ClearThConnection other)
+	{
+		super.copyFrom(other);
+		//Pooled connections were created with old settings
+		closePool();
+	}
+	
+	@Override
+	public void dispose()
+	{
+		closePool();
+	}
+	
+	public void closePool()
+	{
+		DbConnectionPool oldPool;
+		synchronized (this)
+		{
+			oldPool = pool;
+			pool = null;
+		}
+		if (oldPool != null)
+			oldPool.close();
+	}
+	
+	protected Connection createConnection() throws ConnectivityException, SettingsException
+	{
 		Connection connection = getConnectionFromDriverManager();
 
 		String query = getSettings().getInitializationQuery();
@@ -80,6 +132,12 @@ public class DbConnection extends BasicClearThConnection implements ClearThCheck
 		}
 	}
 
+	protected DbConnectionPool createPool(DbConnectionSettings conSettings)
+	{
+		return new DbConnectionPool(name, this::createConnection, conSettings.getPoolMinSize(), conSettings.getPoolMaxSize(),
+				conSettings.getPoolIdleTimeout(), conSettings.getValidationQuery());
+	}
+	
 	protected Connection getConnectionFromDriverManager() throws ConnectionException
 	{
 		DbConnectionSettings conSettings = getSettings();
@@ -99,4 +157,31 @@ public class DbConnection extends BasicClearThConnection implements ClearThCheck
 			throw new ConnectionException(EXCEPTION_MESSAGE + "'" + name + "'", e);
 		}
 	}
+	
+	
+	private DbConnectionPool getOrCreatePool()
+	{
+		DbConnectionPool oldPool = null;
+		try
+		{
+			synchronized (this)
+			{
+				if (!getSettings().isUsePool())
+				{
+					oldPool = pool;
+					pool = null;
+					return null;
+				}
+				
+				if (pool == null)
+					pool = createPool(getSettings());
+				return pool;
+			}
+		}
+		finally
+		{
+			if (oldPool != null)
+				oldPool.close();
+		}
+	}
 }
\ No newline at end of file
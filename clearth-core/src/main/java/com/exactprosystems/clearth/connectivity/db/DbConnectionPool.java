@@ -0,0 +1,456 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.db;
+
+import com.exactprosystems.clearth.connectivity.ConnectionException;
+import com.exactprosystems.clearth.connectivity.ConnectivityException;
+import com.exactprosystems.clearth.utils.SettingsException;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of JDBC connections created for one {@link DbConnection}.
+ * Borrowed connections are returned to the pool when closed. 
+ * Connections that stay idle longer than idle timeout are closed, keeping at least minimum number of connections in the pool. 
+ * Idle connections are checked by timer of the pool, which runs while the pool is not closed. 
+ * Connections are not created in advance, so the pool has less than minimum number of connections till they are borrowed
+ */
+public class DbConnectionPool implements AutoCloseable
+{
+	private static final Logger logger = LoggerFactory.getLogger(DbConnectionPool.class);
+	
+	public static final long DEFAULT_WAIT_TIMEOUT = 30000;
+	public static final int VALIDATION_TIMEOUT = 5;
+	
+	private final String name;
+	private final ConnectionFactory factory;
+	private final int minSize,
+			maxSize;
+	private final long idleTimeout,
+			waitTimeout;
+	private final String validationQuery;
+	private final ScheduledExecutorService evictionTimer;
+	
+	//All fields below are guarded by this
+	private final Deque<IdleConnection> idle = new ArrayDeque<>();  //Most recently used connections are at the head
+	private int total = 0;
+	private boolean closed = false;
+	private long created = 0,
+			borrowed = 0,
+			waits = 0,
+			validationFailures = 0,
+			evicted = 0;
+	
+	public DbConnectionPool(String name, ConnectionFactory factory, int minSize, int maxSize, long idleTimeout, String validationQuery)
+	{
+		this(name, factory, minSize, maxSize, idleTimeout, validationQuery, DEFAULT_WAIT_TIMEOUT);
+	}
+	
+	public DbConnectionPool(String name, ConnectionFactory factory, int minSize, int maxSize, long idleTimeout, String validationQuery,
+			long waitTimeout)
+	{
+		this.name = name;
+		this.factory = factory;
+		this.maxSize = Math.max(maxSize, 1);
+		this.minSize = Math.max(Math.min(minSize, this.maxSize), 0);
+		this.idleTimeout = idleTimeout;
+		this.validationQuery = validationQuery;
+		this.waitTimeout = waitTimeout;
+		this.evictionTimer = idleTimeout > 0 ? startEvictionTimer() : null;
+	}
+	
+	
+	/**
+	 * Borrows connection from the pool, creating new one if no idle connections are available and pool size allows that.
+	 * If pool is exhausted, waits till some connection is returned
+	 * @return connection that returns to the pool when closed
+	 * @throws ConnectivityException if connection could not be created or pool is exhausted for too long
+	 * @throws SettingsException if connection settings are invalid
+	 */
+	public Connection getConnection() throws ConnectivityException, SettingsException
+	{
+		long deadline = System.currentTimeMillis() + waitTimeout;
+		while (true)
+		{
+			Connection candidate = null;
+			List<Connection> toClose;
+			synchronized (this)
+			{
+				if (closed)
+					throw new ConnectionException("Connection pool of '" + name + "' is closed");
+				
+				toClose = removeExpired();
+				if (!idle.isEmpty())
+					candidate = idle.pollFirst().getConnection();
+				else if (total < maxSize)
+					total++;
+				else
+				{
+					closeAll(toClose);
+					waitForRelease(deadline);
+					continue;
+				}
+			}
+			closeAll(toClose);
+			
+			if (candidate == null)
+				return createConnection();
+			
+			if (isValid(candidate))
+			{
+				synchronized (this)
+				{
+					borrowed++;
+				}
+				return new PooledConnection(candidate, this);
+			}
+			
+			synchronized (this)
+			{
+				validationFailures++;
+			}
+			logger.debug("Connection from pool of '{}' is not valid and will be closed", name);
+			discard(candidate);
+		}
+	}
+	
+	/**
+	 * Closes idle connections and prevents further use of the pool. Borrowed connections are closed when they are returned
+	 */
+	@Override
+	public void close()
+	{
+		List<Connection> toClose = new ArrayList<>();
+		synchronized (this)
+		{
+			if (closed)
+				return;
+			
+			closed = true;
+			if (evictionTimer != null)
+				evictionTimer.shutdownNow();
+			for (IdleConnection ic : idle)
+				toClose.add(ic.getConnection());
+			total -= idle.size();
+			idle.clear();
+			notifyAll();
+		}
+		closeAll(toClose);
+	}
+	
+	/**
+	 * Closes connections that stay idle longer than idle timeout. Called by timer of the pool
+	 */
+	public void evictIdle()
+	{
+		List<Connection> toClose;
+		synchronized (this)
+		{
+			toClose = removeExpired();
+		}
+		closeAll(toClose);
+	}
+	
+	
+	public String getName()
+	{
+		return name;
+	}
+	
+	public int getMinSize()
+	{
+		return minSize;
+	}
+	
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+	
+	public synchronized int getTotal()
+	{
+		return total;
+	}
+	
+	public synchronized int getIdle()
+	{
+		return idle.size();
+	}
+	
+	public synchronized int getActive()
+	{
+		return total - idle.size();
+	}
+	
+	public synchronized long getCreated()
+	{
+		return created;
+	}
+	
+	public synchronized long getBorrowed()
+	{
+		return borrowed;
+	}
+	
+	public synchronized long getWaits()
+	{
+		return waits;
+	}
+	
+	public synchronized long getValidationFailures()
+	{
+		return validationFailures;
+	}
+	
+	public synchronized long getEvicted()
+	{
+		return evicted;
+	}
+	
+	public synchronized boolean isClosed()
+	{
+		return closed;
+	}
+	
+	
+	/**
+	 * Returns connection to the pool. Connection must be reset by {@link PooledConnection} before that
+	 */
+	void release(Connection connection)
+	{
+		List<Connection> toClose;
+		synchronized (this)
+		{
+			if (closed)
+			{
+				total--;
+				toClose = List.of(connection);
+			}
+			else
+			{
+				idle.addFirst(new IdleConnection(connection, System.currentTimeMillis()));
+				toClose = removeExpired();
+			}
+			notifyAll();
+		}
+		closeAll(toClose);
+	}
+	
+	void discardNotReset(Connection connection, SQLException error)
+	{
+		logger.debug("Could not reset connection returned to pool of '{}'", name, error);
+		discard(connection);
+	}
+	
+	void discard(Connection connection)
+	{
+		synchronized (this)
+		{
+			total--;
+			notifyAll();
+		}
+		closeQuietly(connection);
+	}
+	
+	
+	protected boolean isValid(Connection connection)
+	{
+		if (!StringUtils.isBlank(validationQuery))
+		{
+			try (Statement statement = connection.createStatement())
+			{
+				statement.execute(validationQuery);
+				return true;
+			}
+			catch (SQLException e)
+			{
+				return false;
+			}
+		}
+		
+		try
+		{
+			return connection.isValid(VALIDATION_TIMEOUT);
+		}
+		catch (SQLException | AbstractMethodError e)
+		{
+			//Driver doesn't support validation
+			try
+			{
+				return !connection.isClosed();
+			}
+			catch (SQLException e1)
+			{
+				return false;
+			}
+		}
+	}
+	
+	
+	private ScheduledExecutorService startEvictionTimer()
+	{
+		ScheduledExecutorService result = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "DbConnectionPool-" + name + " (evictionTimer)");
+			t.setDaemon(true);
+			return t;
+		});
+		//Connection is closed not later than in 1.5 of idle timeout
+		long interval = Math.max(idleTimeout / 2, 1);
+		result.scheduleWithFixedDelay(this::evictIdleSafely, interval, interval, TimeUnit.MILLISECONDS);
+		return result;
+	}
+	
+	private void evictIdleSafely()
+	{
+		try
+		{
+			evictIdle();
+		}
+		catch (RuntimeException e)
+		{
+			logger.warn("Error while closing idle connections of pool '{}'", name, e);
+		}
+	}
+	
+	private Connection createConnection() throws ConnectivityException, SettingsException
+	{
+		Connection connection;
+		try
+		{
+			connection = factory.create();
+		}
+		catch (ConnectivityException | SettingsException | RuntimeException e)
+		{
+			synchronized (this)
+			{
+				total--;
+				notifyAll();
+			}
+			throw e;
+		}
+		
+		synchronized (this)
+		{
+			created++;
+			borrowed++;
+		}
+		return new PooledConnection(connection, this);
+	}
+	
+	private void waitForRelease(long deadline) throws ConnectionException
+	{
+		long remaining = deadline - System.currentTimeMillis();
+		if (remaining <= 0)
+			throw new ConnectionException("No free connection in pool of '" + name + "' for " + waitTimeout + " ms, all " 
+					+ maxSize + " connection(s) are in use");
+		
+		waits++;
+		try
+		{
+			wait(remaining);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new ConnectionException("Wait for connection from pool of '" + name + "' interrupted", e);
+		}
+	}
+	
+	private List<Connection> removeExpired()
+	{
+		if (idleTimeout <= 0 || idle.isEmpty())
+			return List.of();
+		
+		List<Connection> result = new ArrayList<>();
+		long expiration = System.currentTimeMillis() - idleTimeout;
+		Iterator<IdleConnection> it = idle.descendingIterator();
+		while (it.hasNext() && total > minSize)
+		{
+			IdleConnection ic = it.next();
+			if (ic.getIdleSince() > expiration)
+				break;
+			
+			it.remove();
+			total--;
+			evicted++;
+			result.add(ic.getConnection());
+		}
+		return result;
+	}
+	
+	private void closeAll(List<Connection> connections)
+	{
+		for (Connection c : connections)
+			closeQuietly(c);
+	}
+	
+	private void closeQuietly(Connection connection)
+	{
+		try
+		{
+			connection.close();
+		}
+		catch (SQLException e)
+		{
+			logger.debug("Error while closing connection from pool of '{}'", name, e);
+		}
+	}
+	
+	
+	@FunctionalInterface
+	public interface ConnectionFactory
+	{
+		Connection create() throws ConnectivityException, SettingsException;
+	}
+	
+	private static class IdleConnection
+	{
+		private final Connection connection;
+		private final long idleSince;
+		
+		public IdleConnection(Connection connection, long idleSince)
+		{
+			this.connection = connection;
+			this.idleSince = idleSince;
+		}
+		
+		public Connection getConnection()
+		{
+			return connection;
+		}
+		
+		public long getIdleSince()
+		{
+			return idleSince;
+		}
+	}
+}
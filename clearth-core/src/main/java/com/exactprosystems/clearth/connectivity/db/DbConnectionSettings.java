@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -34,10 +34,15 @@ import static java.lang.String.format;
 
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.NONE)
-@ConnectionSettings(order = {"jdbcUrl", "username", "password", "initializationQuery"},
+@ConnectionSettings(order = {"jdbcUrl", "username", "password", "initializationQuery",
+		"usePool", "poolMinSize", "poolMaxSize", "poolIdleTimeout", "validationQuery"},
 		columns = {"jdbcUrl", "username"})
 public class DbConnectionSettings implements ClearThConnectionSettings
 {
+	public static final int DEFAULT_POOL_MIN_SIZE = 0,
+			DEFAULT_POOL_MAX_SIZE = 10;
+	public static final long DEFAULT_POOL_IDLE_TIMEOUT = 600000;
+	
 	@XmlElement
 	@ConnectionSetting(name = "URL")
 	private String jdbcUrl;
@@ -53,6 +58,26 @@ public class DbConnectionSettings implements ClearThConnectionSettings
 	@XmlElement
 	@ConnectionSetting(name = "Initialization query", inputType = InputType.TEXTAREA)
 	private String initializationQuery;
+	
+	@XmlElement
+	@ConnectionSetting(name = "Use connection pool")
+	private boolean usePool;
+	
+	@XmlElement
+	@ConnectionSetting(name = "Pool min size")
+	private int poolMinSize;
+	
+	@XmlElement
+	@ConnectionSetting(name = "Pool max size")
+	private int poolMaxSize;
+	
+	@XmlElement
+	@ConnectionSetting(name = "Pool idle timeout, ms")
+	private long poolIdleTimeout;
+	
+	@XmlElement
+	@ConnectionSetting(name = "Validation query")
+	private String validationQuery;
 
 	public DbConnectionSettings()
 	{
@@ -60,6 +85,11 @@ public class DbConnectionSettings implements ClearThConnectionSettings
 		username = "";
 		password = "";
 		initializationQuery = "";
+		usePool = false;
+		poolMinSize = DEFAULT_POOL_MIN_SIZE;
+		poolMaxSize = DEFAULT_POOL_MAX_SIZE;
+		poolIdleTimeout = DEFAULT_POOL_IDLE_TIMEOUT;
+		validationQuery = "";
 	}
 
 	public DbConnectionSettings(DbConnectionSettings settings)
@@ -107,6 +137,56 @@ public class DbConnectionSettings implements ClearThConnectionSettings
 		this.initializationQuery = initializationQuery;
 	}
 	
+	public boolean isUsePool()
+	{
+		return usePool;
+	}
+	
+	public void setUsePool(boolean usePool)
+	{
+		this.usePool = usePool;
+	}
+	
+	public int getPoolMinSize()
+	{
+		return poolMinSize;
+	}
+	
+	public void setPoolMinSize(int poolMinSize)
+	{
+		this.poolMinSize = poolMinSize;
+	}
+	
+	public int getPoolMaxSize()
+	{
+		return poolMaxSize;
+	}
+	
+	public void setPoolMaxSize(int poolMaxSize)
+	{
+		this.poolMaxSize = poolMaxSize;
+	}
+	
+	public long getPoolIdleTimeout()
+	{
+		return poolIdleTimeout;
+	}
+	
+	public void setPoolIdleTimeout(long poolIdleTimeout)
+	{
+		this.poolIdleTimeout = poolIdleTimeout;
+	}
+	
+	public String getValidationQuery()
+	{
+		return validationQuery;
+	}
+	
+	public void setValidationQuery(String validationQuery)
+	{
+		this.validationQuery = validationQuery;
+	}
+	
 	@Override
 	public String toString()
 	{
@@ -115,6 +195,14 @@ public class DbConnectionSettings implements ClearThConnectionSettings
 		lb.append("username = " + username);
 		lb.append("password = " + (StringUtils.isEmpty(password) ? "null" : "*****"));
 		lb.append("initialization query = " + initializationQuery);
+		lb.append("use pool = " + usePool);
+		if (usePool)
+		{
+			lb.append("pool min size = " + poolMinSize);
+			lb.append("pool max size = " + poolMaxSize);
+			lb.append("pool idle timeout = " + poolIdleTimeout);
+			lb.append("validation query = " + validationQuery);
+		}
 		return lb.toString();
 	}
 
@@ -139,5 +227,10 @@ public class DbConnectionSettings implements ClearThConnectionSettings
 		this.username = settings.username;
 		this.password = settings.password;
 		this.initializationQuery = settings.initializationQuery;
+		this.usePool = settings.usePool;
+		this.poolMinSize = settings.poolMinSize;
+		this.poolMaxSize = settings.poolMaxSize;
+		this.poolIdleTimeout = settings.poolIdleTimeout;
+		this.validationQuery = settings.validationQuery;
 	}
 }
\ No newline at end of file
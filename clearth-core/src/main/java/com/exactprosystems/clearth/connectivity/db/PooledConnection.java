@@ -0,0 +1,493 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.db;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Connection borrowed from {@link DbConnectionPool}. 
+ * Closing it returns underlying connection to the pool, after that the instance can't be used anymore.
+ * Before that, statements left open are closed, open transaction is rolled back and changed connection settings are restored
+ */
+public class PooledConnection implements Connection
+{
+	private static final int STATEMENTS_CHECK_SIZE = 100;
+	
+	private final DbConnectionPool pool;
+	private volatile Connection connection;
+	//Guarded by this
+	private final List<Statement> statements = new ArrayList<>();
+	//Initial values of connection settings are saved when settings are changed for the first time
+	private boolean readOnlyChanged = false,
+			catalogChanged = false,
+			schemaChanged = false,
+			isolationChanged = false;
+	private boolean initialReadOnly;
+	private String initialCatalog,
+			initialSchema;
+	private int initialIsolation;
+
+	public PooledConnection(Connection connection, DbConnectionPool pool)
+	{
+		this.connection = connection;
+		this.pool = pool;
+	}
+
+
+	@Override
+	public Statement createStatement() throws SQLException
+	{
+		return track(getTarget().createStatement());
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql) throws SQLException
+	{
+		return track(getTarget().prepareStatement(sql));
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException
+	{
+		return track(getTarget().createStatement(resultSetType, resultSetConcurrency));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+			throws SQLException
+	{
+		return track(getTarget().prepareStatement(sql, resultSetType, resultSetConcurrency));
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
+	{
+		return track(getTarget().prepareCall(sql, resultSetType, resultSetConcurrency));
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql) throws SQLException
+	{
+		return track(getTarget().prepareCall(sql));
+	}
+
+	@Override
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+			throws SQLException
+	{
+		return track(getTarget().createStatement(resultSetType, resultSetConcurrency,
+				resultSetHoldability));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+			throws SQLException
+	{
+		return track(getTarget().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+	}
+
+	@Override
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+			throws SQLException
+	{
+		return track(getTarget().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException
+	{
+		return track(getTarget().prepareStatement(sql, autoGeneratedKeys));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException
+	{
+		return track(getTarget().prepareStatement(sql, columnIndexes));
+	}
+
+	@Override
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException
+	{
+		return track(getTarget().prepareStatement(sql, columnNames));
+	}
+
+
+	@Override
+	public String nativeSQL(String sql) throws SQLException
+	{
+		return getTarget().nativeSQL(sql);
+	}
+
+	@Override
+	public void setAutoCommit(boolean autoCommit) throws SQLException
+	{
+		getTarget().setAutoCommit(autoCommit);
+	}
+
+	@Override
+	public boolean getAutoCommit() throws SQLException
+	{
+		return getTarget().getAutoCommit();
+	}
+
+	@Override
+	public void commit() throws SQLException
+	{
+		getTarget().commit();
+	}
+
+	@Override
+	public void rollback() throws SQLException
+	{
+		getTarget().rollback();
+	}
+
+	@Override
+	public synchronized void close() throws SQLException
+	{
+		Connection released = connection;
+		if (released == null)
+			return;
+		connection = null;
+		
+		try
+		{
+			reset(released);
+		}
+		catch (SQLException e)
+		{
+			pool.discardNotReset(released, e);
+			return;
+		}
+		pool.release(released);
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException
+	{
+		return connection == null;
+	}
+
+	@Override
+	public DatabaseMetaData getMetaData() throws SQLException
+	{
+		return getTarget().getMetaData();
+	}
+
+	@Override
+	public synchronized void setReadOnly(boolean readOnly) throws SQLException
+	{
+		Connection target = getTarget();
+		if (!readOnlyChanged)
+		{
+			initialReadOnly = target.isReadOnly();
+			readOnlyChanged = true;
+		}
+		target.setReadOnly(readOnly);
+	}
+
+	@Override
+	public boolean isReadOnly() throws SQLException
+	{
+		return getTarget().isReadOnly();
+	}
+
+	@Override
+	public synchronized void setCatalog(String catalog) throws SQLException
+	{
+		Connection target = getTarget();
+		if (!catalogChanged)
+		{
+			initialCatalog = target.getCatalog();
+			catalogChanged = true;
+		}
+		target.setCatalog(catalog);
+	}
+
+	@Override
+	public String getCatalog() throws SQLException
+	{
+		return getTarget().getCatalog();
+	}
+
+	@Override
+	public synchronized void setTransactionIsolation(int level) throws SQLException
+	{
+		Connection target = getTarget();
+		if (!isolationChanged)
+		{
+			initialIsolation = target.getTransactionIsolation();
+			isolationChanged = true;
+		}
+		target.setTransactionIsolation(level);
+	}
+
+	@Override
+	public int getTransactionIsolation() throws SQLException
+	{
+		return getTarget().getTransactionIsolation();
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException
+	{
+		return getTarget().getWarnings();
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException
+	{
+		getTarget().clearWarnings();
+	}
+
+	@Override
+	public Map<String, Class<?>> getTypeMap() throws SQLException
+	{
+		return getTarget().getTypeMap();
+	}
+
+	@Override
+	public void setTypeMap(Map<String, Class<?>> map) throws SQLException
+	{
+		getTarget().setTypeMap(map);
+	}
+
+	@Override
+	public void setHoldability(int holdability) throws SQLException
+	{
+		getTarget().setHoldability(holdability);
+	}
+
+	@Override
+	public int getHoldability() throws SQLException
+	{
+		return getTarget().getHoldability();
+	}
+
+	@Override
+	public Savepoint setSavepoint() throws SQLException
+	{
+		return getTarget().setSavepoint();
+	}
+
+	@Override
+	public Savepoint setSavepoint(String name) throws SQLException
+	{
+		return getTarget().setSavepoint(name);
+	}
+
+	@Override
+	public void rollback(Savepoint savepoint) throws SQLException
+	{
+		getTarget().rollback(savepoint);
+	}
+
+	@Override
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException
+	{
+		getTarget().releaseSavepoint(savepoint);
+	}
+
+	@Override
+	public Clob createClob() throws SQLException
+	{
+		return getTarget().createClob();
+	}
+
+	@Override
+	public Blob createBlob() throws SQLException
+	{
+		return getTarget().createBlob();
+	}
+
+	@Override
+	public NClob createNClob() throws SQLException
+	{
+		return getTarget().createNClob();
+	}
+
+	@Override
+	public SQLXML createSQLXML() throws SQLException
+	{
+		return getTarget().createSQLXML();
+	}
+
+	@Override
+	public boolean isValid(int timeout) throws SQLException
+	{
+		Connection target = connection;
+		return target != null && target.isValid(timeout);
+	}
+
+	@Override
+	public void setClientInfo(String name, String value) throws SQLClientInfoException
+	{
+		getClientInfoTarget().setClientInfo(name, value);
+	}
+
+	@Override
+	public void setClientInfo(Properties properties) throws SQLClientInfoException
+	{
+		getClientInfoTarget().setClientInfo(properties);
+	}
+
+	@Override
+	public String getClientInfo(String name) throws SQLException
+	{
+		return getTarget().getClientInfo(name);
+	}
+
+	@Override
+	public Properties getClientInfo() throws SQLException
+	{
+		return getTarget().getClientInfo();
+	}
+
+	@Override
+	public Array createArrayOf(String typeName, Object[] elements) throws SQLException
+	{
+		return getTarget().createArrayOf(typeName, elements);
+	}
+
+	@Override
+	public Struct createStruct(String typeName, Object[] attributes) throws SQLException
+	{
+		return getTarget().createStruct(typeName, attributes);
+	}
+
+	@Override
+	public synchronized void setSchema(String schema) throws SQLException
+	{
+		Connection target = getTarget();
+		if (!schemaChanged)
+		{
+			initialSchema = target.getSchema();
+			schemaChanged = true;
+		}
+		target.setSchema(schema);
+	}
+
+	@Override
+	public String getSchema() throws SQLException
+	{
+		return getTarget().getSchema();
+	}
+
+	@Override
+	public synchronized void abort(Executor executor) throws SQLException
+	{
+		Connection aborted = connection;
+		if (aborted == null)
+			return;
+		connection = null;
+		pool.discard(aborted);
+		aborted.abort(executor);
+	}
+
+	@Override
+	public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException
+	{
+		getTarget().setNetworkTimeout(executor, milliseconds);
+	}
+
+	@Override
+	public int getNetworkTimeout() throws SQLException
+	{
+		return getTarget().getNetworkTimeout();
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException
+	{
+		return getTarget().unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException
+	{
+		return getTarget().isWrapperFor(iface);
+	}
+	
+	
+	private synchronized <T extends Statement> T track(T statement) throws SQLException
+	{
+		//Statements closed by user are not needed to be closed on return to pool
+		if (statements.size() >= STATEMENTS_CHECK_SIZE)
+		{
+			List<Statement> open = new ArrayList<>(statements.size());
+			for (Statement s : statements)
+			{
+				if (!s.isClosed())
+					open.add(s);
+			}
+			statements.clear();
+			statements.addAll(open);
+		}
+		statements.add(statement);
+		return statement;
+	}
+	
+	private void reset(Connection target) throws SQLException
+	{
+		for (Statement s : statements)
+		{
+			if (!s.isClosed())
+				s.close();
+		}
+		statements.clear();
+		
+		//Transaction left by previous user must not affect next one
+		if (!target.getAutoCommit())
+		{
+			target.rollback();
+			target.setAutoCommit(true);
+		}
+		
+		if (readOnlyChanged && target.isReadOnly() != initialReadOnly)
+			target.setReadOnly(initialReadOnly);
+		if (catalogChanged && !Objects.equals(target.getCatalog(), initialCatalog))
+			target.setCatalog(initialCatalog);
+		if (schemaChanged && !Objects.equals(target.getSchema(), initialSchema))
+			target.setSchema(initialSchema);
+		if (isolationChanged && target.getTransactionIsolation() != initialIsolation)
+			target.setTransactionIsolation(initialIsolation);
+	}
+	
+	private Connection getTarget() throws SQLException
+	{
+		Connection result = connection;
+		if (result == null)
+			throw new SQLException("Connection is closed");
+		return result;
+	}
+	
+	private Connection getClientInfoTarget() throws SQLClientInfoException
+	{
+		Connection result = connection;
+		if (result == null)
+			throw new SQLClientInfoException("Connection is closed", null);
+		return result;
+	}
+}
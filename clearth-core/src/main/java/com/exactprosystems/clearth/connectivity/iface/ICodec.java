@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -47,4 +47,15 @@ public interface ICodec
 	 * @throws DecodeException if message cannot be decoded (if message type is not described in dictionary, for instance) or error occurred while decoding
 	 */
 	public ClearThMessage<?> decode(String message, String type) throws DecodeException;
+	
+	/**
+	 * Quickly checks if message looks like something this codec can decode, without actual decoding. 
+	 * Used to choose the codec when message format is not known in advance
+	 * @param message String representation of message
+	 * @return false if codec definitely cannot decode the message, true if it probably can
+	 */
+	default boolean canDecode(String message)
+	{
+		return true;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *  
@@ -34,7 +34,9 @@ import javax.jms.*;
 import java.lang.IllegalStateException;
 import java.net.ConnectException;
 import java.time.Instant;
-import java.util.concurrent.BlockingQueue;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.exactprosystems.clearth.utils.Utils.EOL;
 import static org.apache.commons.lang.StringUtils.containsIgnoreCase;
@@ -45,8 +47,16 @@ public abstract class JmsClient extends BasicClearThClient
 	private final Object sendMonitor = new Object();
 	protected Connection connection;
 	protected Session session;
+	//Session used only by message listener, as session with asynchronous consumer must not be used by other threads
+	protected Session consumerSession;
 	protected MessageProducer producer;
 	protected MessageConsumer consumer;
+	protected final JmsReceiveMode receiveMode;
+	
+	private final AtomicLong fetched = new AtomicLong(0);
+	private volatile long receivingStartNanos = -1;
+	private volatile LocalDateTime listenerStarted,
+			listenerStopped;
 
 	protected abstract ConnectionFactory createConnectionFactory() throws SettingsException, ConnectivityException;
 
@@ -55,6 +65,9 @@ public abstract class JmsClient extends BasicClearThClient
 	public JmsClient(ClearThMessageConnection owner) throws ConnectivityException, SettingsException
 	{
 		super(owner);
+		
+		JmsReceiveMode mode = ((JmsConnectionSettings) storedSettings).getReceiveMode();
+		receiveMode = mode != null ? mode : JmsReceiveMode.POLLING;
 	}
 	
 	@Override
@@ -70,8 +83,17 @@ public abstract class JmsClient extends BasicClearThClient
 			JmsConnectionSettings settings = (JmsConnectionSettings) storedSettings;
 			if (!StringUtils.isBlank(settings.getReceiveQueue()))
 			{
-				consumer = createConsumer(session, settings.getReceiveQueue());
-				logger.trace("{}: connected to receive queue '{}'", name, settings.getReceiveQueue());
+				if (receiveMode == JmsReceiveMode.LISTENER)
+				{
+					consumerSession = createSession(connection);
+					consumer = createConsumer(consumerSession, settings.getReceiveQueue());
+				}
+				else
+					consumer = createConsumer(session, settings.getReceiveQueue());
+				logger.trace("{}: connected to receive queue '{}' in {} mode", name, settings.getReceiveQueue(), receiveMode);
+				receivingStartNanos = System.nanoTime();
+				if (receiveMode == JmsReceiveMode.LISTENER)
+					startMessageListener();
 			}
 			else
 				logger.trace("{}: receive queue name not specified, messages receiving is not available", name);
@@ -90,6 +112,55 @@ public abstract class JmsClient extends BasicClearThClient
 		}
 	}
 
+	protected void startMessageListener() throws JMSException
+	{
+		connection.setExceptionListener(this::handleListenerException);
+		consumer.setMessageListener(this::handleReceivedMessage);
+		listenerStarted = LocalDateTime.now();
+		listenerStopped = null;
+	}
+	
+	/**
+	 * Puts message received from JMS provider into internal queue to pass it to listeners
+	 * @param message received message. Only text messages are supported, others are skipped
+	 */
+	protected void handleReceivedMessage(Message message)
+	{
+		fetched.incrementAndGet();
+		if (!(message instanceof TextMessage))
+		{
+			logger.warn("{}: received non-text message, skipping it as not supported:{}{}", name, EOL, message);
+			return;
+		}
+		
+		try
+		{
+			String body = ((TextMessage) message).getText();
+			putReceivedMessage(EncodedClearThMessage.newReceivedMessage(body));
+		}
+		catch (JMSException e)
+		{
+			logger.warn("{}: could not get text of received message, skipping it", name, e);
+		}
+	}
+	
+	protected void handleListenerException(JMSException e)
+	{
+		if (!running)
+			return;
+		
+		try
+		{
+			owner.addErrorInfo(e.getErrorCode() != null ? "ErrorCode: " + e.getErrorCode() : "", e, Instant.now());
+			logger.warn("Connection '{}' is broken, stopping connection", owner.getName(), e);
+			owner.stop();
+		}
+		catch (ConnectivityException ex)
+		{
+			logger.warn("Error occurred while stopping connection '{}' ", owner.getName(), ex);
+		}
+	}
+	
 	protected Session createSession(Connection connection) throws JMSException
 	{
 		return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
@@ -169,17 +240,81 @@ public abstract class JmsClient extends BasicClearThClient
 	@Override
 	protected boolean isNeedReceiverThread()
 	{
-		return consumer != null;
+		return consumer != null && receiveMode != JmsReceiveMode.LISTENER;
 	}
 	
 	@Override
 	protected JmsReceiverThread createReceiverThread()
 	{
-		return new JmsReceiverThread(name + " (Receiver thread)",
-				consumer,
-				owner,
-				((JmsConnectionSettings) storedSettings).getReadDelay(),
-				receivedMessageQueue);
+		JmsConnectionSettings settings = (JmsConnectionSettings) storedSettings;
+		JmsReceiverThread thread = new JmsReceiverThread(name + " (Receiver thread)",
+				this,
+				receiveMode == JmsReceiveMode.BATCH,
+				settings.getReadDelay());
+		thread.setBatchSize(settings.getReadBatchSize());
+		thread.setMaxIdleDelay(settings.getMaxIdleReadDelay());
+		return thread;
+	}
+	
+	@Override
+	protected void disposeReceiverThread()
+	{
+		super.disposeReceiverThread();
+		
+		if (connection == null || listenerStarted == null || listenerStopped != null)
+			return;
+		
+		//Stopping delivery before unhandled messages are stored. stop() waits for message listener to finish handling current message
+		logger.trace("{}: stopping message delivery", name);
+		try
+		{
+			connection.stop();
+		}
+		catch (JMSException e)
+		{
+			logger.warn("{}: error while stopping message delivery", name, e);
+		}
+		listenerStopped = LocalDateTime.now();
+	}
+	
+	@Override
+	public LocalDateTime getStarted()
+	{
+		return receiveMode == JmsReceiveMode.LISTENER ? listenerStarted : super.getStarted();
+	}
+	
+	@Override
+	public LocalDateTime getStopped()
+	{
+		return receiveMode == JmsReceiveMode.LISTENER ? listenerStopped : super.getStopped();
+	}
+	
+	
+	public JmsReceiveMode getReceiveMode()
+	{
+		return receiveMode;
+	}
+	
+	/**
+	 * @return number of messages got from receive queue, including ones that are not yet passed to listeners
+	 */
+	public long getFetched()
+	{
+		return fetched.get();
+	}
+	
+	/**
+	 * @return average number of messages got from receive queue per second since the client has connected
+	 */
+	@Override
+	public double getReceiveRate()
+	{
+		long start = receivingStartNanos;
+		if (start < 0)
+			return 0;
+		
+		long elapsed = System.nanoTime() - start;
+		return elapsed > 0 ? fetched.get() * (double)TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
 	}
 	
 	
@@ -193,7 +328,14 @@ public abstract class JmsClient extends BasicClearThClient
 				consumer.close();
 				consumer = null;
 			}
-				
+			
+			if (consumerSession != null)
+			{
+				logger.trace("{}: closing consumer session", name);
+				consumerSession.close();
+				consumerSession = null;
+			}
+			
 			if (producer != null)
 			{
 				logger.trace("{}: closing producer", name);
@@ -224,14 +366,17 @@ public abstract class JmsClient extends BasicClearThClient
 	
 	static class JmsReceiverThread extends MessageReceiverThread
 	{
+		private final JmsClient client;
 		private final MessageConsumer consumer;
+		private final boolean drainQueue;
 		
-		public JmsReceiverThread(String name, MessageConsumer consumer, ClearThMessageConnection owner, long readDelay,
-		                         BlockingQueue<EncodedClearThMessage> receivedMessageQueue)
+		public JmsReceiverThread(String name, JmsClient client, boolean drainQueue, long readDelay)
 		{
-			super(name, owner, receivedMessageQueue, readDelay);
+			super(name, client.owner, client.receivedMessageQueue, readDelay);
 			
-			this.consumer = consumer;
+			this.client = client;
+			this.consumer = client.consumer;
+			this.drainQueue = drainQueue;
 		}
 		
 		
@@ -244,13 +389,17 @@ public abstract class JmsClient extends BasicClearThClient
 				if (message == null)
 					return;
 				
-				if (message instanceof TextMessage)
+				client.handleReceivedMessage(message);
+				messageReceived();
+				if (!drainQueue)
+					return;
+				
+				//Taking all messages that are already available, read delay will be applied after that
+				while (!terminated.get() && (message = consumer.receiveNoWait()) != null)
 				{
-					String body = ((TextMessage) message).getText();
-					receivedMessageQueue.add(EncodedClearThMessage.newReceivedMessage(body));
+					client.handleReceivedMessage(message);
+					messageReceived();
 				}
-				else
-					logger.warn("Received non-text message, skipping it as not supported:{}{}", EOL, message);
 			}
 			catch (Exception e)
 			{
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *  
@@ -18,17 +18,59 @@
 
 package com.exactprosystems.clearth.connectivity.jms;
 
+import com.exactprosystems.clearth.connectivity.connections.ClearThConnectionSettings;
+import com.exactprosystems.clearth.connectivity.connections.settings.ConnectionSetting;
 import com.exactprosystems.clearth.connectivity.connections.settings.ConnectionSettings;
 import com.exactprosystems.clearth.connectivity.mq.ClearThBasicMqConnectionSettings;
+import com.exactprosystems.clearth.utils.LineBuilder;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.NONE)
-@ConnectionSettings(order = {"hostname", "port", "receiveQueue", "useReceiveQueue", "sendQueue", "readDelay"},
+@ConnectionSettings(order = {"hostname", "port", "receiveQueue", "useReceiveQueue", "sendQueue", "readDelay", "readBatchSize", "maxIdleReadDelay", "receiveMode"},
 		columns = {"hostname", "sendQueue", "receiveQueue"})
 public class JmsConnectionSettings extends ClearThBasicMqConnectionSettings
 {
+	@XmlElement
+	@ConnectionSetting(name = "Receive mode")
+	private JmsReceiveMode receiveMode;
+	
+	public JmsConnectionSettings()
+	{
+		receiveMode = JmsReceiveMode.POLLING;
+	}
+	
+	
+	public JmsReceiveMode getReceiveMode()
+	{
+		return receiveMode;
+	}
+	
+	public void setReceiveMode(JmsReceiveMode receiveMode)
+	{
+		this.receiveMode = receiveMode;
+	}
+	
+	
+	@Override
+	public String toString()
+	{
+		LineBuilder sb = new LineBuilder();
+		sb.append(super.toString());
+		sb.add("Receive mode = ").append(receiveMode);
+		return sb.toString();
+	}
+	
+	@Override
+	public void copyFrom(ClearThConnectionSettings settings1)
+	{
+		super.copyFrom(settings1);
+		
+		JmsConnectionSettings settings = (JmsConnectionSettings) settings1;
+		this.receiveMode = settings.receiveMode;
+	}
 }
@@ -0,0 +1,39 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity.jms;
+
+/**
+ * Defines how JMS client gets messages from receive queue
+ */
+public enum JmsReceiveMode
+{
+	/**
+	 * One message is received at a time, read delay is applied after each message
+	 */
+	POLLING,
+	/**
+	 * All messages available in queue are received at once, read delay is applied after queue becomes empty
+	 */
+	BATCH,
+	/**
+	 * Messages are pushed by JMS provider as soon as they arrive, read delay is not used
+	 */
+	LISTENER
+}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -41,6 +41,7 @@ import com.exactprosystems.clearth.messages.MessageFileReader;
 import com.exactprosystems.clearth.utils.SettingsException;
 import com.exactprosystems.clearth.utils.Utils;
 import com.exactprosystems.clearth.utils.inputparams.InputParamsHandler;
+import com.exactprosystems.clearth.utils.javaFunction.SupplierWithException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +67,9 @@ import java.util.concurrent.atomic.AtomicLong;
 		+ "<li><b>storeFailed=&lt;true/false&gt;</b> &mdash; indicates if failed-to-parse messages should be stored in collector for further analysis. <br/>Please note that they occupy memory if stored. Default value is 'true'.</li>"
 		+ "<li><b>allowedTypes=&lt;type&gt;</b> &mdash; If it exists messages of other types are ignored. Separate allowed types with comma (,).</li>"
 		+ "<li><b>forbiddenTypes=&lt;type&gt;</b> &mdash; If it exists messages of specified types are ignored. Separate forbidden types with comma (,).</li>"
+		+ "<li><b>indexFields=&lt;field&gt;</b> &mdash; names of fields to index to speed up search for messages by key fields, e.g. 'MsgType,ClOrdID'. Separate field names with comma (,).</li>"
+		+ "<li><b>decodeThreads=&lt;value&gt;</b> &mdash; number of threads to decode incoming messages in parallel. <br/>"
+		+   "Messages are still stored in order of their arrival. Default value is '1', i.e. messages are decoded one by one.</li>"
 		+ "</ul>" + "All settings are optional.")
 public class ClearThMessageCollector extends AbstractMessageListener implements ReceiveListener
 {
@@ -82,6 +86,8 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	public static final String DEFAULT_MESSAGE_END_INDICATOR = Utils.EOL + Utils.EOL;
 	public static final String ALLOWED_TYPES = "allowedtypes";
 	public static final String FORBIDDEN_TYPES = "forbiddentypes";
+	public static final String INDEX_FIELDS_SETTING = "indexfields";
+	public static final String DECODE_THREADS_SETTING = "decodethreads";
 	private static final String STORE_THREAD_NAME = "FileContentStorage";
 
 	private static final String DELIMITER = ",";
@@ -89,6 +95,7 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	private static final int DEBUG_LOG_MSG_SIZE_LIMIT = 1024; //1 KB
 	private static final double DEFAULT_MAX_AGE = -1;
 	private static final double DEFAULT_FAILED_MAX_AGE = 6;
+	private static final int MAX_PENDING_DECODES_PER_THREAD = 1000;
 
 	private final Object codecMonitor = new Object();
 
@@ -99,6 +106,9 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 
 	protected volatile ICodec codec;
 	protected ContentStorage<ReceivedClearThMessage, ReceivedStringMessage> contentStorage;
+	protected final MessageArrivalSignal arrivalSignal = new MessageArrivalSignal();
+	protected final MessageIndex messageIndex;
+	private final OrderedDecodingPipeline decodingPipeline;
 	private final boolean storeFailedMessages;
 	private final boolean storeTimestamp;
 
@@ -116,6 +126,16 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	}
 
 	public ClearThMessageCollector(ListenerProperties properties, String connectionName, ICodec codec, Map<String,String> settings, String messageEndIndicator) throws SettingsException
+	{
+		this(properties, connectionName, codec, null, settings, messageEndIndicator);
+	}
+	
+	/**
+	 * @param codecSupplier creates additional codec instances for parallel decoding, used if 'decodeThreads' setting is greater than 1. 
+	 * Can be null, in this case messages are decoded one by one
+	 */
+	public ClearThMessageCollector(ListenerProperties properties, String connectionName, ICodec codec, 
+			SupplierWithException<ICodec, SettingsException> codecSupplier, Map<String,String> settings, String messageEndIndicator) throws SettingsException
 	{
 		super(properties);
 		
@@ -158,6 +178,9 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 		Set<String> allowedTypes = handler.getSet(ALLOWED_TYPES, DELIMITER);
 		Set<String> forbiddenTypes = handler.getSet(FORBIDDEN_TYPES, DELIMITER);
 		processFilteredTypes(allowedTypes, forbiddenTypes);
+		
+		Set<String> indexFields = handler.getSet(INDEX_FIELDS_SETTING, DELIMITER);
+		messageIndex = indexFields.isEmpty() ? null : new MessageIndex(indexFields);
 
 		try
 		{
@@ -173,14 +196,54 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 		if (this.contentStorage == null)
 		{
 			logger.trace("Content will be stored in memory");
-			this.contentStorage = new MemoryContentStorage<ReceivedClearThMessage, ReceivedStringMessage>();
+			this.contentStorage = new MemoryContentStorage<ReceivedClearThMessage, ReceivedStringMessage>(ReceivedClearThMessage::getMessage);
 		}
 
 		this.messageId = new AtomicLong(0);
 		
 		initFromFile(handler.getString(FILENAME_SETTING), messageEndIndicator);
+		
+		//Pipeline is created after reading initial messages so that they are stored before any new message arrives
+		this.decodingPipeline = createDecodingPipeline(handler.getInteger(DECODE_THREADS_SETTING, 1), codecSupplier);
 	}
 	
+	private OrderedDecodingPipeline createDecodingPipeline(int threads, SupplierWithException<ICodec, SettingsException> codecSupplier) throws SettingsException
+	{
+		if (threads <= 1 || codec == null)
+			return null;
+		if (codecSupplier == null)
+		{
+			logger.warn("Codec instances for parallel decoding are not available, messages will be decoded one by one");
+			return null;
+		}
+		
+		List<ICodec> codecs = new ArrayList<>(threads);
+		codecs.add(codec);
+		for (int i = 1; i < threads; i++)
+			codecs.add(codecSupplier.get());
+		
+		logger.debug("Messages will be decoded by {} threads", threads);
+		return new OrderedDecodingPipeline(connectionName, codecs, threads * MAX_PENDING_DECODES_PER_THREAD, 
+				new OrderedDecodingPipeline.DecodeHandler()
+				{
+					@Override
+					public ClearThMessage<?> decode(ICodec codec, String payload) throws Exception
+					{
+						return codec.decode(payload);
+					}
+					
+					@Override
+					public void publish(long id, EncodedClearThMessage message, String payload, ClearThMessage<?> decoded, Exception error)
+					{
+						if (decoded != null)
+							storeMessage(id, message, payload, decoded);
+						else
+							storeFailedMessage(id, message, payload, error);
+					}
+				});
+	}
+	
+	
 	@Override
 	public boolean isActiveForReceived()
 	{
@@ -209,10 +272,24 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 			throw new IllegalArgumentException("Timestamp cannot be lower than an already received message");
 		}
 		lastMessageTime = timestamp;
+		
+		if (decodingPipeline != null)
+		{
+			try
+			{
+				decodingPipeline.submit(id, message, payload);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				storeFailedMessage(id, message, payload, e);
+			}
+			return;
+		}
 
+		ClearThMessage<?> cthMessage;
 		try
 		{
-			ClearThMessage<?> cthMessage;
 			if (codec == null)
 			{
 				cthMessage = new SimpleClearThMessage();
@@ -226,7 +303,21 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 					cthMessage = codec.decode(payload);
 				}
 			}
-			
+		}
+		catch (Exception e)
+		{
+			storeFailedMessage(id, message, payload, e);
+			return;
+		}
+		
+		storeMessage(id, message, payload, cthMessage);
+	}
+	
+	protected void storeMessage(long id, EncodedClearThMessage message, String payload, ClearThMessage<?> cthMessage)
+	{
+		Instant timestamp = message.getMetadata().getTimestamp();
+		try
+		{
 			cthMessage.setMetadata(message.getMetadata());
 			
 			if (!validateType(cthMessage.getField(ClearThMessage.MSGTYPE)))
@@ -239,23 +330,44 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 			logger.trace("Adding message: {}, \r\ntimestamp: {}", cthMessage, timestamp);
 			ReceivedClearThMessage receivedMessage = new ReceivedClearThMessage(id, timestamp.toEpochMilli(), cthMessage);
 			contentStorage.insertPassed(id, receivedMessage);
+			if (messageIndex != null)
+				messageIndex.add(id, cthMessage);
+			arrivalSignal.messageArrived(id);
 		}
 		catch (Exception e)
 		{
-			if(storeFailedMessages)
-				contentStorage.insertFailed(id, new ReceivedStringMessage(id, timestamp.toEpochMilli(), payload));
-			logger.warn("Error while decoding message: {}", message, e);
+			storeFailedMessage(id, message, payload, e);
 		}
 	}
+	
+	protected void storeFailedMessage(long id, EncodedClearThMessage message, String payload, Exception error)
+	{
+		if(storeFailedMessages)
+			contentStorage.insertFailed(id, new ReceivedStringMessage(id, message.getMetadata().getTimestamp().toEpochMilli(), payload));
+		logger.warn("Error while decoding message: {}", message, error);
+	}
 
 	@Override
 	public void dispose()
 	{
 		logger.trace("Disposing ClearThMessageCollector");
 		active = false;
+		if (decodingPipeline != null)
+		{
+			try
+			{
+				decodingPipeline.shutdown();
+			}
+			catch (InterruptedException e)
+			{
+				logger.warn("Wait for pending messages to be decoded was interrupted");
+				Thread.currentThread().interrupt();
+			}
+		}
 		codec = null;
 		collectorCleaner.shutdown();
 		contentStorage.dispose();
+		arrivalSignal.wakeUp();
 	}
 
 	
@@ -308,6 +420,65 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 		return result;
 	}
 	
+	/**
+	 * Gets from collector data about messages received after message with given ID and having given values in indexed fields.
+	 * Fields that are not indexed are ignored, so returned messages should be additionally checked by these fields
+	 * 
+	 * @param afterId ID of message after which needed messages were received
+	 * @param fieldValues field values to look for
+	 * @return list of messages received after message with given ID. 
+	 * If collector has no index for given fields, all messages received after given ID are returned
+	 */
+	public Collection<ReceivedClearThMessage> getMessagesData(long afterId, Map<String, String> fieldValues)
+	{
+		NavigableSet<Long> ids = messageIndex != null ? messageIndex.findIds(fieldValues, afterId) : null;
+		if (ids == null)
+			return getMessagesData(afterId);
+		
+		logger.trace("Getting indexed messages data with ID > {} and field values {}", afterId, fieldValues);
+		Map<Long, ReceivedClearThMessage> content = contentStorage.getContentPassed();
+		Collection<ReceivedClearThMessage> result = new ArrayDeque<>(ids.size());
+		for (Long id : ids)
+		{
+			ReceivedClearThMessage msg = content.get(id);
+			if (msg != null)
+				result.add(msg);
+		}
+		logger.trace("Messages count: {}", result.size());
+		return result;
+	}
+	
+	/**
+	 * @param fieldValues field values to check
+	 * @return true if collector has index for at least one of given fields
+	 */
+	public boolean isIndexed(Map<String, String> fieldValues)
+	{
+		return messageIndex != null && messageIndex.isAnyIndexed(fieldValues);
+	}
+	
+	/**
+	 * @return ID of last message stored in collector or -1 if no messages have been stored yet
+	 */
+	public long getLastMessageId()
+	{
+		return arrivalSignal.getLastMessageId();
+	}
+	
+	/**
+	 * Waits for message received after message with given ID to be stored in collector.
+	 * Returns immediately if such message has already been stored
+	 * 
+	 * @param afterId ID of message after which needed messages are expected
+	 * @param timeout maximum time (in milliseconds) to wait
+	 * @return true if new message has been stored, false if timeout expired
+	 * @throws InterruptedException if waiting was interrupted
+	 */
+	public boolean awaitMessages(long afterId, long timeout) throws InterruptedException
+	{
+		return arrivalSignal.awaitMessageAfter(afterId, timeout);
+	}
+	
 	/**
 	 * Gets message data for given ID
 	 * @param id of message
@@ -328,12 +499,10 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	 */
 	public ReceivedClearThMessage getMessageData(ClearThMessage<?> message)
 	{
-		for (ReceivedClearThMessage msg : contentStorage.getContentPassed().values())
-		{
-			if (msg.getMessage() == message)
-				return new ReceivedClearThMessage(msg);
-		}
-		return null;
+		ReceivedClearThMessage found = findMessageData(message);
+		if (found == null)
+			return null;
+		return new ReceivedClearThMessage(found);
 	}
 	
 	
@@ -372,19 +541,13 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	{
 		logger.trace("Removing message {} from collector", message);
 
-		Collection<ReceivedClearThMessage> values = contentStorage.getContentPassed().values();
-		Iterator<ReceivedClearThMessage> it = values.iterator();
-		while (it.hasNext())
-		{
-			ReceivedClearThMessage v = it.next();
-			//Doing so we should be able to remove only the message object which is got from collector, not the similar one in the meaning of fields. This is correct
-			if (v.getMessage() == message)
-			{
-				it.remove();
-				contentStorage.removePassed(v);
-				break;
-			}
-		}
+		//Message is found by identity, so we are able to remove only the message object which is got from collector, not the similar one in the meaning of fields. This is correct
+		ReceivedClearThMessage v = findMessageData(message);
+		if (v == null)
+			return;
+		
+		contentStorage.removePassed(v);
+		removeFromIndex(v);
 	}
 	
 	/**
@@ -394,6 +557,8 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	public void removeMessage(long id)
 	{
 		logger.trace("Removing message with ID={} from collector", id);
+		if (messageIndex != null)
+			removeFromIndex(contentStorage.getContentPassed().get(id));
 		contentStorage.removePassed(id);
 	}
 	
@@ -404,6 +569,8 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 	{
 		logger.trace("Removing all messages from collector");
 		contentStorage.clearPassed();
+		if (messageIndex != null)
+			messageIndex.clear();
 	}
 	
 	
@@ -444,12 +611,36 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 			logger.debug("Received message is too long to show on current logging level");
 	}
 	
-	protected Collection<ReceivedClearThMessage> getMessagesAfterId(long id)
+	protected ReceivedClearThMessage findMessageData(ClearThMessage<?> message)
+	{
+		Long id = contentStorage.getPassedId(message);
+		if (id == null)
+			return null;
+		
+		ReceivedClearThMessage found = contentStorage.getContentPassed().get(id);
+		return found != null && found.getMessage() == message ? found : null;
+	}
+	
+	protected void removeFromIndex(ReceivedClearThMessage message)
+	{
+		if (messageIndex != null && message != null)
+			messageIndex.remove(message.getId(), message.getMessage());
+	}
+	
+	/**
+	 * @param id of message to start after
+	 * @return live view of messages with ID greater than given one, ordered by ID. Messages are not copied
+	 */
+	public Collection<ReceivedClearThMessage> getMessagesAfterId(long id)
 	{
 		return contentStorage.getContentPassedAfterId(id).values();
 	}
 	
-	protected Collection<ReceivedStringMessage> getFailedMessagesAfterId(long id)
+	/**
+	 * @param id of message to start after
+	 * @return live view of failed messages with ID greater than given one, ordered by ID. Messages are not copied
+	 */
+	public Collection<ReceivedStringMessage> getFailedMessagesAfterId(long id)
 	{
 		return contentStorage.getContentFailedAfterId(id).values();
 	}
@@ -525,21 +716,20 @@ public class ClearThMessageCollector extends AbstractMessageListener implements
 			long currentTime = System.currentTimeMillis();
 			if (maxAgeMillis > -1)
 			{
-				Iterator<ReceivedClearThMessage> itr = contentStorage.getContentPassed().values().iterator();
-				while (itr.hasNext())
+				for (ReceivedClearThMessage elem : contentStorage.getContentPassed().values())
 				{
-					ReceivedClearThMessage elem = itr.next();
 					if (elem != null && currentTime - elem.getReceived() > maxAgeMillis)
-						itr.remove();
+					{
+						contentStorage.removePassed(elem.getId());
+						removeFromIndex(elem);
+					}
 				}
 			}
 			
-			Iterator<ReceivedStringMessage> itr = contentStorage.getContentFailed().values().iterator();
-			while (itr.hasNext())
+			for (ReceivedStringMessage elem : contentStorage.getContentFailed().values())
 			{
-				ReceivedStringMessage elem = itr.next();
 				if (elem != null && currentTime - elem.getReceived() > failedMaxAgeMillis)
-					itr.remove();
+					contentStorage.removeFailed(elem.getId());
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -20,9 +20,15 @@ package com.exactprosystems.clearth.connectivity.listeners;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import com.exactprosystems.clearth.ClearThCore;
 
+import com.exactprosystems.clearth.utils.SettingsException;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,13 +42,33 @@ import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
 import com.exactprosystems.clearth.messages.MessageFileWriter;
 
 @ListenerDescription(description = "ClearTH file receive listener")
-@SettingsDetails(details = "Path to an output file where to store messages.")
+@SettingsDetails(details = "Path to an output file where to store messages.<br/><br/>"
+		+ "To write messages in batches, use format <code>file=&lt;path&gt;;setting=value;setting=value</code><br/><br/>" + "Settings:" + "<ul>"
+		+ "<li><b>file=&lt;path&gt;</b> &mdash; path to an output file where to store messages. This setting is mandatory and must go first.</li>"
+		+ "<li><b>flushMessages=&lt;value&gt;</b> &mdash; number of messages after which the file is flushed. Default value is '1', i.e. the file is flushed after each message.</li>"
+		+ "<li><b>flushInterval=&lt;value&gt;</b> &mdash; milliseconds after which written messages are flushed even if 'flushMessages' is not reached. Default value is '0', i.e. flush by time is disabled.</li>"
+		+ "</ul>" + "Written messages are flushed when the listener is disposed.")
 public class FileListener extends AbstractMessageListener implements ReceiveListener, SendListener
 {
 	private static Logger logger = LoggerFactory.getLogger(FileListener.class);
 	
+	public static final String FILE_SETTING = "file",
+			FLUSH_MESSAGES_SETTING = "flushmessages",
+			FLUSH_INTERVAL_SETTING = "flushinterval";
+	
 	private final MessageFileWriter writer;
 	private final Object monitor;
+	private final int flushMessages;
+	private final long flushInterval;
+	//Guarded by monitor
+	private ScheduledExecutorService flushTimer;
+	
+	//Guarded by monitor, volatile to read metrics from other threads
+	private int unflushed = 0;
+	private volatile long bytesWritten = 0,
+			flushes = 0,
+			flushTime = 0,
+			maxFlushTime = 0;
 	
 	/**
 	 * Create FileReceiveListener
@@ -51,16 +77,45 @@ public class FileListener extends AbstractMessageListener implements ReceiveList
 	 * @throws IOException if file creation failed
 	 */
 	public FileListener(ListenerProperties properties, String fileName) throws IOException
+	{
+		this(properties, fileName, 1, 0);
+	}
+	
+	/**
+	 * Create FileReceiveListener that flushes written messages in batches
+	 * @param properties listener properties (name, active directions)
+	 * @param settings listener settings: {@link #FILE_SETTING}, {@link #FLUSH_MESSAGES_SETTING}, {@link #FLUSH_INTERVAL_SETTING}
+	 * @throws SettingsException if settings are incorrect
+	 * @throws IOException if file creation failed
+	 */
+	public FileListener(ListenerProperties properties, Map<String, String> settings) throws SettingsException, IOException
+	{
+		this(properties, getFileName(settings), getFlushMessages(settings), getFlushInterval(settings));
+	}
+	
+	protected FileListener(ListenerProperties properties, String fileName, int flushMessages, long flushInterval) throws IOException
 	{
 		super(properties);
 		
 		String fn = ClearThCore.rootRelative(fileName);
 		writer = createMessageFileWriter(fn);
 		monitor = new Object();
+		this.flushMessages = flushMessages;
+		this.flushInterval = flushInterval;
 		logger.debug("File '{}' opened for writing", fn);
 	}
 	
 	
+	/**
+	 * @param settings listener settings as specified in configuration
+	 * @return true if settings are key-value pairs starting with {@link #FILE_SETTING}, false if settings are just a path to file
+	 */
+	public static boolean isKeyValueSettings(String settings)
+	{
+		return StringUtils.startsWithIgnoreCase(StringUtils.trim(settings), FILE_SETTING + "=");
+	}
+	
+	
 	@Override
 	public boolean isActiveForReceived()
 	{
@@ -76,6 +131,21 @@ public class FileListener extends AbstractMessageListener implements ReceiveList
 	@Override
 	public void start()
 	{
+		if (flushInterval <= 0)
+			return;
+		
+		synchronized (monitor)
+		{
+			if (flushTimer != null)
+				return;
+			
+			flushTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, getProperties().getName() + " (flushTimer)");
+				t.setDaemon(true);
+				return t;
+			});
+			flushTimer.scheduleWithFixedDelay(this::flushByTimer, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+		}
 	}
 	
 	@Override
@@ -86,7 +156,9 @@ public class FileListener extends AbstractMessageListener implements ReceiveList
 			synchronized (monitor)  //This avoids threads clash when listener is active for sent and received messages
 			{
 				writer.write(message);
-				writer.flush();
+				unflushed++;
+				if (unflushed >= flushMessages)
+					flushWriter();
 				logger.trace("Received message: {}", message);
 			}
 		}
@@ -101,9 +173,22 @@ public class FileListener extends AbstractMessageListener implements ReceiveList
 	{
 		try
 		{
-			writer.flush();
-			writer.close();
+			synchronized (monitor)
+			{
+				if (flushTimer != null)
+				{
+					flushTimer.shutdown();
+					flushTimer = null;
+				}
+				
+				flushWriter();
+				writer.close();
+			}
 			logger.trace("File listener disposed");
+			if (logger.isDebugEnabled())
+				logger.debug("File listener '{}' wrote {} byte(s) with {} flush(es), total flush time {} ms, max flush time {} ms",
+						getProperties().getName(), bytesWritten, flushes,
+						TimeUnit.NANOSECONDS.toMillis(flushTime), TimeUnit.NANOSECONDS.toMillis(maxFlushTime));
 		}
 		catch (Exception e)
 		{
@@ -112,8 +197,119 @@ public class FileListener extends AbstractMessageListener implements ReceiveList
 	}
 	
 	
+	/**
+	 * @return number of bytes written to file so far
+	 */
+	public long getBytesWritten()
+	{
+		return bytesWritten;
+	}
+	
+	/**
+	 * @return number of file flushes done so far
+	 */
+	public long getFlushes()
+	{
+		return flushes;
+	}
+	
+	/**
+	 * @return total time spent on file flushes, in nanoseconds
+	 */
+	public long getFlushTime()
+	{
+		return flushTime;
+	}
+	
+	/**
+	 * @return maximum time spent on single file flush, in nanoseconds
+	 */
+	public long getMaxFlushTime()
+	{
+		return maxFlushTime;
+	}
+	
+	
 	protected MessageFileWriter createMessageFileWriter(String fileName) throws IOException
 	{
 		return new MessageFileWriter(Paths.get(fileName), true);
 	}
+	
+	
+	private void flushByTimer()
+	{
+		try
+		{
+			synchronized (monitor)
+			{
+				if (unflushed > 0)
+					flushWriter();
+			}
+		}
+		catch (IOException e)
+		{
+			logger.error("Could not flush messages into file", e);
+		}
+	}
+	
+	private void flushWriter() throws IOException
+	{
+		long start = System.nanoTime();
+		writer.flush();
+		long duration = System.nanoTime() - start;
+		
+		unflushed = 0;
+		bytesWritten = writer.getBytesWritten();
+		flushes++;
+		flushTime += duration;
+		if (duration > maxFlushTime)
+			maxFlushTime = duration;
+	}
+	
+	
+	private static String getFileName(Map<String, String> settings) throws SettingsException
+	{
+		String result = settings.get(FILE_SETTING);
+		if (result == null || result.isBlank())
+			throw new SettingsException("Error in File listener settings: '" + FILE_SETTING + "' setting is mandatory");
+		return result;
+	}
+	
+	private static int getFlushMessages(Map<String, String> settings) throws SettingsException
+	{
+		String value = settings.get(FLUSH_MESSAGES_SETTING);
+		if (value == null)
+			return 1;
+		
+		try
+		{
+			int result = Integer.parseInt(value.trim());
+			if (result < 1)
+				throw new SettingsException("Error in File listener settings: value of '" + FLUSH_MESSAGES_SETTING + "' setting must be positive");
+			return result;
+		}
+		catch (NumberFormatException e)
+		{
+			throw new SettingsException("Error in File listener settings: value of '" + FLUSH_MESSAGES_SETTING + "' setting must be a number", e);
+		}
+	}
+	
+	private static long getFlushInterval(Map<String, String> settings) throws SettingsException
+	{
+		String value = settings.get(FLUSH_INTERVAL_SETTING);
+		if (value == null)
+			return 0;
+		
+		try
+		{
+			long result = Long.parseLong(value.trim());
+			if (result < 0)
+				throw new SettingsException("Error in File listener settings: value of '" + FLUSH_INTERVAL_SETTING + "' setting cannot be negative");
+			return result;
+		}
+		catch (NumberFormatException e)
+		{
+			throw new SettingsException("Error in File listener settings: value of '" + FLUSH_INTERVAL_SETTING + "' setting must be a number", e);
+		}
+	}
 }
@@ -0,0 +1,86 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.listeners;
+
+/**
+ * Signal that wakes up threads waiting for new messages to be stored in collector
+ */
+public class MessageArrivalSignal
+{
+	private final Object monitor = new Object();
+	private long lastMessageId = -1;
+
+	/**
+	 * Notifies all waiting threads that message with given ID has been stored
+	 * @param id of stored message
+	 */
+	public void messageArrived(long id)
+	{
+		synchronized (monitor)
+		{
+			if (id > lastMessageId)
+				lastMessageId = id;
+			monitor.notifyAll();
+		}
+	}
+
+	/**
+	 * Wakes up all waiting threads so that they can check their state
+	 */
+	public void wakeUp()
+	{
+		synchronized (monitor)
+		{
+			monitor.notifyAll();
+		}
+	}
+
+	/**
+	 * Waits for message with ID greater than given one to be stored
+	 * @param afterId ID of last message known to caller
+	 * @param timeout maximum time (in milliseconds) to wait
+	 * @return true if message with greater ID has been stored, false if timeout expired or waiting was woken up for other reason
+	 * @throws InterruptedException if waiting was interrupted
+	 */
+	public boolean awaitMessageAfter(long afterId, long timeout) throws InterruptedException
+	{
+		if (timeout <= 0)
+			return getLastMessageId() > afterId;
+
+		synchronized (monitor)
+		{
+			if (lastMessageId > afterId)
+				return true;
+
+			monitor.wait(timeout);
+			return lastMessageId > afterId;
+		}
+	}
+
+	/**
+	 * @return ID of last stored message or -1 if no messages have been stored yet
+	 */
+	public long getLastMessageId()
+	{
+		synchronized (monitor)
+		{
+			return lastMessageId;
+		}
+	}
+}
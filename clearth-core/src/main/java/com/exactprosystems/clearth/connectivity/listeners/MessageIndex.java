@@ -0,0 +1,185 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.listeners;
+
+import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index of collector messages by values of particular fields. Maps field values to IDs of messages having these values
+ */
+public class MessageIndex
+{
+	private final Set<String> fields;
+	private final Map<String, ConcurrentMap<String, IdSet>> index;
+
+	public MessageIndex(Set<String> fields)
+	{
+		this.fields = Collections.unmodifiableSet(fields);
+		this.index = new ConcurrentHashMap<>();
+		for (String field : fields)
+			index.put(field, new ConcurrentHashMap<>());
+	}
+
+
+	public Set<String> getFields()
+	{
+		return fields;
+	}
+
+	public boolean isIndexed(String field)
+	{
+		return index.containsKey(field);
+	}
+
+	/**
+	 * @param fieldValues field values to check
+	 * @return true if at least one of given fields is indexed
+	 */
+	public boolean isAnyIndexed(Map<String, String> fieldValues)
+	{
+		if (fieldValues == null)
+			return false;
+
+		for (String field : fieldValues.keySet())
+		{
+			if (isIndexed(field))
+				return true;
+		}
+		return false;
+	}
+
+
+	public void add(long id, ClearThMessage<?> message)
+	{
+		for (Map.Entry<String, ConcurrentMap<String, IdSet>> fieldIndex : index.entrySet())
+		{
+			String value = message.getField(fieldIndex.getKey());
+			if (value == null)
+				continue;
+
+			fieldIndex.getValue().compute(value, (v, ids) -> {
+				if (ids == null)
+					ids = new IdSet();
+				ids.add(id);
+				return ids;
+			});
+		}
+	}
+
+	public void remove(long id, ClearThMessage<?> message)
+	{
+		for (Map.Entry<String, ConcurrentMap<String, IdSet>> fieldIndex : index.entrySet())
+		{
+			String value = message.getField(fieldIndex.getKey());
+			if (value == null)
+				continue;
+
+			fieldIndex.getValue().computeIfPresent(value, (v, ids) -> {
+				ids.remove(id);
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+	}
+
+	public void clear()
+	{
+		for (ConcurrentMap<String, IdSet> fieldIndex : index.values())
+			fieldIndex.clear();
+	}
+
+
+	/**
+	 * Finds IDs of messages that have all given values in indexed fields. Fields that are not indexed are ignored
+	 * @param fieldValues field values to look for
+	 * @param afterId only IDs greater than this one will be returned
+	 * @return sorted IDs of messages or null if none of given fields is indexed
+	 */
+	public NavigableSet<Long> findIds(Map<String, String> fieldValues, long afterId)
+	{
+		List<IdSet> found = new ArrayList<>();
+		for (Map.Entry<String, String> fv : fieldValues.entrySet())
+		{
+			ConcurrentMap<String, IdSet> fieldIndex = index.get(fv.getKey());
+			if (fieldIndex == null)
+				continue;
+
+			IdSet ids = fieldIndex.get(fv.getValue());
+			if (ids == null)
+				return Collections.emptyNavigableSet();
+			found.add(ids);
+		}
+
+		if (found.isEmpty())
+			return null;
+
+		//Starting from the most selective field to keep intersection small
+		found.sort(Comparator.comparingInt(IdSet::size));
+		NavigableSet<Long> smallest = found.get(0).ids.tailSet(afterId, false);
+		if (found.size() == 1)
+			return Collections.unmodifiableNavigableSet(smallest);
+
+		NavigableSet<Long> result = new TreeSet<>(smallest);
+		for (int i = 1; i < found.size() && !result.isEmpty(); i++)
+			result.retainAll(found.get(i).ids);
+		return result;
+	}
+
+
+	private static class IdSet
+	{
+		private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+		//ConcurrentSkipListSet.size() traverses the whole set, so size is tracked separately
+		private final AtomicInteger size = new AtomicInteger();
+
+		public void add(long id)
+		{
+			if (ids.add(id))
+				size.incrementAndGet();
+		}
+
+		public void remove(long id)
+		{
+			if (ids.remove(id))
+				size.decrementAndGet();
+		}
+
+		public int size()
+		{
+			return size.get();
+		}
+
+		public boolean isEmpty()
+		{
+			return size.get() == 0;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity.listeners;
+
+import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
+import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
+import com.exactprosystems.clearth.connectivity.iface.ICodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes messages on a pool of worker threads, each decoding with its own codec instance.
+ * Decoded messages are handed over for publishing strictly in the order they were submitted,
+ * so that message IDs assigned on arrival remain in storage order.
+ */
+class OrderedDecodingPipeline
+{
+	private static final Logger logger = LoggerFactory.getLogger(OrderedDecodingPipeline.class);
+	
+	private final DecodeHandler handler;
+	private final BlockingQueue<ICodec> codecs;
+	private final ExecutorService executor;
+	private final Semaphore capacity;
+	private final Queue<DecodeTask> pending = new ConcurrentLinkedQueue<>();
+	private final Object publishMonitor = new Object();
+	
+	public OrderedDecodingPipeline(String name, Collection<ICodec> codecs, int maxPending, DecodeHandler handler)
+	{
+		this.handler = handler;
+		this.codecs = new ArrayBlockingQueue<>(codecs.size(), false, codecs);
+		this.capacity = new Semaphore(maxPending);
+		
+		AtomicInteger threadIndex = new AtomicInteger(1);
+		this.executor = Executors.newFixedThreadPool(codecs.size(), r -> {
+			Thread t = new Thread(r, name + " (Collector decoder " + threadIndex.getAndIncrement() + ")");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+	
+	
+	/**
+	 * Schedules message decoding. Blocks if too many messages are waiting to be published
+	 * @param id ID assigned to the message
+	 * @param message message to decode
+	 * @param payload message payload as string
+	 * @throws InterruptedException if waiting for free capacity was interrupted
+	 */
+	public void submit(long id, EncodedClearThMessage message, String payload) throws InterruptedException
+	{
+		capacity.acquire();
+		DecodeTask task = new DecodeTask(id, message, payload);
+		//Caller is responsible for submitting messages in order of their IDs
+		pending.add(task);
+		try
+		{
+			executor.execute(task);
+		}
+		catch (RuntimeException e)
+		{
+			task.error = e;
+			task.done = true;
+			publishCompleted();
+		}
+	}
+	
+	public int getPendingCount()
+	{
+		return pending.size();
+	}
+	
+	/**
+	 * Waits for all submitted messages to be decoded and published, then stops worker threads
+	 * @throws InterruptedException if waiting was interrupted. Messages that were not decoded by that moment are discarded
+	 */
+	public void shutdown() throws InterruptedException
+	{
+		executor.shutdown();
+		try
+		{
+			while (!executor.awaitTermination(1, TimeUnit.SECONDS))
+				logger.debug("Waiting for {} message(s) to be decoded", pending.size());
+		}
+		catch (InterruptedException e)
+		{
+			executor.shutdownNow();
+			logger.warn("Decoding interrupted, {} message(s) discarded", pending.size());
+			pending.clear();
+			throw e;
+		}
+		publishCompleted();
+	}
+	
+	
+	private void publishCompleted()
+	{
+		synchronized (publishMonitor)
+		{
+			DecodeTask task;
+			while ((task = pending.peek()) != null && task.done)
+			{
+				pending.poll();
+				capacity.release();
+				try
+				{
+					handler.publish(task.id, task.message, task.payload, task.result, task.error);
+				}
+				catch (Exception e)
+				{
+					logger.error("Error while publishing decoded message with ID {}", task.id, e);
+				}
+			}
+		}
+	}
+	
+	
+	interface DecodeHandler
+	{
+		ClearThMessage<?> decode(ICodec codec, String payload) throws Exception;
+		
+		void publish(long id, EncodedClearThMessage message, String payload, ClearThMessage<?> decoded, Exception error);
+	}
+	
+	private class DecodeTask implements Runnable
+	{
+		private final long id;
+		private final EncodedClearThMessage message;
+		private final String payload;
+		private ClearThMessage<?> result;
+		private Exception error;
+		private volatile boolean done = false;
+		
+		public DecodeTask(long id, EncodedClearThMessage message, String payload)
+		{
+			this.id = id;
+			this.message = message;
+			this.payload = payload;
+		}
+		
+		@Override
+		public void run()
+		{
+			try
+			{
+				ICodec codec = codecs.take();
+				try
+				{
+					result = handler.decode(codec, payload);
+				}
+				finally
+				{
+					codecs.add(codec);
+				}
+			}
+			catch (InterruptedException e)
+			{
+				error = e;
+				Thread.currentThread().interrupt();
+			}
+			catch (Exception e)
+			{
+				error = e;
+			}
+			catch (Error e)
+			{
+				//Task must be completed anyway, otherwise messages after it will never be published
+				error = new Exception("Codec failed with error: " + e, e);
+				throw e;
+			}
+			finally
+			{
+				done = true;
+				publishCompleted();
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -129,6 +129,9 @@ public class BasicMessageListenerFactory implements MessageListenerFactory
 			throw new SettingsException("Could not create listener for file. Please specify file's path in listener's settings.");
 		try
 		{
+			//Settings with key-value pairs enable batched writing, other settings are just a path to file
+			if (FileListener.isKeyValueSettings(fileName))
+				return new FileListener(properties, KeyValueUtils.parseKeyValueString(fileName, ";", true));
 			return new FileListener(properties, fileName);
 		}
 		catch (IOException e)
@@ -175,7 +178,8 @@ public class BasicMessageListenerFactory implements MessageListenerFactory
 			return new ClearThMessageCollector(properties, connection.getName(), settings, messageEndIndicator);
 
 
-		return new ClearThMessageCollector(properties, connection.getName(), createCodec(type), settings, messageEndIndicator);
+		return new ClearThMessageCollector(properties, connection.getName(), createCodec(type), () -> createCodec(type), 
+				settings, messageEndIndicator);
 	}
 
 	protected MessageListener createListenerEx(ClearThConnection connection, ListenerConfiguration configuration)
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -41,6 +41,27 @@ public interface ContentStorage<P, F>
 	void removeFailed(long itemId);
 	
 	
+	/**
+	 * Finds ID of passed item by its key. Storage defines how key is obtained from item, by default item is a key for itself.
+	 * Keys are compared by identity. 
+	 * Default implementation checks passed items one by one, using item as a key for itself
+	 * @param key of passed item
+	 * @return ID of passed item with given key or null if no such item is stored
+	 */
+	default Long getPassedId(Object key)
+	{
+		if (key == null)
+			return null;
+		
+		for (Map.Entry<Long, P> entry : getContentPassed().entrySet())
+		{
+			if (entry.getValue() == key)
+				return entry.getKey();
+		}
+		return null;
+	}
+	
+	
 	void clearMemory();
 	
 	void clearPassed();
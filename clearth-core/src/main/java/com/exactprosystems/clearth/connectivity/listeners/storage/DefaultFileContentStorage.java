@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -57,6 +57,12 @@ public class DefaultFileContentStorage extends FileContentStorage<ReceivedClearT
 		return item.getMessage();
 	}
 
+	@Override
+	protected MemoryContentStorage<ReceivedClearThMessage, ReceivedStringMessage> createMemoryStorage()
+	{
+		return new MemoryContentStorage<>(ReceivedClearThMessage::getMessage);
+	}
+	
 	@Override
 	protected String extractTimestampPassed(ReceivedClearThMessage item)
 	{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -30,8 +30,12 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 public abstract class FileContentStorage<P, F> extends WritingContentStorage<P, F>
@@ -44,6 +48,8 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 	protected MemoryContentStorage<P, F> memoryStorage;
 	
 	protected ConcurrentLinkedQueue<P> insertQueue, fileContents;
+	//Items removed from storage but not yet removed from insertQueue or fileContents. Processed by writing thread
+	protected final Set<IdentityKey> removedItems = ConcurrentHashMap.newKeySet();
 	
 	protected final String contentsFilePath;
 	protected final RandomAccessFile contentsFile;
@@ -57,7 +63,7 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 	{
 		super(threadName);
 		
-		memoryStorage = new MemoryContentStorage<P, F>();
+		memoryStorage = createMemoryStorage();
 		
 		this.contentsFilePath = ClearThCore.rootRelative(contentsFilePath);
 		File contentsFile = new File(contentsFilePath);
@@ -130,14 +136,9 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 		memoryStorage.removePassed(item);
 		
 		if (item == null)
-		{
 			logger.trace("Unable to remove 'null' item");
-		}
-		else if (!insertQueue.remove(item))
-		{
-			if (fileContents.remove(item))
-				needToRewriteFile = true;
-		}
+		else
+			removedItems.add(new IdentityKey(item));  //Item will be removed from file by writing thread
 	}
 	
 	@Override
@@ -159,6 +160,13 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 	}
 
 
+	@Override
+	public Long getPassedId(Object key)
+	{
+		return memoryStorage.getPassedId(key);
+	}
+
+
 	@Override
 	public void clearMemory()
 	{
@@ -169,6 +177,7 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 	public void clearPassed()
 	{
 		memoryStorage.clearPassed();
+		removedItems.clear();
 		needToClearFile = true;
 		if (writingThreadInterrupted)
 			writingIteration();
@@ -215,6 +224,9 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 			needToClearFile = false;
 		}
 		
+		if (!removedItems.isEmpty())
+			applyRemovedItems();
+		
 		if (needToRewriteFile)
 		{
 			rewriteFile();
@@ -230,6 +242,32 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 		}
 	}
 	
+	protected void applyRemovedItems()
+	{
+		Set<IdentityKey> removed = new HashSet<>(removedItems);
+		removedItems.removeAll(removed);
+		
+		//Removed items not written yet are just skipped, removal of written items requires file rewriting
+		removeItems(insertQueue, removed);
+		if (!removed.isEmpty() && removeItems(fileContents, removed))
+			needToRewriteFile = true;
+	}
+	
+	protected boolean removeItems(Collection<P> items, Set<IdentityKey> removed)
+	{
+		boolean result = false;
+		Iterator<P> it = items.iterator();
+		while (it.hasNext() && !removed.isEmpty())
+		{
+			if (removed.remove(new IdentityKey(it.next())))
+			{
+				it.remove();
+				result = true;
+			}
+		}
+		return result;
+	}
+	
 	protected void appendToFile(Collection<P> appendContent)
 	{
 		if (logger.isTraceEnabled())
@@ -335,6 +373,11 @@ public abstract class FileContentStorage<P, F> extends WritingContentStorage<P,
 	}
 	
 	protected abstract String extractTimestampPassed(P item);
+	
+	protected MemoryContentStorage<P, F> createMemoryStorage()
+	{
+		return new MemoryContentStorage<P, F>();
+	}
 
 	
 	protected int getBufferSize()
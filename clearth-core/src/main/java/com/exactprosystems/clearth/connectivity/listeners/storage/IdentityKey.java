@@ -0,0 +1,44 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.listeners.storage;
+
+/**
+ * Wrapper to use object as a hash map key compared by identity, not by equals()
+ */
+final class IdentityKey
+{
+	private final Object object;
+	
+	IdentityKey(Object object)
+	{
+		this.object = object;
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return System.identityHashCode(object);
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		return obj instanceof IdentityKey && ((IdentityKey) obj).object == object;
+	}
+}
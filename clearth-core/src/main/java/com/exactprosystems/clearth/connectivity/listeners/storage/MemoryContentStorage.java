@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -20,7 +20,9 @@ package com.exactprosystems.clearth.connectivity.listeners.storage;
 
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +35,26 @@ public class MemoryContentStorage<P, F> implements ContentStorage<P, F>
 	protected final NavigableMap<Long, P> contentPassed = new ConcurrentSkipListMap<Long, P>();
 	//Storage for messages which couldn't be parsed. Key - message ID in collector
 	protected final NavigableMap<Long, F> contentFailed = new ConcurrentSkipListMap<Long, F>();
+	//Reverse maps to find item ID without iterating over whole storage. Keys are compared by identity
+	protected final Map<IdentityKey, Long> passedIds = new ConcurrentHashMap<>(),
+			failedIds = new ConcurrentHashMap<>();
+	
+	protected final Function<? super P, ?> passedKeyExtractor;
+	
+	
+	public MemoryContentStorage()
+	{
+		this(Function.identity());
+	}
+	
+	/**
+	 * Creates storage which finds passed items by keys obtained with given function
+	 * @param passedKeyExtractor function to get key of passed item, which is used by {@link #getPassedId(Object)}
+	 */
+	public MemoryContentStorage(Function<? super P, ?> passedKeyExtractor)
+	{
+		this.passedKeyExtractor = passedKeyExtractor;
+	}
 	
 	
 	@Override
@@ -52,38 +74,69 @@ public class MemoryContentStorage<P, F> implements ContentStorage<P, F>
 	@Override
 	public void insertPassed(long id, P item)
 	{
-		contentPassed.put(id, item);
+		P replaced = contentPassed.put(id, item);
+		if (replaced != null)
+			passedIds.remove(passedKey(replaced), id);
+		if (item != null)
+			passedIds.put(passedKey(item), id);
 	}
 	
 	@Override
 	public void insertFailed(long id, F item)
 	{
-		contentFailed.put(id, item);
+		F replaced = contentFailed.put(id, item);
+		if (replaced != null)
+			failedIds.remove(new IdentityKey(replaced), id);
+		if (item != null)
+			failedIds.put(new IdentityKey(item), id);
 	}
 	
 	
 	@Override
 	public void removePassed(P item)
 	{
-		contentPassed.values().remove(item);
+		if (item == null)
+			return;
+		
+		Long id = passedIds.remove(passedKey(item));
+		if (id != null)
+			contentPassed.remove(id, item);
 	}
 	
 	@Override
 	public void removePassed(long id)
 	{
-		contentPassed.remove(id);
+		P removed = contentPassed.remove(id);
+		if (removed != null)
+			passedIds.remove(passedKey(removed), id);
 	}
 	
 	@Override
 	public void removeFailed(F item)
 	{
-		contentFailed.values().remove(item);
+		if (item == null)
+			return;
+		
+		Long id = failedIds.remove(new IdentityKey(item));
+		if (id != null)
+			contentFailed.remove(id, item);
 	}
 
 	@Override
 	public void removeFailed(long itemId)
 	{
-		contentFailed.remove(itemId);
+		F removed = contentFailed.remove(itemId);
+		if (removed != null)
+			failedIds.remove(new IdentityKey(removed), itemId);
+	}
+	
+	
+	@Override
+	public Long getPassedId(Object key)
+	{
+		if (key == null)
+			return null;
+		return passedIds.get(new IdentityKey(key));
 	}
 	
 
@@ -98,12 +151,14 @@ public class MemoryContentStorage<P, F> implements ContentStorage<P, F>
 	public void clearPassed()
 	{
 		contentPassed.clear();
+		passedIds.clear();
 	}
 	
 	@Override
 	public void clearFailed()
 	{
 		contentFailed.clear();
+		failedIds.clear();
 	}
 
 	
@@ -130,4 +185,10 @@ public class MemoryContentStorage<P, F> implements ContentStorage<P, F>
 	{
 		return contentFailed.tailMap(id, false);
 	}
+	
+	
+	protected IdentityKey passedKey(P item)
+	{
+		return new IdentityKey(passedKeyExtractor.apply(item));
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *  
@@ -51,6 +51,12 @@ public abstract class ClearThBasicMqConnectionSettings implements ClearThConnect
 	@XmlElement
 	@ConnectionSetting(name = "Read delay")
 	private int readDelay;
+	@XmlElement
+	@ConnectionSetting(name = "Read batch size")
+	private int readBatchSize;
+	@XmlElement
+	@ConnectionSetting(name = "Max idle read delay")
+	private int maxIdleReadDelay;
 
 	public ClearThBasicMqConnectionSettings()
 	{
@@ -60,6 +66,8 @@ public abstract class ClearThBasicMqConnectionSettings implements ClearThConnect
 		hostname = null;
 		port = -1;
 		readDelay = 1000;
+		readBatchSize = 1;
+		maxIdleReadDelay = 0;
 	}
 
 
@@ -127,6 +135,32 @@ public abstract class ClearThBasicMqConnectionSettings implements ClearThConnect
 		this.readDelay = readDelay;
 	}
 
+	/**
+	 * @return max number of messages to read one after another without read delay
+	 */
+	public int getReadBatchSize()
+	{
+		return readBatchSize;
+	}
+
+	public void setReadBatchSize(int readBatchSize)
+	{
+		this.readBatchSize = readBatchSize;
+	}
+
+	/**
+	 * @return max delay between reads when receive queue is empty. If greater than read delay, the delay grows while queue stays empty
+	 */
+	public int getMaxIdleReadDelay()
+	{
+		return maxIdleReadDelay;
+	}
+
+	public void setMaxIdleReadDelay(int maxIdleReadDelay)
+	{
+		this.maxIdleReadDelay = maxIdleReadDelay;
+	}
+
 	@Override
 	public String toString()
 	{
@@ -138,6 +172,8 @@ public abstract class ClearThBasicMqConnectionSettings implements ClearThConnect
 		sb.add("Host = ").append(hostname);
 		sb.add("Port = ").append(port);
 		sb.add("Read delay = ").append(readDelay);
+		sb.add("Read batch size = ").append(readBatchSize);
+		sb.add("Max idle read delay = ").append(maxIdleReadDelay);
 		
 		return sb.toString();
 	}
@@ -162,5 +198,7 @@ public abstract class ClearThBasicMqConnectionSettings implements ClearThConnect
 		this.hostname = settings.hostname;
 		this.port = settings.port;
 		this.readDelay = settings.readDelay;
+		this.readBatchSize = settings.readBatchSize;
+		this.maxIdleReadDelay = settings.maxIdleReadDelay;
 	}
 }
\ No newline at end of file
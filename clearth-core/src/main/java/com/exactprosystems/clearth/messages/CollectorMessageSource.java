@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.Map;
 
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.ReceivedClearThMessage;
@@ -46,6 +47,7 @@ public class CollectorMessageSource implements MessageSource, StringMessageSourc
 	protected Deque<ReceivedClearThMessage> messagesBuffer;
 	protected boolean canReadEarlyMessages;
 	protected final boolean directOrder;
+	protected Map<String, String> indexedKeys;
 	
 	/**
 	 * Creates message source that will return messages, starting from first one, in direct or reversed order
@@ -132,6 +134,39 @@ public class CollectorMessageSource implements MessageSource, StringMessageSourc
 		collector.removeMessage(message);
 	}
 	
+	@Override
+	public void applyEqualityKeys(Map<String, String> keys)
+	{
+		if (!collector.isIndexed(keys))
+			return;
+		
+		indexedKeys = keys;
+		//Messages already read from collector but not returned yet are replaced with ones found by index
+		ReceivedClearThMessage first = messagesBuffer.peekFirst(),
+				last = messagesBuffer.peekLast();
+		if (first == null)
+			return;
+		
+		Deque<ReceivedClearThMessage> result = prepareMessages(collector.getMessagesData(first.getId()-1, indexedKeys));
+		while (!result.isEmpty() && result.peekLast().getId() > last.getId())
+			result.removeLast();
+		messagesBuffer = result;
+	}
+	
+	@Override
+	public boolean isArrivalNotificationSupported()
+	{
+		return true;
+	}
+	
+	@Override
+	public boolean awaitNewMessages(long timeout) throws InterruptedException
+	{
+		if (!messagesBuffer.isEmpty())
+			return true;
+		return collector.awaitMessages(lastMessageId, timeout);
+	}
+	
 	protected Deque<ReceivedClearThMessage> prepareMessages(Collection<ReceivedClearThMessage> messages)
 	{
 		if(messages instanceof Deque)
@@ -148,10 +183,24 @@ public class CollectorMessageSource implements MessageSource, StringMessageSourc
 	
 	protected void updateLastId(Deque<ReceivedClearThMessage> messages) {
 		ReceivedClearThMessage lastMessage = messages.peekLast();
-		if (lastMessage != null)
+		if (lastMessage != null && lastMessage.getId() > lastMessageId)
 			lastMessageId = lastMessage.getId();
 	}
 	
+	protected Collection<ReceivedClearThMessage> readMessagesData(long afterId)
+	{
+		if (indexedKeys == null)
+			return collector.getMessagesData(afterId);
+		
+		//Index returns only suitable messages, so last message in result is not always last message in collector.
+		//Remembering last message ID to wait for messages after it, not after last suitable one
+		long collectorLastId = collector.getLastMessageId();
+		Collection<ReceivedClearThMessage> result = collector.getMessagesData(afterId, indexedKeys);
+		if (collectorLastId > lastMessageId)
+			lastMessageId = collectorLastId;
+		return result;
+	}
+	
 	protected Deque<ReceivedClearThMessage> getAllMessages()
 	{
 		Deque<ReceivedClearThMessage> result = prepareMessages(collector.getMessagesData());
@@ -161,14 +210,14 @@ public class CollectorMessageSource implements MessageSource, StringMessageSourc
 	
 	protected Deque<ReceivedClearThMessage> getMessages(long afterId)
 	{
-		Deque<ReceivedClearThMessage> result = prepareMessages(collector.getMessagesData(afterId));
+		Deque<ReceivedClearThMessage> result = prepareMessages(readMessagesData(afterId));
 		updateLastId(result);
 		return result;
 	}
 
 	protected Deque<ReceivedClearThMessage> getMessagesAfterTime(long afterId, long afterTime)
 	{
-		Deque<ReceivedClearThMessage> result = prepareMessages(collector.getMessagesData(afterId));
+		Deque<ReceivedClearThMessage> result = prepareMessages(readMessagesData(afterId));
 		updateLastId(result);
 		ReceivedClearThMessage firstMessage = result.peekFirst();
 		while (firstMessage != null) {
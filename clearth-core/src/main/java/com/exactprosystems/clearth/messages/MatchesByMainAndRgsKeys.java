@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,6 +21,7 @@ package com.exactprosystems.clearth.messages;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.exactprosystems.clearth.automation.exceptions.ParametersException;
@@ -44,6 +45,13 @@ public class MatchesByMainAndRgsKeys<T extends ClearThMessage<T>> implements Mes
 	}
 	
 	
+	@Override
+	public Map<String, String> getEqualityKeys()
+	{
+		return new MatchesByMainKeys<T>(keys, false).getEqualityKeys();
+	}
+	
+	
 	private boolean checkKeys(T message, KeyFieldsData keys, boolean rg) throws ParametersException
 	{
 		MatchesByMainKeys<T> matchesByMainKeys = new MatchesByMainKeys<T>(keys, rg);
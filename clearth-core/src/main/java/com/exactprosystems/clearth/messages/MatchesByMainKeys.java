@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,6 +18,9 @@
 
 package com.exactprosystems.clearth.messages;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +75,31 @@ public class MatchesByMainKeys<T extends ClearThMessage<T>> implements MessageMa
 	}
 	
 	
+	@Override
+	public Map<String, String> getEqualityKeys()
+	{
+		Map<String, String> result = new LinkedHashMap<>();
+		if (!keysForRg && keys.getMsgType() != null)
+			result.put(ClearThMessage.MSGTYPE, keys.getMsgType());
+		
+		ComparisonUtils cu = ClearThCore.comparisonUtils();
+		for (MessageKeyField keyField : keys.getKeys())
+		{
+			if (isEqualityValue(keyField.getName(), keyField.getValue(), cu))
+				result.put(keyField.getName(), keyField.getValue());
+		}
+		return result.isEmpty() ? null : result;
+	}
+	
+	/**
+	 * @return true if message field with given name matches given expected value only if they are equal
+	 */
+	protected boolean isEqualityValue(String name, String expectedValue, ComparisonUtils cu)
+	{
+		return expectedValue != null && !cu.isForCompareValues(expectedValue);
+	}
+	
+	
 	protected boolean compareValues(String name, String expectedValue, T message, ComparisonUtils cu) throws ParametersException
 	{
 		String messageValue = message.getField(name);
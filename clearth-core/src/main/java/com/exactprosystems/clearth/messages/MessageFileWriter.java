@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -19,11 +19,16 @@
 package com.exactprosystems.clearth.messages;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 
+import org.apache.commons.io.output.CountingOutputStream;
+
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessageMetadata;
 import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -34,12 +39,23 @@ public class MessageFileWriter implements AutoCloseable, Flushable
 	private static final ObjectWriter JSON_WRITER = MessageFileReader.JSON_MAPPER
 			.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
 			.writer();
+	private final CountingOutputStream output;
 	private final BufferedWriter writer;
 	private final String messageEnd;
 	
 	public MessageFileWriter(Path file, boolean append, String messageEnd) throws IOException
 	{
-		writer = new BufferedWriter(new FileWriter(file.toFile(), append));
+		this(new FileOutputStream(file.toFile(), append), messageEnd);
+	}
+	
+	/**
+	 * @param output stream to write messages to. It is closed when writer is closed
+	 * @param messageEnd string to write after each message
+	 */
+	public MessageFileWriter(OutputStream output, String messageEnd)
+	{
+		this.output = new CountingOutputStream(output);
+		this.writer = new BufferedWriter(new OutputStreamWriter(this.output, Charset.defaultCharset()));
 		this.messageEnd = messageEnd;
 	}
 	
@@ -72,4 +88,12 @@ public class MessageFileWriter implements AutoCloseable, Flushable
 		writer.write(message.getPayload().toString());
 		writer.write(messageEnd);
 	}
+	
+	/**
+	 * @return number of bytes passed to underlying file so far. Data still buffered by writer is not counted
+	 */
+	public long getBytesWritten()
+	{
+		return output.getByteCount();
+	}
 }
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -109,6 +109,8 @@ public class MessageFinder<T extends ClearThMessage<T>>
 		if (timeout < 0)
 			timeout = 0;
 
+		messageSource.applyEqualityKeys(matcher.getEqualityKeys());
+		
 		int iteration = 1;
 		lastDurationMs = 0;
 		Stopwatch sw = Stopwatch.createAndStart(timeout);
@@ -144,9 +146,7 @@ public class MessageFinder<T extends ClearThMessage<T>>
 					if (timeLeft <= 0)
 						return messages;
 					
-					long timeToSleep = Math.min(searchDelayMs, timeLeft);
-					logger.trace("Pause for {} ms", timeToSleep);
-					Thread.sleep(timeToSleep);
+					waitForMessages(messageSource, timeLeft);
 				}
 				catch (IOException e)
 				{
@@ -160,6 +160,20 @@ public class MessageFinder<T extends ClearThMessage<T>>
 		}
 	}
 	
+	protected void waitForMessages(MessageSource messageSource, long timeLeft) throws InterruptedException
+	{
+		if (messageSource.isArrivalNotificationSupported())
+		{
+			logger.trace("Waiting for new messages for {} ms", timeLeft);
+			messageSource.awaitNewMessages(timeLeft);
+			return;
+		}
+		
+		long timeToSleep = Math.min(searchDelayMs, timeLeft);
+		logger.trace("Pause for {} ms", timeToSleep);
+		Thread.sleep(timeToSleep);
+	}
+	
 	protected void logMessageInfo(T message)
 	{
 		if (!logger.isDebugEnabled())
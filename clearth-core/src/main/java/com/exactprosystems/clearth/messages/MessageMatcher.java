@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,10 +18,21 @@
 
 package com.exactprosystems.clearth.messages;
 
+import java.util.Map;
+
 import com.exactprosystems.clearth.automation.exceptions.ParametersException;
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 
 public interface MessageMatcher<T extends ClearThMessage<T>>
 {
 	boolean matches(T message) throws ParametersException;
+	
+	/**
+	 * @return fields and values that message must have exactly to match, or null if there are no such fields. 
+	 * Message source can use them to skip messages that cannot match
+	 */
+	default Map<String, String> getEqualityKeys()
+	{
+		return null;
+	}
 }
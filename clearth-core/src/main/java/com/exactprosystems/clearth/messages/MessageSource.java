@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -19,6 +19,7 @@
 package com.exactprosystems.clearth.messages;
 
 import java.io.IOException;
+import java.util.Map;
 
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 
@@ -41,4 +42,33 @@ public interface MessageSource
 	 * Removes given message from source if this operation is supported. Else does nothing
 	 */
 	public void removeMessage(ClearThMessage<?> message);
+	
+	/**
+	 * Makes source return only messages that may have given field values, if this operation is supported. 
+	 * Messages having other values still can be returned, so they need to be checked by caller
+	 * @param keys field values that needed messages have
+	 */
+	default void applyEqualityKeys(Map<String, String> keys)
+	{
+	}
+	
+	/**
+	 * @return true if source can notify about new messages via {@link #awaitNewMessages(long)}, 
+	 * false if source should be polled to get new messages
+	 */
+	default boolean isArrivalNotificationSupported()
+	{
+		return false;
+	}
+	
+	/**
+	 * Waits for new messages to appear in underlying source if this operation is supported. Else returns immediately
+	 * @param timeout maximum time (in milliseconds) to wait
+	 * @return true if new messages are available, false if timeout expired or operation is not supported
+	 * @throws InterruptedException if waiting was interrupted
+	 */
+	default boolean awaitNewMessages(long timeout) throws InterruptedException
+	{
+		return false;
+	}
 }
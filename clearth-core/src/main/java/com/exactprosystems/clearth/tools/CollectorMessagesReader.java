@@ -0,0 +1,161 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+import com.exactprosystems.clearth.connectivity.CollectorMessage;
+import com.exactprosystems.clearth.connectivity.iface.ReceivedMessage;
+
+/**
+ * Reads messages stored in collector page by page, without copying whole collector content.
+ * Messages are taken from live view of collector storage ordered by message ID.
+ * Reader remembers IDs of messages at some offsets to not skip all preceding messages when next pages are requested. 
+ * Number of matching messages is calculated once. 
+ * Thus, reader reflects collector content and filter as of its first use and new reader should be created to reload messages
+ * @param <T> type of messages stored in collector
+ */
+public class CollectorMessagesReader<T extends ReceivedMessage<?>>
+{
+	public static final int CHECKPOINT_STEP = 1000;
+	
+	private final LongFunction<Collection<T>> messagesAfterId;
+	private final Predicate<T> filter;
+	private final Function<T, String> rawText,
+			parsedText;
+	private final TreeMap<Integer, Long> checkpoints = new TreeMap<>();
+	private int count = -1;
+	
+	/**
+	 * @param messagesAfterId function to obtain view of messages with ID greater than given one, ordered by ID
+	 * @param filter to select messages to read. If null, all messages are read
+	 * @param rawText function to get original text of message
+	 * @param parsedText function to get text of parsed message
+	 */
+	public CollectorMessagesReader(LongFunction<Collection<T>> messagesAfterId, Predicate<T> filter,
+			Function<T, String> rawText, Function<T, String> parsedText)
+	{
+		this.messagesAfterId = messagesAfterId;
+		this.filter = filter != null ? filter : m -> true;
+		this.rawText = rawText;
+		this.parsedText = parsedText;
+		checkpoints.put(0, Long.MIN_VALUE);
+	}
+	
+	
+	/**
+	 * @return number of messages that match filter, calculated on first call
+	 */
+	public synchronized int count()
+	{
+		if (count >= 0)
+			return count;
+		
+		int result = 0;
+		for (T msg : messagesAfterId.apply(Long.MIN_VALUE))
+		{
+			if (filter.test(msg))
+				result++;
+		}
+		count = result;
+		return result;
+	}
+	
+	public synchronized boolean isEmpty()
+	{
+		if (count >= 0)
+			return count == 0;
+		
+		for (T msg : messagesAfterId.apply(Long.MIN_VALUE))
+		{
+			if (filter.test(msg))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads page of messages that match filter
+	 * @param first offset of first message to read, counting only messages that match filter
+	 * @param pageSize maximum number of messages to read
+	 * @return list of messages in the page, empty if there are no messages at given offset
+	 */
+	public synchronized List<CollectorMessage> getPage(int first, int pageSize)
+	{
+		if (first < 0 || pageSize <= 0)
+			return Collections.emptyList();
+		
+		Map.Entry<Integer, Long> start = checkpoints.floorEntry(first);
+		int offset = start.getKey();
+		List<CollectorMessage> result = new ArrayList<>(Math.min(pageSize, CHECKPOINT_STEP));
+		for (T msg : messagesAfterId.apply(start.getValue()))
+		{
+			if (!filter.test(msg))
+				continue;
+			
+			if (offset >= first)
+				result.add(toCollectorMessage(msg));
+			
+			offset++;
+			if (offset % CHECKPOINT_STEP == 0)
+				checkpoints.put(offset, msg.getId());
+			if (result.size() >= pageSize)
+				break;
+		}
+		return result;
+	}
+	
+	/**
+	 * Writes all messages that match filter, separating them with empty line
+	 * @param writer to write messages to
+	 * @param raw flag to write original messages instead of parsed ones
+	 * @throws IOException if writing fails
+	 */
+	public void write(Writer writer, boolean raw) throws IOException
+	{
+		Function<T, String> text = raw ? rawText : parsedText;
+		String separator = System.lineSeparator();
+		for (T msg : messagesAfterId.apply(Long.MIN_VALUE))
+		{
+			if (!filter.test(msg))
+				continue;
+			
+			writer.write(text.apply(msg));
+			writer.write(separator);
+			writer.write(separator);
+		}
+		writer.flush();
+	}
+	
+	protected CollectorMessage toCollectorMessage(T msg)
+	{
+		return new CollectorMessage(rawText.apply(msg), parsedText.apply(msg), msg.getReceived());
+	}
+}
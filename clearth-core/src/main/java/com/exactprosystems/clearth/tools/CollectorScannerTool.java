@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,10 +21,8 @@ package com.exactprosystems.clearth.tools;
 import static com.exactprosystems.clearth.ClearThCore.connectionStorage;
 import static com.exactprosystems.clearth.utils.Utils.nvl;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import com.exactprosystems.clearth.connectivity.CollectorMessage;
 import com.exactprosystems.clearth.connectivity.ListenerType;
 import com.exactprosystems.clearth.connectivity.MessageListener;
 import com.exactprosystems.clearth.connectivity.connections.ClearThConnection;
@@ -51,91 +49,60 @@ public class CollectorScannerTool
 	{
 		return connection.findListener(ListenerType.Collector.getLabel());
 	}
+	
+	private static String getEncodedMessage(ReceivedClearThMessage msgData)
+	{
+		return nvl(msgData.getMessage().getEncodedMessage(), "[could not get original message]");
+	}
 
 
 	/**
-	 * Returns list of CollectorMessages (correct message, parsed message, timestamp) from selected
-	 * collector
+	 * Returns reader of correct messages (original message, parsed message, timestamp) from selected collector.
+	 * Reader doesn't copy collector content, it reads messages page by page
 	 *
 	 * @param collector
 	 *          selected collector
-	 * @return list of correct messages from collector
+	 * @return reader of correct messages that match filter or null if given listener is not a collector
 	 */
-	public List<CollectorMessage> getCollectorMessages(MessageListener collector)
+	public CollectorMessagesReader<ReceivedClearThMessage> getCollectorMessages(MessageListener collector)
 	{
-		if (collector == null)
-			return null;
-
-		//Using try-catch block to get around NPE while connection is stopping and is chosen in 'Collector scanner' tool
-		try
-		{
-			List<CollectorMessage> msgList = new ArrayList<CollectorMessage>();
-			if (collector instanceof ClearThMessageCollector)
-			{
-				ClearThMessageCollector imc = (ClearThMessageCollector) collector;
-				for (ReceivedClearThMessage msgData : imc.getMessagesData())
-				{
-					String encoded = nvl(msgData.getMessage().getEncodedMessage(), "[could not get original message]");
-					if (checkFilter(encoded))
-						msgList.add(new CollectorMessage(encoded, msgData.getMessage().toString(), msgData.getReceived()));
-				}
-			}
-	
-			if (msgList.size() > 0)
-				return msgList;
-			else
-				return null;
-		}
-		catch (Exception e)
-		{
+		if (!(collector instanceof ClearThMessageCollector))
 			return null;
-		}
+		
+		ClearThMessageCollector imc = (ClearThMessageCollector) collector;
+		return new CollectorMessagesReader<>(imc::getMessagesAfterId,
+				msgData -> checkFilter(getEncodedMessage(msgData)),
+				CollectorScannerTool::getEncodedMessage,
+				msgData -> msgData.getMessage().toString());
 	}
 
 	/**
-	 * Returns list of CollectorMessages (correct message, parsed message, timestamp) from selected
+	 * Returns reader of correct messages (original message, parsed message, timestamp) from selected
 	 * connection
 	 *
 	 * @param connection
 	 *          selected connection
-	 * @return list of correct messages from collector
+	 * @return reader of correct messages from collector
 	 */
-	public List<CollectorMessage> getCollectorMessages(ClearThMessageConnection connection)
+	public CollectorMessagesReader<ReceivedClearThMessage> getCollectorMessages(ClearThMessageConnection connection)
 	{
 		return (connection == null) ? null : getCollectorMessages(getCollector(connection));
 	}
 
 
-	public List<CollectorMessage> getCollectorMessagesFailed(MessageListener collector)
+	public CollectorMessagesReader<ReceivedStringMessage> getCollectorMessagesFailed(MessageListener collector)
 	{
-		if (collector == null)
-			return null;
 		if (!(collector instanceof ClearThMessageCollector))
 			return null;
 		
-		// Use try-catch block to get around NPE while connection is stopping and is chosen in 'Collector scanner' tool
-		try
-		{
-			ClearThMessageCollector imc = (ClearThMessageCollector)collector;
-			List<CollectorMessage> msgList = new ArrayList<CollectorMessage>();
-			for (ReceivedStringMessage msgData : imc.getMessagesFailed())
-			{
-				if (checkFilter(msgData.getMessage()))
-					msgList.add(new CollectorMessage(msgData.getMessage(), "[could not get parsed message]", msgData.getReceived()));
-			}
-			
-			if (msgList.size() > 0)
-				return msgList;
-			else
-				return null;
-		}
-		catch (Exception e)
-		{
-			return null;
-		}
+		ClearThMessageCollector imc = (ClearThMessageCollector) collector;
+		return new CollectorMessagesReader<>(imc::getFailedMessagesAfterId,
+				msgData -> checkFilter(msgData.getMessage()),
+				ReceivedStringMessage::getMessage,
+				msgData -> "[could not get parsed message]");
 	}
 	
-	public List<CollectorMessage> getCollectorMessagesFailed(ClearThMessageConnection connection)
+	public CollectorMessagesReader<ReceivedStringMessage> getCollectorMessagesFailed(ClearThMessageConnection connection)
 	{
 		return (connection == null) ? null : getCollectorMessagesFailed(getCollector(connection));
 	}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -23,6 +23,7 @@ import com.exactprosystems.clearth.automation.functions.SpecialDataModel;
 import com.exactprosystems.clearth.automation.report.ResultDetail;
 import com.exactprosystems.clearth.automation.report.results.DetailedResult;
 import com.exactprosystems.clearth.automation.report.results.complex.ComparisonRow;
+import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.math.NumberUtils;
@@ -36,7 +37,10 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -254,6 +258,13 @@ public class ComparisonUtils
 	public static final String ERROR = "Error";
 	public static final String IS_CASE_SENSITIVE = "IsCaseSensitive";
 	public static final String IS_IGNORE_SPACES = "IsIgnoreSpaces";
+	
+	public static final int MATCHERS_CACHE_SIZE = 10000, DATE_FORMATS_CACHE_SIZE = 100;
+	
+	//Cache is read by all threads that compare values, so it is not locked. When cache is full, it is cleared
+	private final Map<String, ExpectedValueMatcher> matchers = new ConcurrentHashMap<>();
+	//SimpleDateFormat is not thread-safe, so parsed formats are cached per thread
+	private final ThreadLocal<Map<String, SimpleDateFormat>> dateFormats = ThreadLocal.withInitial(() -> new LRUMap<>(DATE_FORMATS_CACHE_SIZE));
 
 	@SpecialDataModel(
 			name = "pattern",
@@ -332,6 +343,9 @@ public class ComparisonUtils
 
 	public boolean isSpecialFunction(String value)
 	{
+		if (!StringUtils.contains(value, '{'))
+			return false;
+		
 		value = StringUtils.replaceChars(value, "()", "");
 		for (String function : SPECIAL_FUNCTIONS)
 		{
@@ -352,6 +366,9 @@ public class ComparisonUtils
 	 */
 	public boolean isForCompareValues(String value)
 	{
+		//All special values and functions contain '{', no need to check them one by one if it is absent
+		if (!StringUtils.contains(value, '{'))
+			return false;
 		return isSpecialValue(value) || isSpecialFunction(value) || contains(trim(value), PATTERN_START);
 	}
 
@@ -363,8 +380,7 @@ public class ComparisonUtils
 	)
 	public boolean isTimeStamp(String value, String format)
 	{
-		SimpleDateFormat dateFormat = new SimpleDateFormat(format);
-		dateFormat.setLenient(false);
+		SimpleDateFormat dateFormat = getDateFormat(format);
 		ParsePosition position = new ParsePosition(0);
 
 		Date date = dateFormat.parse(value, position);
@@ -432,6 +448,12 @@ public class ComparisonUtils
 	protected boolean numbersEqual(String expectedExpression, String actualValue,
 	                             boolean abs, boolean invert,
 	                             String functionName) throws ParametersException
+	{
+		return createNumbersEqualityMatcher(expectedExpression, abs, invert, functionName).matches(actualValue, true);
+	}
+	
+	protected ExpectedValueMatcher createNumbersEqualityMatcher(String expectedExpression, boolean abs, boolean invert,
+			String functionName) throws ParametersException
 	{
 		String paramsLine = prepareExpectedValue(expectedExpression);
 		if (isEmpty(paramsLine))
@@ -444,121 +466,224 @@ public class ComparisonUtils
 		BigDecimal error = getBigDecimalValue(params, 1, functionName, ERROR);
 		Integer scale = getIntegerValue(params, 2, functionName, SCALE);
 		
-		if (!isNumberWithoutQualifier(actualValue))
-			return false;
-		BigDecimal actual = new BigDecimal(actualValue);
-		
-		boolean equals = numbersEqual(expected, actual, scale, error, abs);
-		
-		return invert != equals;
+		return (actualValue, isCaseSensitive) -> {
+			if (!isNumberWithoutQualifier(actualValue))
+				return false;
+			BigDecimal actual = new BigDecimal(actualValue);
+			
+			boolean equals = numbersEqual(expected, actual, scale, error, abs);
+			
+			return invert != equals;
+		};
 	}
 
 	public boolean compareValues(String expectedValue, String actualValue, boolean isCaseSensitive) throws ParametersException
 	{
 		logger.trace("Checking actual value '{}' using expression '{}'.", actualValue, expectedValue);
 		
+		//All special values and functions contain '{', other values are compared as text and don't need to be cached
+		if (!StringUtils.contains(expectedValue, '{'))
+			return textsEqual(expectedValue, actualValue, isCaseSensitive);
+		return getMatcher(expectedValue).matches(actualValue, isCaseSensitive);
+	}
+	
+	/**
+	 * Returns matcher for given expected value. 
+	 * If matcher is cacheable, expected value is parsed only once and the matcher is cached. 
+	 * Cache is cleared when it reaches {@link #MATCHERS_CACHE_SIZE} items
+	 * @param expectedValue expected value, can contain special values and functions
+	 * @return matcher to check actual values with
+	 * @throws ParametersException if special function in expected value has invalid parameters
+	 * @see #isMatcherCacheable(String)
+	 */
+	public ExpectedValueMatcher getMatcher(String expectedValue) throws ParametersException
+	{
+		if (!isMatcherCacheable(expectedValue))
+			return createMatcher(expectedValue, false);
+		
+		ExpectedValueMatcher result = matchers.get(expectedValue);
+		if (result == null)
+		{
+			result = createMatcher(expectedValue, true);
+			if (matchers.size() >= MATCHERS_CACHE_SIZE)
+				matchers.clear();
+			matchers.put(expectedValue, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Tells if matcher for given expected value can be parsed in advance and cached. 
+	 * Not cacheable matchers call public special-function methods on each check, so that their overrides are used. 
+	 * By default, only matchers of ComparisonUtils itself are cached. 
+	 * Subclasses that don't change how special values and functions are checked can return true to use the cache
+	 * @param expectedValue expected value, can contain special values and functions
+	 * @return true if matcher for given expected value can be cached
+	 */
+	protected boolean isMatcherCacheable(String expectedValue)
+	{
+		return getClass() == ComparisonUtils.class;
+	}
+	
+	/**
+	 * Creates matcher for given expected value
+	 * @param expectedValue expected value, can contain special values and functions
+	 * @param parse true to parse expected value in advance, false to call public special-function methods on each check
+	 * @return matcher to check actual values with
+	 * @throws ParametersException if special function in expected value has invalid parameters
+	 */
+	protected ExpectedValueMatcher createMatcher(String expectedValue, boolean parse) throws ParametersException
+	{
 		String trimmedExpectedValue = trim(expectedValue);
 		if (contains(expectedValue, PATTERN_START))
 		{
-			return compareByPattern(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> compareByPattern(expectedValue, actualValue);
+			
+			Pattern pattern = Pattern.compile(preparePattern(expectedValue));
+			return (actualValue, isCaseSensitive) -> pattern.matcher(actualValue != null ? actualValue : "").matches();
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_TIMESTAMP_START))
 		{
 			int start = expectedValue.indexOf('\'');
 			int end = expectedValue.lastIndexOf('\'');
-			return start != end && actualValue != null && isTimeStamp(actualValue, expectedValue.substring(start + 1, end));
+			if (start == end)
+				return (actualValue, isCaseSensitive) -> false;
+			
+			String format = expectedValue.substring(start + 1, end);
+			return (actualValue, isCaseSensitive) -> actualValue != null && isTimeStamp(actualValue, format);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_BEFORE_DATE))
 		{
-			return actualValue != null && isBeforeDate(expectedValue, actualValue);
+			return (actualValue, isCaseSensitive) -> actualValue != null && isBeforeDate(expectedValue, actualValue);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_AFTER_DATE))
 		{
-			return actualValue != null && isAfterDate(expectedValue, actualValue);
+			return (actualValue, isCaseSensitive) -> actualValue != null && isAfterDate(expectedValue, actualValue);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_BETWEEN_DATES))
 		{
-			return actualValue != null && isBetweenDates(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> actualValue != null && isBetweenDates(expectedValue, actualValue);
+			
+			ExpectedValueMatcher matcher;
+			try
+			{
+				matcher = createBetweenDatesMatcher(expectedValue);
+			}
+			catch (ParametersException e)
+			{
+				//Invalid parameters are reported only if actual value is present
+				return (actualValue, isCaseSensitive) -> actualValue != null && isBetweenDates(expectedValue, actualValue);
+			}
+			return (actualValue, isCaseSensitive) -> actualValue != null && matcher.matches(actualValue, isCaseSensitive);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_GREATER_THAN))
 		{
-			return isGreaterThan(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isGreaterThan(expectedValue, actualValue);
+			return createNumberComparisonMatcher(expectedValue, IS_GREATER_THAN_NAME, c -> c > 0);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_GREATER_OR_EQUAL))
 		{
-			return isGreaterOrEq(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isGreaterOrEq(expectedValue, actualValue);
+			return createNumberComparisonMatcher(expectedValue, IS_GREATER_OR_EQUAL_NAME, c -> c >= 0);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_LESS_THAN))
 		{
-			return isLessThan(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isLessThan(expectedValue, actualValue);
+			return createNumberComparisonMatcher(expectedValue, IS_LESS_THAN_NAME, c -> c < 0);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_LESS_OR_EQUAL))
 		{
-			return isLessOrEq(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isLessOrEq(expectedValue, actualValue);
+			return createNumberComparisonMatcher(expectedValue, IS_LESS_THAN_OR_EQUAL_NAME, c -> c <= 0);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_BETWEEN))
 		{
-			return isBetween(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isBetween(expectedValue, actualValue);
+			return createBetweenMatcher(expectedValue);
 		}
 		else if (StringUtils.startsWith(expectedValue, AS_NUMBER_START))
 		{
-			return compareAsNumber(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> compareAsNumber(expectedValue, actualValue);
+			return createNumbersEqualityMatcher(expectedValue, false, false, AS_NUMBER_NAME);
 		}
 		else if (StringUtils.startsWith(expectedValue, AS_ABS_NUMBER_START))
 		{
-			return compareAsAbsNumber(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> compareAsAbsNumber(expectedValue, actualValue);
+			return createNumbersEqualityMatcher(expectedValue, true, false, AS_ABS_NUMBER_NAME);
 		}
 		else if (SPECIAL_VALUES.contains(trimmedExpectedValue))
 		{
-			if (NULL_VALUES.contains(trimmedExpectedValue))
-			{
-				return actualValue == null;
-			}
-			else if (NOT_NULL_VALUES.contains(trimmedExpectedValue))
-			{
-				return actualValue != null;
-			}
-			else if (IS_EMPTY.equals(trimmedExpectedValue))
-			{
-				return actualValue != null && actualValue.isEmpty();
-			}
-			else if (IS_NOT_EMPTY.equals(trimmedExpectedValue))
-			{
-				return StringUtils.isNotEmpty(actualValue);
-			}
-			else if (NULL_OR_EMPTY_VALUES.contains(trimmedExpectedValue))
-			{
-				return isEmpty(actualValue);
-			}
-			else if (IS_ANY_VALUE.equals(trimmedExpectedValue))
-			{
-				return true;
-			}
-			else if (IS_NUMBER.equals(trimmedExpectedValue))
-			{
-				return NumberUtils.isNumber(actualValue);
-			}
-			else if (IS_FLOAT.equals(trimmedExpectedValue))
-			{
-				return FLOAT_PATTERN.matcher(actualValue).matches();
-			}
-			else // @{isInteger}
-			{
-				return INTEGER_PATTERN.matcher(actualValue).matches();
-			}
+			return createSpecialValueMatcher(trimmedExpectedValue);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_NOT_EQUAL_NUMBER))
 		{
-			return this.isNotEqualNumber(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isNotEqualNumber(expectedValue, actualValue);
+			return createNumbersEqualityMatcher(expectedValue, false, true, IS_NOT_EQUAL_NUMBER_NAME);
 		}
 		else if (StringUtils.startsWith(expectedValue, IS_NOT_EQUAL_TEXT))
 		{
-			return this.isNotEqualText(expectedValue, actualValue);
+			if (!parse)
+				return (actualValue, isCaseSensitive) -> isNotEqualText(expectedValue, actualValue);
+			return createNotEqualTextMatcher(expectedValue);
+		}
+		else
+			return (actualValue, isCaseSensitive) -> textsEqual(expectedValue, actualValue, isCaseSensitive);
+	}
+	
+	protected ExpectedValueMatcher createSpecialValueMatcher(String specialValue)
+	{
+		if (NULL_VALUES.contains(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> actualValue == null;
 		}
-		else if (isCaseSensitive)
+		else if (NOT_NULL_VALUES.contains(specialValue))
 		{
-			return StringUtils.equals(expectedValue, actualValue);
+			return (actualValue, isCaseSensitive) -> actualValue != null;
+		}
+		else if (IS_EMPTY.equals(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> actualValue != null && actualValue.isEmpty();
+		}
+		else if (IS_NOT_EMPTY.equals(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> StringUtils.isNotEmpty(actualValue);
 		}
+		else if (NULL_OR_EMPTY_VALUES.contains(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> isEmpty(actualValue);
+		}
+		else if (IS_ANY_VALUE.equals(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> true;
+		}
+		else if (IS_NUMBER.equals(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> NumberUtils.isNumber(actualValue);
+		}
+		else if (IS_FLOAT.equals(specialValue))
+		{
+			return (actualValue, isCaseSensitive) -> FLOAT_PATTERN.matcher(actualValue).matches();
+		}
+		else // @{isInteger}
+		{
+			return (actualValue, isCaseSensitive) -> INTEGER_PATTERN.matcher(actualValue).matches();
+		}
+	}
+	
+	protected boolean textsEqual(String expectedValue, String actualValue, boolean isCaseSensitive)
+	{
+		if (isCaseSensitive)
+			return StringUtils.equals(expectedValue, actualValue);
 		else
 			return StringUtils.equalsIgnoreCase(expectedValue, actualValue);
 	}
@@ -581,13 +706,7 @@ public class ComparisonUtils
 	)
 	public boolean isGreaterOrEq(String expectedValue, String actualValue) throws ParametersException
 	{
-		BigDecimal expected = getExpectedBigDecimal(expectedValue, IS_GREATER_OR_EQUAL_NAME);
-		
-		if (!isNumberWithoutQualifier(actualValue))
-			return false;
-		BigDecimal actual = new BigDecimal(actualValue);
-		
-		return actual.compareTo(expected) >= 0;
+		return createNumberComparisonMatcher(expectedValue, IS_GREATER_OR_EQUAL_NAME, c -> c >= 0).matches(actualValue, true);
 	}
 	
 	@SpecialDataModel(
@@ -598,13 +717,7 @@ public class ComparisonUtils
 	)
 	public boolean isGreaterThan(String expectedValue, String actualValue) throws ParametersException 
 	{
-		BigDecimal expected = getExpectedBigDecimal(expectedValue, IS_GREATER_THAN_NAME);
-
-		if (!isNumberWithoutQualifier(actualValue))
-			return false;
-		BigDecimal actual = new BigDecimal(actualValue);
-
-		return actual.compareTo(expected) > 0;
+		return createNumberComparisonMatcher(expectedValue, IS_GREATER_THAN_NAME, c -> c > 0).matches(actualValue, true);
 	}
 	
 	@SpecialDataModel(
@@ -615,13 +728,7 @@ public class ComparisonUtils
 	)
 	public boolean isLessThan(String expectedValue, String actualValue) throws ParametersException
 	{
-		BigDecimal expected = getExpectedBigDecimal(expectedValue, IS_LESS_THAN_NAME);
-
-		if (!isNumberWithoutQualifier(actualValue))
-			return false;
-		BigDecimal actual = new BigDecimal(actualValue);
-
-		return actual.compareTo(expected) < 0;
+		return createNumberComparisonMatcher(expectedValue, IS_LESS_THAN_NAME, c -> c < 0).matches(actualValue, true);
 	}
 	
 	@SpecialDataModel(
@@ -632,13 +739,7 @@ public class ComparisonUtils
 	)
 	public boolean isLessOrEq(String expectedValue, String actualValue) throws ParametersException
 	{
-		BigDecimal expected = getExpectedBigDecimal(expectedValue, IS_LESS_THAN_OR_EQUAL_NAME);
-
-		if (!isNumberWithoutQualifier(actualValue))
-			return false;
-		BigDecimal actual = new BigDecimal(actualValue);
-
-		return actual.compareTo(expected) <= 0;
+		return createNumberComparisonMatcher(expectedValue, IS_LESS_THAN_OR_EQUAL_NAME, c -> c <= 0).matches(actualValue, true);
 	}
 
 	/**
@@ -653,6 +754,24 @@ public class ComparisonUtils
 			description = "Checks if the actual value is between two given numbers. Inclusion types: " + INCLUDE_BOTH + ", " + INCLUDE_LEFT  + ", " + INCLUDE_RIGHT
 	)
 	public boolean isBetween(String expectedExpression, String actualValue) throws ParametersException
+	{
+		return createBetweenMatcher(expectedExpression).matches(actualValue, true);
+	}
+	
+	protected ExpectedValueMatcher createNumberComparisonMatcher(String expectedValue, String functionName,
+			IntPredicate comparisonCheck) throws ParametersException
+	{
+		BigDecimal expected = getExpectedBigDecimal(expectedValue, functionName);
+		return (actualValue, isCaseSensitive) -> {
+			if (!isNumberWithoutQualifier(actualValue))
+				return false;
+			BigDecimal actual = new BigDecimal(actualValue);
+			
+			return comparisonCheck.test(actual.compareTo(expected));
+		};
+	}
+	
+	protected ExpectedValueMatcher createBetweenMatcher(String expectedExpression) throws ParametersException
 	{
 		String paramsLine = prepareExpectedValue(expectedExpression);
 		//1th - LeftBoundary, 2th - RightBoundary, (Optional)3th - Boundaries inclusion
@@ -662,17 +781,18 @@ public class ComparisonUtils
 
 		BigDecimal leftBound = getBigDecimalValue(params, 0, IS_BETWEEN_NAME, "leftBound");
 		BigDecimal rightBound = getBigDecimalValue(params, 1, IS_BETWEEN_NAME, "rightBound");
-
-		if (!isNumberWithoutQualifier(actualValue))
-		{
-			logger.warn("Unable to parse actual value '{}' in function '{}'", actualValue, IS_BETWEEN_NAME);
-			return false;
-		}
-		BigDecimal actual = new BigDecimal(StringUtils.strip(actualValue, "'"));
-
 		String inclusion = params.length == 3 ? StringUtils.strip(params[2], "'") : null;
-		
-		return isBetween(leftBound, rightBound, actual, inclusion);
+
+		return (actualValue, isCaseSensitive) -> {
+			if (!isNumberWithoutQualifier(actualValue))
+			{
+				logger.warn("Unable to parse actual value '{}' in function '{}'", actualValue, IS_BETWEEN_NAME);
+				return false;
+			}
+			BigDecimal actual = new BigDecimal(StringUtils.strip(actualValue, "'"));
+			
+			return isBetween(leftBound, rightBound, actual, inclusion);
+		};
 	}
 
 	private boolean isBetween(BigDecimal left, BigDecimal right, BigDecimal actual, String inclusion)
@@ -794,8 +914,7 @@ public class ComparisonUtils
 			return false;
 		}
 		formatExpStr = formatExpStr.substring(start + 1, end);
-		SimpleDateFormat df = new SimpleDateFormat(formatExpStr);
-		df.setLenient(false);
+		SimpleDateFormat df = getDateFormat(formatExpStr);
 		Date exp, act;
 		try {
 			exp = df.parse(dateExpStr);
@@ -844,6 +963,11 @@ public class ComparisonUtils
 			description = "Checks if the actual date is between two given dates"
 	)
 	public boolean isBetweenDates(String expectedExpression, String actualValue) throws ParametersException
+	{
+		return createBetweenDatesMatcher(expectedExpression).matches(actualValue, true);
+	}
+	
+	protected ExpectedValueMatcher createBetweenDatesMatcher(String expectedExpression) throws ParametersException
 	{
 		String paramsLine = prepareExpectedValue(expectedExpression);
 		String[] params = split(paramsLine, ',');
@@ -851,12 +975,12 @@ public class ComparisonUtils
 		ParametersUtils.removeQuotesAndSpaces(params);
 		
 		int i = 3;
-		SimpleDateFormat dtf;
-		Date leftBound, rightBound, actual;
+		String dateFormat;
+		Date leftBound, rightBound;
 		try
 		{
-			dtf = new SimpleDateFormat(params[--i]);
-			dtf.setLenient(false);
+			dateFormat = params[--i];
+			SimpleDateFormat dtf = getDateFormat(dateFormat);
 			rightBound = dtf.parse(params[--i]);
 			leftBound = dtf.parse(params[--i]);
 		}
@@ -868,17 +992,21 @@ public class ComparisonUtils
 			throw new ParametersException(msg, e);
 		}
 
-		try
-		{
-			actual = dtf.parse(StringUtils.strip(actualValue, "'"));
-		}
-		catch (Exception e)
-		{
-			logger.warn("Unable to parse actual value {} in function '{}'", actualValue, IS_BETWEEN_DATES_NAME, e);
-			return false;
-		}
-
-		return isBetweenDates(leftBound, rightBound, actual, params.length == 4 ? params[3] : null);
+		String inclusion = params.length == 4 ? params[3] : null;
+		return (actualValue, isCaseSensitive) -> {
+			Date actual;
+			try
+			{
+				actual = getDateFormat(dateFormat).parse(StringUtils.strip(actualValue, "'"));
+			}
+			catch (Exception e)
+			{
+				logger.warn("Unable to parse actual value {} in function '{}'", actualValue, IS_BETWEEN_DATES_NAME, e);
+				return false;
+			}
+			
+			return isBetweenDates(leftBound, rightBound, actual, inclusion);
+		};
 	}
 
 	private boolean isBetweenDates(Date leftBound, Date rightBound, Date actual, String inclusion) 
@@ -930,6 +1058,11 @@ public class ComparisonUtils
 			description = "Checks if the actual text and the given text are not equal"
 	)
 	public boolean isNotEqualText(String expectedValue, String actualValue) throws ParametersException
+	{
+		return createNotEqualTextMatcher(expectedValue).matches(actualValue, true);
+	}
+	
+	protected ExpectedValueMatcher createNotEqualTextMatcher(String expectedValue) throws ParametersException
 	{
 		String expressionParameters = prepareExpectedValue(expectedValue);
 		if(isEmpty(expressionParameters))
@@ -948,10 +1081,29 @@ public class ComparisonUtils
 		else
 			preparedValue = preparedValue.substring(1, preparedValue.length() - 1);
 
+		String expectedText = preparedValue;
 		boolean isCaseSensitive = getBooleanValue(entries, 1, IS_NOT_EQUAL_TEXT_NAME, IS_CASE_SENSITIVE);
 		boolean isIgnoreSpaces = getBooleanValue(entries, 2, IS_NOT_EQUAL_TEXT_NAME, IS_IGNORE_SPACES);
 
-		return !compareTexts(preparedValue, actualValue, isCaseSensitive, isIgnoreSpaces);
+		return (actualValue, caseSensitiveComparison) -> !compareTexts(expectedText, actualValue, isCaseSensitive, isIgnoreSpaces);
+	}
+	
+	/**
+	 * Returns non-lenient date format for given pattern. Formats are cached per thread, so returned instance must not be shared
+	 * @param format pattern of date format
+	 * @return date format to parse dates with
+	 */
+	protected SimpleDateFormat getDateFormat(String format)
+	{
+		Map<String, SimpleDateFormat> formats = dateFormats.get();
+		SimpleDateFormat result = formats.get(format);
+		if (result == null)
+		{
+			result = new SimpleDateFormat(format);
+			result.setLenient(false);
+			formats.put(format, result);
+		}
+		return result;
 	}
 
 	public ComparisonRow createComparisonRow(String paramName, String expectedValue, String actualValue, String actualValueForReport, 
@@ -0,0 +1,69 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers notifications about changes of some object state to registered listeners.
+ * Listeners are called in the thread that made the change, so they should return quickly
+ * @param <T> type of change description
+ */
+public class StateChangeNotifier<T>
+{
+	private static final Logger logger = LoggerFactory.getLogger(StateChangeNotifier.class);
+	
+	private final List<Consumer<T>> listeners = new CopyOnWriteArrayList<>();
+	
+	public void addListener(Consumer<T> listener)
+	{
+		listeners.add(listener);
+	}
+	
+	public void removeListener(Consumer<T> listener)
+	{
+		listeners.remove(listener);
+	}
+	
+	public boolean hasListeners()
+	{
+		return !listeners.isEmpty();
+	}
+	
+	public void notifyListeners(T change)
+	{
+		for (Consumer<T> listener : listeners)
+		{
+			try
+			{
+				listener.accept(change);
+			}
+			catch (Exception e)
+			{
+				logger.warn("Error while notifying listener about state change '{}'", change, e);
+			}
+		}
+	}
+}
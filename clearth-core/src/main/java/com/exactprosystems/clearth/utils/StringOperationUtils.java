@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -64,6 +64,34 @@ public class StringOperationUtils
 		return (quoteCount % 2 == 0);  // Odd number of quotes means that symbol is inside of string literal - skipping it
 	}
 	
+	/**
+	 * @param text to search in
+	 * @param fromIndex index to start search from
+	 * @return index of first character that is not a whitespace or -1 if there is no such character
+	 */
+	public static int indexOfNonWhitespace(String text, int fromIndex)
+	{
+		for (int i = Math.max(fromIndex, 0); i < text.length(); i++)
+		{
+			if (!Character.isWhitespace(text.charAt(i)))
+				return i;
+		}
+		return -1;
+	}
+	
+	/**
+	 * @param text to check
+	 * @param prefix to find
+	 * @return true if text starts with given prefix, ignoring leading whitespaces
+	 */
+	public static boolean startsWithIgnoringWhitespaces(String text, String prefix)
+	{
+		if (text == null)
+			return false;
+		int start = indexOfNonWhitespace(text, 0);
+		return start > -1 && text.startsWith(prefix, start);
+	}
+	
 	public static String stringOfSpaces(int length)
 	{
 		StringBuilder sb = new StringBuilder();
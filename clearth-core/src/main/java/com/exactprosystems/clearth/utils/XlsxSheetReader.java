@@ -0,0 +1,381 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads XLSX sheet row by row, parsing sheet XML as a stream. Only current row is kept in memory, unlike XSSFWorkbook
+ * that loads the whole workbook. Shared strings table of workbook is still loaded in memory.
+ * <p>
+ * Values of cells with formulas are taken from results cached in file, formulas are not evaluated.
+ * If formatter is given, numeric values are formatted according to cell styles like DataFormatter.formatCellValue() does,
+ * else raw values stored in file are returned, like Cell.getStringCellValue() does for cells converted to string type.
+ */
+public class XlsxSheetReader implements Closeable
+{
+	private static final String EL_ROW = "row",
+			EL_CELL = "c",
+			EL_VALUE = "v",
+			EL_INLINE_STRING = "is",
+			EL_TEXT = "t",
+			EL_PHONETIC_RUN = "rPh",
+			ATTR_REF = "r",
+			ATTR_TYPE = "t",
+			ATTR_STYLE = "s",
+			TYPE_SHARED_STRING = "s",
+			TYPE_INLINE_STRING = "inlineStr",
+			TYPE_BOOLEAN = "b";
+	
+	private final OPCPackage pkg;
+	private final SharedStrings sharedStrings;
+	private final StylesTable styles;
+	private final DataFormatter formatter;
+	private final InputStream sheetStream;
+	private final XMLStreamReader xml;
+	
+	private final List<String> values = new ArrayList<>();
+	private int rowNum = -1,
+			firstCellNum = -1;
+	private boolean finished = false;
+	
+	/**
+	 * Opens sheet for reading
+	 * @param file XLSX file to read
+	 * @param sheetName name of sheet to read. If null, first sheet is read
+	 * @param formatter to format numeric values. If null, raw values are returned
+	 * @throws IOException if file can't be opened or doesn't contain the sheet
+	 */
+	public XlsxSheetReader(File file, String sheetName, DataFormatter formatter) throws IOException
+	{
+		this(openPackage(file), sheetName, formatter);
+	}
+	
+	/**
+	 * Opens sheet for reading. Note that contents of given stream are buffered in memory in compressed form
+	 * @param in stream with XLSX data
+	 * @param sheetName name of sheet to read. If null, first sheet is read
+	 * @param formatter to format numeric values. If null, raw values are returned
+	 * @throws IOException if stream can't be read or doesn't contain the sheet
+	 */
+	public XlsxSheetReader(InputStream in, String sheetName, DataFormatter formatter) throws IOException
+	{
+		this(openPackage(in), sheetName, formatter);
+	}
+	
+	protected XlsxSheetReader(OPCPackage pkg, String sheetName, DataFormatter formatter) throws IOException
+	{
+		this.pkg = pkg;
+		this.formatter = formatter;
+		InputStream stream = null;
+		try
+		{
+			XSSFReader reader = new XSSFReader(pkg);
+			sharedStrings = new ReadOnlySharedStringsTable(pkg);
+			styles = formatter != null ? reader.getStylesTable() : null;
+			stream = findSheet(reader, sheetName);
+			sheetStream = stream;
+			xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetStream);
+		}
+		catch (IOException | OpenXML4JException | SAXException | XMLStreamException | RuntimeException e)
+		{
+			Utils.closeResource(stream);
+			pkg.revert();
+			if (e instanceof IOException)
+				throw (IOException) e;
+			throw new IOException("Could not open XLSX sheet for reading", e);
+		}
+	}
+	
+	
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			xml.close();
+		}
+		catch (XMLStreamException e)
+		{
+			//Nothing to do, stream will be closed anyway
+		}
+		finally
+		{
+			Utils.closeResource(sheetStream);
+			pkg.revert();
+		}
+	}
+	
+	/**
+	 * Moves to next row that is present in sheet. Rows that are absent in file are skipped
+	 * @return true if row is read, false if there are no more rows in sheet
+	 * @throws IOException if sheet data is malformed
+	 */
+	public boolean nextRow() throws IOException
+	{
+		if (finished)
+			return false;
+		
+		try
+		{
+			while (xml.hasNext())
+			{
+				if (xml.next() == XMLStreamConstants.START_ELEMENT && EL_ROW.equals(xml.getLocalName()))
+				{
+					readRow();
+					return true;
+				}
+			}
+		}
+		catch (XMLStreamException | RuntimeException e)
+		{
+			throw new IOException("Error while reading XLSX sheet", e);
+		}
+		
+		finished = true;
+		values.clear();
+		return false;
+	}
+	
+	/**
+	 * @return zero-based index of current row in sheet
+	 */
+	public int getRowNum()
+	{
+		return rowNum;
+	}
+	
+	/**
+	 * @return zero-based index of first cell present in current row or -1 if row has no cells
+	 */
+	public int getFirstCellNum()
+	{
+		return firstCellNum;
+	}
+	
+	/**
+	 * @return index of last cell present in current row, plus 1. 0 if row has no cells
+	 */
+	public int getLastCellNum()
+	{
+		return values.size();
+	}
+	
+	/**
+	 * @param cellNum zero-based index of cell
+	 * @return value of cell in current row, "" for cell without value and null if cell is absent in file
+	 */
+	public String getValue(int cellNum)
+	{
+		return cellNum >= 0 && cellNum < values.size() ? values.get(cellNum) : null;
+	}
+	
+	/**
+	 * @return values of cells in current row where list index is cell index. Absent cells are represented by null
+	 */
+	public List<String> getValues()
+	{
+		return Collections.unmodifiableList(values);
+	}
+	
+	
+	private static OPCPackage openPackage(File file) throws IOException
+	{
+		try
+		{
+			return OPCPackage.open(file, PackageAccess.READ);
+		}
+		catch (OpenXML4JException | RuntimeException e)
+		{
+			throw new IOException("Could not open XLSX file '"+file+"'", e);
+		}
+	}
+	
+	private static OPCPackage openPackage(InputStream in) throws IOException
+	{
+		try
+		{
+			return OPCPackage.open(in);
+		}
+		catch (OpenXML4JException | RuntimeException e)
+		{
+			throw new IOException("Could not open XLSX data", e);
+		}
+	}
+	
+	private InputStream findSheet(XSSFReader reader, String sheetName) throws IOException, OpenXML4JException
+	{
+		XSSFReader.SheetIterator it = reader.getSheetIterator();
+		while (it.hasNext())
+		{
+			InputStream stream = it.next();
+			if (sheetName == null || sheetName.equals(it.getSheetName()))
+				return stream;
+			stream.close();
+		}
+		throw new IOException(sheetName == null ? "XLSX file has no sheets" : "Sheet '"+sheetName+"' not found in XLSX file");
+	}
+	
+	private void readRow() throws XMLStreamException
+	{
+		values.clear();
+		firstCellNum = -1;
+		
+		String ref = xml.getAttributeValue(null, ATTR_REF);
+		rowNum = ref != null ? Integer.parseInt(ref) - 1 : rowNum + 1;
+		
+		while (xml.hasNext())
+		{
+			int event = xml.next();
+			if (event == XMLStreamConstants.START_ELEMENT && EL_CELL.equals(xml.getLocalName()))
+				readCell();
+			else if (event == XMLStreamConstants.END_ELEMENT && EL_ROW.equals(xml.getLocalName()))
+				break;
+		}
+	}
+	
+	private void readCell() throws XMLStreamException
+	{
+		String ref = xml.getAttributeValue(null, ATTR_REF),
+				type = xml.getAttributeValue(null, ATTR_TYPE),
+				style = xml.getAttributeValue(null, ATTR_STYLE);
+		int cellNum = ref != null ? columnIndex(ref) : values.size();
+		
+		String value = null;
+		StringBuilder inlineText = null;
+		int phoneticDepth = 0;
+		while (xml.hasNext())
+		{
+			int event = xml.next();
+			if (event == XMLStreamConstants.START_ELEMENT)
+			{
+				String name = xml.getLocalName();
+				if (EL_VALUE.equals(name))
+					value = xml.getElementText();
+				else if (EL_INLINE_STRING.equals(name))
+					inlineText = new StringBuilder();
+				else if (EL_PHONETIC_RUN.equals(name))
+					phoneticDepth++;
+				else if (EL_TEXT.equals(name) && inlineText != null && phoneticDepth == 0)
+					inlineText.append(xml.getElementText());
+			}
+			else if (event == XMLStreamConstants.END_ELEMENT)
+			{
+				String name = xml.getLocalName();
+				if (EL_PHONETIC_RUN.equals(name))
+					phoneticDepth--;
+				else if (EL_CELL.equals(name))
+					break;
+			}
+		}
+		
+		while (values.size() <= cellNum)
+			values.add(null);
+		values.set(cellNum, cellValue(type, style, value, inlineText));
+		if (firstCellNum < 0 || cellNum < firstCellNum)
+			firstCellNum = cellNum;
+	}
+	
+	private String cellValue(String type, String style, String value, StringBuilder inlineText)
+	{
+		if (TYPE_INLINE_STRING.equals(type))
+			return inlineText != null ? inlineText.toString() : "";
+		if (value == null || value.isEmpty())
+			return "";
+		
+		if (TYPE_SHARED_STRING.equals(type))
+			return sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+		if (TYPE_BOOLEAN.equals(type))
+			return "1".equals(value.trim()) || "true".equalsIgnoreCase(value.trim()) ? "TRUE" : "FALSE";
+		if (type == null || "n".equals(type))
+			return formatNumber(style, value);
+		//Formula strings, errors and ISO dates are returned as they are stored
+		return value;
+	}
+	
+	private String formatNumber(String style, String value)
+	{
+		if (formatter == null)
+			return value;
+		
+		int formatIndex = 0;
+		String formatString = null;
+		if (style != null && !style.isEmpty())
+		{
+			XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+			if (cellStyle != null)
+			{
+				formatIndex = cellStyle.getDataFormat();
+				formatString = cellStyle.getDataFormatString();
+			}
+		}
+		if (formatString == null)
+			formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+		
+		try
+		{
+			return formatter.formatRawCellContents(Double.parseDouble(value), formatIndex, formatString);
+		}
+		catch (NumberFormatException e)
+		{
+			return value;
+		}
+	}
+	
+	/**
+	 * @param ref cell reference like "AB12"
+	 * @return zero-based index of column referred by given cell reference
+	 */
+	protected static int columnIndex(String ref)
+	{
+		int result = 0;
+		for (int i = 0, length = ref.length(); i < length; i++)
+		{
+			char c = ref.charAt(i);
+			if (c < 'A' || c > 'Z')
+				break;
+			result = result * 26 + (c - 'A' + 1);
+		}
+		return result - 1;
+	}
+}
@@ -0,0 +1,183 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactprosystems.clearth.utils.csv.readers.ClearThCsvReader;
+import com.exactprosystems.clearth.utils.csv.readers.ClearThCsvReaderConfig;
+
+/**
+ * Keeps contents of CSV files in memory to look up their rows without reading files again.
+ * File is reloaded if its modification time or size is changed.
+ * Total number of cached values is limited, least recently used files are removed from cache to not exceed the limit.
+ * Files with more values than the limit are not cached at all, cache only remembers that such file is too big till it is changed
+ */
+public class CsvLookupCache
+{
+	private static final Logger logger = LoggerFactory.getLogger(CsvLookupCache.class);
+	
+	public static final long DEFAULT_MAX_CELLS = 10_000_000;
+	
+	private final long maxCells;
+	private final Map<String, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+	private long cachedCells = 0;
+	
+	public CsvLookupCache()
+	{
+		this(DEFAULT_MAX_CELLS);
+	}
+	
+	/**
+	 * @param maxCells max number of values to keep in cache. 0 turns caching off
+	 */
+	public CsvLookupCache(long maxCells)
+	{
+		this.maxCells = maxCells;
+	}
+	
+	
+	/**
+	 * Returns contents of given CSV file, loading it if it is not cached yet or was changed since loading
+	 * @param fileName name of CSV file to get contents of
+	 * @param config to read file with. Must define first line as header
+	 * @return file contents or null if file is too big to be cached
+	 * @throws IOException if file could not be read or has no header
+	 */
+	public synchronized IndexedCsvFile getFile(String fileName, ClearThCsvReaderConfig config) throws IOException
+	{
+		if (maxCells <= 0)
+			return null;
+		
+		File file = new File(fileName).getCanonicalFile();
+		long modified = file.lastModified(),
+				length = file.length();
+		String key = createKey(file, config);
+		
+		CachedFile cached = files.get(key);
+		if (cached != null)
+		{
+			if (cached.modified == modified && cached.length == length)
+				return cached.contents;
+			
+			remove(key);
+		}
+		
+		IndexedCsvFile contents = load(file, config);
+		//File that is too big is remembered as well to not read it again till it is changed
+		CachedFile loaded = new CachedFile(contents, modified, length);
+		long cells = loaded.getCellsCount();
+		evict(maxCells - cells);
+		files.put(key, loaded);
+		cachedCells += cells;
+		return contents;
+	}
+	
+	public synchronized void clear()
+	{
+		files.clear();
+		cachedCells = 0;
+	}
+	
+	public synchronized long getCachedCells()
+	{
+		return cachedCells;
+	}
+	
+	
+	protected IndexedCsvFile load(File file, ClearThCsvReaderConfig config) throws IOException
+	{
+		try (ClearThCsvReader reader = new ClearThCsvReader(file.getPath(), config))
+		{
+			if (!reader.hasHeader())
+				throw new IOException("File does not have header");
+			
+			List<String> header = new ArrayList<>(reader.getHeader());
+			List<String[]> rows = new ArrayList<>();
+			long cells = 0;
+			while (reader.hasNext())
+			{
+				cells += header.size();
+				if (cells > maxCells)
+				{
+					logger.debug("File '{}' has more than {} values, it won't be cached", file, maxCells);
+					return null;
+				}
+				rows.add(reader.getValues());
+			}
+			
+			logger.debug("Cached {} rows from file '{}'", rows.size(), file);
+			return new IndexedCsvFile(header, rows);
+		}
+	}
+	
+	private void evict(long allowedCells)
+	{
+		Iterator<CachedFile> it = files.values().iterator();
+		while (cachedCells > allowedCells && it.hasNext())
+		{
+			cachedCells -= it.next().getCellsCount();
+			it.remove();
+		}
+	}
+	
+	private void remove(String key)
+	{
+		CachedFile removed = files.remove(key);
+		if (removed != null)
+			cachedCells -= removed.getCellsCount();
+	}
+	
+	private String createKey(File file, ClearThCsvReaderConfig config)
+	{
+		//Config is mutable, so its settings are copied to the key
+		return file.getPath() + '|' + config.getDelimiter() + config.isUseTextQualifier() + config.getTextQualifier()
+				+ config.isWithTrim() + config.isSkipEmptyRecords() + config.isFirstLineAsHeader() + config.isIgnoreSurroundingSpaces();
+	}
+	
+	
+	private static class CachedFile
+	{
+		final IndexedCsvFile contents;
+		final long modified,
+				length;
+		
+		CachedFile(IndexedCsvFile contents, long modified, long length)
+		{
+			this.contents = contents;
+			this.modified = modified;
+			this.length = length;
+		}
+		
+		long getCellsCount()
+		{
+			return contents != null ? contents.getCellsCount() : 0;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.csv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contents of CSV file loaded in memory. Allows to find rows by values of columns, ignoring case.
+ * Hash indexes of columns are built on demand, when rows are looked up by column for the first time
+ */
+public class IndexedCsvFile
+{
+	private static final int[] NO_ROWS = new int[0];
+	
+	private final List<String> header;
+	private final List<String[]> rows;
+	private final Map<Integer, Map<String, int[]>> indexes = new ConcurrentHashMap<>();
+	
+	public IndexedCsvFile(List<String> header, List<String[]> rows)
+	{
+		this.header = Collections.unmodifiableList(new ArrayList<>(header));
+		this.rows = rows;
+	}
+	
+	
+	public List<String> getHeader()
+	{
+		return header;
+	}
+	
+	public int getRowsCount()
+	{
+		return rows.size();
+	}
+	
+	/**
+	 * @return number of values stored in file
+	 */
+	public long getCellsCount()
+	{
+		return (long) rows.size() * header.size();
+	}
+	
+	/**
+	 * @param row index of row
+	 * @param column index of column in header
+	 * @return value from given row and column or null if row has no such column
+	 */
+	public String getValue(int row, int column)
+	{
+		String[] values = rows.get(row);
+		return column < values.length ? values[column] : null;
+	}
+	
+	/**
+	 * Finds rows that contain given values in given columns. Values are compared ignoring case
+	 * @param columnValues map of column index to value expected in this column. Must not be empty
+	 * @return indexes of rows found in ascending order
+	 */
+	public int[] findRows(Map<Integer, String> columnValues)
+	{
+		int[] result = null;
+		for (Map.Entry<Integer, String> cv : columnValues.entrySet())
+		{
+			int[] found = getIndex(cv.getKey()).getOrDefault(foldCase(cv.getValue()), NO_ROWS);
+			if (result == null || found.length < result.length)
+				result = found;
+		}
+		if (result == null || result.length == 0)
+			return NO_ROWS;
+		
+		//Checking all columns for rows from the smallest candidates set
+		int[] matched = new int[result.length];
+		int count = 0;
+		for (int row : result)
+		{
+			if (isRowMatches(row, columnValues))
+				matched[count++] = row;
+		}
+		return count == matched.length ? matched : Arrays.copyOf(matched, count);
+	}
+	
+	
+	protected boolean isRowMatches(int row, Map<Integer, String> columnValues)
+	{
+		for (Map.Entry<Integer, String> cv : columnValues.entrySet())
+		{
+			if (!cv.getValue().equalsIgnoreCase(getValue(row, cv.getKey())))
+				return false;
+		}
+		return true;
+	}
+	
+	protected Map<String, int[]> getIndex(int column)
+	{
+		return indexes.computeIfAbsent(column, this::buildIndex);
+	}
+	
+	private Map<String, int[]> buildIndex(int column)
+	{
+		Map<String, List<Integer>> rowsByValue = new HashMap<>();
+		for (int i = 0, size = rows.size(); i < size; i++)
+		{
+			String value = getValue(i, column);
+			if (value != null)
+				rowsByValue.computeIfAbsent(foldCase(value), v -> new ArrayList<>(1)).add(i);
+		}
+		
+		Map<String, int[]> result = new HashMap<>(rowsByValue.size() * 4 / 3 + 1);
+		for (Map.Entry<String, List<Integer>> e : rowsByValue.entrySet())
+			result.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+		return result;
+	}
+	
+	/**
+	 * @return string that is equal to folded version of another string if and only if original strings are equal ignoring case
+	 */
+	protected static String foldCase(String s)
+	{
+		//String.equalsIgnoreCase() compares characters converted to upper case and then to lower case
+		char[] chars = s.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		return new String(chars);
+	}
+}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2025 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -50,6 +50,7 @@ public class ComparisonConfiguration
 			CHECK_DUPLICATES = "CheckDuplicates",
 			LIST_FAILED_COLUMNS = "ListFailedColumnsInReport",
 			FAIL_UNEXPECTED_COLUMNS = "FailUnexpectedColumns",
+			SORTED_BY_KEYS = "SortedByKeys",
 			PASSED = "Passed",
 			FAILED = "Failed",
 			NOT_FOUND = "NotFound",
@@ -79,7 +80,8 @@ public class ComparisonConfiguration
 	protected boolean checkDuplicates,
 			listFailedColumns,
 			keyValuesInHeader,
-			failUnexpectedColumns;
+			failUnexpectedColumns,
+			sortedByKeys;
 	
 	protected ComparisonRowsConfiguration passedRowsConfig,
 			failedRowsConfig,
@@ -115,6 +117,7 @@ public class ComparisonConfiguration
 		listFailedColumns = handler.getBoolean(LIST_FAILED_COLUMNS, false);
 		keyValuesInHeader = handler.getBoolean(KEY_VALUES_IN_HEADER, false);
 		failUnexpectedColumns = handler.getBoolean(FAIL_UNEXPECTED_COLUMNS, false);
+		sortedByKeys = handler.getBoolean(SORTED_BY_KEYS, false);
 		
 		passedRowsConfig = new ComparisonRowsConfiguration(handler.getInteger(MIN_PASSED_ROWS_TO_STORE, DEFAULT_MIN_STORED_ROWS_COUNT),
 				handler.getInteger(MAX_PASSED_ROWS_TO_STORE, DEFAULT_MAX_STORED_ROWS_COUNT),
@@ -232,4 +235,13 @@ public class ComparisonConfiguration
 	{
 		return failUnexpectedColumns;
 	}
+	
+	/**
+	 * @return true if expected and actual data sets are sorted by values of key columns, 
+	 * so that matching rows can be compared without storing them till the end of comparison
+	 */
+	public boolean isSortedByKeys()
+	{
+		return sortedByKeys;
+	}
 }
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -31,6 +31,7 @@ import com.exactprosystems.clearth.utils.tabledata.readers.BasicTableDataReader;
 import com.exactprosystems.clearth.utils.tabledata.rowMatchers.TableRowMatcher;
 
 import java.io.IOException;
+import java.util.Comparator;
 
 /**
  * Comparator for indexed data sets which works with columns and row values represented as strings.
@@ -45,6 +46,14 @@ public class IndexedStringTableDataComparator<C extends PrimaryKey> extends Inde
 		super(expectedReader, actualReader, rowMatcher, rowsComparator, new StringValueParser());
 	}
 	
+	public IndexedStringTableDataComparator(BasicTableDataReader<String, String, ?> expectedReader,
+			BasicTableDataReader<String, String, ?> actualReader,
+			TableRowMatcher<String, String, C> rowMatcher,
+			TableRowsComparator<String, String> rowsComparator, Comparator<C> keyOrder) throws IOException, ParametersException
+	{
+		super(expectedReader, actualReader, rowMatcher, rowsComparator, new StringValueParser(), keyOrder);
+	}
+	
 	public IndexedStringTableDataComparator(BasicTableDataReader<String, String, ?> expectedReader,
 			BasicTableDataReader<String, String, ?> actualReader,
 			                                TableRowMatcher<String, String, C> rowMatcher,
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -29,27 +29,62 @@ import com.exactprosystems.clearth.utils.tabledata.comparison.rowsComparators.Ta
 import com.exactprosystems.clearth.utils.tabledata.comparison.valuesComparators.SimpleValuesComparator;
 import com.exactprosystems.clearth.utils.tabledata.converters.ValueParser;
 import com.exactprosystems.clearth.utils.tabledata.rowMatchers.TableRowMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 
 /**
  * Table data comparator used for indexed data sets.
  * Rows to compare are matched by their primary keys.
+ * If order of primary keys is given, data sets are expected to be sorted by primary keys in that order. 
+ * Rows are then matched by merging both data sets, keeping in memory only rows with the same primary key, 
+ * so memory usage doesn't depend on size of data sets. Row is reported as not found or extra 
+ * as soon as the other data set reaches greater primary key. 
+ * If order violation is found, comparison of remaining rows continues in usual way, i.e. by storing non-matched rows. 
+ * Rows reported as not found or extra before the violation are not re-checked, 
+ * so in this case result of comparison can differ from the one obtained without order of keys.
  * @param <A> class of header members.
  * @param <B> class of values in table rows.
  * @param <C> class of primary key.
  */
 public abstract class IndexedTableDataComparator<A, B, C extends PrimaryKey> extends TableDataComparator<A, B>
 {
+	private static final Logger logger = LoggerFactory.getLogger(IndexedTableDataComparator.class);
+	
 	protected IndexedTableData<A, B, C> expectedStorage, actualStorage;
 	protected TableRowMatcher<A, B, C> rowMatcher;
 	
+	protected Comparator<C> keyOrder;
+	protected boolean sortedMode;
+	protected final Deque<TableRow<A, B>> expectedGroup = new ArrayDeque<>(),
+			actualGroup = new ArrayDeque<>();
+	protected TableRow<A, B> expectedNext, actualNext;
+	protected C expectedNextKey, actualNextKey;
+	
 	public IndexedTableDataComparator(BasicTableDataReader<A, B, ?> expectedReader, BasicTableDataReader<A, B, ?> actualReader,
 			TableRowMatcher<A, B, C> rowMatcher, TableRowsComparator<A, B> rowsComparator, ValueParser<A, B> valueParser)
 			throws IOException, ParametersException
+	{
+		this(expectedReader, actualReader, rowMatcher, rowsComparator, valueParser, null);
+	}
+	
+	/**
+	 * @param keyOrder order of primary keys in which rows of both data sets are sorted. 
+	 * If null, data sets can have rows in any order
+	 */
+	public IndexedTableDataComparator(BasicTableDataReader<A, B, ?> expectedReader, BasicTableDataReader<A, B, ?> actualReader,
+			TableRowMatcher<A, B, C> rowMatcher, TableRowsComparator<A, B> rowsComparator, ValueParser<A, B> valueParser,
+			Comparator<C> keyOrder) throws IOException, ParametersException
 	{
 		super(expectedReader, actualReader, rowsComparator, valueParser);
 		this.rowMatcher = rowMatcher;
+		this.keyOrder = keyOrder;
+		this.sortedMode = keyOrder != null;
 		checkHeaders();
 		
 		expectedStorage = createExpectedStorage(expectedHeader, rowMatcher);
@@ -88,6 +123,11 @@ public abstract class IndexedTableDataComparator<A, B, C extends PrimaryKey> ext
 	@Override
 	public boolean hasMoreRows() throws IOException
 	{
+		if (sortedMode)
+		{
+			readNextRows();
+			return hasBufferedRows();
+		}
 		return super.hasMoreRows() || !expectedStorage.isEmpty() || !actualStorage.isEmpty();
 	}
 	
@@ -97,22 +137,29 @@ public abstract class IndexedTableDataComparator<A, B, C extends PrimaryKey> ext
 	 */
 	@Override
 	public RowComparisonData<A, B> compareRows() throws IOException
+	{
+		if (sortedMode)
+			return compareSortedRows();
+		return compareStoredRows();
+	}
+	
+	/**
+	 * @return true if data sets are being compared as sorted by primary keys, 
+	 * false if order of keys is not given or order violation has been found
+	 */
+	public boolean isSortedMode()
+	{
+		return sortedMode;
+	}
+	
+	protected RowComparisonData<A, B> compareStoredRows() throws IOException
 	{
 		TableRow<A, B> expectedRow = null, actualRow;
 		do
 		{
+			// Get rows for comparison from table data objects because sources have no more data to read
 			if (!expectedReadMore && !actualReadMore)
-			{
-				// Get rows for comparison from table data objects because sources have no more data to read
-				if (!expectedStorage.isEmpty())
-				{
-					expectedRow = getSomeTableRow(expectedStorage);
-					actualRow = actualStorage.findAndRemove(expectedRow);
-				}
-				else
-					actualRow = getSomeTableRow(actualStorage);
-				break;
-			}
+				return compareRemainingRows();
 			
 			// Read next rows from sources and try to find ones which match
 			if (expectedReadMore)
@@ -134,6 +181,198 @@ public abstract class IndexedTableDataComparator<A, B, C extends PrimaryKey> ext
 		return rowsComparator.compareRows(expectedRow, actualRow, commonHeader);
 	}
 	
+	/**
+	 * Compares next pair of rows taken from storages. Used when sources are read completely
+	 */
+	protected RowComparisonData<A, B> compareRemainingRows()
+	{
+		TableRow<A, B> expectedRow = null, actualRow;
+		if (!expectedStorage.isEmpty())
+		{
+			expectedRow = getSomeTableRow(expectedStorage);
+			actualRow = actualStorage.findAndRemove(expectedRow);
+		}
+		else
+			actualRow = getSomeTableRow(actualStorage);
+		
+		currentRow = expectedRow != null ? expectedRow : actualRow;
+		return rowsComparator.compareRows(expectedRow, actualRow, commonHeader);
+	}
+	
+	/**
+	 * Compares next pair of rows from groups of rows with the same primary key. 
+	 * Next groups are read from sources when current ones are fully compared. 
+	 * Rows without match in the other group are reported right away, because the other data set can't contain them further
+	 */
+	protected RowComparisonData<A, B> compareSortedRows() throws IOException
+	{
+		if (expectedGroup.isEmpty() && actualGroup.isEmpty() && !readNextGroups())
+		{
+			switchToStoredRows();
+			return compareStoredRows();
+		}
+		
+		TableRow<A, B> expectedRow, actualRow;
+		if (!expectedGroup.isEmpty())
+		{
+			expectedRow = expectedGroup.poll();
+			actualRow = pollMatchingRow(actualGroup, expectedRow);
+		}
+		else
+		{
+			expectedRow = null;
+			actualRow = actualGroup.poll();
+		}
+		
+		currentRow = expectedRow != null ? expectedRow : actualRow;
+		return rowsComparator.compareRows(expectedRow, actualRow, commonHeader);
+	}
+	
+	protected boolean hasBufferedRows()
+	{
+		return expectedNext != null || actualNext != null || !expectedGroup.isEmpty() || !actualGroup.isEmpty();
+	}
+	
+	/**
+	 * Reads next row from each source if it is not read yet. 
+	 * Each check for more data moves source to the next row, so the row is read right after the check
+	 */
+	protected void readNextRows() throws IOException
+	{
+		if (expectedNext == null && expectedReader.hasMoreData())
+		{
+			expectedNext = expectedReader.readRow();
+			expectedNextKey = rowMatcher.createPrimaryKey(expectedNext);
+		}
+		if (actualNext == null && actualReader.hasMoreData())
+		{
+			actualNext = actualReader.readRow();
+			actualNextKey = rowMatcher.createPrimaryKey(actualNext);
+		}
+	}
+	
+	/**
+	 * Reads rows with the smallest primary key from one or both sources.
+	 * @return false if rows in one of sources are not sorted by primary keys
+	 */
+	protected boolean readNextGroups() throws IOException
+	{
+		readNextRows();
+		if (expectedNext == null && actualNext == null)
+			return true;
+		
+		int order;
+		if (expectedNext == null)
+			order = 1;
+		else if (actualNext == null)
+			order = -1;
+		else
+			order = keyOrder.compare(expectedNextKey, actualNextKey);
+		
+		boolean sorted = true;
+		if (order <= 0)
+			sorted = readExpectedGroup();
+		if (order >= 0)
+			sorted &= readActualGroup();
+		return sorted;
+	}
+	
+	protected boolean readExpectedGroup() throws IOException
+	{
+		C key = expectedNextKey;
+		expectedGroup.add(expectedNext);
+		expectedNext = null;
+		expectedNextKey = null;
+		while (expectedReader.hasMoreData())
+		{
+			TableRow<A, B> row = expectedReader.readRow();
+			C rowKey = rowMatcher.createPrimaryKey(row);
+			int order = keyOrder.compare(rowKey, key);
+			if (order == 0)
+			{
+				expectedGroup.add(row);
+				continue;
+			}
+			
+			expectedNext = row;
+			expectedNextKey = rowKey;
+			return checkOrder(order, key, rowKey, true);
+		}
+		return true;
+	}
+	
+	protected boolean readActualGroup() throws IOException
+	{
+		C key = actualNextKey;
+		actualGroup.add(actualNext);
+		actualNext = null;
+		actualNextKey = null;
+		while (actualReader.hasMoreData())
+		{
+			TableRow<A, B> row = actualReader.readRow();
+			C rowKey = rowMatcher.createPrimaryKey(row);
+			int order = keyOrder.compare(rowKey, key);
+			if (order == 0)
+			{
+				actualGroup.add(row);
+				continue;
+			}
+			
+			actualNext = row;
+			actualNextKey = rowKey;
+			return checkOrder(order, key, rowKey, false);
+		}
+		return true;
+	}
+	
+	protected boolean checkOrder(int order, C previousKey, C key, boolean forExpected)
+	{
+		if (order > 0)
+			return true;
+		
+		logger.warn("Rows of {} data are not sorted by key columns: key {} follows key {}. " +
+				"Remaining rows will be compared without relying on their order, rows already reported as not found or extra won't be re-checked",
+				forExpected ? "expected" : "actual", key, previousKey);
+		return false;
+	}
+	
+	/**
+	 * Moves all buffered rows to storages so that comparison continues without relying on order of rows
+	 */
+	protected void switchToStoredRows() throws IOException
+	{
+		sortedMode = false;
+		
+		expectedGroup.forEach(expectedStorage::add);
+		actualGroup.forEach(actualStorage::add);
+		expectedGroup.clear();
+		actualGroup.clear();
+		
+		if (expectedNext != null)
+			expectedStorage.add(expectedNext);
+		if (actualNext != null)
+			actualStorage.add(actualNext);
+		expectedNext = actualNext = null;
+		expectedNextKey = actualNextKey = null;
+		
+		//All rows read from sources are in storages now, so flags used in comparison of stored rows can be updated
+		hasMoreRows();
+	}
+	
+	protected TableRow<A, B> pollMatchingRow(Deque<TableRow<A, B>> group, TableRow<A, B> row)
+	{
+		for (Iterator<TableRow<A, B>> it = group.iterator(); it.hasNext(); )
+		{
+			TableRow<A, B> groupRow = it.next();
+			if (rowMatcher.matchBySecondaryKey(row, groupRow))
+			{
+				it.remove();
+				return groupRow;
+			}
+		}
+		return null;
+	}
+	
 	/**
 	 * Returns {@link TableRowMatcher} used by this indexed comparator to match rows before comparison.
 	 */
@@ -0,0 +1,53 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.utils.tabledata.primarykeys;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Orders primary keys made of string values, comparing values one by one. 
+ * Values are compared as strings, like VARCHAR columns are sorted by databases with binary collation. 
+ * Null values go first. 
+ * Numeric key columns are not part of primary key, so they don't affect the order.
+ */
+public class StringPrimaryKeyComparator implements Comparator<CollectionPrimaryKey<String>>
+{
+	@Override
+	public int compare(CollectionPrimaryKey<String> key1, CollectionPrimaryKey<String> key2)
+	{
+		List<String> values1 = key1.toList(),
+				values2 = key2.toList();
+		int size = Math.min(values1.size(), values2.size());
+		for (int i = 0; i < size; i++)
+		{
+			int result = compareValues(values1.get(i), values2.get(i));
+			if (result != 0)
+				return result;
+		}
+		return Integer.compare(values1.size(), values2.size());
+	}
+	
+	protected int compareValues(String value1, String value2)
+	{
+		if (value1 == null || value2 == null)
+			return value1 == null ? (value2 == null ? 0 : -1) : 1;
+		return value1.compareTo(value2);
+	}
+}
@@ -0,0 +1,143 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.tabledata.readers;
+
+import com.exactprosystems.clearth.utils.XlsxSheetReader;
+import com.exactprosystems.clearth.utils.tabledata.BasicTableData;
+import com.exactprosystems.clearth.utils.tabledata.TableRow;
+import org.apache.poi.ss.usermodel.DataFormatter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads XLSX sheet as a stream, keeping in memory only the row being read.
+ * Values are formatted in the same way as in {@link AbstractExcelDataReader}, but formulas are not evaluated, cached results are used
+ */
+public abstract class AbstractStreamingXlsxDataReader<C extends BasicTableData<String, String>> extends BasicTableDataReader<String, String, C>
+{
+	protected final XlsxSheetReader sheetReader;
+	protected StreamingXlsxRowFilter rowFilter;
+	
+	//Column names by cell index. If column name is duplicated, only its first occurrence is used, others are null
+	protected List<String> headerInds;
+	
+	protected List<String> rowValues;
+	protected int rowIndex;
+	private boolean rowAhead = false;
+	
+	public AbstractStreamingXlsxDataReader(File f, String sheetName) throws IOException
+	{
+		sheetReader = new XlsxSheetReader(f, sheetName, createDataFormatter());
+	}
+	
+	public AbstractStreamingXlsxDataReader(FileInputStream in, String sheetName) throws IOException
+	{
+		sheetReader = new XlsxSheetReader(in, sheetName, createDataFormatter());
+	}
+	
+	
+	public void setRowFilter(StreamingXlsxRowFilter rowFilter)
+	{
+		this.rowFilter = rowFilter;
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		sheetReader.close();
+	}
+	
+	@Override
+	protected Set<String> readHeader() throws IOException
+	{
+		Set<String> headers = new LinkedHashSet<>();
+		headerInds = new ArrayList<>();
+		if (!sheetReader.nextRow())
+			return headers;
+		
+		for (String name : sheetReader.getValues())
+		{
+			//Handling case with duplicate column names. Only first occurrence will be used
+			if (name != null && headers.add(name))
+				headerInds.add(name);
+			else
+				headerInds.add(null);
+		}
+		rowIndex = sheetReader.getRowNum() + 1;
+		return headers;
+	}
+	
+	@Override
+	public boolean hasMoreData() throws IOException
+	{
+		if (!rowAhead)
+		{
+			if (!sheetReader.nextRow())
+				return false;
+			rowAhead = true;
+		}
+		
+		//Rows absent in sheet are read as empty ones
+		if (sheetReader.getRowNum() > rowIndex)
+		{
+			rowValues = Collections.emptyList();
+			rowIndex++;
+		}
+		else
+		{
+			rowValues = sheetReader.getValues();
+			rowIndex = sheetReader.getRowNum() + 1;
+			rowAhead = false;
+		}
+		return true;
+	}
+	
+	@Override
+	protected void fillRow(TableRow<String, String> newRow)
+	{
+		for (int i = 0, length = headerInds.size(); i < length; i++)
+		{
+			String headerName = headerInds.get(i);
+			if (headerName == null)
+				continue;
+			
+			String value = i < rowValues.size() ? rowValues.get(i) : null;
+			newRow.setValue(headerName, value == null ? "" : value);
+		}
+	}
+	
+	@Override
+	public boolean filter() throws IOException
+	{
+		return rowFilter == null || rowFilter.filter(rowIndex - 1, rowValues);
+	}
+	
+	protected DataFormatter createDataFormatter()
+	{
+		return new DataFormatter();
+	}
+}
@@ -0,0 +1,72 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.tabledata.readers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Set;
+
+import com.exactprosystems.clearth.utils.Utils;
+import com.exactprosystems.clearth.utils.tabledata.RowsListFactory;
+import com.exactprosystems.clearth.utils.tabledata.StringTableData;
+
+/**
+ * Reads XLSX sheet as a stream. Use it instead of {@link XlsxDataReader} for big files
+ */
+public class StreamingXlsxDataReader extends AbstractStreamingXlsxDataReader<StringTableData>
+{
+	public StreamingXlsxDataReader(File f, String sheetName) throws IOException
+	{
+		super(f, sheetName);
+	}
+
+	public StreamingXlsxDataReader(FileInputStream in, String sheetName) throws IOException
+	{
+		super(in, sheetName);
+	}
+
+	/**
+	 * Reads whole XLSX sheet, closing reader after that
+	 * @param f XLSX file to read data from
+	 * @param sheetName sheet to read data from
+	 * @return TableData object with header that corresponds to XLSX sheet and rows that contain all data
+	 * @throws IOException if error occurs while reading data
+	 */
+	public static StringTableData read(File f, String sheetName) throws IOException
+	{
+		StreamingXlsxDataReader reader = null;
+		try
+		{
+			reader = new StreamingXlsxDataReader(f, sheetName);
+			return reader.readAllData();
+		}
+		finally
+		{
+			Utils.closeResource(reader);
+		}
+	}
+
+	@Override
+	protected StringTableData createTableData(Set<String> header, RowsListFactory<String, String> rowsListFactory)
+	{
+		return new StringTableData(header, rowsListFactory);
+	}
+}
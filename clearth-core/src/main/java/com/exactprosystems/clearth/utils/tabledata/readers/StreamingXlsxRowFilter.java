@@ -0,0 +1,35 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.tabledata.readers;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface StreamingXlsxRowFilter
+{
+	/**
+	 * Filter rows to add to TableData
+	 * @param rowNum zero-based index of row in sheet
+	 * @param values of cells in row where list index is cell index. Absent cells are represented by null
+	 * @return true if row should be added to TableData
+	 * @throws IOException
+	 */
+	boolean filter(int rowNum, List<String> values) throws IOException;
+}
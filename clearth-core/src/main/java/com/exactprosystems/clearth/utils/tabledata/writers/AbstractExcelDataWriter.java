@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2019 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -66,9 +66,22 @@ public abstract class AbstractExcelDataWriter extends TableDataWriter<String, St
 	@Override
 	public void close() throws IOException
 	{
-		wb.write(out);
-		wb.close();
-		out.close();
+		try
+		{
+			wb.write(out);
+		}
+		finally
+		{
+			//Closing workbook even if writing failed, streaming workbook removes its temporary files on close
+			try
+			{
+				wb.close();
+			}
+			finally
+			{
+				out.close();
+			}
+		}
 	}
 
 	@Override
@@ -0,0 +1,103 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.tabledata.writers;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import com.exactprosystems.clearth.utils.Utils;
+import com.exactprosystems.clearth.utils.tabledata.StringTableData;
+import com.exactprosystems.clearth.utils.tabledata.TableHeader;
+
+/**
+ * Writes XLSX file keeping only limited number of recently written rows in memory, other rows are flushed to temporary file.
+ * Rows written before can't be changed. Use it instead of {@link XlsxDataWriter} for big tables
+ */
+public class StreamingXlsxDataWriter extends XlsxDataWriter
+{
+	public StreamingXlsxDataWriter(TableHeader<String> header, File f, String sheetName, boolean appendSheet, boolean needHeader, boolean appendFile)
+			throws IOException, InvalidFormatException
+	{
+		super(header, f, sheetName, appendSheet, needHeader, appendFile);
+		
+		//Rows that existed in file are not accessible via streaming sheet, thus taking their number from underlying sheet
+		if (appendSheet && rowIndex == 0)
+		{
+			Sheet existing = ((SXSSFWorkbook) wb).getXSSFWorkbook().getSheet(sheetName);
+			if (existing != null && existing.getPhysicalNumberOfRows() > 0)
+				rowIndex = existing.getLastRowNum() + 1;
+		}
+	}
+
+	/**
+	 * Writes whole table to given file, closing writer after that
+	 * @param table to write data from
+	 * @param f file to write data to
+	 * @param sheetName sheet to write data to
+	 * @param appendSheet flag which indicates if existing sheet should be appended or overwritten
+	 * @param appendFile flag which indicates if existing file should be appended or overwritten
+	 * @throws IOException if error occurs while writing data
+	 * @throws InvalidFormatException
+	 */
+	public static void write(StringTableData table, File f, String sheetName, boolean appendSheet, boolean needHeader, boolean appendFile)
+			throws IOException, InvalidFormatException
+	{
+		StreamingXlsxDataWriter writer = null;
+		try
+		{
+			writer = new StreamingXlsxDataWriter(table.getHeader(), f, sheetName, appendSheet, needHeader, appendFile);
+			writer.write(table.getRows());
+		}
+		finally
+		{
+			Utils.closeResource(writer);
+		}
+	}
+
+	@Override
+	public Workbook createWorkbook(FileInputStream in, boolean appendFile) throws IOException, InvalidFormatException
+	{
+		Workbook result = super.createWorkbook(in, appendFile);
+		if (result instanceof SXSSFWorkbook)
+			return result;
+		return new SXSSFWorkbook((XSSFWorkbook) result, getRowAccessWindowSize());
+	}
+
+	@Override
+	public Workbook createWorkbook() throws IOException, InvalidFormatException
+	{
+		return new SXSSFWorkbook(getRowAccessWindowSize());
+	}
+
+	/**
+	 * @return number of rows to keep in memory while writing
+	 */
+	protected int getRowAccessWindowSize()
+	{
+		return SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+	}
+}
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
 import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
@@ -38,6 +39,8 @@ import org.testng.annotations.Test;
 
 import com.exactprosystems.clearth.ApplicationManager;
 import com.exactprosystems.clearth.automation.actions.Compare2Values;
+import com.exactprosystems.clearth.automation.actions.SleepAction;
+import com.exactprosystems.clearth.automation.async.WaitAsyncEnd;
 import com.exactprosystems.clearth.automation.report.ActionReportWriter;
 import com.exactprosystems.clearth.automation.report.AssertReports;
 import com.exactprosystems.clearth.automation.report.ReportsConfig;
@@ -138,6 +141,57 @@ public class ActionExecutorTest
 				reportsConfig.isCompleteJsonReport());
 	}
 	
+	@Test
+	public void waitForAsyncActionsEndsWhenActionFinishes() throws Exception
+	{
+		GlobalContext gc = new GlobalContext(new Date(), false, Collections.emptyMap(), null, "user", new DefaultTestExecutionHandler());
+		MatrixFunctions mf = new MatrixFunctions(gc.getHolidays(), gc.getCurrentDate(), null, false, new IncrementingValueGenerator(0));
+		ActionReportWriter reportWriter = new ActionReportWriter(new ReportsConfig(false, false, false), null);
+		
+		String stepName = "Step1";
+		Matrix matrix = createMatrix("matrix1.csv");
+		Step step = createStep(stepName);
+		ActionSettings settings = new ActionSettings();
+		settings.setMatrix(matrix);
+		settings.setStep(step);
+		settings.setActionId("id1");
+		settings.setTimeout(300);
+		settings.setAsync(true);
+		settings.setWaitAsyncEnd(WaitAsyncEnd.STEP);
+		settings.setParams(Collections.emptyMap());
+		Action action = new SleepAction();
+		action.preInit(null, "Sleep", Collections.emptyMap());
+		action.init(settings);
+		
+		//Interval is much longer than action execution, wait must end when action finishes, not when interval passes
+		int waitInterval = 10000;
+		ActionExecutor exec = new ActionExecutor(gc, new ActionParamsCalculator(mf), reportWriter, new FailoverStatus(), true, Collections.emptySet())
+		{
+			@Override
+			protected int getAsyncEndWaitInterval()
+			{
+				return waitInterval;
+			}
+		};
+		try
+		{
+			exec.reset(TEST_OUTPUT.resolve("async").toString()+"/", new ActionsExecutionProgress());
+			exec.callActionAsync(action, new StepContext(stepName, new Date()), matrix.getContext());
+			
+			long started = System.currentTimeMillis();
+			exec.waitForStepAsyncActions(stepName);
+			long waited = System.currentTimeMillis() - started;
+			
+			Assert.assertTrue(waited < waitInterval / 2, "Wait took "+waited+" ms");
+			Assert.assertTrue(action.isPayloadFinished(), "Result of finished action is applied");
+			Assert.assertEquals(exec.getActiveAsyncActions(), 0, "Active async actions");
+		}
+		finally
+		{
+			Utils.closeResource(exec);
+		}
+	}
+	
 	private Matrix createMatrix(String matrixName)
 	{
 		Matrix matrix = new Matrix(new MvelVariablesFactory(null, null));
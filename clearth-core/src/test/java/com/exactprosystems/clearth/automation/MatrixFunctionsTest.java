@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -20,6 +20,8 @@ package com.exactprosystems.clearth.automation;
 
 import com.exactprosystems.clearth.*;
 import com.exactprosystems.clearth.automation.exceptions.FunctionException;
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import com.exactprosystems.clearth.automation.expressions.ParameterTemplate;
 import com.exactprosystems.clearth.generators.LegacyValueGenerator;
 import com.exactprosystems.clearth.generators.LegacyValueGenerators;
 import com.exactprosystems.clearth.utils.ComparisonUtils;
@@ -50,11 +52,14 @@ import java.util.stream.Collectors;
 import static com.exactprosystems.clearth.utils.FileOperationUtils.resourceToAbsoluteFilePath;
 import static java.math.BigDecimal.valueOf;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static org.hamcrest.core.AnyOf.anyOf;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 public class MatrixFunctionsTest extends BasicTestNgTest
@@ -1764,6 +1769,59 @@ public class MatrixFunctionsTest extends BasicTestNgTest
 		assertEquals(actualResult, expectedResult);
 	}
 
+	@Test(dataProvider = "calculate-expression")
+	public void checkCalculateTemplate(String expression, String paramName, Map<String, Object> mvelVars,
+										 Map<String, String> fixedIDs, Action currentAction,
+										 Object expectedResult) throws Exception
+	{
+		MatrixFunctions mf = getMatrixFunctionsForCalcExp();
+
+		ParameterTemplate template = mf.createTemplate(expression);
+		Object actualResult = mf.calculateTemplate(template, paramName, mvelVars, fixedIDs,
+				currentAction, new ObjectWrapper(0));
+		assertEquals(actualResult, expectedResult);
+	}
+
+	@DataProvider(name = "templates")
+	public Object[][] createTemplatesData()
+	{
+		return new Object[][]
+				{
+					{"Qty @{a} of @{b + c}!", "Qty 1 of 5!"},
+					{"@{a}@{b}", "12"},
+					{"@{reference}", 2},
+					{"@{'@'}{b}", 2},
+					{"@{''}@{isNull}", "@{isNull}"},
+					{"@{nullValue} and @{a}", "null and 1"}
+				};
+	}
+
+	@Test(dataProvider = "templates")
+	public void checkTemplateCalculatedAsExpression(String expression, Object expectedResult) throws Exception
+	{
+		Map<String, Object> mvelVars = new HashMap<>();
+		mvelVars.put("a", 1);
+		mvelVars.put("b", 2);
+		mvelVars.put("c", 3);
+		mvelVars.put("reference", "@{b}");
+		mvelVars.put("nullValue", null);
+		MatrixFunctions mf = getMatrixFunctionsForCalcExp();
+
+		Object expressionResult = mf.calculateExpression(expression, null, mvelVars, emptyMap(), null, new ObjectWrapper(0)),
+				templateResult = mf.calculateTemplate(mf.createTemplate(expression), null, mvelVars, emptyMap(), null, new ObjectWrapper(0));
+		assertEquals(expressionResult, expectedResult);
+		assertEquals(templateResult, expressionResult);
+	}
+
+	@Test
+	public void checkTemplateNotCreated() throws ParametersException
+	{
+		MatrixFunctions mf = getMatrixFunctionsForCalcExp();
+		assertNull(mf.createTemplate("plain value"));
+		assertNull(mf.createTemplate(ComparisonUtils.IS_NULL));
+		assertNotNull(mf.createTemplate("@{a}"));
+	}
+
 	@DataProvider(name = "absentReferencesData")
 	public Object[][] createAbsentReferencesData()
 	{
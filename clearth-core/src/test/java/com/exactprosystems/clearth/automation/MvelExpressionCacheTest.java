@@ -0,0 +1,88 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation;
+
+import com.exactprosystems.clearth.utils.ClearThException;
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MvelExpressionCacheTest
+{
+	private MvelExpressionCache cache;
+
+	@BeforeMethod
+	public void init()
+	{
+		ParserContext context = new ParserContext();
+		context.addImport(MatrixFunctions.class);
+		cache = new MvelExpressionCache(context, new MvelExpressionValidator(), 2);
+	}
+
+	@Test
+	public void compiledExpressionIsReused() throws ClearThException
+	{
+		Serializable first = cache.getCompiled("a + b"),
+				second = cache.getCompiled(" a + b ");
+
+		Assert.assertSame(second, first);
+		Assert.assertEquals(cache.getMisses(), 1);
+		Assert.assertEquals(cache.getHits(), 1);
+
+		Map<String, Object> vars = new HashMap<>();
+		vars.put("a", 1);
+		vars.put("b", 2);
+		Assert.assertEquals(MVEL.executeExpression(second, vars), 3);
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() throws ClearThException
+	{
+		Serializable first = cache.getCompiled("1 + 1");
+		cache.getCompiled("2 + 2");
+		cache.getCompiled("1 + 1");
+		cache.getCompiled("3 + 3");
+
+		Assert.assertEquals(cache.getSize(), 2);
+		Assert.assertSame(cache.getCompiled("1 + 1"), first);
+		Assert.assertEquals(cache.getMisses(), 3);
+
+		cache.getCompiled("2 + 2");
+		Assert.assertEquals(cache.getMisses(), 4);
+	}
+
+	@Test(expectedExceptions = ClearThException.class)
+	public void invalidExpressionIsNotCached() throws ClearThException
+	{
+		try
+		{
+			cache.getCompiled("id.A id.B");
+		}
+		finally
+		{
+			Assert.assertEquals(cache.getSize(), 0);
+		}
+	}
+}
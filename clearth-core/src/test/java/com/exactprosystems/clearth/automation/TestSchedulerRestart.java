@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -85,9 +85,12 @@ public class TestSchedulerRestart
 	public Object[][] dataForAutoSaveProvider()
 	{
 		return new Object[][] {
-			{ TEST_CONFIG_DIR.resolve("RestartWithAutoSave"), 13 },
-			{ TEST_CONFIG_DIR.resolve("RestartAfterPause"), 5 },
-			{ TEST_CONFIG_DIR.resolve("RestartAfterPauseStepContexts"), 5 }
+			{ TEST_CONFIG_DIR.resolve("RestartWithAutoSave"), 13, 0 },
+			{ TEST_CONFIG_DIR.resolve("RestartAfterPause"), 5, 0 },
+			{ TEST_CONFIG_DIR.resolve("RestartAfterPauseStepContexts"), 5, 0 },
+			{ TEST_CONFIG_DIR.resolve("RestartWithAutoSave"), 13, 3 },
+			{ TEST_CONFIG_DIR.resolve("RestartAfterPause"), 5, 3 },
+			{ TEST_CONFIG_DIR.resolve("RestartAfterPauseStepContexts"), 5, 3 }
 		};
 	}
 	
@@ -130,7 +133,7 @@ public class TestSchedulerRestart
 	}
 	
 	@Test(dataProvider = "dataForAutoSave")
-	public void testRestartWithAutoSave(Path dataDir, int expectedActions) throws ClearThException, AutomationException,
+	public void testRestartWithAutoSave(Path dataDir, int expectedActions, int writeBehindActions) throws ClearThException, AutomationException,
 			IOException, IllegalArgumentException, SecurityException, InstantiationException, IllegalAccessException,
 			InvocationTargetException, NoSuchMethodException, DataHandlingException, ExecutorStateException
 	{
@@ -139,7 +142,11 @@ public class TestSchedulerRestart
 		clearThManager.loadMatrices(scheduler, dataDir.resolve(MATRICES_DIR).toFile());
 		try
 		{
-			scheduler.setStateConfig(new StateConfig(true));
+			StateConfig stateConfig = new StateConfig(true);
+			//Long delay to make sure that state is written by batches and by flushes on pause and step end
+			stateConfig.setWriteBehindActions(writeBehindActions);
+			stateConfig.setWriteBehindDelay(60000);
+			scheduler.setStateConfig(stateConfig);
 			
 			scheduler.start(ADMIN);
 			ApplicationManager.waitForSchedulerToSuspend(scheduler, BASE_SLEEP_LENGTH, 3000);
@@ -0,0 +1,107 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.actions.xls;
+
+import com.exactprosystems.clearth.utils.multidata.MultiRowStringData;
+import com.exactprosystems.clearth.utils.multidata.MultiStringData;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class LoadXlsDataTest
+{
+	private static final Path OUTPUT_PATH = Paths.get("testOutput").resolve(LoadXlsDataTest.class.getSimpleName());
+	
+	private String fileName;
+	
+	@BeforeClass
+	public void prepareFile() throws IOException
+	{
+		Files.createDirectories(OUTPUT_PATH);
+		fileName = OUTPUT_PATH.resolve("data.xlsx").toString();
+		
+		try (XSSFWorkbook wb = new XSSFWorkbook();
+				OutputStream out = new FileOutputStream(fileName))
+		{
+			Sheet sheet = wb.createSheet("Data");
+			Row row = sheet.createRow(0);
+			row.createCell(0).setCellValue("abc");
+			row.createCell(1).setCellValue(21);
+			row.createCell(2).setCellFormula("B1*2");
+			wb.getCreationHelper().createFormulaEvaluator().evaluateAll();
+			wb.write(out);
+		}
+	}
+	
+	@Test
+	public void streamingIsOptIn()
+	{
+		LoadXlsData action = new LoadXlsData();
+		assertFalse(action.isStreamingRead(fileName));
+		
+		action.getInputParams().put(LoadXlsData.PARAM_STREAMING_READ, "true");
+		assertTrue(action.isStreamingRead(fileName));
+		assertFalse(action.isStreamingRead("data.xls"));
+	}
+	
+	@Test
+	public void workbookReadReturnsFormulas() throws Exception
+	{
+		LoadXlsData action = new LoadXlsData();
+		try (InputStream in = new FileInputStream(fileName);
+				Workbook workbook = WorkbookFactory.create(in))
+		{
+			MultiRowStringData data = action.createDataStorage(workbook);
+			action.loadData(data, workbook, fileName, action.createDataFormatter());
+			assertEquals(getValues(data.getData(0)), Arrays.asList("abc", "21", "B1*2"));
+		}
+	}
+	
+	@Test
+	public void streamingReadReturnsCachedResults() throws Exception
+	{
+		LoadXlsData action = new LoadXlsData();
+		MultiRowStringData data = action.loadStreamingData(fileName, action.createDataFormatter());
+		assertEquals(getValues(data.getData(0)), Arrays.asList("abc", "21", "42"));
+	}
+	
+	
+	private List<String> getValues(MultiStringData row)
+	{
+		assertNotNull(row);
+		return row.getData();
+	}
+}
@@ -0,0 +1,198 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.automation.async;
+
+import com.exactprosystems.clearth.automation.Action;
+import com.exactprosystems.clearth.automation.DefaultStep;
+import com.exactprosystems.clearth.automation.GlobalContext;
+import com.exactprosystems.clearth.automation.MatrixContext;
+import com.exactprosystems.clearth.automation.Step;
+import com.exactprosystems.clearth.automation.StepContext;
+import com.exactprosystems.clearth.automation.TestActionUtils;
+import com.exactprosystems.clearth.automation.report.Result;
+import com.exactprosystems.clearth.automation.report.results.DefaultResult;
+import com.exactprosystems.clearth.utils.Utils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class PooledAsyncActionsManagerTest
+{
+	private static final long TIMEOUT = 5000;
+	
+	private final GlobalContext globalContext = TestActionUtils.createGlobalContext("admin");
+	private final Step step = new DefaultStep();
+	
+	@Test
+	public void groupActionsExecutedInOrder() throws Exception
+	{
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		PooledAsyncActionsManager manager = new PooledAsyncActionsManager(globalContext, a -> {});
+		try
+		{
+			List<AsyncActionData> actions = new ArrayList<>();
+			for (String name : Arrays.asList("a1", "a2", "a3"))
+			{
+				AsyncActionData data = createActionData(new RecordingAction(name, events, null), "group1");
+				actions.add(data);
+				manager.addAsyncAction(data);
+			}
+			
+			awaitCompletion(actions);
+			Assert.assertEquals(events, Arrays.asList("start a1", "end a1", "start a2", "end a2", "start a3", "end a3"));
+		}
+		finally
+		{
+			Utils.closeResource(manager);
+		}
+	}
+	
+	@Test
+	public void actionsWithoutGroupExecutedConcurrently() throws Exception
+	{
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		//Each action waits for other one to start, i.e. both actions can finish only if executed at the same time
+		CountDownLatch bothStarted = new CountDownLatch(2);
+		PooledAsyncActionsManager manager = new PooledAsyncActionsManager(globalContext, a -> {});
+		try
+		{
+			List<AsyncActionData> actions = Arrays.asList(createActionData(new RecordingAction("a1", events, bothStarted), null),
+					createActionData(new RecordingAction("a2", events, bothStarted), null));
+			for (AsyncActionData data : actions)
+				manager.addAsyncAction(data);
+			
+			awaitCompletion(actions);
+			for (AsyncActionData data : actions)
+				Assert.assertTrue(data.getResult().isSuccess(), "Action "+data.getAction().getName()+" passed");
+		}
+		finally
+		{
+			Utils.closeResource(manager);
+		}
+	}
+	
+	@Test
+	public void cachedThreadPoolUsedWithoutVirtualThreads() throws Exception
+	{
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		List<Thread> actionThreads = Collections.synchronizedList(new ArrayList<>());
+		PooledAsyncActionsManager manager = new PooledAsyncActionsManager(globalContext, a -> {})
+		{
+			@Override
+			protected ExecutorService createVirtualThreadExecutor()
+			{
+				return null;
+			}
+		};
+		try
+		{
+			Assert.assertTrue(manager.executor instanceof ThreadPoolExecutor, "Executor is thread pool");
+			
+			AsyncActionData data = createActionData(new RecordingAction("a1", events, null)
+			{
+				@Override
+				protected Result run(StepContext stepContext, MatrixContext matrixContext, GlobalContext globalContext)
+				{
+					actionThreads.add(Thread.currentThread());
+					return super.run(stepContext, matrixContext, globalContext);
+				}
+			}, null);
+			manager.addAsyncAction(data);
+			awaitCompletion(Collections.singletonList(data));
+			
+			Thread actionThread = actionThreads.get(0);
+			Assert.assertTrue(actionThread.getName().startsWith(Thread.currentThread().getName()+":Async-"), "Thread name: "+actionThread.getName());
+			Assert.assertTrue(actionThread.isDaemon(), "Thread is daemon");
+		}
+		finally
+		{
+			Utils.closeResource(manager);
+		}
+	}
+	
+	
+	private AsyncActionData createActionData(Action action, String group)
+	{
+		action.setStep(step);
+		action.setAsync(true);
+		action.setAsyncGroup(group);
+		action.setWaitAsyncEnd(WaitAsyncEnd.NO);
+		return new AsyncActionData(action, new StepContext(step.getName(), new Date()), new MatrixContext());
+	}
+	
+	private void awaitCompletion(List<AsyncActionData> actions) throws InterruptedException
+	{
+		for (AsyncActionData data : actions)
+			Assert.assertTrue(data.awaitCompletion(TIMEOUT), "Action "+data.getAction().getName()+" finished in time");
+	}
+	
+	
+	private static class RecordingAction extends Action
+	{
+		private final String actionName;
+		private final List<String> events;
+		private final CountDownLatch latch;
+		
+		public RecordingAction(String actionName, List<String> events, CountDownLatch latch)
+		{
+			this.actionName = actionName;
+			this.events = events;
+			this.latch = latch;
+		}
+		
+		@Override
+		public String getName()
+		{
+			return actionName;
+		}
+		
+		@Override
+		protected Result run(StepContext stepContext, MatrixContext matrixContext, GlobalContext globalContext)
+		{
+			events.add("start "+actionName);
+			try
+			{
+				if (latch != null)
+				{
+					latch.countDown();
+					if (!latch.await(TIMEOUT, TimeUnit.MILLISECONDS))
+						return DefaultResult.failed("Other action is not started");
+				}
+				else
+					Thread.sleep(20);
+			}
+			catch (InterruptedException e)
+			{
+				return DefaultResult.failed("Interrupted");
+			}
+			events.add("end "+actionName);
+			return DefaultResult.passed("Done");
+		}
+	}
+}
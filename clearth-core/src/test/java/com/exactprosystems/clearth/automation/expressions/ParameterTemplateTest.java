@@ -0,0 +1,81 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.expressions;
+
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ParameterTemplateTest
+{
+	@DataProvider(name = "invalidFormulas")
+	Object[][] invalidFormulas()
+	{
+		return new Object[][]
+				{
+						{"@{id1.Param"},
+						{"prefix @{max(1, 2))}"},
+						{"@{format('abc)', (1)}"}
+				};
+	}
+
+	@Test
+	public void literalValue() throws ParametersException
+	{
+		ParameterTemplate template = ParameterTemplate.parse("plain {value}");
+
+		Assert.assertTrue(template.isBuiltFor("plain {value}"));
+		Assert.assertFalse(template.isBuiltFor("other value"));
+		Assert.assertEquals(template.getSegments().size(), 1);
+		Assert.assertFalse(template.getSegments().get(0).isFormula());
+	}
+
+	@Test
+	public void valueWithFormulas() throws ParametersException
+	{
+		ParameterTemplate template = ParameterTemplate.parse("Order @{id1.Qty} of @{max(id1.Price, 10)}!");
+
+		List<ParameterTemplate.Segment> segments = template.getSegments();
+		Assert.assertEquals(segments.stream().map(ParameterTemplate.Segment::getText).collect(Collectors.toList()),
+				List.of("Order ", "id1.Qty", " of ", "max(id1.Price, 10)", "!"));
+		Assert.assertEquals(segments.stream().map(ParameterTemplate.Segment::isFormula).collect(Collectors.toList()),
+				List.of(false, true, false, true, false));
+		Assert.assertEquals(segments.stream().map(ParameterTemplate.Segment::getEnd).collect(Collectors.toList()),
+				List.of(6, 16, 20, 41, 42));
+	}
+
+	@Test
+	public void nestedBraces() throws ParametersException
+	{
+		ParameterTemplate template = ParameterTemplate.parse("@{map({'a':1}).size()}");
+
+		Assert.assertEquals(template.getSegments().size(), 1);
+		Assert.assertEquals(template.getSegments().get(0).getText(), "map({'a':1}).size()");
+	}
+
+	@Test(dataProvider = "invalidFormulas", expectedExceptions = ParametersException.class)
+	public void invalidFormula(String value) throws ParametersException
+	{
+		ParameterTemplate.parse(value);
+	}
+}
@@ -0,0 +1,66 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.automation.generator;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static com.exactprosystems.clearth.utils.FileOperationUtils.resourceToAbsoluteFilePath;
+import static org.testng.Assert.*;
+
+public class XlsxStreamingActionReaderTest
+{
+	@DataProvider(name = "matrices")
+	public Object[][] matrices()
+	{
+		return new Object[][]
+				{
+					{"ConfigMakerToolTest/xlsx_matrix.xlsx"},
+					{"LinkedMatrixExtensionsTest/xlsx.xlsx"}
+				};
+	}
+	
+	@Test(dataProvider = "matrices")
+	public void readsSameLinesAsWorkbookReader(String matrix) throws IOException
+	{
+		String path = resourceToAbsoluteFilePath(matrix);
+		int lines = 0;
+		try (XlsActionReader expected = new XlsActionReader(path, true);
+				XlsxStreamingActionReader actual = new XlsxStreamingActionReader(path, true))
+		{
+			while (expected.readNextLine())
+			{
+				assertTrue(actual.readNextLine(), "Line "+expected.getRowIndex()+" is read");
+				assertEquals(actual.getRowIndex(), expected.getRowIndex());
+				assertEquals(actual.getRawLine(), expected.getRawLine());
+				assertEquals(actual.isCommentLine(), expected.isCommentLine());
+				assertEquals(actual.isEmptyLine(), expected.isEmptyLine());
+				boolean header = expected.isHeaderLine();
+				assertEquals(actual.isHeaderLine(), header);
+				assertEquals(actual.parseLine(header), expected.parseLine(header), "Values of line "+expected.getRowIndex());
+				lines++;
+			}
+			assertFalse(actual.readNextLine());
+		}
+		assertTrue(lines > 0);
+	}
+}
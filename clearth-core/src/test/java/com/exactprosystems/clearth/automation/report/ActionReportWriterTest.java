@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -22,6 +22,8 @@ import com.exactprosystems.clearth.automation.*;
 import com.exactprosystems.clearth.automation.exceptions.AutomationException;
 import com.exactprosystems.clearth.automation.report.html.template.ReportTemplatesProcessor;
 import com.exactprosystems.clearth.xmldata.XmlSchedulerLaunchInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import freemarker.template.TemplateModelException;
 import org.apache.commons.io.FileUtils;
 import org.testng.Assert;
@@ -30,6 +32,10 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.exactprosystems.clearth.ApplicationManager;
+import com.exactprosystems.clearth.ClearThCore;
+import com.exactprosystems.clearth.config.AsyncActionsPool;
+import com.exactprosystems.clearth.config.AsyncReports;
+import com.exactprosystems.clearth.config.ParallelMatrices;
 import com.exactprosystems.clearth.utils.ClearThException;
 import com.exactprosystems.clearth.utils.SettingsException;
 
@@ -42,12 +48,14 @@ import java.util.*;
 import static com.exactprosystems.clearth.ApplicationManager.*;
 import static com.exactprosystems.clearth.automation.report.ActionReportWriter.HTML_FAILED_REPORT_NAME;
 import static com.exactprosystems.clearth.automation.report.ActionReportWriter.HTML_REPORT_NAME;
+import static com.exactprosystems.clearth.automation.report.ActionReportWriter.JSON_REPORT_NAME;
 
 public class ActionReportWriterTest
 {
 	private static final Path RES_DIR = TEST_RES_DIR.resolve(ActionReportWriterTest.class.getSimpleName()),
 			 OUTPUT_DIR = USER_DIR.resolve("testOutput").resolve(ActionReportWriterTest.class.getSimpleName());
-	private static final String USER = "async1", STEP = "Step1", ASYNC_FAILED = "async_failed.csv", ASYNC_PASSED = "async_passed.csv";
+	private static final String USER = "async1", STEP = "Step1", ASYNC_FAILED = "async_failed.csv", ASYNC_PASSED = "async_passed.csv",
+			PARALLEL_USER = "parallel1", LANES1 = "lanes1.csv", LANES2 = "lanes2.csv";
 	private ApplicationManager manager;
 	
 	@BeforeClass
@@ -92,7 +100,96 @@ public class ActionReportWriterTest
 	@Test
 	public void testReportsGenerateForAsyncActions() throws ClearThException, AutomationException, IOException
 	{
-		Scheduler scheduler = manager.getScheduler(USER, USER);
+		runAndAssertReports();
+	}
+	
+	@Test
+	public void testReportsGenerateWithAsyncWriting() throws ClearThException, AutomationException, IOException
+	{
+		AsyncReports asyncReports = ClearThCore.getInstance().getConfig().getAutomation().getAsyncReports();
+		asyncReports.setEnabled(true);
+		asyncReports.setBatchSize(2);
+		try
+		{
+			runAndAssertReports();
+		}
+		finally
+		{
+			asyncReports.setEnabled(false);
+			asyncReports.setBatchSize(AsyncReports.DEFAULT_BATCH_SIZE);
+		}
+	}
+	
+	@Test
+	public void testReportsGenerateWithParallelMatrices() throws ClearThException, AutomationException, IOException
+	{
+		ParallelMatrices parallelMatrices = ClearThCore.getInstance().getConfig().getAutomation().getParallelMatrices();
+		parallelMatrices.setEnabled(true);
+		try
+		{
+			//Matrices with sleeping actions show if matrices are really executed in parallel
+			Scheduler scheduler = manager.getScheduler(PARALLEL_USER, PARALLEL_USER);
+			manager.loadMatrices(scheduler, RES_DIR.resolve("parallel").toFile());
+			
+			Path actRepDir = runScheduler(scheduler),
+					expRepDir = RES_DIR.resolve("expected");
+			//Indexes of updated async actions depend on order in which they've finished, i.e. they may differ
+			assertReportsIgnoringIndexes(actRepDir, expRepDir, ASYNC_PASSED);
+			assertReportsIgnoringIndexes(actRepDir, expRepDir, ASYNC_FAILED);
+			
+			List<JsonNode> lane1 = readActionStatuses(actRepDir, LANES1),
+					lane2 = readActionStatuses(actRepDir, LANES2);
+			assertOrderKept(lane1);
+			assertOrderKept(lane2);
+			
+			long lane1Start = lane1.get(0).get("started").asLong(),
+					lane1End = lane1.get(lane1.size()-1).get("finished").asLong(),
+					lane2Start = lane2.get(0).get("started").asLong(),
+					lane2End = lane2.get(lane2.size()-1).get("finished").asLong();
+			Assert.assertTrue(lane1Start < lane2End && lane2Start < lane1End, 
+					"Matrices are executed in parallel: "+lane1Start+"-"+lane1End+" and "+lane2Start+"-"+lane2End);
+		}
+		finally
+		{
+			parallelMatrices.setEnabled(false);
+		}
+	}
+	
+	@Test
+	public void testReportsGenerateWithAsyncActionsPool() throws ClearThException, AutomationException, IOException
+	{
+		AsyncActionsPool asyncActionsPool = ClearThCore.getInstance().getConfig().getAutomation().getAsyncActionsPool();
+		asyncActionsPool.setEnabled(true);
+		try
+		{
+			Path actRepDir = runScheduler(),
+					expRepDir = RES_DIR.resolve("expected");
+			//Actions without group are executed concurrently, so they may finish in different order
+			assertReportsIgnoringIndexes(actRepDir, expRepDir, ASYNC_PASSED);
+			assertReportsIgnoringIndexes(actRepDir, expRepDir, ASYNC_FAILED);
+		}
+		finally
+		{
+			asyncActionsPool.setEnabled(false);
+		}
+	}
+	
+	private void runAndAssertReports() throws ClearThException, AutomationException, IOException
+	{
+		Path actRepDir = runScheduler(),
+				expRepDir = RES_DIR.resolve("expected");
+		
+		assertReports(actRepDir, expRepDir, ASYNC_PASSED);
+		assertReports(actRepDir, expRepDir, ASYNC_FAILED);
+	}
+	
+	private Path runScheduler() throws ClearThException, AutomationException, IOException
+	{
+		return runScheduler(manager.getScheduler(USER, USER));
+	}
+	
+	private Path runScheduler(Scheduler scheduler) throws ClearThException, AutomationException, IOException
+	{
 		manager.loadSteps(scheduler, RES_DIR.resolve("config.cfg").toFile());
 		manager.loadMatrices(scheduler, RES_DIR.resolve("matrices").toFile());
 		
@@ -102,11 +199,7 @@ public class ActionReportWriterTest
 		List<XmlSchedulerLaunchInfo> launchesInfo = scheduler.getSchedulerData().getLaunches().getLaunchesInfo();
 		Assert.assertFalse(launchesInfo == null || launchesInfo.isEmpty());
 		
-		Path expRepDir = RES_DIR.resolve("expected"),
-				actRepDir = PROJ_DIR.resolve(Path.of("testOutput", "SchedulerTestData", "automation", "reports", launchesInfo.get(0).getReportsPath()));
-		
-		assertReports(actRepDir, expRepDir, ASYNC_PASSED);
-		assertReports(actRepDir, expRepDir, ASYNC_FAILED);
+		return PROJ_DIR.resolve(Path.of("testOutput", "SchedulerTestData", "automation", "reports", launchesInfo.get(0).getReportsPath()));
 	}
 	
 	private void assertReports(Path actRepDir, Path expRepDir, String matrixName) throws IOException
@@ -117,4 +210,44 @@ public class ActionReportWriterTest
 		AssertReports.assertCompleteHtmlReports(actual.resolve(HTML_REPORT_NAME), expected.resolve(HTML_REPORT_NAME), true);
 		AssertReports.assertFailedHtmlReports(actual.resolve(HTML_FAILED_REPORT_NAME), expected.resolve(HTML_FAILED_REPORT_NAME), true);
 	}
+	
+	private void assertReportsIgnoringIndexes(Path actRepDir, Path expRepDir, String matrixName) throws IOException
+	{
+		Path actual = actRepDir.resolve(matrixName),
+				expected = expRepDir.resolve(matrixName);
+		
+		for (String reportName : List.of(HTML_REPORT_NAME, HTML_FAILED_REPORT_NAME))
+		{
+			Assert.assertEquals(readReportWithoutIndexes(actual.resolve(reportName)),
+					readReportWithoutIndexes(expected.resolve(reportName)),
+					reportName);
+		}
+	}
+	
+	private String readReportWithoutIndexes(Path report) throws IOException
+	{
+		return FileUtils.readFileToString(report.toFile(), StandardCharsets.UTF_8)
+				.replace("\r\n", "\n")
+				.replaceAll("_action_\\d+", "_action_");
+	}
+	
+	private List<JsonNode> readActionStatuses(Path actRepDir, String matrixName) throws IOException
+	{
+		JsonNode report = new ObjectMapper().readTree(actRepDir.resolve(matrixName).resolve(JSON_REPORT_NAME).toFile());
+		List<JsonNode> result = new ArrayList<>();
+		for (JsonNode actionReport : report.get("stepReports").get(0).get("actionReports"))
+			result.add(actionReport.get("status"));
+		Assert.assertFalse(result.isEmpty(), "Actions of "+matrixName);
+		return result;
+	}
+	
+	private void assertOrderKept(List<JsonNode> actionStatuses)
+	{
+		for (int i = 1; i < actionStatuses.size(); i++)
+		{
+			long prevFinished = actionStatuses.get(i-1).get("finished").asLong(),
+					started = actionStatuses.get(i).get("started").asLong();
+			Assert.assertTrue(started >= prevFinished, "Action #"+(i+1)+" is started after previous one is finished");
+		}
+	}
 }
\ No newline at end of file
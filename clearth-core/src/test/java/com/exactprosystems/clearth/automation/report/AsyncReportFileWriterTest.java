@@ -0,0 +1,109 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.automation.report;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class AsyncReportFileWriterTest
+{
+	private Path dir;
+	
+	@BeforeMethod
+	public void createDir() throws IOException
+	{
+		dir = Files.createTempDirectory("AsyncReportFileWriterTest");
+	}
+	
+	@AfterMethod
+	public void removeDir() throws IOException
+	{
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+	
+	@Test(timeOut = 10000)
+	public void batchErrorDoesNotStopWriter() throws IOException
+	{
+		File broken = dir.resolve("broken.txt").toFile(),
+				report = dir.resolve("report.txt").toFile();
+		try (AsyncReportFileWriter writer = new FailingWriter(broken, new IllegalStateException("Test error")))
+		{
+			writer.append(broken, "lost");
+			writer.drain();
+			writer.append(report, "text");
+			writer.drain();
+		}
+		
+		Assert.assertEquals(FileUtils.readFileToString(report, StandardCharsets.UTF_8), "text");
+	}
+	
+	@Test(timeOut = 10000)
+	public void textIsWrittenDirectlyAfterThreadFailure() throws IOException
+	{
+		File broken = dir.resolve("broken.txt").toFile(),
+				report = dir.resolve("report.txt").toFile();
+		try (AsyncReportFileWriter writer = new FailingWriter(broken, new AssertionError("Test error")))
+		{
+			writer.append(broken, "lost");
+			writer.drain();
+			//Queue is small, submitting must not block after writer thread stopped
+			for (int i = 0; i < 10; i++)
+				writer.append(report, "line"+i+"\n");
+			writer.drain();
+			
+			Assert.assertEquals(FileUtils.readLines(report, StandardCharsets.UTF_8).size(), 10);
+		}
+	}
+	
+	
+	private static class FailingWriter extends AsyncReportFileWriter
+	{
+		private final File failingFile;
+		private final Throwable error;
+		
+		public FailingWriter(File failingFile, Throwable error)
+		{
+			super("TestReportWriter", 2, 2);
+			this.failingFile = failingFile;
+			this.error = error;
+		}
+		
+		@Override
+		protected PrintWriter createWriter(File file) throws IOException
+		{
+			if (file.equals(failingFile))
+			{
+				if (error instanceof RuntimeException)
+					throw (RuntimeException) error;
+				throw (Error) error;
+			}
+			return super.createWriter(file);
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity;
+
+import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
+import com.exactprosystems.clearth.data.DefaultMessageHandler;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class MessageProcessorThreadTest
+{
+	private static final int MESSAGES_COUNT = 20;
+	
+	@Test
+	public void dispatchesToListenersInParallel() throws Exception
+	{
+		CollectingListener slow = new CollectingListener("Slow", 20),
+				fast = new CollectingListener("Fast", 0);
+		BlockingQueue<EncodedClearThMessage> queue = new LinkedBlockingQueue<>();
+		MessageProcessorThread thread = new MessageProcessorThread("Processor", queue, new DefaultMessageHandler(), 
+				Arrays.asList(slow, fast), 100);
+		
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < MESSAGES_COUNT; i++)
+		{
+			String payload = "Message " + i;
+			expected.add(payload);
+			queue.add(EncodedClearThMessage.newReceivedMessage(payload));
+		}
+		
+		thread.start();
+		try
+		{
+			waitFor(() -> fast.getReceived().size() == MESSAGES_COUNT);
+			assertTrue(slow.getReceived().size() < MESSAGES_COUNT, "Fast listener waited for slow one");
+			assertTrue(thread.getProcessed() < MESSAGES_COUNT, "Message is processed before all listeners handled it");
+			
+			waitFor(() -> thread.getProcessed() == MESSAGES_COUNT);
+			assertEquals(fast.getReceived(), expected);
+			assertEquals(slow.getReceived(), expected);
+			
+			Map<String, ProcessingTimeStatistics> stats = thread.getListenerStatistics();
+			assertEquals(stats.get("Slow (Test)").getCount(), MESSAGES_COUNT);
+			assertEquals(stats.get("Fast (Test)").getCount(), MESSAGES_COUNT);
+			assertTrue(stats.get("Slow (Test)").getAverageMillis() > stats.get("Fast (Test)").getAverageMillis(),
+					"Slow listener is slower");
+		}
+		finally
+		{
+			thread.terminate();
+			thread.join(10000);
+		}
+	}
+	
+	@Test
+	public void finishesDispatchedMessagesOnTermination() throws Exception
+	{
+		CollectingListener slow = new CollectingListener("Slow", 10);
+		BlockingQueue<EncodedClearThMessage> queue = new LinkedBlockingQueue<>();
+		MessageProcessorThread thread = new MessageProcessorThread("Processor", queue, new DefaultMessageHandler(), 
+				Collections.singletonList(slow), 100);
+		for (int i = 0; i < MESSAGES_COUNT; i++)
+			queue.add(EncodedClearThMessage.newReceivedMessage("Message " + i));
+		
+		thread.start();
+		waitFor(queue::isEmpty);
+		thread.terminate();
+		thread.join(10000);
+		
+		assertEquals(slow.getReceived().size(), MESSAGES_COUNT);
+		assertEquals(thread.getProcessed(), MESSAGES_COUNT);
+	}
+	
+	@Test
+	public void removesListenerWorker() throws Exception
+	{
+		CollectingListener slow = new CollectingListener("Slow", 10),
+				fast = new CollectingListener("Fast", 0);
+		List<MessageListener> listeners = new CopyOnWriteArrayList<>(Arrays.asList(slow, fast));
+		BlockingQueue<EncodedClearThMessage> queue = new LinkedBlockingQueue<>();
+		MessageProcessorThread thread = new MessageProcessorThread("Processor", queue, new DefaultMessageHandler(), 
+				listeners, 100);
+		for (int i = 0; i < MESSAGES_COUNT; i++)
+			queue.add(EncodedClearThMessage.newReceivedMessage("Message " + i));
+		
+		thread.start();
+		try
+		{
+			waitFor(() -> fast.getReceived().size() == MESSAGES_COUNT);
+			listeners.remove(slow);
+			thread.removeListenerWorker(slow);
+			assertEquals(slow.getReceived().size(), MESSAGES_COUNT, "Messages handled by removed listener");
+			assertEquals(thread.getProcessed(), MESSAGES_COUNT);
+			
+			queue.add(EncodedClearThMessage.newReceivedMessage("After removal"));
+			waitFor(() -> thread.getProcessed() == MESSAGES_COUNT + 1);
+			assertEquals(fast.getReceived().size(), MESSAGES_COUNT + 1);
+			assertEquals(slow.getReceived().size(), MESSAGES_COUNT, "Messages handled by removed listener");
+		}
+		finally
+		{
+			thread.terminate();
+			thread.join(10000);
+		}
+	}
+	
+	
+	private void waitFor(Condition condition) throws InterruptedException
+	{
+		long end = System.currentTimeMillis() + 10000;
+		while (!condition.isMet() && System.currentTimeMillis() < end)
+			Thread.sleep(5);
+		assertTrue(condition.isMet(), "Condition is not met in time");
+	}
+	
+	private interface Condition
+	{
+		boolean isMet();
+	}
+	
+	private static class CollectingListener implements MessageListener
+	{
+		private final String name;
+		private final long delay;
+		private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+		
+		public CollectingListener(String name, long delay)
+		{
+			this.name = name;
+			this.delay = delay;
+		}
+		
+		@Override
+		public void onMessage(EncodedClearThMessage message)
+		{
+			if (delay > 0)
+			{
+				try
+				{
+					Thread.sleep(delay);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+			received.add(message.getPayload().toString());
+		}
+		
+		@Override
+		public void start()
+		{
+		}
+		
+		@Override
+		public void dispose()
+		{
+		}
+		
+		@Override
+		public String getName()
+		{
+			return name;
+		}
+		
+		@Override
+		public String getType()
+		{
+			return "Test";
+		}
+		
+		public List<String> getReceived()
+		{
+			synchronized (received)
+			{
+				return new ArrayList<>(received);
+			}
+		}
+	}
+}
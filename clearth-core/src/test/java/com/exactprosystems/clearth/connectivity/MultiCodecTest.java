@@ -0,0 +1,145 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity;
+
+import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
+import com.exactprosystems.clearth.connectivity.iface.ICodec;
+import com.exactprosystems.clearth.connectivity.iface.SimpleClearThMessage;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+public class MultiCodecTest
+{
+	@Test
+	public void routesMessagesByFormat() throws DecodeException
+	{
+		PrefixCodec xml = new PrefixCodec("<", "xml"),
+				json = new PrefixCodec("{", "json");
+		MultiCodec codec = new MultiCodec(Arrays.asList(xml, json));
+		
+		assertEquals(codec.decode("{\"a\":1}").getField("Format"), "json");
+		assertEquals(codec.decode("<a/>").getField("Format"), "xml");
+		assertEquals(codec.decode("<b/>", "Type1").getField("Format"), "xml");
+		
+		assertEquals(xml.getDecodeCalls(), 2);
+		assertEquals(json.getDecodeCalls(), 1);
+	}
+	
+	@Test
+	public void remembersLastSuccessfulCodec() throws DecodeException
+	{
+		PrefixCodec first = new PrefixCodec("", "first", true),
+				second = new PrefixCodec("", "second");
+		MultiCodec codec = new MultiCodec(Arrays.asList(first, second));
+		
+		codec.decode("msg1");
+		codec.decode("msg2");
+		codec.decode("msg3");
+		
+		assertSame(codec.getLastSuccessful(), second);
+		assertEquals(first.getDecodeCalls(), 1, "Failing codec should be tried only once");
+		assertEquals(second.getDecodeCalls(), 3);
+	}
+	
+	@Test
+	public void failsOnUnknownFormat()
+	{
+		MultiCodec codec = new MultiCodec(Arrays.asList(new PrefixCodec("<", "xml"), new PrefixCodec("{", "json")));
+		
+		assertFalse(codec.canDecode("8=FIX.4.4"));
+		assertTrue(codec.canDecode("<a/>"));
+		DecodeException e = expectThrows(DecodeException.class, () -> codec.decode("8=FIX.4.4"));
+		assertTrue(e.getMessage().contains("not supported by any codec"), e.getMessage());
+	}
+	
+	@Test
+	public void aggregatesErrors()
+	{
+		MultiCodec codec = new MultiCodec(Arrays.asList(new PrefixCodec("", "first", true), new PrefixCodec("", "second", true)));
+		
+		DecodeException e = expectThrows(DecodeException.class, () -> codec.decode("msg"));
+		assertTrue(e.getMessage().contains("Errors from codecs"), e.getMessage());
+		assertTrue(e.getMessage().contains("first failed"), e.getMessage());
+		assertTrue(e.getMessage().contains("second failed"), e.getMessage());
+	}
+	
+	
+	private static class PrefixCodec implements ICodec
+	{
+		private final String prefix,
+				name;
+		private final boolean failing;
+		private int decodeCalls = 0;
+		
+		public PrefixCodec(String prefix, String name)
+		{
+			this(prefix, name, false);
+		}
+		
+		public PrefixCodec(String prefix, String name, boolean failing)
+		{
+			this.prefix = prefix;
+			this.name = name;
+			this.failing = failing;
+		}
+		
+		@Override
+		public String encode(ClearThMessage<?> message) throws EncodeException
+		{
+			return null;
+		}
+		
+		@Override
+		public ClearThMessage<?> decode(String message) throws DecodeException
+		{
+			return decode(message, null);
+		}
+		
+		@Override
+		public ClearThMessage<?> decode(String message, String type) throws DecodeException
+		{
+			decodeCalls++;
+			if (failing)
+				throw new DecodeException(name+" failed");
+			
+			SimpleClearThMessage result = new SimpleClearThMessage();
+			result.addField("Format", name);
+			return result;
+		}
+		
+		@Override
+		public boolean canDecode(String message)
+		{
+			return message.startsWith(prefix);
+		}
+		
+		public int getDecodeCalls()
+		{
+			return decodeCalls;
+		}
+	}
+}
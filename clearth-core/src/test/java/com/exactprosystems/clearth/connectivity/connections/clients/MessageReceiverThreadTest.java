@@ -0,0 +1,133 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity.connections.clients;
+
+import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class MessageReceiverThreadTest
+{
+	@Test
+	public void readsBatchWithoutDelay() throws Exception
+	{
+		BlockingQueue<String> source = new LinkedBlockingQueue<>();
+		for (int i = 0; i < 50; i++)
+			source.add("Message " + i);
+		
+		BlockingQueue<EncodedClearThMessage> target = new LinkedBlockingQueue<>();
+		QueueReceiverThread thread = new QueueReceiverThread(source, target, 60000);
+		thread.setBatchSize(100);
+		thread.start();
+		try
+		{
+			long end = System.currentTimeMillis() + 5000;
+			while (target.size() < 50 && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+			
+			assertEquals(target.size(), 50, "Messages received");
+			assertEquals(thread.getReceived(), 50, "Received counter");
+			assertTrue(thread.getReceiveRate() > 0, "Receive rate is positive");
+		}
+		finally
+		{
+			thread.terminate();
+			thread.interrupt();
+			thread.join(5000);
+		}
+	}
+	
+	@Test
+	public void waitsForFreeSpaceInQueueWithoutSpilling() throws Exception
+	{
+		BlockingQueue<String> source = new LinkedBlockingQueue<>();
+		for (int i = 0; i < 20; i++)
+			source.add("Message " + i);
+		
+		SpillingMessageQueue target = new SpillingMessageQueue(2);
+		QueueReceiverThread thread = new QueueReceiverThread(source, target, 1);
+		thread.setBatchSize(100);
+		thread.start();
+		try
+		{
+			List<String> consumed = new ArrayList<>();
+			for (int i = 0; i < 20; i++)
+			{
+				EncodedClearThMessage message = target.poll(5, TimeUnit.SECONDS);
+				assertNotNull(message, "Message #" + i + " received");
+				consumed.add((String) message.getPayload());
+				Thread.sleep(5);  //Slow consumer lets receiver overrun the queue
+			}
+			
+			for (int i = 0; i < 20; i++)
+				assertEquals(consumed.get(i), "Message " + i);
+			assertEquals(thread.getReceived(), 20, "Received counter");
+		}
+		finally
+		{
+			thread.terminate();
+			thread.interrupt();
+			thread.join(5000);
+		}
+	}
+	
+	@Test
+	public void backsOffWhenIdle()
+	{
+		QueueReceiverThread thread = new QueueReceiverThread(new LinkedBlockingQueue<>(), new LinkedBlockingQueue<>(), 100);
+		assertEquals(thread.getIdleDelay(5), 100, "No back-off by default");
+		
+		thread.setMaxIdleDelay(1000);
+		assertEquals(thread.getIdleDelay(1), 100);
+		assertEquals(thread.getIdleDelay(2), 200);
+		assertEquals(thread.getIdleDelay(4), 800);
+		assertEquals(thread.getIdleDelay(5), 1000);
+		assertEquals(thread.getIdleDelay(32), 1000);
+	}
+	
+	
+	private static class QueueReceiverThread extends MessageReceiverThread
+	{
+		private final BlockingQueue<String> source;
+		
+		public QueueReceiverThread(BlockingQueue<String> source, BlockingQueue<EncodedClearThMessage> target, long readDelay)
+		{
+			super("QueueReceiver", null, target, readDelay);
+			this.source = source;
+		}
+		
+		@Override
+		protected void getAndHandleMessage()
+		{
+			String message = source.poll();
+			if (message != null)
+				addReceivedMessage(EncodedClearThMessage.newReceivedMessage(message));
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity.connections.clients;
+
+import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SpillingMessageQueueTest
+{
+	private static final Path OUTPUT_DIR = Paths.get("testOutput").resolve(SpillingMessageQueueTest.class.getSimpleName());
+	
+	@BeforeClass
+	public void prepare() throws IOException
+	{
+		FileUtils.deleteDirectory(OUTPUT_DIR.toFile());
+	}
+	
+	@Test
+	public void keepsOrderWhenSpilling() throws Exception
+	{
+		Path dir = OUTPUT_DIR.resolve("order");
+		SpillingMessageQueue queue = new SpillingMessageQueue(3, dir, "messages");
+		for (int i = 0; i < 10; i++)
+			assertTrue(queue.offer(message(i)));
+		
+		assertEquals(queue.size(), 10);
+		assertEquals(queue.getInMemory(), 3);
+		assertEquals(queue.getSpilled(), 7);
+		assertEquals(countFiles(dir), 3, "Segment files");
+		
+		List<String> result = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+			result.add(queue.poll().getPayload().toString());
+		for (int i = 10; i < 12; i++)
+			queue.offer(message(i));
+		EncodedClearThMessage m;
+		while ((m = queue.poll(10, TimeUnit.MILLISECONDS)) != null)
+			result.add(m.getPayload().toString());
+		
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 12; i++)
+			expected.add("Message " + i);
+		assertEquals(result, expected);
+		assertEquals(queue.getSpilled(), 0);
+		assertEquals(queue.getTotalSpilled(), 9);
+		assertEquals(countFiles(dir), 0, "Segment files after reading");
+	}
+	
+	@Test
+	public void restoresSpilledMessages() throws Exception
+	{
+		Path dir = OUTPUT_DIR.resolve("restore");
+		SpillingMessageQueue queue = new SpillingMessageQueue(2, dir, "messages");
+		for (int i = 0; i < 6; i++)
+			queue.offer(message(i));
+		queue.close();
+		
+		SpillingMessageQueue restored = new SpillingMessageQueue(2, dir, "messages");
+		assertEquals(restored.size(), 4);
+		assertEquals(restored.poll().getPayload(), "Message 2");
+		restored.offer(message(6));
+		
+		List<Object> rest = new ArrayList<>();
+		restored.drainTo(rest);
+		assertEquals(rest.size(), 4);
+		assertEquals(((EncodedClearThMessage)rest.get(3)).getPayload(), "Message 6");
+	}
+	
+	@Test
+	public void keepsMessageInMemoryIfSpillFails() throws Exception
+	{
+		//Spill directory cannot be created, because file with the same name exists
+		Path notDir = OUTPUT_DIR.resolve("notDir");
+		Files.createDirectories(OUTPUT_DIR);
+		Files.write(notDir, new byte[0]);
+		
+		SpillingMessageQueue queue = new SpillingMessageQueue(1, notDir, "messages");
+		assertTrue(queue.offer(message(0)));
+		assertTrue(queue.offer(message(1)), "Message not added when spilling failed");
+		queue.put(message(2));
+		assertEquals(queue.getInMemory(), 3);
+		assertEquals(queue.getSpilled(), 0);
+		
+		assertEquals(queue.poll().getPayload(), "Message 0");
+		assertEquals(queue.poll().getPayload(), "Message 1");
+		assertEquals(queue.poll().getPayload(), "Message 2");
+		assertNull(queue.poll());
+	}
+	
+	@Test
+	public void blocksWithoutSpilling() throws Exception
+	{
+		SpillingMessageQueue queue = new SpillingMessageQueue(2);
+		assertTrue(queue.offer(message(0)));
+		assertTrue(queue.offer(message(1)));
+		assertFalse(queue.offer(message(2)), "Message added to full queue");
+		assertFalse(queue.offer(message(2), 10, TimeUnit.MILLISECONDS), "Message added to full queue with timeout");
+		assertEquals(queue.remainingCapacity(), 0);
+		
+		CompletableFuture<Void> put = CompletableFuture.runAsync(() -> {
+			try
+			{
+				queue.put(message(2));
+			}
+			catch (InterruptedException e)
+			{
+				throw new RuntimeException(e);
+			}
+		});
+		Thread.sleep(100);
+		assertFalse(put.isDone(), "Put didn't wait for free space");
+		
+		assertEquals(queue.take().getPayload(), "Message 0");
+		put.get(5, TimeUnit.SECONDS);
+		assertEquals(queue.poll().getPayload(), "Message 1");
+		assertEquals(queue.poll().getPayload(), "Message 2");
+		assertNull(queue.poll());
+	}
+	
+	@Test
+	public void iteratesOverMessagesInMemory() throws Exception
+	{
+		Path dir = OUTPUT_DIR.resolve("iterator");
+		try (SpillingMessageQueue queue = new SpillingMessageQueue(2, dir, "messages"))
+		{
+			EncodedClearThMessage first = EncodedClearThMessage.newReceivedMessage("Message 0", Instant.ofEpochMilli(1000)),
+					second = EncodedClearThMessage.newReceivedMessage("Message 1", Instant.ofEpochMilli(2000));
+			queue.put(first);
+			queue.put(second);
+			queue.put(message(2));
+			assertEquals(queue.getHeadTimestamp(), Instant.ofEpochMilli(1000));
+			
+			assertTrue(queue.contains(second), "Message in memory found");
+			assertEquals(queue.toArray().length, 2, "Messages in memory");
+			assertTrue(queue.remove(first), "Message removed");
+			assertFalse(queue.contains(first), "Removed message found");
+			assertEquals(queue.getHeadTimestamp(), Instant.ofEpochMilli(2000));
+			assertEquals(queue.size(), 2);
+			
+			assertEquals(queue.poll().getPayload(), "Message 1");
+			assertEquals(queue.poll().getPayload(), "Message 2");
+			assertNull(queue.getHeadTimestamp());
+		}
+	}
+	
+	
+	private EncodedClearThMessage message(int index)
+	{
+		return EncodedClearThMessage.newReceivedMessage("Message " + index);
+	}
+	
+	private long countFiles(Path dir) throws IOException
+	{
+		try (Stream<Path> files = Files.list(dir))
+		{
+			return files.count();
+		}
+	}
+}
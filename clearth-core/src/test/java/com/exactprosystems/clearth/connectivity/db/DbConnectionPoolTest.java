@@ -0,0 +1,220 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.db;
+
+import com.exactprosystems.clearth.connectivity.ConnectionException;
+import com.exactprosystems.clearth.connectivity.ConnectivityException;
+import com.exactprosystems.clearth.utils.SettingsException;
+import org.apache.commons.io.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class DbConnectionPoolTest
+{
+	private static final Path OUTPUT_DIR = Paths.get("testOutput").resolve("DbConnectionPool");
+	private static final String URL = "jdbc:sqlite:" + OUTPUT_DIR.resolve("pool.db");
+	
+	@BeforeClass
+	public void init() throws IOException
+	{
+		FileUtils.deleteDirectory(OUTPUT_DIR.toFile());
+		Files.createDirectories(OUTPUT_DIR);
+	}
+	
+	@Test
+	public void connectionIsReused() throws ConnectivityException, SettingsException, SQLException
+	{
+		try (DbConnectionPool pool = createPool(0, 2, 0, "select 1"))
+		{
+			Connection first = pool.getConnection();
+			Assert.assertEquals(pool.getActive(), 1);
+			first.close();
+			Assert.assertTrue(first.isClosed());
+			Assert.assertEquals(pool.getIdle(), 1);
+			
+			try (Connection second = pool.getConnection())
+			{
+				Assert.assertTrue(second.isValid(1));
+			}
+			Assert.assertEquals(pool.getCreated(), 1);
+			Assert.assertEquals(pool.getBorrowed(), 2);
+			Assert.assertEquals(pool.getTotal(), 1);
+		}
+	}
+	
+	@Test(expectedExceptions = SQLException.class)
+	public void closedConnectionCannotBeUsed() throws ConnectivityException, SettingsException, SQLException
+	{
+		try (DbConnectionPool pool = createPool(0, 1, 0, null))
+		{
+			Connection connection = pool.getConnection();
+			connection.close();
+			connection.createStatement();
+		}
+	}
+	
+	@Test(expectedExceptions = ConnectionException.class, expectedExceptionsMessageRegExp = "No free connection.*")
+	public void exhaustedPool() throws ConnectivityException, SettingsException, SQLException
+	{
+		try (DbConnectionPool pool = new DbConnectionPool("test", this::openConnection, 0, 1, 0, null, 100))
+		{
+			Connection connection = pool.getConnection();
+			try
+			{
+				pool.getConnection();
+			}
+			finally
+			{
+				connection.close();
+			}
+		}
+	}
+	
+	@Test
+	public void idleConnectionsEvicted() throws ConnectivityException, SettingsException, SQLException, InterruptedException
+	{
+		try (DbConnectionPool pool = createPool(1, 3, 50, null))
+		{
+			Connection c1 = pool.getConnection(),
+					c2 = pool.getConnection();
+			c1.close();
+			c2.close();
+			Assert.assertEquals(pool.getIdle(), 2);
+			
+			Thread.sleep(100);
+			pool.evictIdle();
+			Assert.assertEquals(pool.getIdle(), 1, "Minimum number of connections must be kept");
+			Assert.assertEquals(pool.getEvicted(), 1);
+		}
+	}
+	
+	@Test
+	public void idleConnectionsEvictedByTimer() throws ConnectivityException, SettingsException, SQLException, InterruptedException
+	{
+		try (DbConnectionPool pool = createPool(1, 3, 50, null))
+		{
+			Connection c1 = pool.getConnection(),
+					c2 = pool.getConnection();
+			c1.close();
+			c2.close();
+			
+			long end = System.currentTimeMillis() + 5000;
+			while (pool.getIdle() > 1 && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+			Assert.assertEquals(pool.getIdle(), 1, "Idle connections left after eviction by timer");
+			Assert.assertEquals(pool.getEvicted(), 1);
+		}
+	}
+	
+	@Test
+	public void invalidConnectionReplaced() throws ConnectivityException, SettingsException, SQLException
+	{
+		try (DbConnectionPool pool = createPool(0, 1, 0, "select * from absent_table"))
+		{
+			pool.getConnection().close();
+			try (Connection connection = pool.getConnection())
+			{
+				Assert.assertFalse(connection.isClosed());
+			}
+			Assert.assertEquals(pool.getValidationFailures(), 1);
+			Assert.assertEquals(pool.getCreated(), 2);
+		}
+	}
+	
+	@Test
+	public void connectionResetOnReturn() throws ConnectivityException, SettingsException, SQLException
+	{
+		try (DbConnectionPool pool = createPool(0, 1, 0, null))
+		{
+			Statement statement;
+			int isolation;
+			try (Connection connection = pool.getConnection())
+			{
+				isolation = connection.getTransactionIsolation();
+				connection.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
+				connection.setAutoCommit(false);
+				statement = connection.createStatement();
+			}
+			Assert.assertTrue(statement.isClosed(), "Statement left open must be closed");
+			
+			try (Connection connection = pool.getConnection())
+			{
+				Assert.assertEquals(connection.getTransactionIsolation(), isolation);
+				Assert.assertTrue(connection.getAutoCommit());
+			}
+			Assert.assertEquals(pool.getCreated(), 1);
+		}
+	}
+	
+	@Test
+	public void dbConnectionUsesPool() throws ConnectivityException, SettingsException, SQLException
+	{
+		DbConnection dbConnection = new DbConnection();
+		dbConnection.setName("pooled");
+		dbConnection.getSettings().setJdbcUrl(URL);
+		dbConnection.getSettings().setUsePool(true);
+		try
+		{
+			dbConnection.getConnection().close();
+			dbConnection.getConnection().close();
+			
+			DbConnectionPool pool = dbConnection.getPool();
+			Assert.assertNotNull(pool);
+			Assert.assertEquals(pool.getCreated(), 1);
+			Assert.assertEquals(pool.getBorrowed(), 2);
+			
+			dbConnection.getSettings().setUsePool(false);
+			dbConnection.getConnection().close();
+			Assert.assertNull(dbConnection.getPool());
+			Assert.assertTrue(pool.isClosed());
+		}
+		finally
+		{
+			dbConnection.dispose();
+		}
+	}
+	
+	
+	private DbConnectionPool createPool(int minSize, int maxSize, long idleTimeout, String validationQuery)
+	{
+		return new DbConnectionPool("test", this::openConnection, minSize, maxSize, idleTimeout, validationQuery);
+	}
+	
+	private Connection openConnection() throws ConnectionException
+	{
+		try
+		{
+			return DriverManager.getConnection(URL);
+		}
+		catch (SQLException e)
+		{
+			throw new ConnectionException(e);
+		}
+	}
+}
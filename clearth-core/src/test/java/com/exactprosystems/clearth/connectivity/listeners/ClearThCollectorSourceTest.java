@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -36,12 +36,16 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
 import com.exactprosystems.clearth.connectivity.ListenerProperties;
 import com.exactprosystems.clearth.connectivity.ListenerType;
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.ICodec;
+import com.exactprosystems.clearth.connectivity.iface.SimpleClearThMessage;
 import com.exactprosystems.clearth.messages.CollectorMessageSource;
+import com.exactprosystems.clearth.messages.MessageFinder;
+import com.exactprosystems.clearth.messages.MessageMatcher;
 import com.exactprosystems.clearth.utils.SettingsException;
 import com.exactprosystems.clearth.utils.SimpleKeyValueCodec;
 
@@ -110,6 +114,90 @@ public class ClearThCollectorSourceTest {
 		Assert.assertEquals(actual, expectedSecond);
 	}
 
+	@Test(timeOut = 10000)
+	public void checkFinderWakesUpOnNewMessage() throws IOException, SettingsException, InterruptedException, ParametersException
+	{
+		String[] messages = getMessagesFromFile(MESSAGES_FILE);
+		ClearThMessageCollector listener = createListener("Notifying", codec, new HashMap<>());
+		putMessages(listener, messages, 0, 2);
+		CollectorMessageSource source = createSource(listener, -1, true);
+		
+		Thread sender = new Thread(() -> {
+			try
+			{
+				Thread.sleep(300);
+			}
+			catch (InterruptedException e)
+			{
+				return;
+			}
+			putMessages(listener, messages, 2, 4);
+		});
+		sender.start();
+		
+		//Search delay is big enough to make sure that finder doesn't find message by polling
+		MessageFinder<SimpleClearThMessage> finder = new MessageFinder<>(60000);
+		SimpleClearThMessage found = finder.find(source, m -> "DDD".equals(m.getField(MSGTYPE)), 5000, false);
+		sender.join();
+		
+		Assert.assertNotNull(found, "Message not found");
+		Assert.assertTrue(finder.getLastSearchDuration() < 5000, 
+				"Search took "+finder.getLastSearchDuration()+" ms, it should have finished right after message arrival");
+	}
+	
+	@Test
+	public void checkAwaitMessagesTimeout() throws SettingsException, InterruptedException
+	{
+		ClearThMessageCollector listener = createListener("Empty", codec, new HashMap<>());
+		Assert.assertFalse(listener.awaitMessages(-1, 50));
+		
+		listener.onMessage(EncodedClearThMessage.newReceivedMessage("MsgType=AAA", Instant.ofEpochMilli(1)));
+		Assert.assertTrue(listener.awaitMessages(-1, 50));
+		Assert.assertFalse(listener.awaitMessages(0, 50));
+	}
+
+	@Test
+	public void checkIndexedSearch() throws IOException, SettingsException, InterruptedException, ParametersException
+	{
+		String[] messages = getMessagesFromFile(MESSAGES_FILE);
+		Map<String, String> settings = new HashMap<>();
+		settings.put(ClearThMessageCollector.INDEX_FIELDS_SETTING, "message");
+		ClearThMessageCollector listener = createListener("Indexed", codec, settings);
+		putMessages(listener, messages, 0, messages.length);
+		
+		Map<String, String> keys = new HashMap<>();
+		keys.put("message", "msg1");
+		List<String> checkedTypes = new ArrayList<>();
+		MessageMatcher<SimpleClearThMessage> matcher = new MessageMatcher<SimpleClearThMessage>()
+		{
+			@Override
+			public boolean matches(SimpleClearThMessage message)
+			{
+				checkedTypes.add(message.getField(MSGTYPE));
+				return "GGG".equals(message.getField(MSGTYPE));
+			}
+			
+			@Override
+			public Map<String, String> getEqualityKeys()
+			{
+				return keys;
+			}
+		};
+		
+		MessageFinder<SimpleClearThMessage> finder = new MessageFinder<>();
+		SimpleClearThMessage found = finder.find(createSource(listener, -1, true), matcher, 0, false);
+		
+		Assert.assertNotNull(found, "Message not found");
+		Assert.assertEquals(found.getField(MSGTYPE), "GGG");
+		//Only messages with message=msg1 should be checked by matcher
+		Assert.assertEquals(checkedTypes, Arrays.asList("BBB", "GGG"));
+		
+		listener.removeMessage(found);
+		checkedTypes.clear();
+		Assert.assertNull(finder.find(createSource(listener, -1, true), matcher, 0, false));
+		Assert.assertEquals(checkedTypes, Arrays.asList("BBB"));
+	}
+
 	private CollectorMessageSource createSource(ClearThMessageCollector listener, long afterTime, boolean directOrder) 
 			throws SettingsException
 	{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -20,8 +20,12 @@ package com.exactprosystems.clearth.connectivity.listeners;
 
 import com.exactprosystems.clearth.connectivity.ListenerProperties;
 import com.exactprosystems.clearth.connectivity.ListenerType;
+import com.exactprosystems.clearth.connectivity.DecodeException;
+import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.ICodec;
+import com.exactprosystems.clearth.connectivity.iface.ReceivedClearThMessage;
+import com.exactprosystems.clearth.connectivity.iface.SimpleClearThMessage;
 import com.exactprosystems.clearth.utils.SettingsException;
 import com.exactprosystems.clearth.utils.SimpleKeyValueCodec;
 import org.apache.commons.io.FileUtils;
@@ -40,6 +44,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static com.exactprosystems.clearth.connectivity.iface.ClearThMessage.MSGTYPE;
+import static com.exactprosystems.clearth.connectivity.listeners.ClearThMessageCollector.DECODE_THREADS_SETTING;
 import static com.exactprosystems.clearth.connectivity.listeners.ClearThMessageCollector.DEFAULT_MESSAGE_END_INDICATOR;
 import static com.exactprosystems.clearth.connectivity.listeners.ClearThMessageCollector.ALLOWED_TYPES;
 import static com.exactprosystems.clearth.connectivity.listeners.ClearThMessageCollector.FORBIDDEN_TYPES;
@@ -127,6 +132,89 @@ public class ClearThMessageCollectorTest
 		simpleListener.onMessage(EncodedClearThMessage.newReceivedMessage("a", null));
 	}
 	
+	@Test
+	public void checkMessageDataAndRemovalByMessage() throws SettingsException
+	{
+		ClearThMessageCollector listener = createListener("Removal", codec, new HashMap<>());
+		listener.onMessage(EncodedClearThMessage.newReceivedMessage("MsgType=AAA", Instant.ofEpochMilli(1)));
+		listener.onMessage(EncodedClearThMessage.newReceivedMessage("MsgType=AAA", Instant.ofEpochMilli(2)));
+		
+		List<ClearThMessage<?>> messages = new ArrayList<>(listener.getMessages());
+		ClearThMessage<?> second = messages.get(1);
+		ReceivedClearThMessage data = listener.getMessageData(second);
+		Assert.assertNotNull(data);
+		Assert.assertEquals(data.getId(), 1);
+		Assert.assertSame(data.getMessage(), second);
+		
+		//Message with the same fields is not stored in collector, so it cannot be found or removed
+		ClearThMessage<?> similar = new SimpleClearThMessage(second.getFields());
+		Assert.assertNull(listener.getMessageData(similar));
+		listener.removeMessage(similar);
+		Assert.assertEquals(listener.getMessages().size(), 2);
+		
+		listener.removeMessage(second);
+		Assert.assertNull(listener.getMessageData(second));
+		Assert.assertEquals(listener.getMessagesData().iterator().next().getMessage(), messages.get(0));
+		Assert.assertEquals(listener.getMessages().size(), 1);
+	}
+	
+	@Test
+	public void checkParallelDecodingKeepsArrivalOrder() throws SettingsException, InterruptedException
+	{
+		Map<String, String> settings = new HashMap<>();
+		settings.put(DECODE_THREADS_SETTING, "4");
+		ClearThMessageCollector listener = new ClearThMessageCollector(new ListenerProperties("Parallel", ListenerType.Collector.getLabel(), true, false), 
+				"con", new SlowCodec(), SlowCodec::new, settings, DEFAULT_MESSAGE_END_INDICATOR);
+		
+		int count = 200;
+		for (int i = 0; i < count; i++)
+		{
+			String payload = i % 10 == 5 ? "broken" : "MsgType=AAA\nIndex=" + i;
+			listener.onMessage(EncodedClearThMessage.newReceivedMessage(payload, Instant.ofEpochMilli(i)));
+		}
+		//Messages are published in order, so all of them are stored once the last one is stored
+		long deadline = System.currentTimeMillis() + 10000;
+		while (listener.getLastMessageId() < count - 1 && System.currentTimeMillis() < deadline)
+			listener.awaitMessages(listener.getLastMessageId(), 1000);
+		Assert.assertEquals(listener.getLastMessageId(), count - 1, "ID of last stored message");
+		
+		List<ReceivedClearThMessage> passed = new ArrayList<>(listener.getMessagesData());
+		Assert.assertEquals(passed.size(), count - count / 10);
+		long prevId = -1;
+		for (ReceivedClearThMessage data : passed)
+		{
+			Assert.assertTrue(data.getId() > prevId, "IDs are ascending");
+			Assert.assertEquals(data.getMessage().getField("Index"), Long.toString(data.getId()));
+			prevId = data.getId();
+		}
+		Assert.assertEquals(listener.getMessagesFailed().size(), count / 10);
+		listener.dispose();
+	}
+	
+	@Test(timeOut = 20000)
+	public void checkParallelDecodingContinuesAfterCodecError() throws SettingsException, InterruptedException
+	{
+		Map<String, String> settings = new HashMap<>();
+		settings.put(DECODE_THREADS_SETTING, "2");
+		ClearThMessageCollector listener = new ClearThMessageCollector(new ListenerProperties("CodecError", ListenerType.Collector.getLabel(), true, false), 
+				"con", new SlowCodec(), SlowCodec::new, settings, DEFAULT_MESSAGE_END_INDICATOR);
+		
+		int count = 20;
+		for (int i = 0; i < count; i++)
+		{
+			String payload = i % 10 == 5 ? SlowCodec.ERROR_PAYLOAD : "MsgType=AAA\nIndex=" + i;
+			listener.onMessage(EncodedClearThMessage.newReceivedMessage(payload, Instant.ofEpochMilli(i)));
+		}
+		
+		long deadline = System.currentTimeMillis() + 10000;
+		while (listener.getLastMessageId() < count - 1 && System.currentTimeMillis() < deadline)
+			listener.awaitMessages(listener.getLastMessageId(), 1000);
+		Assert.assertEquals(listener.getLastMessageId(), count - 1, "ID of last stored message");
+		Assert.assertEquals(listener.getMessagesData().size(), count - 2);
+		Assert.assertEquals(listener.getMessagesFailed().size(), 2);
+		listener.dispose();
+	}
+	
 	private ClearThMessageCollector createListener(String name, ICodec codec, Map<String, String> settings)
 			throws SettingsException
 	{
@@ -142,4 +230,28 @@ public class ClearThMessageCollectorTest
 				.split(MESSAGES_DELIMITER);
 	}
 	
-}
\ No newline at end of file
+	
+	private static class SlowCodec extends SimpleKeyValueCodec
+	{
+		public static final String ERROR_PAYLOAD = "codecError";
+		
+		private final Random random = new Random();
+		
+		@Override
+		public ClearThMessage<?> decode(String message) throws DecodeException
+		{
+			if (ERROR_PAYLOAD.equals(message))
+				throw new StackOverflowError("Test error");
+			
+			try
+			{
+				Thread.sleep(random.nextInt(3));
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return super.decode(message);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.listeners;
+
+import com.exactprosystems.clearth.ApplicationManager;
+import com.exactprosystems.clearth.connectivity.ListenerProperties;
+import com.exactprosystems.clearth.connectivity.ListenerType;
+import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
+import com.exactprosystems.clearth.messages.MessageFileReader;
+import com.exactprosystems.clearth.utils.ClearThException;
+import com.exactprosystems.clearth.utils.SettingsException;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.exactprosystems.clearth.ApplicationManager.USER_DIR;
+import static com.exactprosystems.clearth.connectivity.listeners.FileListener.*;
+
+public class FileListenerTest
+{
+	private static final Path OUTPUT_DIR = USER_DIR.resolve("testOutput").resolve(FileListenerTest.class.getSimpleName());
+	
+	private ApplicationManager manager;
+	
+	@BeforeClass
+	public void init() throws ClearThException, IOException
+	{
+		manager = new ApplicationManager();
+		Files.createDirectories(OUTPUT_DIR);
+	}
+	
+	@AfterClass
+	public void dispose() throws IOException
+	{
+		if (manager != null)
+			manager.dispose();
+	}
+	
+	@Test
+	public void messagesFlushedInBatches() throws IOException, SettingsException
+	{
+		Path file = OUTPUT_DIR.resolve("batches.txt");
+		Files.deleteIfExists(file);
+		
+		Map<String, String> settings = new HashMap<>();
+		settings.put(FILE_SETTING, file.toString());
+		settings.put(FLUSH_MESSAGES_SETTING, "3");
+		FileListener listener = createListener("Batches", settings);
+		
+		listener.onMessage(new EncodedClearThMessage("msg1"));
+		listener.onMessage(new EncodedClearThMessage("msg2"));
+		Assert.assertEquals(Files.size(file), 0, "File size before batch is complete");
+		Assert.assertEquals(listener.getFlushes(), 0);
+		
+		listener.onMessage(new EncodedClearThMessage("msg3"));
+		Assert.assertEquals(listener.getFlushes(), 1);
+		Assert.assertEquals(listener.getBytesWritten(), Files.size(file));
+		
+		listener.onMessage(new EncodedClearThMessage("msg4"));
+		listener.dispose();
+		Assert.assertEquals(listener.getFlushes(), 2);
+		Assert.assertEquals(readPayloads(file), List.of("msg1", "msg2", "msg3", "msg4"));
+	}
+	
+	@Test
+	public void messagesFlushedByTimer() throws IOException, SettingsException, InterruptedException
+	{
+		Path file = OUTPUT_DIR.resolve("timer.txt");
+		Files.deleteIfExists(file);
+		
+		Map<String, String> settings = new HashMap<>();
+		settings.put(FILE_SETTING, file.toString());
+		settings.put(FLUSH_MESSAGES_SETTING, "1000");
+		settings.put(FLUSH_INTERVAL_SETTING, "50");
+		FileListener listener = createListener("Timer", settings);
+		listener.start();
+		try
+		{
+			listener.onMessage(new EncodedClearThMessage("msg1"));
+			
+			long end = System.currentTimeMillis() + 5000;
+			while (listener.getFlushes() == 0 && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+			
+			Assert.assertEquals(listener.getFlushes(), 1);
+			Assert.assertEquals(readPayloads(file), List.of("msg1"));
+		}
+		finally
+		{
+			listener.dispose();
+		}
+	}
+	
+	@Test
+	public void flushTimerRunsOnlyWhileStarted() throws IOException, SettingsException
+	{
+		Path file = OUTPUT_DIR.resolve("restart.txt");
+		Files.deleteIfExists(file);
+		
+		Map<String, String> settings = new HashMap<>();
+		settings.put(FILE_SETTING, file.toString());
+		settings.put(FLUSH_INTERVAL_SETTING, "50");
+		FileListener listener = createListener("Restart", settings);
+		String timerName = "Restart (flushTimer)";
+		Assert.assertNull(findThread(timerName), "Timer thread before start");
+		
+		listener.start();
+		listener.onMessage(new EncodedClearThMessage("msg1"));
+		Thread timer = findThread(timerName);
+		Assert.assertNotNull(timer, "Timer thread after start");
+		Assert.assertTrue(timer.isDaemon(), "Timer thread is daemon");
+		
+		listener.dispose();
+		//Listener can be started again after dispose
+		listener.start();
+		listener.dispose();
+	}
+	
+	@Test
+	public void keyValueSettingsDetected()
+	{
+		Assert.assertTrue(isKeyValueSettings("file=output/messages.txt;flushMessages=100"));
+		Assert.assertTrue(isKeyValueSettings(" File=messages.txt"));
+		Assert.assertFalse(isKeyValueSettings("output/a=b/messages.txt"));
+		Assert.assertFalse(isKeyValueSettings("flushMessages=100;file=messages.txt"));
+	}
+	
+	@Test(expectedExceptions = SettingsException.class)
+	public void fileIsMandatory() throws IOException, SettingsException
+	{
+		Map<String, String> settings = new HashMap<>();
+		settings.put(FLUSH_MESSAGES_SETTING, "10");
+		createListener("NoFile", settings);
+	}
+	
+	
+	private FileListener createListener(String name, Map<String, String> settings) throws IOException, SettingsException
+	{
+		return new FileListener(new ListenerProperties(name, ListenerType.File.getLabel(), true, true), settings);
+	}
+	
+	private Thread findThread(String name)
+	{
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(t -> name.equals(t.getName()) && t.isAlive())
+				.findFirst().orElse(null);
+	}
+	
+	private List<String> readPayloads(Path file) throws IOException
+	{
+		List<String> result = new ArrayList<>();
+		new MessageFileReader().processMessages(file, m -> result.add(m.getPayload().toString()));
+		return result;
+	}
+}
@@ -0,0 +1,106 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.listeners;
+
+import com.exactprosystems.clearth.connectivity.iface.SimpleClearThMessage;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static com.exactprosystems.clearth.connectivity.iface.ClearThMessage.MSGTYPE;
+
+public class MessageIndexTest
+{
+	private static final String ORDER_ID = "ClOrdID";
+
+	private MessageIndex index;
+	private List<SimpleClearThMessage> messages;
+
+	@BeforeMethod
+	public void init()
+	{
+		index = new MessageIndex(new HashSet<>(Arrays.asList(MSGTYPE, ORDER_ID)));
+		messages = Arrays.asList(createMessage("D", "1"),
+				createMessage("8", "1"),
+				createMessage("D", "2"),
+				createMessage("8", "2"),
+				createMessage("8", null));
+		for (int i = 0; i < messages.size(); i++)
+			index.add(i, messages.get(i));
+	}
+
+	@Test
+	public void findBySingleField()
+	{
+		Assert.assertEquals(index.findIds(keys(MSGTYPE, "8"), -1), new TreeSet<>(Arrays.asList(1L, 3L, 4L)));
+		Assert.assertEquals(index.findIds(keys(MSGTYPE, "8"), 1), new TreeSet<>(Arrays.asList(3L, 4L)));
+		Assert.assertTrue(index.findIds(keys(MSGTYPE, "F"), -1).isEmpty());
+	}
+
+	@Test
+	public void findByMultipleFields()
+	{
+		Map<String, String> keys = keys(MSGTYPE, "8");
+		keys.put(ORDER_ID, "2");
+		keys.put("NotIndexed", "value");
+
+		Assert.assertEquals(index.findIds(keys, -1), Collections.singleton(3L));
+		Assert.assertTrue(index.findIds(keys, 3).isEmpty());
+	}
+
+	@Test
+	public void findByNotIndexedField()
+	{
+		Assert.assertNull(index.findIds(keys("NotIndexed", "value"), -1));
+		Assert.assertFalse(index.isAnyIndexed(keys("NotIndexed", "value")));
+		Assert.assertTrue(index.isAnyIndexed(keys(ORDER_ID, "value")));
+	}
+
+	@Test
+	public void removeAndClear()
+	{
+		index.remove(1, messages.get(1));
+		Assert.assertEquals(index.findIds(keys(ORDER_ID, "1"), -1), Collections.singleton(0L));
+
+		index.remove(0, messages.get(0));
+		Assert.assertTrue(index.findIds(keys(ORDER_ID, "1"), -1).isEmpty());
+
+		index.clear();
+		Assert.assertTrue(index.findIds(keys(MSGTYPE, "8"), -1).isEmpty());
+	}
+
+
+	private SimpleClearThMessage createMessage(String type, String orderId)
+	{
+		SimpleClearThMessage result = new SimpleClearThMessage();
+		result.addField(MSGTYPE, type);
+		if (orderId != null)
+			result.addField(ORDER_ID, orderId);
+		return result;
+	}
+
+	private Map<String, String> keys(String name, String value)
+	{
+		Map<String, String> result = new HashMap<>();
+		result.put(name, value);
+		return result;
+	}
+}
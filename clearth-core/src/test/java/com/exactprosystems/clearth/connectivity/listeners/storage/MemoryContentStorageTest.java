@@ -0,0 +1,69 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.connectivity.listeners.storage;
+
+import com.exactprosystems.clearth.connectivity.iface.ReceivedClearThMessage;
+import com.exactprosystems.clearth.connectivity.iface.ReceivedStringMessage;
+import com.exactprosystems.clearth.connectivity.iface.SimpleClearThMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class MemoryContentStorageTest
+{
+	@Test
+	public void findAndRemoveByMessage()
+	{
+		MemoryContentStorage<ReceivedClearThMessage, ReceivedStringMessage> storage = 
+				new MemoryContentStorage<>(ReceivedClearThMessage::getMessage);
+		SimpleClearThMessage msg1 = new SimpleClearThMessage(),
+				msg2 = new SimpleClearThMessage(),
+				notStored = new SimpleClearThMessage();
+		ReceivedClearThMessage item1 = new ReceivedClearThMessage(1, 1, msg1),
+				item2 = new ReceivedClearThMessage(2, 2, msg2);
+		storage.insertPassed(1, item1);
+		storage.insertPassed(2, item2);
+		
+		Assert.assertEquals(storage.getPassedId(msg1), Long.valueOf(1));
+		Assert.assertEquals(storage.getPassedId(msg2), Long.valueOf(2));
+		//Messages are equal by fields, but only stored object should be found
+		Assert.assertNull(storage.getPassedId(notStored));
+		
+		storage.removePassed(item1);
+		Assert.assertNull(storage.getPassedId(msg1));
+		Assert.assertFalse(storage.getContentPassed().containsKey(1L));
+		
+		storage.removePassed(2);
+		Assert.assertNull(storage.getPassedId(msg2));
+		Assert.assertTrue(storage.getContentPassed().isEmpty());
+	}
+	
+	@Test
+	public void removeFailed()
+	{
+		MemoryContentStorage<ReceivedClearThMessage, ReceivedStringMessage> storage = new MemoryContentStorage<>();
+		ReceivedStringMessage item1 = new ReceivedStringMessage(1, 1, "text"),
+				item2 = new ReceivedStringMessage(2, 2, "text");
+		storage.insertFailed(1, item1);
+		storage.insertFailed(2, item2);
+		
+		storage.removeFailed(item2);
+		Assert.assertEquals(storage.getContentFailed().keySet().iterator().next(), Long.valueOf(1));
+		Assert.assertEquals(storage.getContentFailed().size(), 1);
+	}
+}
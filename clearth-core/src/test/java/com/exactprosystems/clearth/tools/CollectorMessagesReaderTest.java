@@ -0,0 +1,122 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.tools;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.exactprosystems.clearth.connectivity.CollectorMessage;
+import com.exactprosystems.clearth.connectivity.iface.ReceivedStringMessage;
+
+import static org.testng.Assert.*;
+
+public class CollectorMessagesReaderTest
+{
+	private static final int MESSAGES_COUNT = CollectorMessagesReader.CHECKPOINT_STEP * 3 + 10;
+	
+	private ConcurrentSkipListMap<Long, ReceivedStringMessage> messages;
+	
+	@BeforeMethod
+	public void prepareMessages()
+	{
+		messages = new ConcurrentSkipListMap<>();
+		for (long i = 1; i <= MESSAGES_COUNT; i++)
+			messages.put(i, new ReceivedStringMessage(i, i, "msg" + i));
+	}
+	
+	private CollectorMessagesReader<ReceivedStringMessage> createReader(boolean evenOnly)
+	{
+		return new CollectorMessagesReader<>(id -> messages.tailMap(id, false).values(),
+				evenOnly ? m -> m.getId() % 2 == 0 : null,
+				ReceivedStringMessage::getMessage,
+				m -> "parsed " + m.getMessage());
+	}
+	
+	private List<String> texts(List<CollectorMessage> page)
+	{
+		return page.stream().map(CollectorMessage::getMessage).collect(Collectors.toList());
+	}
+	
+	@Test
+	public void pagesAreRead()
+	{
+		CollectorMessagesReader<ReceivedStringMessage> reader = createReader(false);
+		assertEquals(reader.count(), MESSAGES_COUNT);
+		assertEquals(texts(reader.getPage(0, 2)), List.of("msg1", "msg2"));
+		//Reading far page to remember checkpoints, then reading pages before and after them
+		assertEquals(texts(reader.getPage(MESSAGES_COUNT - 1, 5)), List.of("msg" + MESSAGES_COUNT));
+		assertEquals(texts(reader.getPage(CollectorMessagesReader.CHECKPOINT_STEP - 1, 2)), List.of("msg1000", "msg1001"));
+		assertEquals(texts(reader.getPage(CollectorMessagesReader.CHECKPOINT_STEP * 2 + 4, 1)), List.of("msg2005"));
+		assertTrue(reader.getPage(MESSAGES_COUNT, 1).isEmpty());
+	}
+	
+	@Test
+	public void filteredPagesAreRead()
+	{
+		CollectorMessagesReader<ReceivedStringMessage> reader = createReader(true);
+		assertEquals(reader.count(), MESSAGES_COUNT / 2);
+		assertEquals(texts(reader.getPage(1500, 2)), List.of("msg3002", "msg3004"));
+		assertEquals(texts(reader.getPage(0, 1)), List.of("msg2"));
+		
+		CollectorMessage msg = reader.getPage(10, 1).get(0);
+		assertEquals(msg.getParsedMessage(), "parsed msg22");
+		assertEquals(msg.getTimestamp().getTime(), 22);
+	}
+	
+	@Test
+	public void newMessagesAreSeen()
+	{
+		CollectorMessagesReader<ReceivedStringMessage> reader = createReader(false);
+		reader.getPage(MESSAGES_COUNT - 1, 1);
+		
+		long id = MESSAGES_COUNT + 1;
+		messages.put(id, new ReceivedStringMessage(id, id, "new"));
+		assertEquals(reader.count(), MESSAGES_COUNT + 1);
+		assertEquals(texts(reader.getPage(MESSAGES_COUNT, 1)), List.of("new"));
+	}
+	
+	@Test
+	public void countIsCalculatedOnce()
+	{
+		CollectorMessagesReader<ReceivedStringMessage> reader = createReader(false);
+		assertEquals(reader.count(), MESSAGES_COUNT);
+		
+		long id = MESSAGES_COUNT + 1;
+		messages.put(id, new ReceivedStringMessage(id, id, "new"));
+		assertEquals(reader.count(), MESSAGES_COUNT, "Count of existing reader");
+		assertEquals(createReader(false).count(), MESSAGES_COUNT + 1, "Count of new reader");
+	}
+	
+	@Test
+	public void messagesAreWritten() throws Exception
+	{
+		messages.headMap(MESSAGES_COUNT - 2L, true).clear();
+		
+		StringWriter writer = new StringWriter();
+		createReader(false).write(writer, false);
+		String sep = System.lineSeparator();
+		assertEquals(writer.toString(), "parsed msg" + (MESSAGES_COUNT - 1) + sep + sep + "parsed msg" + MESSAGES_COUNT + sep + sep);
+	}
+}
@@ -0,0 +1,158 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.utils;
+
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ComparisonUtilsTest
+{
+	private final ComparisonUtils comparisonUtils = new ComparisonUtils();
+
+	@DataProvider(name = "values")
+	Object[][] values()
+	{
+		return new Object[][]
+				{
+						// expected, actual, result
+						{"abc", "abc", true},
+						{"abc", "ABC", false},
+						{"{abc}", "{abc}", true},
+						{"@{isNull}", null, true},
+						{"@{isNotEmpty}", "", false},
+						{"@{isInteger}", "12", true},
+						{"{pattern('A.C')}", "ABC", true},
+						{"ID-{pattern('\\d+')}", "ID-12", true},
+						{"{pattern('A.C')}", null, false},
+						{"@{isTimestamp('dd.MM.yyyy')}", "20.01.2022", true},
+						{"@{isTimestamp('dd.MM.yyyy')}", "20.13.2022", false},
+						{"@{isBeforeDate('01.01.2001', 'dd.MM.yyyy')}", "31.12.2000", true},
+						{"@{isBetweenDates('04.02.2003', '06.02.2003', 'dd.MM.yyyy')}", "05.02.2003", true},
+						{"@{isBetweenDates('04.02.2003', '06.02.2003', 'dd.MM.yyyy')}", "04.02.2003", false},
+						{"@{isBetweenDates('04.02.2003', '06.02.2003', 'dd.MM.yyyy', 'includeLeft')}", "04.02.2003", true},
+						{"@{isGreaterThan(10)}", "10.5", true},
+						{"@{isLessOrEqual(10)}", "10", true},
+						{"@{isLessThan(10)}", "abc", false},
+						{"@{isBetween(2,4,'includeRight')}", "4", true},
+						{"@{isNotEqualNumber(5)}", "5.0", false},
+						{"@{isNotEqualText('Text', false)}", "TEXT", false},
+						{"@{isNotEqualText('Text')}", "TEXT", true}
+				};
+	}
+
+	@Test(dataProvider = "values")
+	public void compareValues(String expected, String actual, boolean result) throws ParametersException
+	{
+		//Second comparison uses cached matcher
+		Assert.assertEquals(comparisonUtils.compareValues(expected, actual), result);
+		Assert.assertEquals(comparisonUtils.compareValues(expected, actual), result);
+	}
+
+	@Test
+	public void caseInsensitiveComparison() throws ParametersException
+	{
+		Assert.assertTrue(comparisonUtils.compareValuesIgnoreCase("{abc}", "{ABC}"));
+		Assert.assertFalse(comparisonUtils.compareValues("{abc}", "{ABC}"));
+	}
+
+	@Test
+	public void matcherIsCached() throws ParametersException
+	{
+		String expected = "{asNumber(500.1, 10, 1)}";
+		ExpectedValueMatcher matcher = comparisonUtils.getMatcher(expected);
+
+		Assert.assertSame(comparisonUtils.getMatcher(expected), matcher);
+		Assert.assertTrue(matcher.matches("505", true));
+		Assert.assertFalse(matcher.matches("510.1", true));
+	}
+
+	@Test(expectedExceptions = ParametersException.class)
+	public void invalidParameters() throws ParametersException
+	{
+		comparisonUtils.compareValues("@{isGreaterThan(abc)}", "10");
+	}
+
+	@Test
+	public void invalidDatesForAbsentValue() throws ParametersException
+	{
+		Assert.assertFalse(comparisonUtils.compareValues("@{isBetweenDates('x', 'y', 'dd.MM.yyyy')}", null));
+	}
+
+	@Test
+	public void overriddenFunctionsAreUsed() throws ParametersException
+	{
+		ComparisonUtils custom = new ComparisonUtils()
+		{
+			@Override
+			public boolean isGreaterThan(String expectedValue, String actualValue)
+			{
+				return "custom".equals(actualValue);
+			}
+			
+			@Override
+			protected boolean numbersEqual(String expectedExpression, String actualValue, boolean abs, boolean invert,
+					String functionName)
+			{
+				return true;
+			}
+		};
+		
+		Assert.assertTrue(custom.compareValues("@{isGreaterThan(10)}", "custom"));
+		Assert.assertFalse(custom.compareValues("@{isGreaterThan(10)}", "11"));
+		Assert.assertTrue(custom.compareValues("{asNumber(10)}", "20"));
+		Assert.assertTrue(custom.compareValues("@{isLessThan(10)}", "5"));
+	}
+	
+	@Test
+	public void overriddenHelpersAreUsed() throws ParametersException
+	{
+		ComparisonUtils custom = new ComparisonUtils()
+		{
+			@Override
+			public String preparePattern(String value)
+			{
+				return "custom.*";
+			}
+		};
+		
+		Assert.assertTrue(custom.compareValues("@{pattern('abc')}", "custom value"));
+		Assert.assertFalse(custom.compareValues("@{pattern('abc')}", "abc"));
+	}
+	
+	@Test
+	public void matchersAreCachedIfAllowed() throws ParametersException
+	{
+		ComparisonUtils cacheable = new ComparisonUtils()
+		{
+			@Override
+			protected boolean isMatcherCacheable(String expectedValue)
+			{
+				return true;
+			}
+		};
+		
+		String expected = "@{isGreaterThan(10)}";
+		Assert.assertSame(cacheable.getMatcher(expected), cacheable.getMatcher(expected));
+		ComparisonUtils notCacheable = new ComparisonUtils(){};
+		Assert.assertNotSame(notCacheable.getMatcher(expected), notCacheable.getMatcher(expected));
+		Assert.assertTrue(cacheable.compareValues(expected, "11"));
+	}
+}
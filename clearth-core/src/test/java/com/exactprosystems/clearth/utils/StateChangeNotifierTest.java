@@ -0,0 +1,66 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class StateChangeNotifierTest
+{
+	@Test
+	public void listenersGetChanges()
+	{
+		StateChangeNotifier<String> notifier = new StateChangeNotifier<>();
+		List<String> first = new ArrayList<>(),
+				second = new ArrayList<>();
+		Consumer<String> secondListener = second::add;
+		notifier.addListener(first::add);
+		notifier.addListener(secondListener);
+		
+		notifier.notifyListeners("A");
+		notifier.removeListener(secondListener);
+		notifier.notifyListeners("B");
+		
+		assertEquals(first, Arrays.asList("A", "B"));
+		assertEquals(second, Arrays.asList("A"));
+	}
+	
+	@Test
+	public void failedListenerDoesNotBreakOthers()
+	{
+		StateChangeNotifier<String> notifier = new StateChangeNotifier<>();
+		List<String> received = new ArrayList<>();
+		notifier.addListener(change -> {
+			throw new IllegalStateException("Test failure");
+		});
+		notifier.addListener(received::add);
+		
+		notifier.notifyListeners("A");
+		
+		assertTrue(notifier.hasListeners());
+		assertEquals(received, Arrays.asList("A"));
+	}
+}
@@ -0,0 +1,146 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.exactprosystems.clearth.utils.csv.readers.ClearThCsvReaderConfig;
+
+import static org.testng.Assert.*;
+
+public class CsvLookupCacheTest
+{
+	private static final Path OUTPUT_DIR = Paths.get("testOutput").resolve(CsvLookupCacheTest.class.getSimpleName());
+	
+	@BeforeClass
+	public void init() throws IOException
+	{
+		FileUtils.deleteDirectory(OUTPUT_DIR.toFile());
+		Files.createDirectories(OUTPUT_DIR);
+	}
+	
+	@Test
+	public void rowsFoundIgnoringCase() throws IOException
+	{
+		Path file = writeFile("lookup.csv", "Id,Name,Side\n1,Alpha,Buy\n2,beta,Sell\n3,ALPHA,Sell\n4,Gamma,Buy");
+		IndexedCsvFile contents = new CsvLookupCache().getFile(file.toString(), ClearThCsvReaderConfig.withFirstLineAsHeader());
+		
+		assertEquals(contents.getRowsCount(), 4);
+		assertEquals(contents.findRows(keys(1, "alpha")), new int[] {0, 2});
+		assertEquals(contents.findRows(keys(1, "Alpha", 2, "sell")), new int[] {2});
+		assertEquals(contents.findRows(keys(1, "Delta")), new int[0]);
+		assertEquals(contents.getValue(1, 1), "beta");
+	}
+	
+	@Test
+	public void fileReloadedAfterChange() throws IOException
+	{
+		Path file = writeFile("changed.csv", "Id,Name\n1,Alpha");
+		CsvLookupCache cache = new CsvLookupCache();
+		ClearThCsvReaderConfig config = ClearThCsvReaderConfig.withFirstLineAsHeader();
+		IndexedCsvFile first = cache.getFile(file.toString(), config);
+		assertSame(cache.getFile(file.toString(), config), first);
+		
+		writeFile("changed.csv", "Id,Name\n1,Alpha\n2,Beta");
+		IndexedCsvFile second = cache.getFile(file.toString(), config);
+		assertNotSame(second, first);
+		assertEquals(second.findRows(keys(1, "beta")), new int[] {1});
+		assertEquals(cache.getCachedCells(), 4);
+	}
+	
+	@Test
+	public void cacheSizeLimited() throws IOException
+	{
+		Path small1 = writeFile("small1.csv", "Id,Name\n1,Alpha\n2,Beta"),
+				small2 = writeFile("small2.csv", "Id,Name\n3,Gamma\n4,Delta"),
+				big = writeFile("big.csv", "Id,Name\n1,A\n2,B\n3,C\n4,D");
+		CsvLookupCache cache = new CsvLookupCache(6);
+		ClearThCsvReaderConfig config = ClearThCsvReaderConfig.withFirstLineAsHeader();
+		
+		assertNull(cache.getFile(big.toString(), config));
+		
+		IndexedCsvFile contents1 = cache.getFile(small1.toString(), config);
+		cache.getFile(small2.toString(), config);
+		assertEquals(cache.getCachedCells(), 4);  //Second file has evicted the first one
+		assertNotSame(cache.getFile(small1.toString(), config), contents1);
+	}
+	
+	@Test
+	public void tooBigFileNotReadAgain() throws IOException
+	{
+		Path big = writeFile("tooBig.csv", "Id,Name\n1,A\n2,B\n3,C\n4,D");
+		AtomicInteger loads = new AtomicInteger();
+		CsvLookupCache cache = new CsvLookupCache(6)
+		{
+			@Override
+			protected IndexedCsvFile load(File file, ClearThCsvReaderConfig config) throws IOException
+			{
+				loads.incrementAndGet();
+				return super.load(file, config);
+			}
+		};
+		ClearThCsvReaderConfig config = ClearThCsvReaderConfig.withFirstLineAsHeader();
+		
+		assertNull(cache.getFile(big.toString(), config));
+		assertNull(cache.getFile(big.toString(), config));
+		assertEquals(loads.get(), 1, "Number of file loads");
+		assertEquals(cache.getCachedCells(), 0);
+		
+		writeFile("tooBig.csv", "Id,Name\n1,A");
+		assertNotNull(cache.getFile(big.toString(), config), "Contents of changed file");
+		assertEquals(loads.get(), 2, "Number of file loads");
+	}
+	
+	@Test
+	public void cachingTurnedOff() throws IOException
+	{
+		Path file = writeFile("notCached.csv", "Id,Name\n1,Alpha");
+		assertNull(new CsvLookupCache(0).getFile(file.toString(), ClearThCsvReaderConfig.withFirstLineAsHeader()));
+	}
+	
+	
+	private Path writeFile(String name, String contents) throws IOException
+	{
+		Path file = OUTPUT_DIR.resolve(name);
+		Files.writeString(file, contents);
+		//Making sure change is visible even if modification time resolution is coarse
+		file.toFile().setLastModified(System.currentTimeMillis() + contents.length() * 1000L);
+		return file;
+	}
+	
+	private Map<Integer, String> keys(Object... columnsAndValues)
+	{
+		Map<Integer, String> result = new HashMap<>();
+		for (int i = 0; i < columnsAndValues.length; i += 2)
+			result.put((Integer) columnsAndValues[i], (String) columnsAndValues[i + 1]);
+		return result;
+	}
+}
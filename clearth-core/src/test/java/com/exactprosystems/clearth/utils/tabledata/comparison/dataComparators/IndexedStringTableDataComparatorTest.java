@@ -0,0 +1,182 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.exactprosystems.clearth.utils.tabledata.comparison.dataComparators;
+
+import com.exactprosystems.clearth.automation.exceptions.ParametersException;
+import com.exactprosystems.clearth.utils.ComparisonUtils;
+import com.exactprosystems.clearth.utils.tabledata.comparison.result.RowComparisonResultType;
+import com.exactprosystems.clearth.utils.tabledata.comparison.rowsComparators.TableRowsComparator;
+import com.exactprosystems.clearth.utils.tabledata.comparison.valuesComparators.StringValuesComparator;
+import com.exactprosystems.clearth.utils.tabledata.primarykeys.CollectionPrimaryKey;
+import com.exactprosystems.clearth.utils.tabledata.primarykeys.StringPrimaryKeyComparator;
+import com.exactprosystems.clearth.utils.tabledata.readers.CsvDataReader;
+import com.exactprosystems.clearth.utils.tabledata.rowMatchers.StringTableRowMatcher;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.exactprosystems.clearth.utils.CollectionUtils.setOf;
+import static com.exactprosystems.clearth.utils.tabledata.comparison.result.RowComparisonResultType.*;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class IndexedStringTableDataComparatorTest
+{
+	//Keys are sorted as strings, like VARCHAR values sorted by database
+	private static final String EXPECTED = "Id,Name,Value\n"
+			+ "1,a,10\n"
+			+ "10,e,100\n"
+			+ "2,b,20\n"
+			+ "2,c,21\n"
+			+ "5,d,50\n",
+			ACTUAL = "Id,Name,Value\n"
+			+ "1,a,10\n"
+			+ "11,y,110\n"
+			+ "2,b,22\n"
+			+ "2,c,21\n"
+			+ "3,x,30\n"
+			+ "9,z,90\n";
+	
+	@Test
+	public void testSortedData() throws IOException, ParametersException
+	{
+		Map<String, RowComparisonResultType> expectedResults = new HashMap<>();
+		expectedResults.put("1", PASSED);
+		expectedResults.put("10", NOT_FOUND);
+		expectedResults.put("11", EXTRA);
+		expectedResults.put("2,b", FAILED);
+		expectedResults.put("2,c", PASSED);
+		expectedResults.put("3", EXTRA);
+		expectedResults.put("5", NOT_FOUND);
+		expectedResults.put("9", EXTRA);
+		
+		try (IndexedStringTableDataComparator<CollectionPrimaryKey<String>> comparator =
+				createComparator(EXPECTED, ACTUAL, new StringPrimaryKeyComparator()))
+		{
+			assertEquals(compare(comparator), expectedResults);
+			assertTrue(comparator.isSortedMode(), "Comparison is made with sorted data");
+		}
+		
+		try (IndexedStringTableDataComparator<CollectionPrimaryKey<String>> comparator = createComparator(EXPECTED, ACTUAL, null))
+		{
+			assertEquals(compare(comparator), expectedResults, "Results without order of keys");
+		}
+	}
+	
+	@Test
+	public void testUnsortedData() throws IOException, ParametersException
+	{
+		//Order violation is found in the first group
+		String actual = "Id,Name,Value\n"
+				+ "1,a,10\n"
+				+ "0,z,0\n"
+				+ "2,b,20\n"
+				+ "10,e,100\n"
+				+ "5,d,51\n"
+				+ "2,c,21\n";
+		
+		Map<String, RowComparisonResultType> expectedResults;
+		try (IndexedStringTableDataComparator<CollectionPrimaryKey<String>> comparator = createComparator(EXPECTED, actual, null))
+		{
+			expectedResults = compare(comparator);
+		}
+		assertEquals(expectedResults.get("0"), EXTRA);
+		assertEquals(expectedResults.get("5"), FAILED);
+		
+		try (IndexedStringTableDataComparator<CollectionPrimaryKey<String>> comparator =
+				createComparator(EXPECTED, actual, new StringPrimaryKeyComparator()))
+		{
+			assertEquals(compare(comparator), expectedResults, "Results after switching from sorted mode");
+			assertFalse(comparator.isSortedMode(), "Comparison is switched from sorted mode");
+		}
+	}
+	
+	@Test
+	public void testUnsortedDataAfterUnmatchedRows() throws IOException, ParametersException
+	{
+		//Rows "1" and "2" have no match in sorted mode and are reported right away, 
+		//row "2" appears in expected data after order violation and is not matched with already reported actual row
+		String expected = "Id,Name,Value\n"
+				+ "1,a,10\n"
+				+ "3,c,30\n"
+				+ "2,b,20\n",
+				actual = "Id,Name,Value\n"
+				+ "2,b,20\n"
+				+ "3,c,31\n";
+		
+		Map<String, RowComparisonResultType> expectedResults;
+		try (IndexedStringTableDataComparator<CollectionPrimaryKey<String>> comparator = createComparator(expected, actual, null))
+		{
+			expectedResults = compare(comparator);
+		}
+		assertEquals(expectedResults.get("1"), NOT_FOUND);
+		assertEquals(expectedResults.get("2,b"), PASSED);
+		assertEquals(expectedResults.get("3"), FAILED);
+		
+		try (IndexedStringTableDataComparator<CollectionPrimaryKey<String>> comparator =
+				createComparator(expected, actual, new StringPrimaryKeyComparator()))
+		{
+			List<String> results = new ArrayList<>();
+			while (comparator.hasMoreRows())
+			{
+				RowComparisonResultType resultType = comparator.compareRows().getResultType();
+				results.add(comparator.getCurrentRow().getValue("Id") + "=" + resultType);
+			}
+			Collections.sort(results);
+			assertEquals(results, Arrays.asList("1=" + NOT_FOUND, "2=" + EXTRA, "2=" + NOT_FOUND, "3=" + FAILED), 
+					"Results after switching from sorted mode");
+			assertFalse(comparator.isSortedMode(), "Comparison is switched from sorted mode");
+		}
+	}
+	
+	
+	private IndexedStringTableDataComparator<CollectionPrimaryKey<String>> createComparator(String expected, String actual,
+			Comparator<CollectionPrimaryKey<String>> keyOrder) throws IOException, ParametersException
+	{
+		return new IndexedStringTableDataComparator<>(new CsvDataReader(new StringReader(expected)),
+				new CsvDataReader(new StringReader(actual)),
+				new StringTableRowMatcher(setOf("Id")),
+				new TableRowsComparator<>(new StringValuesComparator(new ComparisonUtils())),
+				keyOrder);
+	}
+	
+	private Map<String, RowComparisonResultType> compare(TableDataComparator<String, String> comparator) throws IOException
+	{
+		Map<String, RowComparisonResultType> result = new HashMap<>();
+		while (comparator.hasMoreRows())
+		{
+			RowComparisonResultType resultType = comparator.compareRows().getResultType();
+			String id = comparator.getCurrentRow().getValue("Id");
+			//Rows with duplicated keys are distinguished by name
+			if ("2".equals(id))
+				id += "," + comparator.getCurrentRow().getValue("Name");
+			result.put(id, resultType);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,177 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.utils.tabledata.readers;
+
+import com.exactprosystems.clearth.utils.tabledata.StringTableData;
+import com.exactprosystems.clearth.utils.tabledata.TableHeader;
+import com.exactprosystems.clearth.utils.tabledata.TableRow;
+import com.exactprosystems.clearth.utils.tabledata.writers.StreamingXlsxDataWriter;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class StreamingXlsxDataReaderTest
+{
+	private static final Path OUTPUT_PATH = Paths.get("testOutput").resolve(StreamingXlsxDataReaderTest.class.getSimpleName());
+	private static final String SHEET = "Data";
+	
+	private File file;
+	
+	@BeforeClass
+	public void prepareFile() throws IOException
+	{
+		Files.createDirectories(OUTPUT_PATH);
+		file = OUTPUT_PATH.resolve("data.xlsx").toFile();
+		
+		try (XSSFWorkbook wb = new XSSFWorkbook();
+				OutputStream out = new FileOutputStream(file))
+		{
+			wb.createSheet("Other").createRow(0).createCell(0).setCellValue("Not this sheet");
+			
+			Sheet sheet = wb.createSheet(SHEET);
+			CellStyle dateStyle = wb.createCellStyle();
+			dateStyle.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+			CellStyle decimalStyle = wb.createCellStyle();
+			decimalStyle.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat("0.00"));
+			
+			Row row = sheet.createRow(0);
+			String[] header = {"Text", "Number", "Decimal", "Date", "Flag"};
+			for (int i = 0; i < header.length; i++)
+				row.createCell(i).setCellValue(header[i]);
+			
+			row = sheet.createRow(1);
+			row.createCell(0).setCellValue("abc");
+			row.createCell(1).setCellValue(42);
+			row.createCell(2).setCellValue(3.14159);
+			row.getCell(2).setCellStyle(decimalStyle);
+			Calendar date = Calendar.getInstance();
+			date.clear();
+			date.set(2024, Calendar.MARCH, 5);
+			row.createCell(3).setCellValue(date);
+			row.getCell(3).setCellStyle(dateStyle);
+			row.createCell(4).setCellValue(true);
+			
+			//Row 2 is absent, row 3 has gaps
+			row = sheet.createRow(3);
+			row.createCell(1).setCellValue(0.5);
+			row.createCell(2);
+			row.createCell(4).setCellValue("end");
+			
+			wb.write(out);
+		}
+	}
+	
+	@AfterClass
+	public void removeFile()
+	{
+		file.delete();
+	}
+	
+	@Test
+	public void readsSameDataAsWorkbookReader() throws Exception
+	{
+		StringTableData expected = XlsxDataReader.read(file, SHEET),
+				actual = StreamingXlsxDataReader.read(file, SHEET);
+		
+		assertEquals(new ArrayList<>(actual.getHeader().toSet()), Arrays.asList("Text", "Number", "Decimal", "Date", "Flag"));
+		assertEquals(rowsToLists(actual), rowsToLists(expected));
+		assertEquals(rowsToLists(actual).get(0), Arrays.asList("abc", "42", "3.14", "2024-03-05", "TRUE"));
+	}
+	
+	@Test
+	public void filtersRows() throws Exception
+	{
+		try (StreamingXlsxDataReader reader = new StreamingXlsxDataReader(file, SHEET))
+		{
+			reader.setRowFilter((rowNum, values) -> rowNum != 2);
+			List<List<String>> rows = rowsToLists(reader.readAllData());
+			assertEquals(rows.size(), 2);
+			assertEquals(rows.get(1), Arrays.asList("", "0.5", "", "", "end"));
+		}
+	}
+	
+	@Test
+	public void readsDataWrittenByStreamingWriter() throws Exception
+	{
+		File written = OUTPUT_PATH.resolve("written.xlsx").toFile();
+		TableHeader<String> header = new TableHeader<>(new LinkedHashSet<>(Arrays.asList("A", "B")));
+		int rowsCount = 1000;
+		try
+		{
+			try (StreamingXlsxDataWriter writer = new StreamingXlsxDataWriter(header, written, SHEET, false, true, false))
+			{
+				for (int i = 0; i < rowsCount; i++)
+					writer.write(new TableRow<>(header, Arrays.asList("a" + i, "b" + i)));
+			}
+			
+			//Appending rows to existing sheet
+			try (StreamingXlsxDataWriter writer = new StreamingXlsxDataWriter(header, written, SHEET, true, false, true))
+			{
+				writer.write(new TableRow<>(header, Arrays.asList("last", "row")));
+			}
+			
+			List<List<String>> rows = rowsToLists(StreamingXlsxDataReader.read(written, SHEET));
+			assertEquals(rows.size(), rowsCount + 1);
+			assertEquals(rows.get(rowsCount - 1), Arrays.asList("a" + (rowsCount - 1), "b" + (rowsCount - 1)));
+			assertEquals(rows.get(rowsCount), Arrays.asList("last", "row"));
+		}
+		finally
+		{
+			written.delete();
+		}
+	}
+	
+	@Test(expectedExceptions = IOException.class)
+	public void failsOnAbsentSheet() throws Exception
+	{
+		StreamingXlsxDataReader.read(file, "Absent");
+	}
+	
+	private List<List<String>> rowsToLists(StringTableData data)
+	{
+		List<List<String>> result = new ArrayList<>();
+		for (TableRow<String, String> row : data.getRows())
+		{
+			List<String> values = new ArrayList<>();
+			row.forEach(values::add);
+			result.add(values);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,149 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.connectivity.jms.activemq;
+
+import com.exactprosystems.clearth.connectivity.connections.ConnectionTypeInfo;
+import com.exactprosystems.clearth.connectivity.jms.JmsConnectionSettings;
+import com.exactprosystems.clearth.connectivity.jms.JmsReceiveMode;
+import com.exactprosystems.clearth.data.DefaultDataHandlersFactory;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerService;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import javax.jms.Connection;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class ActiveMqClientTest
+{
+	private static final Path OUTPUT_DIR = Paths.get("testOutput").resolve(ActiveMqClientTest.class.getSimpleName());
+	private static final int MESSAGES_COUNT = 500;
+	
+	private BrokerService broker;
+	private int port;
+	
+	@BeforeClass
+	public void startBroker() throws Exception
+	{
+		Files.createDirectories(OUTPUT_DIR);
+		
+		broker = new BrokerService();
+		broker.setPersistent(false);
+		broker.setUseJmx(false);
+		broker.addConnector("tcp://localhost:0");
+		broker.start();
+		broker.waitUntilStarted();
+		port = broker.getTransportConnectors().get(0).getConnectUri().getPort();
+	}
+	
+	@AfterClass
+	public void stopBroker() throws Exception
+	{
+		if (broker != null)
+		{
+			broker.stop();
+			broker.waitUntilStopped();
+		}
+	}
+	
+	@DataProvider(name = "receiveModes")
+	public Object[][] receiveModes()
+	{
+		return new Object[][] {{JmsReceiveMode.POLLING}, {JmsReceiveMode.BATCH}, {JmsReceiveMode.LISTENER}};
+	}
+	
+	@Test(dataProvider = "receiveModes")
+	public void receiveMessages(JmsReceiveMode mode) throws Exception
+	{
+		String queue = "receive_" + mode;
+		//Polling mode applies read delay after each message, batch mode - after each batch, listener mode doesn't use it at all
+		int readDelay;
+		if (mode == JmsReceiveMode.POLLING)
+			readDelay = 0;
+		else if (mode == JmsReceiveMode.BATCH)
+			readDelay = 100;
+		else
+			readDelay = 60000;
+		ActiveMqClient client = new ActiveMqClient(createConnection(queue, mode, readDelay));
+		client.start(false);
+		try
+		{
+			sendMessages(queue, MESSAGES_COUNT);
+			
+			long end = System.currentTimeMillis() + 30000;
+			while (client.getReceived() < MESSAGES_COUNT && System.currentTimeMillis() < end)
+				Thread.sleep(50);
+			
+			assertEquals(client.getFetched(), MESSAGES_COUNT, "Messages got from broker");
+			assertEquals(client.getReceived(), MESSAGES_COUNT, "Messages passed to listeners");
+			assertEquals(client.getReceivedQueueSize(), 0, "Messages waiting in internal queue");
+			assertTrue(client.getReceiveRate() > 0, "Receive rate is positive");
+			assertNotNull(client.getStarted(), "Receiving start time");
+		}
+		finally
+		{
+			client.dispose(true);
+		}
+	}
+	
+	
+	private ActiveMqConnection createConnection(String queue, JmsReceiveMode mode, int readDelay)
+	{
+		ActiveMqConnection connection = new ActiveMqConnection();
+		connection.setName("ActiveMq_" + mode);
+		connection.setTypeInfo(new ConnectionTypeInfo("ActiveMQ", ActiveMqConnection.class, OUTPUT_DIR));
+		connection.setDataHandlersFactory(new DefaultDataHandlersFactory());
+		
+		JmsConnectionSettings settings = (JmsConnectionSettings) connection.getSettings();
+		settings.setHostname("localhost");
+		settings.setPort(port);
+		settings.setReceiveQueue(queue);
+		settings.setReadDelay(readDelay);
+		settings.setReceiveMode(mode);
+		return connection;
+	}
+	
+	private void sendMessages(String queue, int count) throws Exception
+	{
+		Connection connection = new ActiveMQConnectionFactory("tcp://localhost:" + port).createConnection();
+		try
+		{
+			connection.start();
+			Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+			MessageProducer producer = session.createProducer(session.createQueue(queue));
+			for (int i = 0; i < count; i++)
+				producer.send(session.createTextMessage("Message " + i));
+		}
+		finally
+		{
+			connection.close();
+		}
+	}
+}
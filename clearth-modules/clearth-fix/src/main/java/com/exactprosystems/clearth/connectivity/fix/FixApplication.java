@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -215,7 +215,7 @@ public abstract class FixApplication extends BasicClearThClient implements Appli
 	public void fromApp(Message message, SessionID sessionID) throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType
 	{
 		logger.trace("{} received message:{}{}", name, Utils.EOL, message);
-		receivedMessageQueue.add(EncodedClearThMessage.newReceivedMessage(message.toString()));
+		putReceivedMessage(EncodedClearThMessage.newReceivedMessage(message.toString()));
 	}
 	
 	@Override
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -24,6 +24,7 @@ import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.ICodec;
 import com.exactprosystems.clearth.connectivity.iface.SimpleClearThMessage;
 import com.exactprosystems.clearth.utils.SpecialValue;
+import com.exactprosystems.clearth.utils.StringOperationUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +77,12 @@ public class FixCodec implements ICodec
 		return result.toString();
 	}
 	
+	@Override
+	public boolean canDecode(String message)
+	{
+		return StringOperationUtils.startsWithIgnoringWhitespaces(message, "8=FIX");
+	}
+	
 	@Override
 	public ClearThMessage<?> decode(String message) throws DecodeException
 	{
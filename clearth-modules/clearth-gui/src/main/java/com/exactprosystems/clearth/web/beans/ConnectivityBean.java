@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,8 +21,11 @@ package com.exactprosystems.clearth.web.beans;
 import com.exactprosystems.clearth.ClearThCore;
 import com.exactprosystems.clearth.connectivity.*;
 import com.exactprosystems.clearth.connectivity.connections.*;
+import com.exactprosystems.clearth.connectivity.connections.clients.BasicClearThClient;
 import com.exactprosystems.clearth.connectivity.connections.settings.*;
 import com.exactprosystems.clearth.connectivity.connections.storage.ClearThConnectionStorage;
+import com.exactprosystems.clearth.connectivity.db.DbConnection;
+import com.exactprosystems.clearth.connectivity.db.DbConnectionPool;
 import com.exactprosystems.clearth.utils.CommaBuilder;
 import com.exactprosystems.clearth.utils.SettingsException;
 import com.exactprosystems.clearth.web.misc.*;
@@ -233,6 +236,39 @@ public class ConnectivityBean extends ClearThBean
 		return isConnectionType(ClearThCheckableConnection.class);
 	}
 	
+	public boolean isDbConnectionType()
+	{
+		return isConnectionType(DbConnection.class);
+	}
+	
+	public String getPoolStatistics(ClearThConnection connection)
+	{
+		if (!(connection instanceof DbConnection))
+			return "";
+		
+		DbConnectionPool pool = ((DbConnection) connection).getPool();
+		if (pool == null)
+			return "";
+		return String.format("%d active, %d idle of %d; %d borrowed, %d created, %d waits, %d evicted, %d invalid",
+				pool.getActive(), pool.getIdle(), pool.getMaxSize(), pool.getBorrowed(), pool.getCreated(),
+				pool.getWaits(), pool.getEvicted(), pool.getValidationFailures());
+	}
+	
+	public String getReceivedQueueStatistics(ClearThConnection connection)
+	{
+		if (!(connection instanceof BasicClearThMessageConnection))
+			return "";
+		
+		ClearThClient client = ((BasicClearThMessageConnection) connection).getClient();
+		if (!(client instanceof BasicClearThClient))
+			return "";
+		
+		BasicClearThClient basicClient = (BasicClearThClient) client;
+		return String.format("%d queued, %d spilled, lag %d ms, %.1f msg/s",
+				basicClient.getReceivedQueueSize(), basicClient.getReceivedQueueSpilled(), basicClient.getReceivedQueueLag().toMillis(),
+				basicClient.getReceiveRate());
+	}
+	
 	protected void resetConsSelection()
 	{
 		originalSelectedCons = null;
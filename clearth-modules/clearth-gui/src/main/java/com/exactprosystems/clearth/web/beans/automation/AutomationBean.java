@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2025 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -175,10 +175,6 @@ public class AutomationBean extends ClearThBean
 		}
 	}
 	
-	public void onTimer()
-	{
-	}
-	
 	public int getActiveTab()
 	{
 		return activeTab;
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -414,7 +414,9 @@ public class ConfigurationAutomationBean extends ClearThBean {
 	{
 		try
 		{
-			selectedScheduler().setStateConfig(new StateConfig(autoSave));
+			StateConfig config = new StateConfig(selectedScheduler().getStateConfig());
+			config.setAutoSave(autoSave);
+			selectedScheduler().setStateConfig(config);
 		}
 		catch (Exception e)
 		{
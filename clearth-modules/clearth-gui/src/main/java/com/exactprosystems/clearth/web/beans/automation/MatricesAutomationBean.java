@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -268,6 +268,9 @@ public class MatricesAutomationBean extends ClearThBean {
 		if (currentStep.isEnded())
 			return "Updates will be applied only to actions of global steps that are after '"+currentStep.getName()+"'.";
 		
+		if (currentStep.isExecutedInParallel())
+			return "Updates will be applied only to actions that are after current actions of matrices in global step '"+currentStep.getName()+"'.";
+		
 		Action currentAction = currentStep.getCurrentAction();
 		if (currentAction == null)
 			return "Updates will be applied only to actions that are in global step '"+currentStep.getName()+"' or after it.";
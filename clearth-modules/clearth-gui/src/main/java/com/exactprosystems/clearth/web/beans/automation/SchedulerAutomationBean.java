@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -328,6 +328,16 @@ public class SchedulerAutomationBean extends ClearThBean {
 		return selectedScheduler().getBusinessDay();
 	}
 	
+	public MvelExpressionCache getExpressionCache()
+	{
+		IExecutor exec = selectedScheduler().getExecutor();
+		if (exec == null)
+			return null;
+		
+		MatrixFunctions functions = exec.getMatrixFunctions();
+		return functions != null ? functions.getExpressionCache() : null;
+	}
+	
 	public ReportsConfig getSchedulerReportsConfig()
 	{
 		return selectedScheduler().getCurrentReportsConfig();
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -22,27 +22,29 @@ import com.exactprosystems.clearth.ClearThCore;
 import com.exactprosystems.clearth.connectivity.CollectorMessage;
 import com.exactprosystems.clearth.connectivity.FavoriteConnectionManager;
 import com.exactprosystems.clearth.connectivity.connections.ClearThMessageConnection;
+import com.exactprosystems.clearth.tools.CollectorMessagesReader;
 import com.exactprosystems.clearth.tools.CollectorScannerTool;
-import com.exactprosystems.clearth.utils.FileOperationUtils;
 import com.exactprosystems.clearth.web.beans.ClearThBean;
 import com.exactprosystems.clearth.web.misc.FavoritesSortedCache;
 import com.exactprosystems.clearth.web.misc.UserInfoUtils;
-import com.exactprosystems.clearth.web.misc.WebUtils;
 import org.apache.commons.lang.StringUtils;
+import org.primefaces.model.DefaultStreamedContent;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
 import org.primefaces.model.StreamedContent;
 
 import javax.annotation.PostConstruct;
 import javax.faces.event.AjaxBehaviorEvent;
 
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 public class CollectorScannerToolBean extends ClearThBean
 {
@@ -50,9 +52,7 @@ public class CollectorScannerToolBean extends ClearThBean
 	private static final int MAX_MSG_LENGTH = 100000, // 100 kB
 							 MAX_LENGTH = MAX_MSG_LENGTH + ELLIPSIS.length();
 
-	protected static final List<String> noCollector = new ArrayList<>();
-	protected static final List<CollectorMessage> noMessages;
-	protected List<CollectorMessage> correctMessages = null, failedMessages = null;
+	protected CollectorMessagesModel correctMessages = null, failedMessages = null;
 	protected ClearThMessageConnection selectedConnection;
 	protected boolean collectorVerticalAlignment = false;
 	protected int collectorScannerMessagesTab = 0;
@@ -63,12 +63,6 @@ public class CollectorScannerToolBean extends ClearThBean
 	
 	protected CollectorScannerTool collectorScannerTool;
 	
-	static
-	{
-		noCollector.add("No messages");
-		noMessages = Collections.singletonList(new CollectorMessage(noCollector.get(0), noCollector.get(0), null));
-	}
-	
 	@PostConstruct
 	public void init()
 	{
@@ -129,27 +123,24 @@ public class CollectorScannerToolBean extends ClearThBean
 	public void loadCorrectMessages()
 	{
 		if (selectedConnection != null && selectedConnection.isRunning())
-		{
-			correctMessages = collectorScannerTool.getCollectorMessages(selectedConnection);
-			if (correctMessages == null)
-				correctMessages = noMessages;
-		}
+			correctMessages = createModel(collectorScannerTool.getCollectorMessages(selectedConnection));
 		else
-		{
-			correctMessages = noMessages;
-		}
+			correctMessages = null;
 	}
 
 	public void loadFailedMessages()
 	{
+		failedMessages = null;
 		if (selectedConnection != null && selectedConnection.isRunning())
-			failedMessages = collectorScannerTool.getCollectorMessagesFailed(selectedConnection);
-		else
-			failedMessages = null;
+		{
+			CollectorMessagesModel model = createModel(collectorScannerTool.getCollectorMessagesFailed(selectedConnection));
+			if (model != null && !model.getReader().isEmpty())
+				failedMessages = model;
+		}
 	}
 
 
-	public List<CollectorMessage> getCollectorMessages()
+	public LazyDataModel<CollectorMessage> getCollectorMessages()
 	{
 		return correctMessages;
 	}
@@ -163,43 +154,32 @@ public class CollectorScannerToolBean extends ClearThBean
 
 	public StreamedContent downloadParsedMessages()
 	{
-		return downloadMessages(false, getCollectorMessages(), "parsed");
+		return downloadMessages(false, correctMessages, "parsed");
 	}
 	public StreamedContent downloadFailedMessages()
 	{
-		return downloadMessages(true, getCollectorMessagesFailed(), "failed");
+		return downloadMessages(true, failedMessages, "failed");
 	}
 	public StreamedContent downloadRawMessages()
 	{
-		return downloadMessages(true, getCollectorMessages(), "raw");
+		return downloadMessages(true, correctMessages, "raw");
 	}
-	public StreamedContent downloadMessages(boolean raw, Collection<CollectorMessage> messages, String prefix)
+	protected StreamedContent downloadMessages(boolean raw, CollectorMessagesModel messages, String prefix)
 	{
 		String conName = getSelectedConnection();
-		if(StringUtils.isEmpty(conName))
+		if (StringUtils.isEmpty(conName) || messages == null)
 			return null;
-
-		try
-		{
-			Path path = Paths.get(ClearThCore.getInstance().getTempDirPath());
-			
-			File result = Files.createTempFile(path, prefix + "_messages_", ".zip").toFile();
-			File file = Files.createTempFile(path, conName+"_", ".txt").toFile();
-			
-			writeMessages(raw, messages, file);
-			
-			FileOperationUtils.zipFiles(result, new File[]{file});
-			
-			return WebUtils.downloadFile(result);
-		}
-		catch (IOException e)
-		{
-			WebUtils.logAndGrowlException("Error while downloading messages", e, getLogger());
-			return null;
-		}
+		
+		CollectorMessagesReader<?> reader = messages.getReader();
+		//Messages are written directly to response, no temporary files are created
+		return DefaultStreamedContent.builder()
+				.contentType("application/zip")
+				.name(prefix + "_messages_" + conName + ".zip")
+				.writer(output -> writeMessages(raw, reader, conName + ".txt", output))
+				.build();
 	}
 
-	public List<CollectorMessage> getCollectorMessagesFailed()
+	public LazyDataModel<CollectorMessage> getCollectorMessagesFailed()
 	{
 		return failedMessages;
 	}
@@ -248,16 +228,63 @@ public class CollectorScannerToolBean extends ClearThBean
 		this.collectorScannerMessagesTab = collectorScannerMessagesTab;
 	}
 
-	private void writeMessages(boolean raw, Collection<CollectorMessage> messages, File file)
-		throws IOException
+	private void writeMessages(boolean raw, CollectorMessagesReader<?> reader, String entryName, OutputStream output)
 	{
-		try (BufferedWriter writer = new BufferedWriter(new FileWriter(file)))
+		try
+		{
+			ZipOutputStream zip = new ZipOutputStream(output);
+			zip.putNextEntry(new ZipEntry(entryName));
+			Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+			reader.write(writer, raw);
+			zip.closeEntry();
+			zip.finish();
+		}
+		catch (IOException e)
 		{
-			for(CollectorMessage message : messages)
+			getLogger().error("Error while downloading messages", e);
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	protected CollectorMessagesModel createModel(CollectorMessagesReader<?> reader)
+	{
+		return reader != null ? new CollectorMessagesModel(reader) : null;
+	}
+	
+	
+	protected static class CollectorMessagesModel extends LazyDataModel<CollectorMessage>
+	{
+		private static final long serialVersionUID = 7403559108496407290L;
+		
+		private final transient CollectorMessagesReader<?> reader;
+		
+		public CollectorMessagesModel(CollectorMessagesReader<?> reader)
+		{
+			this.reader = reader;
+		}
+		
+		public CollectorMessagesReader<?> getReader()
+		{
+			return reader;
+		}
+		
+		@Override
+		public int count(Map<String, FilterMeta> filterBy)
+		{
+			return reader.count();
+		}
+		
+		@Override
+		public List<CollectorMessage> load(int first, int pageSize, Map<String, SortMeta> sortBy, Map<String, FilterMeta> filterBy)
+		{
+			//Using try-catch block to get around NPE while connection is stopping and is chosen in 'Collector scanner' tool
+			try
+			{
+				return reader.getPage(first, pageSize);
+			}
+			catch (Exception e)
 			{
-				writer.write(raw ? message.getMessage() : message.getParsedMessage());
-				writer.newLine();
-				writer.newLine();
+				return Collections.emptyList();
 			}
 		}
 	}
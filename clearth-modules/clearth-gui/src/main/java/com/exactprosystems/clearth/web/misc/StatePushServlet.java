@@ -0,0 +1,383 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.web.misc;
+
+import com.exactprosystems.clearth.ClearThCore;
+import com.exactprosystems.clearth.automation.Scheduler;
+import com.exactprosystems.clearth.automation.SchedulerStateChange;
+import com.exactprosystems.clearth.utils.StateChangeNotifier;
+import com.exactprosystems.clearth.web.beans.AuthBean;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams state changes of schedulers and connections to GUI as server-sent events.
+ * Pages subscribe to this stream and refresh only affected components when an event arrives, instead of polling the server.
+ * Changes are coalesced for a short time to not flood the page with refresh requests when executing many actions.
+ * Notifiers only queue changes, data is written to clients by separate threads, so slow client doesn't block action execution or other clients.
+ * Clients that can't receive data within write timeout are disconnected
+ */
+public class StatePushServlet extends HttpServlet
+{
+	private static final long serialVersionUID = -4603328846233618517L;
+	private static final Logger logger = LoggerFactory.getLogger(StatePushServlet.class);
+	
+	public static final String PATH_SCHEDULER = "/scheduler",
+			PATH_CONNECTIONS = "/connections",
+			PARAM_NAME = "name",
+			EVENT_CONNECTIONS = "CONNECTIONS";
+	private static final long DEFAULT_FLUSH_DELAY = 250,
+			DEFAULT_HEARTBEAT_INTERVAL = 30000,
+			DEFAULT_STREAM_TIMEOUT = 300000,
+			DEFAULT_WRITE_TIMEOUT = 10000;
+	
+	private transient ScheduledExecutorService executor;
+	private transient ExecutorService writers;
+	private long flushDelay,
+			heartbeatInterval,
+			streamTimeout,
+			writeTimeout;
+	
+	@Override
+	public void init() throws ServletException
+	{
+		super.init();
+		flushDelay = getLongParameter("FLUSH_DELAY", DEFAULT_FLUSH_DELAY);
+		heartbeatInterval = getLongParameter("HEARTBEAT_INTERVAL", DEFAULT_HEARTBEAT_INTERVAL);
+		streamTimeout = getLongParameter("STREAM_TIMEOUT", DEFAULT_STREAM_TIMEOUT);
+		writeTimeout = getLongParameter("WRITE_TIMEOUT", DEFAULT_WRITE_TIMEOUT);
+		//Executor only schedules flushes, heartbeats and timeout checks, it never writes to clients
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "GUI state push");
+			t.setDaemon(true);
+			return t;
+		});
+		writers = Executors.newCachedThreadPool(r -> {
+			Thread t = new Thread(r, "GUI state push writer");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+	
+	@Override
+	public void destroy()
+	{
+		if (executor != null)
+			executor.shutdownNow();
+		if (writers != null)
+			writers.shutdownNow();
+		super.destroy();
+	}
+	
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException
+	{
+		String path = req.getPathInfo();
+		if (PATH_SCHEDULER.equals(path))
+			streamSchedulerChanges(req, resp);
+		else if (PATH_CONNECTIONS.equals(path))
+			stream(req, resp, ClearThCore.connectionStorage().getStateChangeNotifier(), name -> EVENT_CONNECTIONS);
+		else
+			resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+	}
+	
+	protected void streamSchedulerChanges(HttpServletRequest req, HttpServletResponse resp) throws IOException
+	{
+		String schedulerName = req.getParameter(PARAM_NAME);
+		HttpSession session = req.getSession(false);
+		String userName = session != null ? (String) session.getAttribute(AuthBean.AUTH_KEY) : null;
+		if (StringUtils.isEmpty(schedulerName) || userName == null)
+		{
+			resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return;
+		}
+		
+		Scheduler scheduler = ClearThCore.getInstance().getSchedulersManager().getSchedulerByName(schedulerName, userName);
+		if (scheduler == null)
+		{
+			resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+			return;
+		}
+		
+		stream(req, resp, scheduler.getStateChangeNotifier(), SchedulerStateChange::name);
+	}
+	
+	protected <T> void stream(HttpServletRequest req, HttpServletResponse resp,
+			StateChangeNotifier<T> notifier, Function<T, String> eventName) throws IOException
+	{
+		resp.setContentType("text/event-stream");
+		resp.setCharacterEncoding("UTF-8");
+		resp.setHeader("Cache-Control", "no-cache");
+		resp.setStatus(HttpServletResponse.SC_OK);
+		
+		AsyncContext context = req.startAsync();
+		context.setTimeout(streamTimeout);
+		
+		PushClient<T> client = new PushClient<>(context, resp.getWriter(), notifier, eventName);
+		context.addListener(client);
+		client.open();
+	}
+	
+	protected long getLongParameter(String name, long defaultValue)
+	{
+		String value = getInitParameter(name);
+		try
+		{
+			if (value != null)
+				return Long.parseLong(value);
+		}
+		catch (NumberFormatException e)
+		{
+			logger.error("Invalid value of parameter '{}': {}", name, value, e);
+		}
+		return defaultValue;
+	}
+	
+	
+	private class PushClient<T> implements Consumer<T>, AsyncListener
+	{
+		private final AsyncContext context;
+		private final PrintWriter writer;
+		private final StateChangeNotifier<T> notifier;
+		private final Function<T, String> eventName;
+		//Guarded by this, lock is held only to change pending data and flags, never while writing
+		private final Set<String> pending = new LinkedHashSet<>();
+		private String pendingComment = null;
+		private boolean flushScheduled = false,
+				writing = false,
+				closed = false;
+		private volatile ScheduledFuture<?> heartbeat;
+		
+		PushClient(AsyncContext context, PrintWriter writer, StateChangeNotifier<T> notifier, Function<T, String> eventName)
+		{
+			this.context = context;
+			this.writer = writer;
+			this.notifier = notifier;
+			this.eventName = eventName;
+		}
+		
+		void open()
+		{
+			//Comment line makes browser consider the stream as opened
+			sendComment(": connected\n\n");
+			notifier.addListener(this);
+			heartbeat = executor.scheduleWithFixedDelay(() -> sendComment(": heartbeat\n\n"),
+					heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+			synchronized (this)
+			{
+				if (closed)
+					heartbeat.cancel(false);
+			}
+		}
+		
+		@Override
+		public void accept(T change)
+		{
+			synchronized (this)
+			{
+				if (closed || !pending.add(eventName.apply(change)) || flushScheduled || writing)
+					return;
+				flushScheduled = true;
+			}
+			executor.schedule(this::flush, flushDelay, TimeUnit.MILLISECONDS);
+		}
+		
+		private void sendComment(String comment)
+		{
+			synchronized (this)
+			{
+				if (closed)
+					return;
+				pendingComment = comment;
+				if (writing)
+					return;
+				writing = true;
+			}
+			startWriting();
+		}
+		
+		private void flush()
+		{
+			synchronized (this)
+			{
+				flushScheduled = false;
+				if (closed || writing)
+					return;
+				writing = true;
+			}
+			startWriting();
+		}
+		
+		private void startWriting()
+		{
+			try
+			{
+				writers.execute(this::write);
+			}
+			catch (RejectedExecutionException e)
+			{
+				//Servlet is being destroyed
+				close();
+			}
+		}
+		
+		/**
+		 * Writes pending data till nothing is left. Only one thread writes to the client at a time, guarded by 'writing' flag
+		 */
+		private void write()
+		{
+			while (true)
+			{
+				String data;
+				synchronized (this)
+				{
+					data = closed ? null : takePendingData();
+					if (data == null)
+					{
+						writing = false;
+						return;
+					}
+				}
+				
+				Thread writingThread = Thread.currentThread();
+				ScheduledFuture<?> timeout = executor.schedule(() -> writeTimedOut(writingThread), writeTimeout, TimeUnit.MILLISECONDS);
+				writer.write(data);
+				writer.flush();
+				timeout.cancel(false);
+				
+				//PrintWriter doesn't throw IOException, error flag means client has gone
+				if (writer.checkError())
+				{
+					logger.trace("State push client disconnected");
+					synchronized (this)
+					{
+						writing = false;
+					}
+					close();
+					return;
+				}
+			}
+		}
+		
+		private String takePendingData()
+		{
+			if (pending.isEmpty() && pendingComment == null)
+				return null;
+			
+			StringBuilder sb = new StringBuilder();
+			if (pendingComment != null)
+				sb.append(pendingComment);
+			for (String e : pending)
+				sb.append("event: ").append(e).append("\ndata: \n\n");
+			pending.clear();
+			pendingComment = null;
+			return sb.toString();
+		}
+		
+		private void writeTimedOut(Thread writingThread)
+		{
+			logger.warn("State push client didn't receive data within {} ms, disconnecting it", writeTimeout);
+			//Completing context may take time, so doing it outside of scheduling thread
+			try
+			{
+				writers.execute(() -> {
+					close();
+					writingThread.interrupt();
+				});
+			}
+			catch (RejectedExecutionException e)
+			{
+				//Servlet is being destroyed, writers are interrupted anyway
+			}
+		}
+		
+		private void close()
+		{
+			synchronized (this)
+			{
+				if (closed)
+					return;
+				closed = true;
+				pending.clear();
+			}
+			
+			notifier.removeListener(this);
+			if (heartbeat != null)
+				heartbeat.cancel(false);
+			try
+			{
+				context.complete();
+			}
+			catch (IllegalStateException e)
+			{
+				//Context is already completed by container
+			}
+		}
+		
+		@Override
+		public void onComplete(AsyncEvent event)
+		{
+			close();
+		}
+		
+		@Override
+		public void onTimeout(AsyncEvent event)
+		{
+			close();
+		}
+		
+		@Override
+		public void onError(AsyncEvent event)
+		{
+			close();
+		}
+		
+		@Override
+		public void onStartAsync(AsyncEvent event)
+		{
+		}
+	}
+}
@@ -0,0 +1,35 @@
+var statePushSources = {};
+
+//Subscribes to server-sent state changes. handlers map event name to function to call when the event arrives.
+//onReconnect is called when connection is restored after failure, as some events could be missed meanwhile
+function subscribeStatePush(key, url, handlers, onReconnect)
+{
+	unsubscribeStatePush(key);
+	if (typeof EventSource == 'undefined')
+		return;
+	
+	var source = new EventSource(url),
+		failed = false;
+	jQuery.each(handlers, function(eventName, handler) {
+		source.addEventListener(eventName, handler);
+	});
+	source.onerror = function() {
+		failed = true;
+	};
+	source.onopen = function() {
+		if (failed && onReconnect)
+			onReconnect();
+		failed = false;
+	};
+	statePushSources[key] = source;
+}
+
+function unsubscribeStatePush(key)
+{
+	var source = statePushSources[key];
+	if (source)
+	{
+		source.close();
+		delete statePushSources[key];
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *  
@@ -42,8 +42,11 @@ public class DefaultIbmMqClient extends BasicIbmMqClient
 	protected SimpleIbmMqReceiverThread createReceiverThread()
 	{
 		IbmMqConnectionSettings settings = getSettings();
-		return new SimpleIbmMqReceiverThread(name+" (Receiver thread)", getOwner(), receiveQueue, receivedMessageQueue,
+		SimpleIbmMqReceiverThread thread = new SimpleIbmMqReceiverThread(name+" (Receiver thread)", getOwner(), receiveQueue, receivedMessageQueue,
 				settings.getCharset(), settings.isAutoReconnect(), settings.getReadDelay());
+		thread.setBatchSize(settings.getReadBatchSize());
+		thread.setMaxIdleDelay(settings.getMaxIdleReadDelay());
+		return thread;
 	}
 
 	protected IbmMqConnection getOwner()
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -32,7 +32,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.NONE)
 @ConnectionSettings(order = {"hostname", "port", "queueManager", "channel", "retryAttemptCount", "retryTimeout",
-		"receiveQueue", "useReceiveQueue", "sendQueue", "readDelay", "autoConnect", "autoReconnect"},
+		"receiveQueue", "useReceiveQueue", "sendQueue", "readDelay", "readBatchSize", "maxIdleReadDelay", "autoConnect", "autoReconnect"},
 		columns = {"hostname", "queueManager", "channel", "sendQueue", "receiveQueue"})
 public class IbmMqConnectionSettings extends ClearThBasicMqConnectionSettings
 {
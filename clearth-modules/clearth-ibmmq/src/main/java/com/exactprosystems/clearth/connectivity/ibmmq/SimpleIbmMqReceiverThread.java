@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *  
@@ -60,10 +60,10 @@ public class SimpleIbmMqReceiverThread extends BasicIbmMqMessageReceiverThread
 					logger.trace("Adding message to internal queue");
 					String m = message.readStringOfByteLength(message.getDataLength());
 
-					boolean inserted = receivedMessageQueue.offer(createReceivedMessage(m));
+					boolean inserted = addReceivedMessage(createReceivedMessage(m));
 
 					if (!inserted)
-						logger.warn("It is not possible to add message to queue due to capacity restrictions");
+						logger.warn("Message is not added to internal queue as receiving is stopped");
 				}
 				catch (Exception e)
 				{
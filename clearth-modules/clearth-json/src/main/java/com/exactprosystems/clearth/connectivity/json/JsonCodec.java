@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -25,6 +25,7 @@ import com.exactprosystems.clearth.connectivity.iface.ICodec;
 import com.exactprosystems.clearth.connectivity.iface.MessageValidator;
 import com.exactprosystems.clearth.connectivity.iface.MessageValidatorCondition;
 import com.exactprosystems.clearth.connectivity.json.validation.JsonMessageValidator;
+import com.exactprosystems.clearth.utils.StringOperationUtils;
 import com.exactprosystems.clearth.utils.Utils;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -132,6 +133,27 @@ public class JsonCodec implements ICodec
 
 	///////////////////////////////// DECODING ////////////////////////////
 	
+	@Override
+	public boolean canDecode(String encodedMessage)
+	{
+		if (encodedMessage == null)
+			return false;
+		
+		int start = StringOperationUtils.indexOfNonWhitespace(encodedMessage, 0);
+		if (start < 0)
+			return false;
+		
+		char first = encodedMessage.charAt(start);
+		if (first == '[')
+			return true;
+		if (first != '{')
+			return false;
+		
+		//Object must be empty or start with field name, this distinguishes JSON from SWIFT blocks like "{1:..."
+		int next = StringOperationUtils.indexOfNonWhitespace(encodedMessage, start+1);
+		return next > -1 && (encodedMessage.charAt(next) == '"' || encodedMessage.charAt(next) == '}');
+	}
+	
 	@Override
 	public ClearThMessage<?> decode(String encodedMessage) throws DecodeException
 	{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -26,6 +26,7 @@ import com.exactprosystems.clearth.connectivity.iface.ClearThMessage;
 import com.exactprosystems.clearth.connectivity.iface.ICodec;
 import com.exactprosystems.clearth.connectivity.iface.MessageValidator;
 import com.exactprosystems.clearth.utils.SpecialValue;
+import com.exactprosystems.clearth.utils.StringOperationUtils;
 import com.prowidesoftware.swift.io.writer.SwiftWriter;
 import com.prowidesoftware.swift.model.SwiftBlock1;
 import com.prowidesoftware.swift.model.SwiftBlock2;
@@ -594,6 +595,12 @@ public class SwiftCodec implements ICodec
 	}
 	
 	
+	@Override
+	public boolean canDecode(String message)
+	{
+		return StringOperationUtils.startsWithIgnoringWhitespaces(message, "{1:");
+	}
+	
 	@Override
 	public ClearThSwiftMessage decode(String message) throws DecodeException
 	{
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -104,7 +104,7 @@ public class Th2DataHandlersFactory implements DataHandlersFactory
 			logger.debug("Creating test execution handler for '{}'", schedulerName);
 			MessageRouter<EventBatch> eventRouter = createEventBatchRouter();
 			ResultSaver resultSaver = createResultSaver(eventRouter, storageConfig);
-			return new Th2TestExecutionHandler(schedulerName, eventRouter, eventFactory, resultSaver);
+			return new Th2TestExecutionHandler(schedulerName, eventRouter, eventFactory, resultSaver, createResultSavingConfig(storageConfig));
 		}
 		catch (DataHandlingException e)
 		{
@@ -179,12 +179,17 @@ public class Th2DataHandlersFactory implements DataHandlersFactory
 	}
 	
 	protected ResultSaver createResultSaver(MessageRouter<EventBatch> eventRouter, StorageConfig storageConfig) throws DataHandlingException
+	{
+		return new ResultSaver(eventRouter, createResultSavingConfig(storageConfig));
+	}
+	
+	protected ResultSavingConfig createResultSavingConfig(StorageConfig storageConfig)
 	{
 		ResultSavingConfig config = new ResultSavingConfig();
 		config.setMaxBatchSize(storageConfig.getEvents().getMaxBatchSize());
 		config.setMaxBatchSizeInBytes(storageConfig.getEvents().getMaxBatchSizeInBytes());
 		config.setMaxFlushTime(storageConfig.getEvents().getMaxFlushTime());
-		return new ResultSaver(eventRouter, config);
+		return config;
 	}
 	
 	protected EventFactory createEventFactory(String bookName, StorageConfig config) throws ClearThException
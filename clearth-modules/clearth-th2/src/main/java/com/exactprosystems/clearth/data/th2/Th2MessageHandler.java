@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -30,7 +30,6 @@ import org.slf4j.LoggerFactory;
 import com.exactpro.th2.common.schema.message.MessageRouter;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.Direction;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.GroupBatch;
-import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.MessageGroup;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.MessageId;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.RawMessage;
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessageDirection;
@@ -40,7 +39,9 @@ import com.exactprosystems.clearth.data.HandledMessageId;
 import com.exactprosystems.clearth.data.MessageHandler;
 import com.exactprosystems.clearth.data.MessageHandlingException;
 import com.exactprosystems.clearth.data.MessageHandlingUtils;
+import com.exactprosystems.clearth.data.th2.config.MessagesConfig;
 import com.exactprosystems.clearth.data.th2.config.StorageConfig;
+import com.exactprosystems.clearth.data.th2.messages.GroupBatcher;
 import com.exactprosystems.clearth.data.th2.messages.Th2MessageId;
 
 public class Th2MessageHandler implements MessageHandler
@@ -52,6 +53,7 @@ public class Th2MessageHandler implements MessageHandler
 	private final AtomicLong sentMessageIndex,
 			receivedMessageIndex;
 	private final String bookName;
+	private final GroupBatcher batcher;
 	
 	public Th2MessageHandler(String connectionName, MessageRouter<GroupBatch> router, String bookName, StorageConfig config)
 	{
@@ -60,13 +62,24 @@ public class Th2MessageHandler implements MessageHandler
 		sentMessageIndex = initSentIndex(config);
 		receivedMessageIndex = initReceivedIndex(config);
 		this.bookName = bookName;
+		
+		MessagesConfig messagesConfig = config.getMessages();
+		batcher = new GroupBatcher(connectionName, router, messagesConfig != null ? messagesConfig : new MessagesConfig());
 	}
 	
 	
 	@Override
 	public void close() throws Exception
 	{
-		router.close();
+		try
+		{
+			batcher.close();
+			checkSendFailure();
+		}
+		finally
+		{
+			router.close();
+		}
 	}
 	
 	@Override
@@ -97,8 +110,7 @@ public class Th2MessageHandler implements MessageHandler
 		byte[] body = createMessageBody(message.getPayload());
 		RawMessage result = createMessage(id, body, metadata);
 		
-		GroupBatch batch = wrapMessage(result);
-		storeMessage(batch);
+		storeMessage(result, body.length);
 	}
 	
 	@Override
@@ -152,33 +164,32 @@ public class Th2MessageHandler implements MessageHandler
 		return new AtomicLong(TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano());
 	}
 	
-	private GroupBatch wrapMessage(RawMessage message)
+	private void storeMessage(RawMessage message, int size) throws MessageHandlingException
 	{
 		MessageId id = message.getId();
 		String sessionGroup = id.getSessionGroup(),
 				batchSession = StringUtils.isEmpty(sessionGroup) ? id.getSessionAlias() : sessionGroup,
 				book = id.getBook(),
 				batchBook = StringUtils.isEmpty(book) ? bookName : book;
-		return GroupBatch.builder()
-				.setBook(batchBook)
-				.setSessionGroup(batchSession)
-				.addGroup(MessageGroup.builder()
-						.addMessage(message)
-						.build())
-				.build();
-	}
-	
-	private void storeMessage(GroupBatch message) throws MessageHandlingException
-	{
 		try
 		{
-			logger.trace("Storing message: {}", message);
-			router.send(message);
+			logger.trace("Adding message to batch: {}", message);
+			batcher.onMessage(batchBook, batchSession, message, size);
 		}
 		catch (Exception e)
 		{
 			throw new MessageHandlingException(e);
 		}
+		
+		//Message is already in batch, but sending of previous batches could fail and this should not go unnoticed
+		checkSendFailure();
+	}
+	
+	private void checkSendFailure() throws MessageHandlingException
+	{
+		Exception failure = batcher.takeSendFailure();
+		if (failure != null)
+			throw new MessageHandlingException("Could not store batch of previously handled messages", failure);
 	}
 	
 	private MessageId getMessageId(ClearThMessageMetadata metadata) throws MessageHandlingException
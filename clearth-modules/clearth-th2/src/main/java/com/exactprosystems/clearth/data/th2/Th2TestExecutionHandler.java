@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -21,14 +21,21 @@ package com.exactprosystems.clearth.data.th2;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import kotlin.Unit;
+
 import com.exactpro.th2.common.grpc.Event;
 import com.exactpro.th2.common.grpc.EventBatch;
 import com.exactpro.th2.common.grpc.EventID;
 import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.utils.event.EventBatcher;
 import com.exactprosystems.clearth.automation.Action;
 import com.exactprosystems.clearth.automation.GlobalContext;
 import com.exactprosystems.clearth.automation.StepMetadata;
@@ -39,6 +46,7 @@ import com.exactprosystems.clearth.data.TestExecutionHandlingException;
 import com.exactprosystems.clearth.data.th2.events.EventFactory;
 import com.exactprosystems.clearth.data.th2.events.EventUtils;
 import com.exactprosystems.clearth.data.th2.events.ResultSaver;
+import com.exactprosystems.clearth.data.th2.events.ResultSavingConfig;
 import com.exactprosystems.clearth.data.th2.events.Th2EventId;
 import com.exactprosystems.clearth.data.th2.events.Th2EventMetadata;
 import com.exactprosystems.clearth.data.HandledTestExecutionId;
@@ -53,19 +61,66 @@ public class Th2TestExecutionHandler implements TestExecutionHandler
 	private final SchedulerExecutionInfo executionInfo;
 	private final EventFactory eventFactory;
 	private final ResultSaver resultSaver;
+	private final ScheduledExecutorService batcherExecutor,
+			sendingExecutor;
+	private final EventBatcher eventBatcher;
+	private final AtomicReference<Exception> sendFailure = new AtomicReference<>();
 	
 	public Th2TestExecutionHandler(String schedulerName, MessageRouter<EventBatch> router, EventFactory eventFactory, ResultSaver resultSaver)
+	{
+		this(schedulerName, router, eventFactory, resultSaver, null);
+	}
+	
+	/**
+	 * @param batchingConfig limits of event batches. If null, each event is sent immediately in a separate batch. 
+	 * Otherwise batches are sent in background and sending errors are reported by the next call that stores an event
+	 */
+	public Th2TestExecutionHandler(String schedulerName, MessageRouter<EventBatch> router, EventFactory eventFactory, ResultSaver resultSaver,
+			ResultSavingConfig batchingConfig)
 	{
 		this.router = router;
 		this.executionInfo = new SchedulerExecutionInfo(schedulerName);
 		this.eventFactory = eventFactory;
 		this.resultSaver = resultSaver;
+		
+		if (batchingConfig != null)
+		{
+			batcherExecutor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, schedulerName + " (th2 event batcher)"));
+			sendingExecutor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, schedulerName + " (th2 event sender)"));
+			eventBatcher = new EventBatcher(batchingConfig.getMaxBatchSizeInBytes(), batchingConfig.getMaxBatchSize(), batchingConfig.getMaxFlushTime(), 
+					batcherExecutor, batch -> 
+					{
+						sendingExecutor.execute(() -> sendBatch(batch));
+						return Unit.INSTANCE;
+					});
+		}
+		else
+		{
+			batcherExecutor = null;
+			sendingExecutor = null;
+			eventBatcher = null;
+		}
 	}
 	
 	@Override
 	public void close() throws Exception
 	{
-		router.close();
+		try
+		{
+			if (eventBatcher != null)
+			{
+				eventBatcher.close();
+				batcherExecutor.shutdown();
+				sendingExecutor.shutdown();
+				if (!sendingExecutor.awaitTermination(1, TimeUnit.MINUTES))
+					logger.warn("Not all event batches have been sent within timeout");
+				checkSendFailure();
+			}
+		}
+		finally
+		{
+			router.close();
+		}
 	}
 	
 	@Override
@@ -210,12 +265,28 @@ public class Th2TestExecutionHandler implements TestExecutionHandler
 	
 	private void storeEvent(Event event) throws TestExecutionHandlingException
 	{
+		if (eventBatcher != null)
+		{
+			logger.trace("Adding event to batch: {}", event);
+			eventBatcher.onEvent(event);
+			//Event is already in batch, but sending of previous batches could fail and this should not go unnoticed
+			checkSendFailure();
+			return;
+		}
+		
 		EventBatch batch = EventUtils.wrap(event);
 		storeBatch(batch);
 	}
 	
 	private void storeBatch(EventBatch batch) throws TestExecutionHandlingException
 	{
+		if (eventBatcher != null)
+		{
+			for (Event event : batch.getEventsList())
+				storeEvent(event);
+			return;
+		}
+		
 		try
 		{
 			logger.trace("Storing event: {}", batch);
@@ -227,6 +298,27 @@ public class Th2TestExecutionHandler implements TestExecutionHandler
 		}
 	}
 	
+	private void sendBatch(EventBatch batch)
+	{
+		try
+		{
+			logger.trace("Storing events batch: {}", batch);
+			router.send(batch);
+		}
+		catch (Exception e)
+		{
+			logger.error("Failed to store event batch", e);
+			sendFailure.compareAndSet(null, e);
+		}
+	}
+	
+	private void checkSendFailure() throws TestExecutionHandlingException
+	{
+		Exception failure = sendFailure.getAndSet(null);
+		if (failure != null)
+			throw new TestExecutionHandlingException("Could not store batch of previous events", failure);
+	}
+	
 	private EventID getEventId(Action action) throws TestExecutionHandlingException
 	{
 		HandledTestExecutionId id = action.getTestExecutionId();
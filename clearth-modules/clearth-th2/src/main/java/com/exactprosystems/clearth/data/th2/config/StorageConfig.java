@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class StorageConfig
 {
 	private EventsConfig events;
+	private MessagesConfig messages;
 	
 	public StorageConfig()
 	{
@@ -38,6 +39,12 @@ public class StorageConfig
 		this.events = events;
 	}
 	
+	public StorageConfig(EventsConfig events, MessagesConfig messages)
+	{
+		this.events = events;
+		this.messages = messages;
+	}
+	
 	public static StorageConfig load(Path file) throws StreamReadException, DatabindException, IOException
 	{
 		return new ObjectMapper().readValue(file.toFile(), StorageConfig.class);
@@ -47,7 +54,7 @@ public class StorageConfig
 	@Override
 	public String toString()
 	{
-		return "[events: " + events + "]";
+		return "[events: " + events + "; messages: " + messages + "]";
 	}
 	
 	
@@ -60,4 +67,15 @@ public class StorageConfig
 	{
 		this.events = events;
 	}
+	
+	
+	public MessagesConfig getMessages()
+	{
+		return messages;
+	}
+	
+	public void setMessages(MessagesConfig messages)
+	{
+		this.messages = messages;
+	}
 }
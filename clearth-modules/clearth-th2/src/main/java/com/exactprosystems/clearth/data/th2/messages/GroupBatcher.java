@@ -0,0 +1,236 @@
+/******************************************************************************
+ * Copyright 2009-2026 Exactpro Systems Limited
+ * https://www.exactpro.com
+ * Build Software to Test Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+
+package com.exactprosystems.clearth.data.th2.messages;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.exactpro.th2.common.schema.message.MessageRouter;
+import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.GroupBatch;
+import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.MessageGroup;
+import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.RawMessage;
+import com.exactprosystems.clearth.data.th2.config.MessagesConfig;
+
+/**
+ * Accumulates messages into batches per book and session group and sends them to th2 asynchronously.
+ * Batch is sent when it reaches maximum number of messages or maximum size, 
+ * or when maximum flush time passes since the first message was added to it.
+ * All pending batches are sent on close. 
+ * Batches are sent in background, so sending errors are kept to be reported by {@link #takeSendFailure()}
+ */
+public class GroupBatcher implements AutoCloseable
+{
+	private static final Logger logger = LoggerFactory.getLogger(GroupBatcher.class);
+	
+	private final MessageRouter<GroupBatch> router;
+	private final int maxBatchSize;
+	private final long maxBatchSizeInBytes,
+			maxFlushTime;
+	private final ScheduledExecutorService executor;
+	private final Map<BatchKey, PendingBatch> batches = new HashMap<>();
+	private final Object monitor = new Object();
+	private final AtomicReference<Exception> sendFailure = new AtomicReference<>();
+	private boolean closed = false;
+	
+	public GroupBatcher(String name, MessageRouter<GroupBatch> router, MessagesConfig config)
+	{
+		this.router = router;
+		this.maxBatchSize = config.getMaxBatchSize();
+		this.maxBatchSizeInBytes = config.getMaxBatchSizeInBytes();
+		this.maxFlushTime = config.getMaxFlushTime();
+		//Single thread keeps batches of the same session group in order
+		this.executor = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, name + " (th2 message batcher)"));
+	}
+	
+	
+	/**
+	 * Adds message to batch of given book and session group
+	 * @param book name of book to store message in
+	 * @param sessionGroup session group of message
+	 * @param message message to store
+	 * @param size size of message body in bytes
+	 * @throws IllegalStateException if batcher is already closed
+	 */
+	public void onMessage(String book, String sessionGroup, RawMessage message, int size)
+	{
+		synchronized (monitor)
+		{
+			if (closed)
+				throw new IllegalStateException("Message batcher is closed");
+			
+			BatchKey key = new BatchKey(book, sessionGroup);
+			PendingBatch batch = batches.get(key);
+			if (batch != null && batch.sizeInBytes + size > maxBatchSizeInBytes)
+			{
+				removeAndSend(key, batch);
+				batch = null;
+			}
+			
+			if (batch == null)
+			{
+				PendingBatch newBatch = new PendingBatch();
+				batch = newBatch;
+				batches.put(key, newBatch);
+				if (maxFlushTime > 0)
+					newBatch.flushTask = executor.schedule(() -> flush(key, newBatch), maxFlushTime, TimeUnit.MILLISECONDS);
+			}
+			
+			batch.messages.add(message);
+			batch.sizeInBytes += size;
+			if (batch.messages.size() >= maxBatchSize || batch.sizeInBytes >= maxBatchSizeInBytes)
+				removeAndSend(key, batch);
+		}
+	}
+	
+	/**
+	 * Returns error that occurred while sending batch in background and clears it, so that each error is reported once
+	 * @return the first error occurred since previous call of this method, null if all batches were sent successfully
+	 */
+	public Exception takeSendFailure()
+	{
+		return sendFailure.getAndSet(null);
+	}
+	
+	/**
+	 * Sends all pending batches without waiting for them to become full
+	 */
+	public void flush()
+	{
+		synchronized (monitor)
+		{
+			for (Map.Entry<BatchKey, PendingBatch> b : batches.entrySet())
+				send(b.getKey(), b.getValue());
+			batches.clear();
+		}
+	}
+	
+	@Override
+	public void close() throws InterruptedException
+	{
+		synchronized (monitor)
+		{
+			if (closed)
+				return;
+			
+			flush();
+			closed = true;
+		}
+		
+		executor.shutdown();
+		if (!executor.awaitTermination(1, TimeUnit.MINUTES))
+			logger.warn("Not all message batches have been sent within timeout");
+	}
+	
+	
+	private void flush(BatchKey key, PendingBatch batch)
+	{
+		synchronized (monitor)
+		{
+			//Batch could be already sent because of size limits
+			if (batches.get(key) == batch)
+				removeAndSend(key, batch);
+		}
+	}
+	
+	private void removeAndSend(BatchKey key, PendingBatch batch)
+	{
+		batches.remove(key);
+		send(key, batch);
+	}
+	
+	private void send(BatchKey key, PendingBatch batch)
+	{
+		if (batch.flushTask != null)
+			batch.flushTask.cancel(false);
+		
+		GroupBatch.Builder builder = GroupBatch.builder()
+				.setBook(key.book)
+				.setSessionGroup(key.sessionGroup);
+		for (RawMessage m : batch.messages)
+			builder.addGroup(MessageGroup.builder()
+					.addMessage(m)
+					.build());
+		GroupBatch groupBatch = builder.build();
+		
+		executor.execute(() -> store(groupBatch));
+	}
+	
+	private void store(GroupBatch batch)
+	{
+		try
+		{
+			logger.trace("Storing messages batch: {}", batch);
+			router.send(batch);
+		}
+		catch (Exception e)
+		{
+			logger.error("Failed to store batch of {} message(s) from session group '{}'", batch.getGroups().size(), batch.getSessionGroup(), e);
+			sendFailure.compareAndSet(null, e);
+		}
+	}
+	
+	
+	private static class BatchKey
+	{
+		private final String book,
+				sessionGroup;
+		
+		public BatchKey(String book, String sessionGroup)
+		{
+			this.book = book;
+			this.sessionGroup = sessionGroup;
+		}
+		
+		@Override
+		public boolean equals(Object o)
+		{
+			if (this == o)
+				return true;
+			if (!(o instanceof BatchKey))
+				return false;
+			BatchKey other = (BatchKey) o;
+			return Objects.equals(book, other.book) && Objects.equals(sessionGroup, other.sessionGroup);
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(book, sessionGroup);
+		}
+	}
+	
+	private static class PendingBatch
+	{
+		private final List<RawMessage> messages = new ArrayList<>();
+		private long sizeInBytes = 0;
+		private ScheduledFuture<?> flushTask;
+	}
+}
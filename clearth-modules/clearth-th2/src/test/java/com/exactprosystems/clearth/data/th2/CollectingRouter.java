@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -20,6 +20,7 @@ package com.exactprosystems.clearth.data.th2;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.jetbrains.annotations.NotNull;
@@ -32,7 +33,7 @@ import com.exactpro.th2.common.schema.message.SubscriberMonitor;
 
 public class CollectingRouter<M> implements MessageRouter<M>
 {
-	private final List<M> sent = new ArrayList<>();
+	private final List<M> sent = Collections.synchronizedList(new ArrayList<>());
 	
 	@Override
 	public void close() throws Exception
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,6 +18,7 @@
 
 package com.exactprosystems.clearth.data.th2;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
@@ -28,13 +29,16 @@ import org.testng.asserts.SoftAssert;
 
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.Direction;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.GroupBatch;
+import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.MessageGroup;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.MessageId;
 import com.exactpro.th2.common.schema.message.impl.rabbitmq.transport.RawMessage;
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessageDirection;
 import com.exactprosystems.clearth.connectivity.iface.ClearThMessageMetadata;
 import com.exactprosystems.clearth.connectivity.iface.EncodedClearThMessage;
 import com.exactprosystems.clearth.data.MessageHandler;
+import com.exactprosystems.clearth.data.MessageHandlingException;
 import com.exactprosystems.clearth.data.MessageHandlingUtils;
+import com.exactprosystems.clearth.data.th2.config.MessagesConfig;
 import com.exactprosystems.clearth.data.th2.config.StorageConfig;
 import com.exactprosystems.clearth.data.th2.messages.Th2MessageId;
 
@@ -118,4 +122,101 @@ public class Th2MessageHandlerTest
 		Assert.assertEquals(sentMessage.getId(), id.getId(), "Message ID");
 		Assert.assertEquals(sentMessage.getBody().toString(StandardCharsets.UTF_8), payload, "Payload");
 	}
+	
+	@Test
+	public void messageBatching() throws Exception
+	{
+		CollectingRouter<GroupBatch> router = new CollectingRouter<>();
+		StorageConfig config = new StorageConfig(null, new MessagesConfig(3, 1048576, 0));
+		
+		try (MessageHandler handler = new Th2MessageHandler("con1", router, "book1", config))
+		{
+			for (int i = 0; i < 7; i++)
+				handleMessage(handler, EncodedClearThMessage.newSentMessage("message "+i, Instant.now()));
+		}
+		
+		List<GroupBatch> batches = router.getSent();
+		Assert.assertEquals(batches.size(), 3, "Number of sent batches");
+		Assert.assertEquals(batches.get(0).getGroups().size(), 3, "Messages in first batch");
+		Assert.assertEquals(batches.get(1).getGroups().size(), 3, "Messages in second batch");
+		Assert.assertEquals(batches.get(2).getGroups().size(), 1, "Messages in batch flushed on close");
+		
+		int i = 0;
+		for (GroupBatch b : batches)
+		{
+			Assert.assertEquals(b.getBook(), "book1", "Batch book");
+			Assert.assertEquals(b.getSessionGroup(), "con1", "Batch session group");
+			for (MessageGroup g : b.getGroups())
+			{
+				RawMessage m = (RawMessage) g.getMessages().get(0);
+				Assert.assertEquals(m.getBody().toString(StandardCharsets.UTF_8), "message "+i, "Payload of message #"+i);
+				i++;
+			}
+		}
+	}
+	
+	@Test
+	public void batchSizeInBytes() throws Exception
+	{
+		CollectingRouter<GroupBatch> router = new CollectingRouter<>();
+		StorageConfig config = new StorageConfig(null, new MessagesConfig(100, 10, 0));
+		
+		try (MessageHandler handler = new Th2MessageHandler("con1", router, "book1", config))
+		{
+			handleMessage(handler, EncodedClearThMessage.newSentMessage("1234", Instant.now()));
+			handleMessage(handler, EncodedClearThMessage.newSentMessage("5678", Instant.now()));
+			handleMessage(handler, EncodedClearThMessage.newSentMessage("90AB", Instant.now()));  //Doesn't fit into first batch
+		}
+		
+		List<GroupBatch> batches = router.getSent();
+		Assert.assertEquals(batches.size(), 2, "Number of sent batches");
+		Assert.assertEquals(batches.get(0).getGroups().size(), 2, "Messages in first batch");
+		Assert.assertEquals(batches.get(1).getGroups().size(), 1, "Messages in second batch");
+	}
+	
+	@Test
+	public void batchFlushByTime() throws Exception
+	{
+		CollectingRouter<GroupBatch> router = new CollectingRouter<>();
+		StorageConfig config = new StorageConfig(null, new MessagesConfig(100, 1048576, 100));
+		
+		try (MessageHandler handler = new Th2MessageHandler("con1", router, "book1", config))
+		{
+			handleMessage(handler, EncodedClearThMessage.newReceivedMessage("message", Instant.now()));
+			
+			long end = System.currentTimeMillis() + 5000;
+			while (router.getSent().isEmpty() && System.currentTimeMillis() < end)
+				Thread.sleep(10);
+			Assert.assertEquals(router.getSent().size(), 1, "Number of batches sent before close");
+		}
+		
+		Assert.assertEquals(router.getSent().size(), 1, "Number of batches sent after close");
+	}
+	
+	@Test
+	public void sendFailureReported() throws Exception
+	{
+		CollectingRouter<GroupBatch> router = new CollectingRouter<GroupBatch>()
+		{
+			@Override
+			public void send(GroupBatch message, String... queueAttr) throws IOException
+			{
+				throw new IOException("Storage is not available");
+			}
+		};
+		StorageConfig config = new StorageConfig(null, new MessagesConfig(100, 1048576, 0));
+		
+		MessageHandler handler = new Th2MessageHandler("con1", router, "book1", config);
+		handleMessage(handler, EncodedClearThMessage.newSentMessage("message", Instant.now()));
+		MessageHandlingException e = Assert.expectThrows(MessageHandlingException.class, handler::close);
+		Assert.assertTrue(e.getCause() instanceof IOException, "Cause is error from router");
+	}
+	
+	
+	private void handleMessage(MessageHandler handler, EncodedClearThMessage message) throws Exception
+	{
+		ClearThMessageMetadata metadata = message.getMetadata();
+		MessageHandlingUtils.setMessageId(metadata, handler.createMessageId(metadata));
+		handler.onMessage(message);
+	}
 }
@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2024 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -18,6 +18,7 @@
 
 package com.exactprosystems.clearth.data.th2;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
@@ -267,6 +268,33 @@ public class Th2TestExecutionHandlerTest
 		result.setName(name);
 		return result;
 	}
+	@Test
+	public void batchSendFailureReported() throws Exception
+	{
+		CollectingRouter<EventBatch> router = new CollectingRouter<EventBatch>()
+		{
+			@Override
+			public void send(EventBatch message, String... queueAttr) throws IOException
+			{
+				throw new IOException("Storage is not available");
+			}
+		};
+		StorageConfig config = new StorageConfig(new EventsConfig("default", 100, 1024, 1000));
+		ResultSavingConfig batchingConfig = new ResultSavingConfig();
+		batchingConfig.setMaxBatchSize(100);
+		batchingConfig.setMaxBatchSizeInBytes(1048576);
+		batchingConfig.setMaxFlushTime(1000);
+		
+		TestExecutionHandler handler = new Th2TestExecutionHandler("main", router, 
+				new EventFactory("book1", config), 
+				new ResultSaver(router, new ResultSavingConfig()), 
+				batchingConfig);
+		handler.onTestStart(Collections.singleton("test_matrix"), createGlobalContext(Instant.now(), "user1", handler));
+		
+		TestExecutionHandlingException e = expectThrows(TestExecutionHandlingException.class, handler::close);
+		assertTrue(e.getCause() instanceof IOException, "Cause is error from router");
+	}
+	
 	
 	private Step createStep(String name)
 	{
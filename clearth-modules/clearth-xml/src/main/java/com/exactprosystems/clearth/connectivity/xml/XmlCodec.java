@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2022 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -25,6 +25,7 @@ import com.exactprosystems.clearth.connectivity.iface.ICodec;
 import com.exactprosystems.clearth.connectivity.iface.MessageValidator;
 import com.exactprosystems.clearth.connectivity.iface.MessageValidatorCondition;
 import com.exactprosystems.clearth.utils.ComparisonUtils;
+import com.exactprosystems.clearth.utils.StringOperationUtils;
 import com.exactprosystems.clearth.utils.XmlUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
@@ -59,6 +60,7 @@ public class XmlCodec implements ICodec
 	protected static final XPath xPath = XPathFactory.newInstance().newXPath();
 
 	private static final Pattern ROOT_TAG_PATTERN = Pattern.compile("\\A(?:<\\?(?i)xml(?-i).*>\\s*)?<(\\w+).*>");
+	private static final String BYTE_ORDER_MARK = "\uFEFF";
 
 	protected static final String FORMAT_NOMSGTYPE = "No message description with type '%s' in dictionary.";
 	
@@ -117,6 +119,17 @@ public class XmlCodec implements ICodec
 
 	////////////////// DECODING /////////////////
 
+	@Override
+	public boolean canDecode(String encodedMessage)
+	{
+		if (encodedMessage == null)
+			return false;
+		
+		//Byte order mark can be kept in message read from file
+		int start = StringOperationUtils.indexOfNonWhitespace(encodedMessage, encodedMessage.startsWith(BYTE_ORDER_MARK) ? 1 : 0);
+		return start > -1 && encodedMessage.charAt(start) == '<';
+	}
+	
 	@Override
 	public ClearThXmlMessage decode(String encodedMessage) throws DecodeException
 	{
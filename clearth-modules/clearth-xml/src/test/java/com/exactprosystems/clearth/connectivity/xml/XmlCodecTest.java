@@ -1,5 +1,5 @@
 /******************************************************************************
- * Copyright 2009-2023 Exactpro Systems Limited
+ * Copyright 2009-2026 Exactpro Systems Limited
  * https://www.exactpro.com
  * Build Software to Test Software
  *
@@ -169,6 +169,18 @@ public class XmlCodecTest
 	
 	//////////////// DECODING ////////////////////////
 	
+	@Test
+	public void checkCanDecode()
+	{
+		assertTrue(codec.canDecode("<a/>"));
+		assertTrue(codec.canDecode("\n  <?xml version=\"1.0\"?><a/>"));
+		assertTrue(codec.canDecode("\uFEFF<a/>"));
+		assertTrue(codec.canDecode("\uFEFF\r\n<a/>"));
+		assertFalse(codec.canDecode("{\"a\": 1}"));
+		assertFalse(codec.canDecode("  "));
+		assertFalse(codec.canDecode(null));
+	}
+	
 	@Test(timeout = 5000 /* Prevent infinite loop */)
 	public void checkInfiniteLoopBug() throws Exception
 	{